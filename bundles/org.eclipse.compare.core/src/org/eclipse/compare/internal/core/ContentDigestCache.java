@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.internal.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the length and SHA-256 hash of contents that have been compared.
+ * Contents are identified by a key provided by the client that must change
+ * whenever the contents change, e.g. the path of a file together with its
+ * modification stamp, or the path and revision of a remote file. When the
+ * digests of both inputs of a comparison are known, the contents do not have
+ * to be read again. Contents whose lengths differ are not read either.
+ * <p>
+ * The shared instance may be replaced with {@link #setDefault(ContentDigestCache)}.
+ * Instances are thread safe.
+ * </p>
+ */
+public class ContentDigestCache {
+
+	/**
+	 * Result of {@link #compare(String, String)} when the contents are equal.
+	 */
+	public static final int EQUAL = 0;
+
+	/**
+	 * Result of {@link #compare(String, String)} when the contents differ.
+	 */
+	public static final int DIFFERENT = 1;
+
+	/**
+	 * Result of {@link #compare(String, String)} when the digest of either
+	 * contents is not known.
+	 */
+	public static final int UNKNOWN = 2;
+
+	/**
+	 * The default maximum number of digests kept by a cache.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 20000;
+
+	private static final String ALGORITHM = "SHA-256"; //$NON-NLS-1$
+	private static final int BUFFER_SIZE = 8192;
+
+	private static ContentDigestCache defaultCache;
+
+	/**
+	 * The length and hash of some contents.
+	 */
+	public static final class Digest {
+		private final long length;
+		private final byte[] hash;
+
+		public Digest(long length, byte[] hash) {
+			this.length = length;
+			this.hash = hash;
+		}
+
+		public long getLength() {
+			return length;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this)
+				return true;
+			if (!(obj instanceof Digest))
+				return false;
+			Digest other = (Digest) obj;
+			return length == other.length && Arrays.equals(hash, other.hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(hash);
+		}
+	}
+
+	/*
+	 * Reads one of the compared streams and computes its digest if it has a key
+	 */
+	private class Side {
+		final InputStream stream;
+		final String key;
+		final MessageDigest digest;
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		int start;
+		int end;
+		long length;
+		boolean eof;
+		boolean shortRead;
+
+		Side(InputStream stream, String key) {
+			this.stream = stream;
+			this.key = key;
+			this.digest = key == null || get(key) != null ? null : createDigest();
+		}
+
+		/*
+		 * Make sure there are unconsumed bytes in the buffer unless the end
+		 * of the stream was reached
+		 */
+		boolean fill() throws IOException {
+			while (start == end && !eof) {
+				read();
+			}
+			return start < end;
+		}
+
+		/*
+		 * After a difference, check whether the end of the stream has been
+		 * reached if the last read was short, which is usually the case for
+		 * small contents. Longer contents are not read any further.
+		 */
+		void probeEnd() throws IOException {
+			if (digest != null && shortRead && !eof)
+				read();
+		}
+
+		private void read() throws IOException {
+			int read = stream.read(buffer, 0, buffer.length);
+			if (read == -1) {
+				eof = true;
+			} else {
+				start = 0;
+				end = read;
+				length += read;
+				shortRead = read < buffer.length;
+				if (digest != null)
+					digest.update(buffer, 0, read);
+			}
+		}
+
+		void record() {
+			if (digest != null && eof)
+				put(key, new Digest(length, digest.digest()));
+		}
+	}
+
+	private final Map<String, Digest> digests;
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the shared cache
+	 */
+	public static synchronized ContentDigestCache getDefault() {
+		if (defaultCache == null)
+			defaultCache = new ContentDigestCache(DEFAULT_MAX_ENTRIES);
+		return defaultCache;
+	}
+
+	/**
+	 * Replaces the shared cache.
+	 *
+	 * @param cache the new shared cache
+	 */
+	public static synchronized void setDefault(ContentDigestCache cache) {
+		defaultCache = cache;
+	}
+
+	/**
+	 * Creates a cache that keeps the digests of the given number of most
+	 * recently used contents.
+	 *
+	 * @param maxEntries the maximum number of digests kept
+	 */
+	public ContentDigestCache(final int maxEntries) {
+		digests = new LinkedHashMap<String, Digest>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Digest> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the digest of the contents with the given key or <code>null</code>.
+	 *
+	 * @param key the key of the contents
+	 * @return the digest or <code>null</code>
+	 */
+	public Digest get(String key) {
+		synchronized (digests) {
+			return digests.get(key);
+		}
+	}
+
+	/**
+	 * Records the digest of the contents with the given key.
+	 *
+	 * @param key the key of the contents
+	 * @param digest the digest of the contents
+	 */
+	public void put(String key, Digest digest) {
+		synchronized (digests) {
+			digests.put(key, digest);
+		}
+	}
+
+	/**
+	 * Forgets all digests.
+	 */
+	public void clear() {
+		synchronized (digests) {
+			digests.clear();
+		}
+	}
+
+	/**
+	 * Compares the contents with the given keys using their known digests.
+	 *
+	 * @param key1 the key of the first contents or <code>null</code>
+	 * @param key2 the key of the second contents or <code>null</code>
+	 * @return {@link #EQUAL}, {@link #DIFFERENT} or {@link #UNKNOWN} if either
+	 *   digest is not known
+	 */
+	public int compare(String key1, String key2) {
+		return compare(key1, -1, key2, -1);
+	}
+
+	/**
+	 * Compares the contents with the given keys and lengths using their known
+	 * digests. The lengths are typically obtained from the metadata of the
+	 * contents, e.g. the length of a file, so that contents of different
+	 * lengths are known to differ even if their digests are not known.
+	 *
+	 * @param key1 the key of the first contents or <code>null</code>
+	 * @param length1 the length of the first contents or -1 if unknown
+	 * @param key2 the key of the second contents or <code>null</code>
+	 * @param length2 the length of the second contents or -1 if unknown
+	 * @return {@link #EQUAL}, {@link #DIFFERENT} or {@link #UNKNOWN} if
+	 *   neither the lengths nor the digests tell whether the contents are equal
+	 */
+	public int compare(String key1, long length1, String key2, long length2) {
+		Digest digest1 = key1 == null ? null : get(key1);
+		Digest digest2 = key2 == null ? null : get(key2);
+		if (length1 < 0 && digest1 != null)
+			length1 = digest1.getLength();
+		if (length2 < 0 && digest2 != null)
+			length2 = digest2.getLength();
+		if (length1 >= 0 && length2 >= 0 && length1 != length2)
+			return DIFFERENT;
+		if (digest1 == null || digest2 == null)
+			return UNKNOWN;
+		return digest1.equals(digest2) ? EQUAL : DIFFERENT;
+	}
+
+	/**
+	 * Compares the bytes of the given streams and records the digests of the
+	 * streams that have a key. The streams are read in blocks up to the first
+	 * difference. The digest of a stream is only recorded if the stream was
+	 * read to its end, i.e. if the contents are equal or the difference is in
+	 * the last block of the stream. The streams are not closed.
+	 *
+	 * @param is1 the first stream
+	 * @param key1 the key of the first contents or <code>null</code>
+	 * @param is2 the second stream
+	 * @param key2 the key of the second contents or <code>null</code>
+	 * @return whether the bytes of the streams are equal
+	 * @throws IOException if a stream could not be read
+	 */
+	public boolean contentsEqual(InputStream is1, String key1, InputStream is2, String key2) throws IOException {
+		Side side1 = new Side(is1, key1);
+		Side side2 = new Side(is2, key2);
+		boolean equal = true;
+		while (true) {
+			boolean more1 = side1.fill();
+			boolean more2 = side2.fill();
+			if (!more1 || !more2) {
+				equal = more1 == more2;
+				break;
+			}
+			int length = Math.min(side1.end - side1.start, side2.end - side2.start);
+			for (int i = 0; i < length; i++) {
+				if (side1.buffer[side1.start + i] != side2.buffer[side2.start + i]) {
+					equal = false;
+					break;
+				}
+			}
+			if (!equal)
+				break;
+			side1.start += length;
+			side2.start += length;
+		}
+		if (!equal) {
+			side1.probeEnd();
+			side2.probeEnd();
+		}
+		side1.record();
+		side2.record();
+		return equal;
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
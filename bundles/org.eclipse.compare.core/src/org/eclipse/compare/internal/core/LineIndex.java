@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.internal.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The lines of a text with their offsets and hashes. Lines are separated by
+ * '\n', '\r' or "\r\n". There is one more line than there are separators, so
+ * a text ending with a separator ends with an empty line and the empty text
+ * has one line.
+ * <p>
+ * Indexes are shared through {@link #get(String)} so that comparing the same
+ * contents in several places (e.g. a compare editor, the synchronize view and
+ * a patch preview) splits them into lines only once. Instances are immutable
+ * and thread safe.
+ * </p>
+ */
+public final class LineIndex {
+
+	/** the maximum number of characters of the cached texts */
+	private static final long MAX_CACHED_CHARS= 16 * 1024 * 1024;
+	private static final int MAX_CACHED_TEXTS= 32;
+
+	/*
+	 * The text is the key so that lookups compare the (cached) hash of the
+	 * text first and only verify equal hashes
+	 */
+	private static final Map<String, LineIndex> cache= new LinkedHashMap<>(16, 0.75f, true);
+	private static long cachedChars;
+
+	private final String text;
+	private final int count;
+	/** the start of each line */
+	private final int[] starts;
+	/** the end of each line, excluding the separator */
+	private final int[] ends;
+	private final int[] hashes;
+
+	/**
+	 * Returns the index of the given text, creating it if it is not cached.
+	 *
+	 * @param text the text
+	 * @return the index of the text
+	 */
+	public static LineIndex get(String text) {
+		synchronized (cache) {
+			LineIndex index= cache.get(text);
+			if (index != null)
+				return index;
+		}
+		LineIndex index= new LineIndex(text);
+		if (text.length() <= MAX_CACHED_CHARS) {
+			synchronized (cache) {
+				if (cache.put(text, index) == null)
+					cachedChars+= text.length();
+				Iterator<String> iterator= cache.keySet().iterator();
+				while ((cachedChars > MAX_CACHED_CHARS || cache.size() > MAX_CACHED_TEXTS) && iterator.hasNext()) {
+					String eldest= iterator.next();
+					if (eldest == text)
+						break;
+					cachedChars-= eldest.length();
+					iterator.remove();
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Forgets all cached indexes.
+	 */
+	public static void clearCache() {
+		synchronized (cache) {
+			cache.clear();
+			cachedChars= 0;
+		}
+	}
+
+	private LineIndex(String text) {
+		this.text= text;
+		int length= text.length();
+		int capacity= 16;
+		int[] lineStarts= new int[capacity];
+		int[] lineEnds= new int[capacity];
+		int[] lineHashes= new int[capacity];
+		int lines= 0;
+		int start= 0;
+		int hash= 0;
+		int i= 0;
+		while (true) {
+			char c= i < length ? text.charAt(i) : '\n';
+			if (c == '\n' || c == '\r' || i == length) {
+				if (lines == capacity) {
+					capacity*= 2;
+					lineStarts= Arrays.copyOf(lineStarts, capacity);
+					lineEnds= Arrays.copyOf(lineEnds, capacity);
+					lineHashes= Arrays.copyOf(lineHashes, capacity);
+				}
+				lineStarts[lines]= start;
+				lineEnds[lines]= i;
+				lineHashes[lines]= hash;
+				lines++;
+				if (i == length)
+					break;
+				if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n')
+					i++;
+				start= i + 1;
+				hash= 0;
+			} else {
+				hash= 31 * hash + c;
+			}
+			i++;
+		}
+		this.count= lines;
+		this.starts= Arrays.copyOf(lineStarts, lines);
+		this.ends= Arrays.copyOf(lineEnds, lines);
+		this.hashes= Arrays.copyOf(lineHashes, lines);
+	}
+
+	/**
+	 * Returns the indexed text.
+	 *
+	 * @return the text
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Returns the number of lines.
+	 *
+	 * @return the number of lines, at least one
+	 */
+	public int getLineCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the offset of the first character of the given line.
+	 *
+	 * @param line the line
+	 * @return the offset of the line
+	 */
+	public int getLineOffset(int line) {
+		return starts[line];
+	}
+
+	/**
+	 * Returns the length of the given line excluding its separator.
+	 *
+	 * @param line the line
+	 * @return the length of the line
+	 */
+	public int getLineLength(int line) {
+		return ends[line] - starts[line];
+	}
+
+	/**
+	 * Returns the hash of the given line, which is the hash code of the
+	 * line as a string.
+	 *
+	 * @param line the line
+	 * @return the hash of the line
+	 */
+	public int getLineHash(int line) {
+		return hashes[line];
+	}
+
+	/**
+	 * Returns the given line excluding its separator.
+	 *
+	 * @param line the line
+	 * @return the line
+	 */
+	public String getLine(int line) {
+		return text.substring(starts[line], ends[line]);
+	}
+
+	/**
+	 * Returns whether the text ends with a line separator, i.e. whether the
+	 * last line is an empty line following a separator.
+	 *
+	 * @return whether the text ends with a line separator
+	 */
+	public boolean endsWithLineSeparator() {
+		return count > 1 && starts[count - 1] == text.length();
+	}
+
+	/**
+	 * Returns whether a line of this index has the same text as a line of
+	 * another index. The hashes and lengths of the lines are compared before
+	 * their text.
+	 *
+	 * @param line the line of this index
+	 * @param other the other index
+	 * @param otherLine the line of the other index
+	 * @return whether the lines are equal
+	 */
+	public boolean lineEquals(int line, LineIndex other, int otherLine) {
+		int length= getLineLength(line);
+		return hashes[line] == other.hashes[otherLine]
+				&& length == other.getLineLength(otherLine)
+				&& text.regionMatches(starts[line], other.text, other.starts[otherLine], length);
+	}
+}
@@ -13,10 +13,6 @@
  *******************************************************************************/
 package org.eclipse.compare.internal.core;
 
-import java.util.ArrayList;
-import java.util.List;
-
-
 public class TextLineLCS extends LCS {
 
 	private final TextLine[] lines1;
@@ -129,50 +125,12 @@ public class TextLineLCS extends LCS {
 	 * @return the array of TextLine object each corresponding to a line of text
 	 */
 	public static TextLine[] getTextLines(String text) {
-		List<TextLine> lines = new ArrayList<>();
-		int begin = 0;
-		int end = getEOL(text, 0);
-		int lineNum = 0;
-		while (end != -1) {
-			lines.add(new TextLine(lineNum++, text.substring(begin, end)));
-			begin = end + 1;
-			end = getEOL(text, begin);
-			if (end == begin && text.charAt(begin - 1) == '\r'
-					&& text.charAt(begin) == '\n') {
-				// we have '\r' followed by '\n', skip it
-				begin = end + 1;
-				end = getEOL(text, begin);
-			}
-		}
-
-		/*
-		 * this is the last line, no more newline characters, so take the rest
-		 * of the string
-		 */
-		lines.add(new TextLine(lineNum, text.substring(begin)));
-		TextLine[] aLines = new TextLine[lines.size()];
-		lines.toArray(aLines);
-		return aLines;
-	}
-
-	/**
-	 * Returns the index of the next end of line marker ('\n' or '\r') after
-	 * start
-	 *
-	 * @param text The string to examine
-	 * @param start The location in the string to start looking
-	 * @return the index such that text.charAt(index) == '\n' or '\r', -1 if not
-	 *         found
-	 */
-	private static int getEOL(String text, int start) {
-		int max = text.length();
-		for (int i = start; i < max; i++) {
-			char c = text.charAt(i);
-			if (c == '\n' || c == '\r') {
-				return i;
-			}
-		}
-		return -1;
+		// the line index of the text may already be known from another compare
+		LineIndex index = LineIndex.get(text);
+		TextLine[] lines = new TextLine[index.getLineCount()];
+		for (int i = 0; i < lines.length; i++)
+			lines[i] = new TextLine(i, index.getLine(i));
+		return lines;
 	}
 
 	/* used to store information about a single line of text */
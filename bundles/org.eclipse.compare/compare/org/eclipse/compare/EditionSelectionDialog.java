@@ -25,6 +25,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.compare.internal.CompareContainer;
 import org.eclipse.compare.internal.CompareUIPlugin;
@@ -155,7 +161,9 @@ public class EditionSelectionDialog extends ResizableDialog {
 		@Override
 		public boolean equals(Object other) {
 			if (other != null && other.getClass() == getClass()) {
-				if (getContent().equals(((Pair)other).getContent()))
+				// the hash of a String is cached, so most different contents are rejected cheaply
+				Pair pair= (Pair) other;
+				if (hashCode() == pair.hashCode() && getContent().equals(pair.getContent()))
 					return true;
 			}
 			return super.equals(other);
@@ -167,6 +175,144 @@ public class EditionSelectionDialog extends ResizableDialog {
 		}
 	}
 
+	/**
+	 * Extracts the items of the editions in the background.
+	 * The editions are extracted concurrently by a bounded number of threads,
+	 * each with its own structure creator. The pairs are sent to the UI thread
+	 * in batches and in the order of the editions (newest to oldest).
+	 * Pairs whose content is identical to the preceding pair of the same item
+	 * are dropped before they are sent if HIDE_IDENTICAL is true. The target
+	 * is compared through a snapshot whose content is loaded in the UI thread.
+	 */
+	private abstract class EditionExtractor implements Runnable {
+
+		/** the number of threads that extract editions */
+		private static final int THREADS= 4;
+		/** the maximum number of editions that are extracted ahead of the UI */
+		private static final int READ_AHEAD= 2 * THREADS;
+		/** the maximum number of pairs sent to the UI thread at once */
+		private static final int BATCH_SIZE= 32;
+
+		private final StructureCreatorDescriptor fDescriptor;
+		private final IModificationDate[] fEditions;
+		private final ThreadLocal<IStructureCreator> fCreators;
+		private ExecutorService fExecutor;
+		private Pair fTarget;
+		private volatile boolean fCanceled;
+
+		EditionExtractor(StructureCreatorDescriptor descriptor, IModificationDate[] editions) {
+			fDescriptor= descriptor;
+			fEditions= editions;
+			fCreators= ThreadLocal.withInitial(fDescriptor::createStructureCreator);
+		}
+
+		/*
+		 * Adds the pairs of the given edition to the given list.
+		 * Called concurrently for different editions.
+		 */
+		abstract void extract(IStructureCreator sc, ITypedElement edition, List<Pair> pairs);
+
+		void start() {
+			fTarget= fTargetPair;
+			if (fHideIdentical)
+				fTarget.hashCode();	// load the content before the extraction starts
+			int threads= Math.max(1, Math.min(THREADS, Math.min(fEditions.length, Runtime.getRuntime().availableProcessors())));
+			fExecutor= Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread= new Thread(runnable, "Edition Extractor"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			Thread thread= new Thread(this, "Edition Extractor"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		void cancel() {
+			fCanceled= true;
+			if (fExecutor != null)
+				fExecutor.shutdownNow();
+		}
+
+		private boolean isCanceled() {
+			return fCanceled || fEditionTree == null || fEditionTree.isDisposed();
+		}
+
+		private Future<List<Pair>> submit(final ITypedElement edition) {
+			return fExecutor.submit(() -> {
+				List<Pair> pairs= new ArrayList<>();
+				if (!fCanceled) {
+					extract(fCreators.get(), edition, pairs);
+					if (fHideIdentical) {
+						// load the contents here rather than in the UI thread
+						for (Pair pair : pairs)
+							pair.hashCode();
+					}
+				}
+				return pairs;
+			});
+		}
+
+		@Override
+		public void run() {
+			try {
+				HashMap<ITypedElement, Pair> lastPairs= new HashMap<>();
+				ArrayList<Future<List<Pair>>> pending= new ArrayList<>();
+				List<Pair> batch= new ArrayList<>();
+				int next= 0;
+
+				// from front (newest) to back (oldest)
+				while (next < fEditions.length || !pending.isEmpty()) {
+					while (next < fEditions.length && pending.size() < READ_AHEAD)
+						pending.add(submit((ITypedElement) fEditions[next++]));
+
+					List<Pair> pairs= waitFor(pending.remove(0));
+					if (pairs == null)
+						return;	// canceled
+					for (Pair pair : pairs) {
+						if (fHideIdentical) {
+							Pair last= lastPairs.get(pair.getItem());
+							if (last == null)
+								last= fTarget;
+							if (last.equals(pair))
+								continue;
+							lastPairs.put(pair.getItem(), pair);
+						}
+						batch.add(pair);
+					}
+
+					// don't hold back pairs while the next edition is still being extracted
+					if (batch.size() >= BATCH_SIZE || (!batch.isEmpty() && !pending.isEmpty() && !pending.get(0).isDone())) {
+						sendPairs(batch, false);
+						batch= new ArrayList<>();
+					}
+				}
+				sendPairs(batch, true);
+			} finally {
+				fExecutor.shutdownNow();
+			}
+		}
+
+		/*
+		 * Returns the pairs of an edition or null if the extraction has been canceled.
+		 */
+		private List<Pair> waitFor(Future<List<Pair>> future) {
+			while (!isCanceled()) {
+				try {
+					return future.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// check for cancelation and wait again
+				} catch (InterruptedException e) {
+					return null;
+				} catch (ExecutionException e) {
+					// skip the edition that could not be extracted
+					CompareUIPlugin.log(e.getCause());
+					return new ArrayList<>();
+				}
+			}
+			return null;
+		}
+	}
+
 	// Configuration options
 	private CompareConfiguration fCompareConfiguration;
 	private ArrayList<Object> fArrayList= new ArrayList<>();
@@ -196,7 +342,7 @@ public class EditionSelectionDialog extends ResizableDialog {
 	private HashMap<List, ITypedElement> fMemberSelection;
 	/** The editions of the current selected member */
 	private List fCurrentEditions;
-	private Thread fThread;
+	private EditionExtractor fExtractor;
 	private Pair fTargetPair;
 	/** The selected edition in the edition viewer */
 	private ITypedElement fSelectedItem;
@@ -391,9 +537,10 @@ public class EditionSelectionDialog extends ResizableDialog {
 
 		// find StructureCreator if ppath is not null
 		IStructureCreator structureCreator= null;
+		StructureCreatorDescriptor scd= null;
 		if (ppath != null) {
 			String type= target.getType();
-			StructureCreatorDescriptor scd= CompareUIPlugin.getDefault().getStructureCreator(type);
+			scd= CompareUIPlugin.getDefault().getStructureCreator(type);
 			if (scd != null)
 				structureCreator= scd.createStructureCreator();
 		}
@@ -418,28 +565,17 @@ public class EditionSelectionDialog extends ResizableDialog {
 
 			if (structureCreator != null && ppath != null) {	// extract sub element
 
-				final IStructureCreator sc= structureCreator;
 				final Object path= ppath;
 
-				// construct the comparer thread
+				// construct the extractor
 				// and perform the background extract
-				fThread= new Thread() {
+				fExtractor= new EditionExtractor(scd, editions) {
 					@Override
-					public void run() {
-
-						// from front (newest) to back (oldest)
-						for (int i= 0; i < count; i++) {
-
-							if (fEditionTree == null || fEditionTree.isDisposed())
-								break;
-							ITypedElement edition= (ITypedElement) editions[i];
-
-							// extract sub element from edition
-							Pair pair= createPair(sc, path, edition);
-							if (pair != null)
-								sendPair(pair);
-						}
-						sendPair(null);
+					void extract(IStructureCreator sc, ITypedElement edition, List<Pair> pairs) {
+						// extract sub element from edition
+						Pair pair= createPair(sc, path, edition);
+						if (pair != null)
+							pairs.add(pair);
 					}
 				};
 			} else {
@@ -447,8 +583,16 @@ public class EditionSelectionDialog extends ResizableDialog {
 				create();
 
 				// from front (newest) to back (oldest)
-				for (int i= 0; i < count; i++)
-					addMemberEdition(new Pair(null, (ITypedElement) editions[i]));
+				Pair last= fTargetPair;
+				for (int i= 0; i < count; i++) {
+					Pair pair= new Pair(null, (ITypedElement) editions[i]);
+					if (fHideIdentical) {
+						if (last.equals(pair))
+							continue;	// don't add since the new one is equal to old
+						last= pair;
+					}
+					addMemberEdition(pair);
+				}
 			}
 
 		} else {
@@ -468,34 +612,22 @@ public class EditionSelectionDialog extends ResizableDialog {
 					Collections.addAll(current, children);
 			}
 
-			final IStructureCreator sc= structureCreator;
-
-			// construct the comparer thread
+			// construct the extractor
 			// and perform the background extract
-			fThread= new Thread() {
+			fExtractor= new EditionExtractor(scd, editions) {
 				@Override
-				public void run() {
-
-					// from front (newest) to back (oldest)
-					for (int i= 0; i < count; i++) {
-
-						if (fEditionTree == null || fEditionTree.isDisposed())
-							break;
-						ITypedElement edition= (ITypedElement) editions[i];
-
-						IStructureComparator sco2= sc.locate(container, edition);
-						if (sco2 != null) {
-							Object[] children= sco2.getChildren();
-							if (children != null) {
-								for (Object c : children) {
-									ITypedElement child = (ITypedElement) c;
-									if (!current.contains(child))
-										sendPair(new Pair(sc, edition, child));
-								}
+				void extract(IStructureCreator sc, ITypedElement edition, List<Pair> pairs) {
+					IStructureComparator sco2= sc.locate(container, edition);
+					if (sco2 != null) {
+						Object[] children= sco2.getChildren();
+						if (children != null) {
+							for (Object c : children) {
+								ITypedElement child = (ITypedElement) c;
+								if (!current.contains(child))
+									pairs.add(new Pair(sc, edition, child));
 							}
 						}
 					}
-					sendPair(null);
 				}
 			};
 		}
@@ -847,11 +979,9 @@ public class EditionSelectionDialog extends ResizableDialog {
 		);
 		fEditionPane.setContent(fEditionTree);
 
-		// now start the thread (and forget about it)
-		if (fThread != null) {
-			fThread.start();
-			fThread= null;
-		}
+		// now start the extraction (it is canceled when the dialog is closed)
+		if (fExtractor != null)
+			fExtractor.start();
 
 		fContentPane= new CompareViewerSwitchingPane(vsplitter, SWT.BORDER | SWT.FLAT) {
 			@Override
@@ -894,17 +1024,30 @@ public class EditionSelectionDialog extends ResizableDialog {
 			super.okPressed();
 	}
 
+	@Override
+	public boolean close() {
+		if (fExtractor != null) {
+			fExtractor.cancel();
+			fExtractor= null;
+		}
+		return super.close();
+	}
+
 	//---- private stuff ----------------------------------------------------------------------------------------
 
 	/*
-	 * Asynchroneously sends a Pair (or null) to the UI thread.
+	 * Asynchroneously sends a batch of Pairs to the UI thread.
+	 * If done is true the end of the list of pairs is sent after them.
 	 */
-	private void sendPair(final Pair pair) {
+	private void sendPairs(final List<Pair> pairs, final boolean done) {
 		if (fEditionTree != null && !fEditionTree.isDisposed()) {
 			Display display= fEditionTree.getDisplay();
-			display.asyncExec(
-				() -> addMemberEdition(pair)
-			);
+			display.asyncExec(() -> {
+				for (Pair pair : pairs)
+					addMemberEdition(pair);
+				if (done)
+					addMemberEdition(null);
+			});
 		}
 	}
 
@@ -921,8 +1064,8 @@ public class EditionSelectionDialog extends ResizableDialog {
 
 	/*
 	 * Adds the given Pair to the member editions.
-	 * If HIDE_IDENTICAL is true the new Pair is only added if its contents
-	 * is different from the preceeding Pair.
+	 * Pairs with identical contents have already been dropped by the caller
+	 * if HIDE_IDENTICAL is true.
 	 * If the argument is <code>null</code> the message "No Editions found" is shown
 	 * in the member or edition viewer.
 	 */
@@ -979,14 +1122,6 @@ public class EditionSelectionDialog extends ResizableDialog {
 				ti.setData(editions);
 			}
 		}
-		if (fHideIdentical) {
-			Pair last= fTargetPair;
-			int size= editions.size();
-			if (size > 0)
-				last= editions.get(size-1);
-			if (last != null && last.equals(pair))
-				return;	// don't add since the new one is equal to old
-		}
 		editions.add(pair);
 
 		if (!fAddMode || editions == fCurrentEditions)
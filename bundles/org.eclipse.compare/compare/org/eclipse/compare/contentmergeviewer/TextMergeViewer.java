@@ -3123,8 +3123,12 @@ public class TextMergeViewer extends ContentMergeViewer implements IAdaptable {
 
 		if (doc == fLeft.getSourceViewer().getDocument()) {
 			setLeftDirty(dirty);
+			fMerger.documentChanged(LEFT_CONTRIBUTOR, e);
 		} else if (doc == fRight.getSourceViewer().getDocument()) {
 			setRightDirty(dirty);
+			fMerger.documentChanged(RIGHT_CONTRIBUTOR, e);
+		} else if (doc == fAncestor.getSourceViewer().getDocument()) {
+			fMerger.documentChanged(ANCESTOR_CONTRIBUTOR, e);
 		}
 		if (!isLeftDirty() && !isRightDirty()) {
 			fRedoDiff = false;
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.compare.contentmergeviewer;
 
+import java.util.Arrays;
+
 import org.eclipse.compare.rangedifferencer.IRangeComparator;
 import org.eclipse.core.runtime.Assert;
 
@@ -31,6 +33,7 @@ public class TokenComparator implements ITokenComparator {
 	private int fCount;
 	private int[] fStarts;
 	private int[] fLengths;
+	private int[] fHashes;
 
 	/**
 	 * Creates a <code>TokenComparator</code> for the given string.
@@ -46,6 +49,7 @@ public class TokenComparator implements ITokenComparator {
 		int length= fText.length();
 		fStarts= new int[length];	// pessimistic assumption!
 		fLengths= new int[length];
+		fHashes= new int[length];
 		fCount= 0;
 
 		char lastCategory= 0;	// 0: no category
@@ -68,6 +72,14 @@ public class TokenComparator implements ITokenComparator {
 				lastCategory= category;
 			}
 			fLengths[fCount-1]++;
+			fHashes[fCount-1]= 31 * fHashes[fCount-1] + c;
+		}
+
+		if (fCount < length) {
+			// don't keep the pessimistic arrays of long texts
+			fStarts= Arrays.copyOf(fStarts, fCount);
+			fLengths= Arrays.copyOf(fLengths, fCount);
+			fHashes= Arrays.copyOf(fHashes, fCount);
 		}
 	}
 
@@ -96,12 +108,19 @@ public class TokenComparator implements ITokenComparator {
 			TokenComparator tc= (TokenComparator) other;
 			int thisLen= getTokenLength(thisIndex);
 			int otherLen= tc.getTokenLength(otherIndex);
-			if (thisLen == otherLen)
+			// the hashes reject most different tokens without looking at the text
+			if (thisLen == otherLen && getTokenHash(thisIndex) == tc.getTokenHash(otherIndex))
 				return fText.regionMatches(false, getTokenStart(thisIndex), tc.fText, tc.getTokenStart(otherIndex), thisLen);
 		}
 		return false;
 	}
 
+	private int getTokenHash(int index) {
+		if (index < fCount)
+			return fHashes[index];
+		return 0;
+	}
+
 	@Override
 	public boolean skipRangeComparison(int length, int max, IRangeComparator other) {
 
@@ -25,28 +25,38 @@ import org.eclipse.compare.IStreamContentAccessor;
 import org.eclipse.compare.ITypedElement;
 import org.eclipse.compare.structuremergeviewer.ICompareInput;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.RowLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.ui.PlatformUI;
 
 /**
  * A simple compare viewer for binary files.
- * Shows the position of the first non-matching byte.
+ * Shows the position of the first non-matching byte
+ * and a summary of all differing byte ranges, which
+ * is computed in the background.
  */
 public class BinaryCompareViewer extends AbstractViewer {
 
 	private static final String BUNDLE_NAME = "org.eclipse.compare.internal.BinaryCompareViewerResources"; //$NON-NLS-1$
 
-	private static final int EOF = -1;
+	/** the number of ranges that are listed in the message */
+	private static final int LISTED_RANGES = 10;
 	private ICompareInput fInput;
 	private ResourceBundle fBundle;
 
 	private Composite fComposite;
 	private Label fMessage;
 	private CompareConfiguration compareConfiguration;
+	private Job fSummaryJob;
 
 	public BinaryCompareViewer(Composite parent, final CompareConfiguration cc) {
 
@@ -62,6 +72,7 @@ public class BinaryCompareViewer extends AbstractViewer {
 		fComposite.setLayout(rowLayout);
 
 		fMessage= new Label(fComposite, SWT.WRAP);
+		fComposite.addDisposeListener(e -> cancelSummary());
 		fComposite.setData(CompareUI.COMPARE_VIEWER_TITLE, Utilities.getString(fBundle, "title")); //$NON-NLS-1$
 
 		compareConfiguration = cc != null ? cc : new CompareConfiguration();
@@ -81,6 +92,7 @@ public class BinaryCompareViewer extends AbstractViewer {
 	public void setInput(Object input) {
 		if (fComposite != null && input instanceof ICompareInput) {
 			fInput= (ICompareInput) input;
+			cancelSummary();
 
 			InputStream left= null;
 			InputStream right= null;
@@ -91,18 +103,12 @@ public class BinaryCompareViewer extends AbstractViewer {
 				right= getStream(fInput.getRight());
 
 				if (left != null && right != null) {
-					int pos= 0;
-					while (true) {
-						int l= left.read();
-						int r= right.read();
-						if (l != r) {
-							String format= Utilities.getString(fBundle, "diffMessageFormat"); //$NON-NLS-1$
-							message= MessageFormat.format(format, Integer.toString(pos) );
-							break;
-						}
-						if (l == EOF)
-							break;
-						pos++;
+					// reading stops at the first difference, the summary reads the rest
+					long first= BinaryDifferences.findFirstDifference(left, right);
+					if (first != -1) {
+						String format= Utilities.getString(fBundle, "diffMessageFormat"); //$NON-NLS-1$
+						message= MessageFormat.format(format, Long.toString(first));
+						computeSummary(fInput, message);
 					}
 				} else if (left == null && right == null) {
 					message= Utilities.getString(fBundle, "deleteConflictMessage"); //$NON-NLS-1$
@@ -126,6 +132,75 @@ public class BinaryCompareViewer extends AbstractViewer {
 		}
 	}
 
+	/*
+	 * Compares the whole streams in a job and appends the summary to the
+	 * message if the input is still shown
+	 */
+	private void computeSummary(final ICompareInput input, final String firstMessage) {
+		final Display display= fComposite.getDisplay();
+		Job job= new Job(Utilities.getString(fBundle, "summaryJobName")) { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				InputStream left= null;
+				InputStream right= null;
+				String summary;
+				try {
+					left= getStream(input.getLeft());
+					right= getStream(input.getRight());
+					if (left == null || right == null)
+						return Status.OK_STATUS;
+					summary= getSummary(BinaryDifferences.compute(left, right, LISTED_RANGES, monitor));
+				} catch (OperationCanceledException ex) {
+					return Status.CANCEL_STATUS;
+				} catch (CoreException | IOException ex) {
+					CompareUIPlugin.log(ex);
+					return Status.OK_STATUS;
+				} finally {
+					Utilities.close(left);
+					Utilities.close(right);
+				}
+				final String message= firstMessage + '\n' + summary;
+				display.asyncExec(() -> {
+					if (fComposite.isDisposed() || fInput != input || monitor.isCanceled())
+						return;
+					fMessage.setText(message);
+					fComposite.layout();
+				});
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		fSummaryJob= job;
+		job.schedule();
+	}
+
+	private void cancelSummary() {
+		if (fSummaryJob != null) {
+			fSummaryJob.cancel();
+			fSummaryJob= null;
+		}
+	}
+
+	private String getSummary(BinaryDifferences differences) {
+		String format= Utilities.getString(fBundle, "summaryMessageFormat"); //$NON-NLS-1$
+		StringBuilder message= new StringBuilder(MessageFormat.format(format, Long.toString(differences.getDifferentBytes()),
+				Long.toString(differences.getRangeCount()), Long.toString(differences.getLeftLength()),
+				Long.toString(differences.getRightLength())));
+
+		StringBuilder ranges= new StringBuilder();
+		for (int i= 0; i < differences.getKeptRangeCount(); i++) {
+			if (i > 0)
+				ranges.append(", "); //$NON-NLS-1$
+			long offset= differences.getRangeOffset(i);
+			ranges.append(offset).append('-').append(offset + differences.getRangeLength(i) - 1);
+		}
+		if (differences.getRangeCount() > differences.getKeptRangeCount())
+			ranges.append(", ..."); //$NON-NLS-1$
+		format= Utilities.getString(fBundle, "rangesMessageFormat"); //$NON-NLS-1$
+		message.append('\n').append(MessageFormat.format(format, ranges.toString()));
+		return message.toString();
+	}
+
 	@Override
 	public Object getInput() {
 		return fInput;
@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * The ranges of bytes in which two streams differ.
+ * <p>
+ * The streams are read in large chunks which are compared a long word at a
+ * time. Only the first ranges are kept, but all differing ranges and bytes are
+ * counted. If the streams have different lengths, the tail of the longer
+ * stream is a differing range.
+ * </p>
+ */
+public class BinaryDifferences {
+
+	private static final int CHUNK_SIZE= 64 * 1024;
+
+	private final int fMaxRanges;
+	/** offset and length of the kept ranges */
+	private long[] fRanges= new long[32];
+	private int fKeptRanges;
+	private long fRangeCount;
+	private long fFirstDifference= -1;
+	private long fDifferentBytes;
+	private long fLeftLength;
+	private long fRightLength;
+
+	/** the range that is currently being extended */
+	private long fOpenStart= -1;
+	private long fOpenEnd= -1;
+
+	private BinaryDifferences(int maxRanges) {
+		fMaxRanges= maxRanges;
+	}
+
+	/**
+	 * Compares the bytes of the given streams. The streams are not closed.
+	 *
+	 * @param left the left stream
+	 * @param right the right stream
+	 * @param maxRanges the maximum number of ranges that are kept
+	 * @return the differences
+	 * @throws IOException if a stream could not be read
+	 */
+	public static BinaryDifferences compute(InputStream left, InputStream right, int maxRanges) throws IOException {
+		return compute(left, right, maxRanges, null);
+	}
+
+	/**
+	 * Compares the bytes of the given streams. The streams are not closed.
+	 *
+	 * @param left the left stream
+	 * @param right the right stream
+	 * @param maxRanges the maximum number of ranges that are kept
+	 * @param monitor a progress monitor that is checked for cancellation after
+	 *   each chunk or <code>null</code>
+	 * @return the differences
+	 * @throws IOException if a stream could not be read
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static BinaryDifferences compute(InputStream left, InputStream right, int maxRanges, IProgressMonitor monitor) throws IOException {
+		BinaryDifferences differences= new BinaryDifferences(maxRanges);
+		differences.compare(left, right, monitor);
+		return differences;
+	}
+
+	/**
+	 * Returns the position of the first differing byte of the given streams
+	 * or -1 if they are equal. Reading stops at the first difference and the
+	 * streams are not closed.
+	 *
+	 * @param left the left stream
+	 * @param right the right stream
+	 * @return the position of the first differing byte or -1
+	 * @throws IOException if a stream could not be read
+	 */
+	public static long findFirstDifference(InputStream left, InputStream right) throws IOException {
+		byte[] leftChunk= new byte[CHUNK_SIZE];
+		byte[] rightChunk= new byte[CHUNK_SIZE];
+		ByteBuffer leftBuffer= ByteBuffer.wrap(leftChunk);
+		ByteBuffer rightBuffer= ByteBuffer.wrap(rightChunk);
+		long pos= 0;
+		while (true) {
+			int leftCount= fill(left, leftChunk);
+			int rightCount= fill(right, rightChunk);
+			int count= Math.min(leftCount, rightCount);
+			int i= 0;
+			while (i + 8 <= count && leftBuffer.getLong(i) == rightBuffer.getLong(i))
+				i+= 8;
+			for (; i < count; i++) {
+				if (leftChunk[i] != rightChunk[i])
+					return pos + i;
+			}
+			if (leftCount != rightCount)
+				return pos + count;
+			if (count < CHUNK_SIZE)
+				return -1;
+			pos+= count;
+		}
+	}
+
+	private void compare(InputStream left, InputStream right, IProgressMonitor monitor) throws IOException {
+		byte[] leftChunk= new byte[CHUNK_SIZE];
+		byte[] rightChunk= new byte[CHUNK_SIZE];
+		ByteBuffer leftBuffer= ByteBuffer.wrap(leftChunk);
+		ByteBuffer rightBuffer= ByteBuffer.wrap(rightChunk);
+		long pos= 0;
+		while (true) {
+			if (monitor != null && monitor.isCanceled())
+				throw new OperationCanceledException();
+			int leftCount= fill(left, leftChunk);
+			int rightCount= fill(right, rightChunk);
+			fLeftLength+= leftCount;
+			fRightLength+= rightCount;
+			int count= Math.min(leftCount, rightCount);
+
+			int i= 0;
+			while (i < count) {
+				// skip equal long words
+				while (i + 8 <= count && leftBuffer.getLong(i) == rightBuffer.getLong(i))
+					i+= 8;
+				int end= Math.min(i + 8, count);
+				for (; i < end; i++) {
+					if (leftChunk[i] != rightChunk[i])
+						addDifferent(pos + i, 1);
+				}
+			}
+			if (leftCount != rightCount) {
+				// one stream has ended, the rest of the other one differs
+				addDifferent(pos + count, Math.max(leftCount, rightCount) - count);
+				InputStream rest= leftCount > rightCount ? left : right;
+				long length= drain(rest, leftChunk, monitor);
+				addDifferent(pos + Math.max(leftCount, rightCount), length);
+				if (leftCount > rightCount)
+					fLeftLength+= length;
+				else
+					fRightLength+= length;
+				break;
+			}
+			if (count < CHUNK_SIZE)
+				break;
+			pos+= count;
+		}
+		closeRange();
+	}
+
+	/*
+	 * Reads until the chunk is full or the end of the stream is reached
+	 */
+	private static int fill(InputStream stream, byte[] chunk) throws IOException {
+		int count= 0;
+		while (count < chunk.length) {
+			int read= stream.read(chunk, count, chunk.length - count);
+			if (read == -1)
+				break;
+			count+= read;
+		}
+		return count;
+	}
+
+	private static long drain(InputStream stream, byte[] chunk, IProgressMonitor monitor) throws IOException {
+		long length= 0;
+		int read;
+		while ((read= stream.read(chunk)) != -1) {
+			if (monitor != null && monitor.isCanceled())
+				throw new OperationCanceledException();
+			length+= read;
+		}
+		return length;
+	}
+
+	private void addDifferent(long offset, long length) {
+		if (length <= 0)
+			return;
+		fDifferentBytes+= length;
+		if (fFirstDifference == -1)
+			fFirstDifference= offset;
+		if (fOpenEnd == offset) {
+			fOpenEnd+= length;
+			return;
+		}
+		closeRange();
+		fOpenStart= offset;
+		fOpenEnd= offset + length;
+	}
+
+	private void closeRange() {
+		if (fOpenStart == -1)
+			return;
+		fRangeCount++;
+		if (fKeptRanges < fMaxRanges) {
+			if (2 * fKeptRanges + 2 > fRanges.length) {
+				long[] ranges= new long[2 * fRanges.length];
+				System.arraycopy(fRanges, 0, ranges, 0, 2 * fKeptRanges);
+				fRanges= ranges;
+			}
+			fRanges[2 * fKeptRanges]= fOpenStart;
+			fRanges[2 * fKeptRanges + 1]= fOpenEnd - fOpenStart;
+			fKeptRanges++;
+		}
+		fOpenStart= fOpenEnd= -1;
+	}
+
+	/**
+	 * Returns whether the streams are equal.
+	 *
+	 * @return whether the streams are equal
+	 */
+	public boolean isEmpty() {
+		return fRangeCount == 0;
+	}
+
+	/**
+	 * Returns the number of differing ranges.
+	 *
+	 * @return the number of differing ranges
+	 */
+	public long getRangeCount() {
+		return fRangeCount;
+	}
+
+	/**
+	 * Returns the number of ranges that are kept. This is the total number
+	 * of ranges unless it exceeds the maximum passed to
+	 * {@link #compute(InputStream, InputStream, int)}.
+	 *
+	 * @return the number of ranges that are kept
+	 */
+	public int getKeptRangeCount() {
+		return fKeptRanges;
+	}
+
+	/**
+	 * Returns the offset of a kept range.
+	 *
+	 * @param index the index of the range
+	 * @return the offset of the range
+	 */
+	public long getRangeOffset(int index) {
+		return fRanges[2 * index];
+	}
+
+	/**
+	 * Returns the length of a kept range.
+	 *
+	 * @param index the index of the range
+	 * @return the length of the range
+	 */
+	public long getRangeLength(int index) {
+		return fRanges[2 * index + 1];
+	}
+
+	/**
+	 * Returns the position of the first differing byte or -1 if the streams
+	 * are equal.
+	 *
+	 * @return the position of the first differing byte or -1
+	 */
+	public long getFirstDifference() {
+		return fFirstDifference;
+	}
+
+	/**
+	 * Returns the number of differing bytes, including the bytes at the end
+	 * of the longer stream.
+	 *
+	 * @return the number of differing bytes
+	 */
+	public long getDifferentBytes() {
+		return fDifferentBytes;
+	}
+
+	/**
+	 * Returns the number of bytes of the left stream.
+	 *
+	 * @return the length of the left stream
+	 */
+	public long getLeftLength() {
+		return fLeftLength;
+	}
+
+	/**
+	 * Returns the number of bytes of the right stream.
+	 *
+	 * @return the length of the right stream
+	 */
+	public long getRightLength() {
+		return fRightLength;
+	}
+}
@@ -24,8 +24,9 @@ import org.eclipse.core.runtime.IStatus;
 public class CompareResourceFilter {
 	private static final char[][] NO_CHAR_CHAR= new char[0][];
 
-	private char[][] fExtraResourceFileFilters;
-	private String[] fExtraResourceFolderFilters;
+	// filled before they are published so that filter() may run concurrently
+	private volatile char[][] fExtraResourceFileFilters;
+	private volatile String[] fExtraResourceFolderFilters;
 
 
 	public CompareResourceFilter() {
@@ -36,14 +37,16 @@ public class CompareResourceFilter {
 	 * Returns true if path matches filter, that is if path should be filtered.
 	 */
 	public boolean filter(String path0, boolean folder, boolean isArchive) {
-		if (!folder && fExtraResourceFileFilters != null) {
+		char[][] fileFilters= fExtraResourceFileFilters;
+		if (!folder && fileFilters != null) {
 			char[] name= path0.toCharArray();
-			for (char[] filter : fExtraResourceFileFilters)
+			for (char[] filter : fileFilters)
 				if (match(filter, name, true))
 					return true;
 		}
-		if (folder && fExtraResourceFolderFilters != null) {
-			for (String filter : fExtraResourceFolderFilters)
+		String[] folderFilters= fExtraResourceFolderFilters;
+		if (folder && folderFilters != null) {
+			for (String filter : folderFilters)
 				if (filter.equals(path0))
 					return true;
 		}
@@ -87,16 +90,18 @@ public class CompareResourceFilter {
 				else
 					fileCount++;
 			}
-			fExtraResourceFileFilters= new char[fileCount][];
-			fExtraResourceFolderFilters= new String[folderCount];
+			char[][] fileFilters= new char[fileCount][];
+			String[] folderFilters= new String[folderCount];
 			for (char[] filter : filters) {
 				if (filter.length == 0)
 					continue;
 				if (filter[filter.length - 1] == '/')
-					fExtraResourceFolderFilters[--folderCount]= new String(subarray(filter, 0, filter.length - 1));
+					folderFilters[--folderCount]= new String(subarray(filter, 0, filter.length - 1));
 				else
-					fExtraResourceFileFilters[--fileCount]= filter;
+					fileFilters[--fileCount]= filter;
 			}
+			fExtraResourceFileFilters= fileFilters;
+			fExtraResourceFolderFilters= folderFilters;
 		}
 	}
 
@@ -257,7 +257,7 @@ public final class CompareUIPlugin extends AbstractUIPlugin {
 	private CompareRegistry<CompareFilterDescriptor> fCompareFilters = new CompareRegistry<>();
 
 	private Map<String, String> fStructureViewerAliases;
-	private CompareResourceFilter fFilter;
+	private volatile CompareResourceFilter fFilter;
 	private IPropertyChangeListener fPropertyChangeListener;
 
 	private ServiceRegistration<DebugOptionsListener> debugRegistration;
@@ -1372,17 +1372,29 @@ public final class CompareUIPlugin extends AbstractUIPlugin {
 	//---- filters
 
 	public boolean filter(String name, boolean isFolder, boolean isArchive) {
+		CompareResourceFilter filter= fFilter;
+		if (filter == null)
+			filter= createFilter();
+		return filter.filter(name, isFolder, isArchive);
+	}
+
+	/*
+	 * Called from the threads that compare resources in parallel, so the
+	 * filter is only published once its filters have been set.
+	 */
+	private synchronized CompareResourceFilter createFilter() {
 		if (fFilter == null) {
-			fFilter= new CompareResourceFilter();
+			final CompareResourceFilter filter= new CompareResourceFilter();
 			final IPreferenceStore ps= getPreferenceStore();
-			fFilter.setFilters(ps.getString(ComparePreferencePage.PATH_FILTER));
+			filter.setFilters(ps.getString(ComparePreferencePage.PATH_FILTER));
 			fPropertyChangeListener= event -> {
 				if (ComparePreferencePage.PATH_FILTER.equals(event.getProperty()))
-					fFilter.setFilters(ps.getString(ComparePreferencePage.PATH_FILTER));
+					filter.setFilters(ps.getString(ComparePreferencePage.PATH_FILTER));
 			};
 			ps.addPropertyChangeListener(fPropertyChangeListener);
+			fFilter= filter;
 		}
-		return fFilter.filter(name, isFolder, isArchive);
+		return fFilter;
 	}
 
 	private void internalOpenDialog(final CompareEditorInput input) {
@@ -13,12 +13,17 @@
  *******************************************************************************/
 package org.eclipse.compare.internal;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.eclipse.compare.ICompareFilter;
 import org.eclipse.compare.contentmergeviewer.ITokenComparator;
+import org.eclipse.compare.internal.core.LineIndex;
 import org.eclipse.compare.rangedifferencer.IRangeComparator;
 import org.eclipse.core.internal.expressions.util.LRUCache;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 
 /**
@@ -31,7 +36,31 @@ import org.eclipse.jface.text.IRegion;
  */
 public class DocLineComparator implements ITokenComparator {
 
+	/*
+	 * The line index of a document for a modification stamp. The index is
+	 * null if the document is being edited.
+	 */
+	private static class StampedLineIndex {
+		final long fStamp;
+		final LineIndex fIndex;
+
+		StampedLineIndex(long stamp, LineIndex index) {
+			fStamp= stamp;
+			fIndex= index;
+		}
+	}
+
+	/*
+	 * The line indexes of the compared documents. An index is only used while
+	 * the modification stamp of its document is unchanged. Documents that
+	 * change after they were indexed are not indexed again.
+	 */
+	private static final Map<IDocument, StampedLineIndex> fgLineIndexes= new WeakHashMap<>();
+
 	private IDocument fDocument;
+	private StampedLineIndex fLineIndex;
+	private boolean fUseLineIndex;
+	private boolean fLineIndexCreated;
 	private int fLineOffset;
 	private int fLineCount;
 	private int fLength;
@@ -119,6 +148,66 @@ public class DocLineComparator implements ITokenComparator {
 			fLength = document.getLength();
 			fLineCount = fDocument.getNumberOfLines();
 		}
+		// The index covers the whole document and can't be used to ignore
+		// white space or to apply filters
+		fUseLineIndex = !ignoreWhiteSpace
+				&& (compareFilters == null || compareFilters.length == 0)
+				&& fLineOffset == 0 && fLength == document.getLength();
+	}
+
+	/*
+	 * Returns the line index of the given document or null if the document
+	 * has no modification stamp or other line delimiters than the index
+	 */
+	private static StampedLineIndex getLineIndex(IDocument document) {
+		if (!(document instanceof IDocumentExtension4))
+			return null;
+		long stamp = ((IDocumentExtension4) document).getModificationStamp();
+		if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+			return null;
+		synchronized (fgLineIndexes) {
+			StampedLineIndex index = fgLineIndexes.get(document);
+			if (index != null) {
+				if (index.fStamp != stamp) {
+					// Don't copy the document on every edit
+					index = new StampedLineIndex(stamp, null);
+					fgLineIndexes.put(document, index);
+				}
+				return index.fIndex != null ? index : null;
+			}
+		}
+		for (String delimiter : document.getLegalLineDelimiters()) {
+			if (!"\n".equals(delimiter) && !"\r".equals(delimiter) && !"\r\n".equals(delimiter)) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				return null;
+		}
+		// Shared with other compares of the same text
+		StampedLineIndex index = new StampedLineIndex(stamp, LineIndex.get(document.get()));
+		if (index.fIndex.getLineCount() != document.getNumberOfLines())
+			return null;
+		synchronized (fgLineIndexes) {
+			fgLineIndexes.put(document, index);
+		}
+		return index;
+	}
+
+	/*
+	 * Returns the line index if the document hasn't changed since it was
+	 * created. The index is only created on request.
+	 */
+	private LineIndex getLineIndex(boolean create) {
+		if (create && !fLineIndexCreated) {
+			fLineIndexCreated = true;
+			if (fUseLineIndex)
+				fLineIndex = getLineIndex(fDocument);
+		}
+		StampedLineIndex index = fLineIndex;
+		if (index == null)
+			return null;
+		if (((IDocumentExtension4) fDocument).getModificationStamp() != index.fStamp) {
+			fLineIndex = null;
+			return null;
+		}
+		return index.fIndex;
 	}
 
 	/**
@@ -136,6 +225,12 @@ public class DocLineComparator implements ITokenComparator {
 	 */
 	@Override
 	public int getTokenStart(int line) {
+		LineIndex index = getLineIndex(false);
+		if (index != null) {
+			if (fLineOffset + line < index.getLineCount())
+				return index.getLineOffset(fLineOffset + line);
+			return index.getText().length();
+		}
 		try {
 			IRegion r= fDocument.getLineInformation(fLineOffset + line);
 			return r.getOffset();
@@ -173,8 +268,19 @@ public class DocLineComparator implements ITokenComparator {
 				return compare(linesToCompare[0], linesToCompare[1]);
 			}
 
+			LineIndex index= null;
+			LineIndex otherIndexedLines= null;
+			if (fUseLineIndex && other.fUseLineIndex) {
+				index= getLineIndex(true);
+				otherIndexedLines= other.getLineIndex(true);
+			}
 			int tlen= getTokenLength(thisIndex);
 			int olen= other.getTokenLength(otherIndex);
+			if (tlen == olen && index != null && otherIndexedLines != null
+					&& thisIndex < fLineCount && otherIndex < other.fLineCount) {
+				// compare the hashes of the lines before their text
+				return index.lineEquals(fLineOffset + thisIndex, otherIndexedLines, other.fLineOffset + otherIndex);
+			}
 			if (tlen == olen) {
 				String[] linesToCompare = extract(thisIndex, otherIndex, other, false);
 				return linesToCompare[0].equals(linesToCompare[1]);
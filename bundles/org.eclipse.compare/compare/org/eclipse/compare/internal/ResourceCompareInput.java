@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.compare.internal;
 
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
 import java.util.HashSet;
@@ -421,7 +422,32 @@ class ResourceCompareInput extends CompareEditorInput {
 				protected Object visit(Object parent, int description, Object ancestor, Object left, Object right) {
 					return new MyDiffNode((IDiffContainer) parent, description, (ITypedElement)ancestor, (ITypedElement)left, (ITypedElement)right);
 				}
+				@Override
+				protected String getDigestKey(Object input) {
+					if (input instanceof BufferedResourceNode && !((BufferedResourceNode) input).isDirty()) {
+						IResource resource= ((BufferedResourceNode) input).getResource();
+						if (resource.getType() == IResource.FILE)
+							return resource.getFullPath() + "@" + resource.getModificationStamp() + ":" + resource.getLocalTimeStamp(); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					return null;
+				}
+				@Override
+				protected long getContentLength(Object input) {
+					if (input instanceof BufferedResourceNode && !((BufferedResourceNode) input).isDirty()) {
+						IResource resource= ((BufferedResourceNode) input).getResource();
+						IPath location= resource.getLocation();
+						if (resource.getType() == IResource.FILE && location != null) {
+							File file= location.toFile();
+							if (file.isFile())
+								return file.length();
+						}
+					}
+					return -1;
+				}
 			};
+			// resource nodes only share state with their own children and the
+			// resource filter of the plug-in, which is safe to use concurrently
+			d.setParallel(true);
 
 			fRoot= d.findDifferences(fThreeWay, pm, null, fAncestor, fLeft, fRight);
 			return fRoot;
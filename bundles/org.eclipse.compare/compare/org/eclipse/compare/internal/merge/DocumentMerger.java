@@ -16,9 +16,12 @@ package org.eclipse.compare.internal.merge;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.compare.CompareConfiguration;
 import org.eclipse.compare.ICompareFilter;
@@ -37,11 +40,14 @@ import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 import org.eclipse.compare.structuremergeviewer.Differencer;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
@@ -65,6 +71,13 @@ public class DocumentMerger {
 	/** if true copying conflicts from one side to other concatenates both sides */
 	private static final boolean APPEND_CONFLICT= true;
 
+	/** The contributors in the order used for the incremental diff state */
+	private static final char[] CONTRIBUTORS= new char[] {
+		MergeViewerContentProvider.ANCESTOR_CONTRIBUTOR,
+		MergeViewerContentProvider.LEFT_CONTRIBUTOR,
+		MergeViewerContentProvider.RIGHT_CONTRIBUTOR
+	};
+
 	/** All diffs for calculating scrolling position (includes line ranges without changes) */
 	private ArrayList<Diff> fAllDiffs;
 	/** Subset of above: just real differences. */
@@ -72,6 +85,15 @@ public class DocumentMerger {
 
 	private IDocumentMergerInput fInput;
 
+	/** The documents the diffs were computed for, indexed by {@link #getIndex(char)}; <code>null</code> if they cannot be updated incrementally */
+	private IDocument[] fDiffDocuments;
+	/** The modification stamps of the documents after the last diff or the last recorded change */
+	private long[] fDiffStamps;
+	private boolean fDiffIgnoreWhiteSpace;
+	private ICompareFilter[] fDiffCompareFilters;
+	/** The character ranges (start, end) of each document that changed since the last diff */
+	private int[][] fChangedRegions;
+
 	/**
 	 * Interface that defines that input to the document merge process
 	 */
@@ -352,6 +374,11 @@ public class DocumentMerger {
 	 */
 	public void doDiff() throws CoreException {
 
+		if (fAllDiffs != null && fChangedRegions != null && doIncrementalDiff())
+			return;
+		fDiffDocuments= null;
+		fChangedRegions= null;
+
 		fChangeDiffs= new ArrayList<>();
 		IDocument lDoc = getDocument(MergeViewerContentProvider.LEFT_CONTRIBUTOR);
 		IDocument rDoc = getDocument(MergeViewerContentProvider.RIGHT_CONTRIBUTOR);
@@ -448,6 +475,21 @@ public class DocumentMerger {
 					Boolean.FALSE);
 
 		ArrayList<Diff> newAllDiffs = new ArrayList<>();
+		createDiffs(e, aDoc, aRegion, sancestor, lDoc, lRegion, sleft, rDoc, rRegion, sright, ignoreWhiteSpace, newAllDiffs);
+		fAllDiffs = newAllDiffs;
+		rememberDiffState(aDoc, lDoc, rDoc, ignoreWhiteSpace, compareFilters);
+	}
+
+	/*
+	 * Creates the line diffs and their token diffs for the given range
+	 * differences and adds them to the given list. The real differences are
+	 * also recorded as change diffs.
+	 */
+	private void createDiffs(RangeDifference[] e,
+			IDocument aDoc, Position aRegion, DocLineComparator sancestor,
+			IDocument lDoc, Position lRegion, DocLineComparator sleft,
+			IDocument rDoc, Position rRegion, DocLineComparator sright,
+			boolean ignoreWhiteSpace, List<Diff> newAllDiffs) {
 		for (RangeDifference es : e) {
 			int ancestorStart= 0;
 			int ancestorEnd= 0;
@@ -514,7 +556,235 @@ public class DocumentMerger {
 				}
 			}
 		}
-		fAllDiffs = newAllDiffs;
+	}
+
+	/**
+	 * Records a change of the document of the given contributor. If only
+	 * recorded changes happened since the last diff, the next {@link #doDiff()}
+	 * only diffs the lines around the changes again.
+	 *
+	 * @param contributor the contributor whose document has changed
+	 * @param event the document event describing the change
+	 */
+	public void documentChanged(char contributor, DocumentEvent event) {
+		if (fDiffDocuments == null)
+			return;
+		int index= getIndex(contributor);
+		if (index < 0 || fDiffDocuments[index] == null)
+			return;	// the document is not part of the diff
+		IDocument doc= event.getDocument();
+		if (doc != fDiffDocuments[index] || !(doc instanceof IDocumentExtension4)) {
+			fDiffDocuments= null;
+			return;
+		}
+		int offset= event.getOffset();
+		int length= event.getLength();
+		int textLength= event.getText() != null ? event.getText().length() : 0;
+		if (fChangedRegions == null)
+			fChangedRegions= new int[3][];
+		int[] region= fChangedRegions[index];
+		if (region == null) {
+			fChangedRegions[index]= new int[] { offset, offset + textLength };
+		} else {
+			// Map the end of the changed range into the new document
+			if (region[1] > offset + length)
+				region[1]+= textLength - length;
+			else
+				region[1]= offset + textLength;
+			region[0]= Math.min(region[0], offset);
+		}
+		fDiffStamps[index]= ((IDocumentExtension4) doc).getModificationStamp();
+	}
+
+	/*
+	 * Remembers what the current diffs were computed for so that recorded
+	 * changes can later be diffed incrementally.
+	 */
+	private void rememberDiffState(IDocument aDoc, IDocument lDoc, IDocument rDoc,
+			boolean ignoreWhiteSpace, ICompareFilter[] compareFilters) {
+		if (lDoc == rDoc || isPatchHunk()
+				|| getRegion(MergeViewerContentProvider.LEFT_CONTRIBUTOR) != null
+				|| getRegion(MergeViewerContentProvider.RIGHT_CONTRIBUTOR) != null
+				|| (aDoc != null && getRegion(MergeViewerContentProvider.ANCESTOR_CONTRIBUTOR) != null))
+			return;
+		IDocument[] docs= new IDocument[] { aDoc, lDoc, rDoc };
+		long[] stamps= new long[docs.length];
+		for (int i= 0; i < docs.length; i++) {
+			if (docs[i] == null)
+				continue;
+			if (!(docs[i] instanceof IDocumentExtension4))
+				return;
+			stamps[i]= ((IDocumentExtension4) docs[i]).getModificationStamp();
+		}
+		fDiffDocuments= docs;
+		fDiffStamps= stamps;
+		fDiffIgnoreWhiteSpace= ignoreWhiteSpace;
+		fDiffCompareFilters= compareFilters;
+	}
+
+	/*
+	 * Diffs again only the window of lines around the recorded changes that is
+	 * enclosed by unchanged ranges, and splices the resulting diffs into the
+	 * existing ones. Returns false if a full diff is required instead.
+	 */
+	private boolean doIncrementalDiff() {
+		int[][] changed= fChangedRegions;
+		fChangedRegions= null;
+		if (fDiffDocuments == null || isPatchHunk())
+			return false;
+
+		IDocument lDoc= getDocument(MergeViewerContentProvider.LEFT_CONTRIBUTOR);
+		IDocument rDoc= getDocument(MergeViewerContentProvider.RIGHT_CONTRIBUTOR);
+		IDocument aDoc= null;
+		if (isThreeWay() && !isIgnoreAncestor())
+			aDoc= getDocument(MergeViewerContentProvider.ANCESTOR_CONTRIBUTOR);
+		IDocument[] docs= new IDocument[] { aDoc, lDoc, rDoc };
+		for (int i= 0; i < docs.length; i++) {
+			if (docs[i] != fDiffDocuments[i])
+				return false;
+			if (docs[i] != null && ((IDocumentExtension4) docs[i]).getModificationStamp() != fDiffStamps[i])
+				return false;	// changed without being recorded
+		}
+		boolean ignoreWhiteSpace= isIgnoreWhitespace();
+		ICompareFilter[] compareFilters= getCompareFilters();
+		if (ignoreWhiteSpace != fDiffIgnoreWhiteSpace || !Arrays.equals(compareFilters, fDiffCompareFilters))
+			return false;
+
+		// Find the diffs touched by the changes
+		int size= fAllDiffs.size();
+		int first= -1;
+		int last= -1;
+		for (int i= 0; i < size; i++) {
+			if (isChanged(fAllDiffs.get(i), changed)) {
+				if (first < 0)
+					first= i;
+				last= i;
+			}
+		}
+		if (first < 0)
+			return false;
+
+		// Widen the window to the enclosing unchanged ranges
+		int from= first - 1;
+		while (from >= 0 && fAllDiffs.get(from).fDirection != RangeDifference.NOCHANGE)
+			from--;
+		int to= last + 1;
+		while (to < size && fAllDiffs.get(to).fDirection != RangeDifference.NOCHANGE)
+			to++;
+		if (from < 0 && to >= size)
+			return false;	// the window is the whole document
+		from= Math.max(from, 0);
+		to= Math.min(to, size - 1);
+
+		Diff fromDiff= fAllDiffs.get(from);
+		Diff toDiff= fAllDiffs.get(to);
+		boolean atStart= from == 0;
+		boolean atEnd= to == size - 1;
+		DocLineComparator sancestor= null;
+		if (aDoc != null)
+			sancestor= createWindowComparator(aDoc, MergeViewerContentProvider.ANCESTOR_CONTRIBUTOR,
+					fromDiff.fAncestorPos, atStart, toDiff.fAncestorPos, atEnd, ignoreWhiteSpace, compareFilters);
+		DocLineComparator sleft= createWindowComparator(lDoc, MergeViewerContentProvider.LEFT_CONTRIBUTOR,
+				fromDiff.fLeftPos, atStart, toDiff.fLeftPos, atEnd, ignoreWhiteSpace, compareFilters);
+		DocLineComparator sright= createWindowComparator(rDoc, MergeViewerContentProvider.RIGHT_CONTRIBUTOR,
+				fromDiff.fRightPos, atStart, toDiff.fRightPos, atEnd, ignoreWhiteSpace, compareFilters);
+
+		RangeDifference[] e;
+		try {
+			e= RangeDifferencer.findRanges(new NullProgressMonitor(), sancestor, sleft, sright);
+		} catch (OutOfMemoryError ex) {
+			System.gc();
+			return false;
+		}
+
+		List<Diff> removed= fAllDiffs.subList(from, to + 1);
+		for (Diff diff : removed)
+			removePositions(diff, aDoc, lDoc, rDoc);
+
+		ArrayList<Diff> oldChangeDiffs= fChangeDiffs;
+		fChangeDiffs= new ArrayList<>();
+		ArrayList<Diff> windowDiffs= new ArrayList<>();
+		createDiffs(e, aDoc, null, sancestor, lDoc, null, sleft, rDoc, null, sright, ignoreWhiteSpace, windowDiffs);
+
+		Set<Diff> changeDiffs= new HashSet<>(oldChangeDiffs);
+		changeDiffs.addAll(fChangeDiffs);
+		ArrayList<Diff> newAllDiffs= new ArrayList<>(size - removed.size() + windowDiffs.size());
+		newAllDiffs.addAll(fAllDiffs.subList(0, from));
+		newAllDiffs.addAll(windowDiffs);
+		newAllDiffs.addAll(fAllDiffs.subList(to + 1, size));
+		ArrayList<Diff> newChangeDiffs= new ArrayList<>();
+		for (Diff diff : newAllDiffs) {
+			if (changeDiffs.contains(diff))
+				newChangeDiffs.add(diff);
+		}
+		fAllDiffs= newAllDiffs;
+		fChangeDiffs= newChangeDiffs;
+		return true;
+	}
+
+	/*
+	 * Returns whether the given diff overlaps one of the changed ranges or
+	 * starts within one. Text inserted at the end of a diff belongs to the
+	 * next one since diffs end at the start of a line.
+	 */
+	private static boolean isChanged(Diff diff, int[][] changed) {
+		for (int i= 0; i < changed.length; i++) {
+			int[] region= changed[i];
+			if (region == null)
+				continue;
+			Position p= diff.getPosition(CONTRIBUTORS[i]);
+			if (p == null)
+				continue;
+			int start= p.getOffset();
+			int end= start + p.getLength();
+			if (p.isDeleted() || start <= region[1] && (end > region[0] || start >= region[0]))
+				return true;
+		}
+		return false;
+	}
+
+	/*
+	 * Creates a line comparator for the lines from the start of the given
+	 * first position up to the end of the given last position.
+	 */
+	private static DocLineComparator createWindowComparator(IDocument doc, char contributor,
+			Position first, boolean atStart, Position last, boolean atEnd,
+			boolean ignoreWhiteSpace, ICompareFilter[] compareFilters) {
+		int start= atStart ? 0 : first.getOffset();
+		int end= atEnd ? doc.getLength() : last.getOffset() + last.getLength();
+		int length= end - start;
+		// A region ending at the start of a line would also include that line
+		if (!atEnd && length > 0)
+			length--;
+		return new DocLineComparator(doc, new Region(start, length), ignoreWhiteSpace, compareFilters, contributor);
+	}
+
+	private static void removePositions(Diff diff, IDocument aDoc, IDocument lDoc, IDocument rDoc) {
+		removePosition(aDoc, diff.fAncestorPos);
+		removePosition(lDoc, diff.fLeftPos);
+		removePosition(rDoc, diff.fRightPos);
+		if (diff.fDiffs != null) {
+			for (Diff child : diff.fDiffs)
+				removePositions(child, aDoc, lDoc, rDoc);
+		}
+	}
+
+	private static void removePosition(IDocument doc, Position p) {
+		if (doc == null || p == null)
+			return;
+		try {
+			doc.removePosition(DIFF_RANGE_CATEGORY, p);
+		} catch (BadPositionCategoryException e) {
+			// silently ignored
+		}
+	}
+
+	private static int getIndex(char contributor) {
+		for (int i= 0; i < CONTRIBUTORS.length; i++) {
+			if (CONTRIBUTORS[i] == contributor)
+				return i;
+		}
+		return -1;
 	}
 
 	private boolean isCapped(DocLineComparator ancestor,
@@ -764,7 +1034,7 @@ public class DocumentMerger {
 		int leftStart= baseDiff.fLeftPos.getOffset();
 		ITokenComparator sy= createTokenComparator(s);
 
-		RangeDifference[] r= RangeDifferencer.findRanges(sa, sy, sm);
+		RangeDifference[] r= TokenRangeDifferencer.findRanges(sa, sy, sm, !isCappingDisabled());
 		for (int i= 0; i < r.length; i++) {
 			RangeDifference  es= r[i];
 			// determine range of diffs in one line
@@ -856,7 +1126,7 @@ public class DocumentMerger {
 		int leftStart= baseDiff.fLeftPos.getOffset();
 		ITokenComparator sy= createTokenComparator(s);
 
-		RangeDifference[] e= RangeDifferencer.findRanges(sa, sy, sm);
+		RangeDifference[] e= TokenRangeDifferencer.findRanges(sa, sy, sm, !isCappingDisabled());
 		for (RangeDifference es : e) {
 			int kind= es.kind();
 			if (kind != RangeDifference.NOCHANGE) {
@@ -989,6 +1259,8 @@ public class DocumentMerger {
 	public void reset() {
 		fChangeDiffs= null;
 		fAllDiffs= null;
+		fDiffDocuments= null;
+		fChangedRegions= null;
 	}
 
 	/**
@@ -13,12 +13,12 @@
  *******************************************************************************/
 package org.eclipse.compare.internal.merge;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.Reader;
 
+import org.eclipse.compare.internal.core.LineIndex;
 import org.eclipse.compare.rangedifferencer.IRangeComparator;
 
 /**
@@ -26,35 +26,40 @@ import org.eclipse.compare.rangedifferencer.IRangeComparator;
  */
 class LineComparator implements IRangeComparator {
 
-	private String[] fLines;
+	private LineIndex fIndex;
+	private int fCount;
 
 	public LineComparator(InputStream is, String encoding) throws IOException {
 
-		BufferedReader br = new BufferedReader(new InputStreamReader(is, encoding));
-		String line;
-		ArrayList<String> ar = new ArrayList<>();
-		while ((line = br.readLine()) != null) {
-			ar.add(line);
-		}
 		// It is the responsibility of the caller to close the stream
-		fLines = ar.toArray(new String[ar.size()]);
+		Reader reader = new InputStreamReader(is, encoding);
+		StringBuilder text = new StringBuilder();
+		char[] buffer = new char[8192];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			text.append(buffer, 0, read);
+		}
+		fIndex = LineIndex.get(text.toString());
+		// Like BufferedReader.readLine(), don't count the empty line after a
+		// trailing line separator or the only line of an empty text
+		fCount = fIndex.getLineCount();
+		if (fIndex.endsWithLineSeparator() || text.length() == 0)
+			fCount--;
 	}
 
 	String getLine(int ix) {
-		return fLines[ix];
+		return fIndex.getLine(ix);
 	}
 
 	@Override
 	public int getRangeCount() {
-		return fLines.length;
+		return fCount;
 	}
 
 	@Override
 	public boolean rangesEqual(int thisIndex, IRangeComparator other,
 			int otherIndex) {
-		String s1 = fLines[thisIndex];
-		String s2 = ((LineComparator) other).fLines[otherIndex];
-		return s1.equals(s2);
+		return fIndex.lineEquals(thisIndex, ((LineComparator) other).fIndex, otherIndex);
 	}
 
 	@Override
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.internal.merge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.compare.internal.core.LCS;
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+/**
+ * Finds the differences between the tokens of changed lines like
+ * {@link RangeDifferencer#findRanges(IRangeComparator, IRangeComparator, IRangeComparator)}
+ * but stays fast on very long lines (e.g. minified or generated files).
+ * <p>
+ * The tokens that all sides have in common at the start and at the end are
+ * matched directly, and only the remaining window is passed to the
+ * differencer. If the window is still too large for the LCS and capping is
+ * enabled, the window is reported as a single difference in linear time.
+ * </p>
+ */
+public class TokenRangeDifferencer {
+
+	/*
+	 * A range of the tokens of a comparator
+	 */
+	private static class Window implements IRangeComparator {
+		private final IRangeComparator fComparator;
+		private final int fStart;
+		private final int fCount;
+
+		Window(IRangeComparator comparator, int start, int count) {
+			fComparator= comparator;
+			fStart= start;
+			fCount= count;
+		}
+
+		@Override
+		public int getRangeCount() {
+			return fCount;
+		}
+
+		@Override
+		public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
+			Window window= (Window) other;
+			return fComparator.rangesEqual(fStart + thisIndex, window.fComparator, window.fStart + otherIndex);
+		}
+
+		@Override
+		public boolean skipRangeComparison(int length, int maxLength, IRangeComparator other) {
+			return false;
+		}
+	}
+
+	private static class TokenRange extends RangeDifference {
+		TokenRange(int kind, int rightStart, int rightLength, int leftStart, int leftLength, int ancestorStart, int ancestorLength) {
+			super(kind, rightStart, rightLength, leftStart, leftLength, ancestorStart, ancestorLength);
+		}
+	}
+
+	private TokenRangeDifferencer() {
+		// no instances
+	}
+
+	/**
+	 * Finds the differences between the tokens of two or three comparators.
+	 * The result covers all tokens including the unchanged ones.
+	 *
+	 * @param ancestor the ancestor comparator or <code>null</code>
+	 * @param left the left comparator
+	 * @param right the right comparator
+	 * @param capped whether a window too large for the LCS is reported as a
+	 *   single difference
+	 * @return the differences
+	 */
+	public static RangeDifference[] findRanges(IRangeComparator ancestor, IRangeComparator left, IRangeComparator right, boolean capped) {
+		int aCount= ancestor == null ? 0 : ancestor.getRangeCount();
+		int lCount= left.getRangeCount();
+		int rCount= right.getRangeCount();
+
+		// the tokens all sides have in common at the start
+		int max= Math.min(lCount, rCount);
+		if (ancestor != null)
+			max= Math.min(max, aCount);
+		int prefix= 0;
+		while (prefix < max && left.rangesEqual(prefix, right, prefix)
+				&& (ancestor == null || ancestor.rangesEqual(prefix, left, prefix)))
+			prefix++;
+
+		// the tokens all sides have in common at the end
+		max-= prefix;
+		int suffix= 0;
+		while (suffix < max && left.rangesEqual(lCount - suffix - 1, right, rCount - suffix - 1)
+				&& (ancestor == null || ancestor.rangesEqual(aCount - suffix - 1, left, lCount - suffix - 1)))
+			suffix++;
+
+		Window a= ancestor == null ? null : new Window(ancestor, prefix, aCount - prefix - suffix);
+		Window l= new Window(left, prefix, lCount - prefix - suffix);
+		Window r= new Window(right, prefix, rCount - prefix - suffix);
+
+		List<RangeDifference> result= new ArrayList<>();
+		if (prefix > 0)
+			result.add(new TokenRange(RangeDifference.NOCHANGE, 0, prefix, 0, prefix, 0, ancestor == null ? 0 : prefix));
+		if (l.getRangeCount() > 0 || r.getRangeCount() > 0 || (a != null && a.getRangeCount() > 0)) {
+			RangeDifference[] differences;
+			if (capped && isTooLong(a, l, r))
+				differences= new RangeDifference[] { createWindowRange(a, l, r) };
+			else
+				differences= RangeDifferencer.findRanges(a, l, r);
+			for (RangeDifference es : differences) {
+				add(result, new TokenRange(es.kind(),
+						prefix + es.rightStart(), es.rightLength(),
+						prefix + es.leftStart(), es.leftLength(),
+						ancestor == null ? 0 : prefix + es.ancestorStart(), es.ancestorLength()));
+			}
+		}
+		if (suffix > 0)
+			add(result, new TokenRange(RangeDifference.NOCHANGE, rCount - suffix, suffix, lCount - suffix, suffix,
+					ancestor == null ? 0 : aCount - suffix, ancestor == null ? 0 : suffix));
+		return result.toArray(new RangeDifference[result.size()]);
+	}
+
+	/*
+	 * Adds the given range, merging it into the preceding one if both are unchanged
+	 */
+	private static void add(List<RangeDifference> result, TokenRange range) {
+		int size= result.size();
+		if (size > 0 && range.kind() == RangeDifference.NOCHANGE) {
+			RangeDifference last= result.get(size - 1);
+			if (last.kind() == RangeDifference.NOCHANGE) {
+				result.set(size - 1, new TokenRange(RangeDifference.NOCHANGE,
+						last.rightStart(), last.rightLength() + range.rightLength(),
+						last.leftStart(), last.leftLength() + range.leftLength(),
+						last.ancestorStart(), last.ancestorLength() + range.ancestorLength()));
+				return;
+			}
+		}
+		result.add(range);
+	}
+
+	private static boolean isTooLong(Window a, Window l, Window r) {
+		double aLength= a == null ? 0 : a.getRangeCount();
+		double lLength= l.getRangeCount();
+		double rLength= r.getRangeCount();
+		return aLength * lLength > LCS.TOO_LONG
+				|| aLength * rLength > LCS.TOO_LONG
+				|| lLength * rLength > LCS.TOO_LONG;
+	}
+
+	/*
+	 * Reports the whole window as a single difference whose kind is
+	 * determined by comparing the windows token by token
+	 */
+	private static RangeDifference createWindowRange(Window a, Window l, Window r) {
+		int kind;
+		if (a == null)
+			kind= RangeDifference.CHANGE;
+		else if (isEqual(a, l))
+			kind= RangeDifference.RIGHT;
+		else if (isEqual(a, r))
+			kind= RangeDifference.LEFT;
+		else if (isEqual(l, r))
+			kind= RangeDifference.ANCESTOR;
+		else
+			kind= RangeDifference.CONFLICT;
+		return new TokenRange(kind, 0, r.getRangeCount(), 0, l.getRangeCount(), 0, a == null ? 0 : a.getRangeCount());
+	}
+
+	private static boolean isEqual(Window w1, Window w2) {
+		int count= w1.getRangeCount();
+		if (count != w2.getRangeCount())
+			return false;
+		for (int i= 0; i < count; i++) {
+			if (!w1.rangesEqual(i, w2, i))
+				return false;
+		}
+		return true;
+	}
+}
@@ -18,15 +18,16 @@ import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.eclipse.compare.IStreamContentAccessor;
 import org.eclipse.compare.ITypedElement;
 import org.eclipse.compare.internal.MergeViewerContentProvider;
 import org.eclipse.compare.internal.Utilities;
+import org.eclipse.compare.internal.core.ContentDigestCache;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -57,6 +58,11 @@ import org.eclipse.core.runtime.OperationCanceledException;
  * In the two-way case only NO_CHANGE, ADDITION, DELETION, and CHANGE are used.
  * In the three-way case these constants are bitwise ORed with one of directional constants
  * LEFT, RIGHT, and CONFLICTING.
+ * <p>
+ * In parallel mode (see {@link #setParallel(boolean)}) the subtrees of sibling nodes
+ * are traversed concurrently. The resulting tree of differences and the order in
+ * which <code>visit</code> is called are the same as in sequential mode.
+ * </p>
  */
 public class Differencer {
 	// The kind of differences.
@@ -110,6 +116,23 @@ public class Differencer {
 	 */
 	public static final int PSEUDO_CONFLICT= 16;
 
+	/*
+	 * Indices of the sides in the children table built for a node
+	 */
+	private static final int ANCESTOR_SIDE= 0;
+	private static final int LEFT_SIDE= 1;
+	private static final int RIGHT_SIDE= 2;
+
+	private boolean fParallel;
+
+	/*
+	 * The pool shared by all differencers in parallel mode. Its threads are
+	 * daemons that are retired when they have been idle for a while.
+	 */
+	private static class PoolHolder {
+		static final ForkJoinPool POOL= new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
 
 	static class Node {
 		List<Node> fChildren;
@@ -194,6 +217,34 @@ public class Differencer {
 //		}
 	}
 
+	/*
+	 * Traverses the subtree of a node in parallel mode
+	 */
+	private class TraverseTask extends RecursiveTask<Integer> {
+		private static final long serialVersionUID = 1L;
+		private final boolean fThreeWay;
+		private final Node fNode;
+		private final Object fKey;
+		private final IProgressMonitor fMonitor;
+
+		TraverseTask(boolean threeWay, Node node, Object key, IProgressMonitor pm) {
+			fThreeWay= threeWay;
+			fNode= node;
+			fKey= key;
+			fMonitor= pm;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (fKey != null) {
+				checkCanceled(fMonitor);
+				if (fMonitor != null)
+					reportProgress(fMonitor, fKey);
+			}
+			return Integer.valueOf(traverse(fThreeWay, fNode, fMonitor));
+		}
+	}
+
 	/**
 	 * Creates a new differencing engine.
 	 */
@@ -201,6 +252,35 @@ public class Differencer {
 		// nothing to do
 	}
 
+	/**
+	 * Sets whether the subtrees of sibling nodes are compared concurrently.
+	 * In parallel mode the <code>getChildren</code>, <code>contentsEqual</code> and
+	 * <code>updateProgress</code> methods are called from several threads, although
+	 * the calls to <code>updateProgress</code> are serialized. Subclasses that override
+	 * these methods must make them thread safe before enabling parallel mode.
+	 * The <code>visit</code> method is always called from the thread that calls
+	 * <code>findDifferences</code>. The subtrees are compared in a pool that is
+	 * shared by all differencers and uses one thread per processor.
+	 * The default is <code>false</code>.
+	 *
+	 * @param parallel whether sibling subtrees are compared concurrently
+	 * @since 3.8
+	 */
+	public void setParallel(boolean parallel) {
+		fParallel= parallel;
+	}
+
+	/**
+	 * Returns whether the subtrees of sibling nodes are compared concurrently.
+	 *
+	 * @return whether parallel mode is enabled
+	 * @see #setParallel(boolean)
+	 * @since 3.8
+	 */
+	public boolean isParallel() {
+		return fParallel;
+	}
+
 	/**
 	 * Starts the differencing engine on the three input objects. If threeWay is <code>true</code> a
 	 * three-way comparison is performed, otherwise a two-way compare (in the latter case the ancestor argument is ignored).
@@ -219,8 +299,14 @@ public class Differencer {
 	 */
 	public Object findDifferences(boolean threeWay, IProgressMonitor pm, Object data, Object ancestor, Object left, Object right) {
 		Node root= new Node();
+		Node top= new Node(root, threeWay ? ancestor : null, left, right);
 
-		int code= traverse(threeWay, root, pm, threeWay ? ancestor : null, left, right);
+		int code;
+		if (fParallel) {
+			code= PoolHolder.POOL.invoke(new TraverseTask(threeWay, top, null, pm)).intValue();
+		} else {
+			code= traverse(threeWay, top, pm);
+		}
 
 		if (code != NO_CHANGE) {
 			List<Node> l= root.fChildren;
@@ -233,18 +319,19 @@ public class Differencer {
 	}
 
 	/*
-	 * Traverse tree in postorder.
+	 * Traverse tree in postorder. The node for the compared objects has been
+	 * added to its parent and its code is set once its subtree is traversed.
 	 */
-	private int traverse(boolean threeWay, Node parent, IProgressMonitor pm,
-			Object ancestor, Object left, Object right) {
+	private int traverse(boolean threeWay, Node node, IProgressMonitor pm) {
+		Object ancestor= node.fAncestor;
+		Object left= node.fLeft;
+		Object right= node.fRight;
 		Object[] ancestorChildren= getChildren(ancestor);
 		Object[] rightChildren= getChildren(right);
 		Object[] leftChildren= getChildren(left);
 
 		int code= NO_CHANGE;
 
-		Node node= new Node(parent, ancestor, left, right);
-
 		boolean content= true;	// we reset this if we have at least one child
 
 		if (((threeWay && ancestorChildren != null) || !threeWay)
@@ -252,49 +339,42 @@ public class Differencer {
 			// we only recurse down if no leg is null
 			// a node
 
-			Set<Object> allSet= new HashSet<>(20);
-			Map<Object, Object> ancestorSet= null;
-			Map<Object, Object> rightSet= null;
-			Map<Object, Object> leftSet= null;
-
-			if (ancestorChildren != null) {
-				ancestorSet= new HashMap<>(10);
-				for (Object ancestorChild : ancestorChildren) {
-					ancestorSet.put(ancestorChild, ancestorChild);
-					allSet.add(ancestorChild);
-				}
+			// maps each child to its ancestor, left and right counterparts
+			Map<Object, Object[]> allSet= new HashMap<>(20);
+			if (ancestorChildren != null)
+				addChildren(allSet, ancestorChildren, ANCESTOR_SIDE);
+			addChildren(allSet, rightChildren, RIGHT_SIDE);
+			addChildren(allSet, leftChildren, LEFT_SIDE);
+
+			Node[] children= new Node[allSet.size()];
+			Object[] keys= new Object[children.length];
+			int i= 0;
+			for (Map.Entry<Object, Object[]> entry : allSet.entrySet()) {
+				Object[] sides= entry.getValue();
+				keys[i]= entry.getKey();
+				children[i++]= new Node(node, sides[ANCESTOR_SIDE], sides[LEFT_SIDE], sides[RIGHT_SIDE]);
 			}
 
-			if (rightChildren != null) {
-				rightSet= new HashMap<>(10);
-				for (Object rightChild : rightChildren) {
-					rightSet.put(rightChild, rightChild);
-					allSet.add(rightChild);
-				}
-			}
-
-			if (leftChildren != null) {
-				leftSet= new HashMap<>(10);
-				for (Object leftChild : leftChildren) {
-					leftSet.put(leftChild, leftChild);
-					allSet.add(leftChild);
+			int[] codes= new int[children.length];
+			if (fParallel && children.length > 1) {
+				TraverseTask[] tasks= new TraverseTask[children.length];
+				for (i= 0; i < children.length; i++)
+					tasks[i]= new TraverseTask(threeWay, children[i], keys[i], pm);
+				for (i= tasks.length - 1; i > 0; i--)
+					tasks[i].fork();
+				codes[0]= tasks[0].invoke().intValue();
+				for (i= 1; i < tasks.length; i++)
+					codes[i]= tasks[i].join().intValue();
+			} else {
+				for (i= 0; i < children.length; i++) {
+					checkCanceled(pm);
+					if (pm != null)
+						reportProgress(pm, keys[i]);
+					codes[i]= traverse(threeWay, children[i], pm);
 				}
 			}
 
-			for (Object keyChild : allSet) {
-				if (pm != null) {
-					if (pm.isCanceled())
-						throw new OperationCanceledException();
-
-					updateProgress(pm, keyChild);
-				}
-
-				Object ancestorChild= ancestorSet != null ? ancestorSet.get(keyChild) : null;
-				Object leftChild= leftSet != null ? leftSet.get(keyChild) : null;
-				Object rightChild= rightSet != null ? rightSet.get(keyChild) : null;
-
-				int c= traverse(threeWay, node, pm, ancestorChild, leftChild, rightChild);
-
+			for (int c : codes) {
 				if ((c & CHANGE_TYPE_MASK) != NO_CHANGE) {
 					code|= CHANGE;	// deletions and additions of child result in a change of the container
 					code|= (c & DIRECTION_MASK);	// incoming & outgoing are just ored
@@ -311,6 +391,36 @@ public class Differencer {
 		return code;
 	}
 
+	private static void addChildren(Map<Object, Object[]> allSet, Object[] children, int side) {
+		for (Object child : children) {
+			Object[] sides= allSet.get(child);
+			if (sides == null) {
+				sides= new Object[3];
+				allSet.put(child, sides);
+			}
+			sides[side]= child;
+		}
+	}
+
+	private static void checkCanceled(IProgressMonitor pm) {
+		if (pm != null && pm.isCanceled())
+			throw new OperationCanceledException();
+	}
+
+	/*
+	 * Reports the node that is about to be traversed. Calls are serialized
+	 * so that subclasses and monitors need not be thread safe in parallel mode.
+	 */
+	private void reportProgress(IProgressMonitor pm, Object node) {
+		if (fParallel) {
+			synchronized (pm) {
+				updateProgress(pm, node);
+			}
+		} else {
+			updateProgress(pm, node);
+		}
+	}
+
 	/**
 	 * Called for every node or leaf comparison.
 	 * The differencing engine passes in the input objects of the compare and the result of the compare.
@@ -457,6 +567,13 @@ public class Differencer {
 		if (input1 == input2)
 			return true;
 
+		String key1= getDigestKey(input1);
+		String key2= getDigestKey(input2);
+		ContentDigestCache cache= ContentDigestCache.getDefault();
+		int known= cache.compare(key1, getContentLength(input1), key2, getContentLength(input2));
+		if (known != ContentDigestCache.UNKNOWN)
+			return known == ContentDigestCache.EQUAL;
+
 		InputStream is1= getStream(input1);
 		InputStream is2= getStream(input2);
 
@@ -467,15 +584,7 @@ public class Differencer {
 			if (is1 == null || is2 == null)	// only one has contents
 				return false;
 
-			while (true) {
-				int c1= is1.read();
-				int c2= is2.read();
-				if (c1 == -1 && c2 == -1)
-					return true;
-				if (c1 != c2)
-					break;
-
-			}
+			return cache.contentsEqual(is1, key1, is2, key2);
 		} catch (IOException ex) {
 			// NeedWork
 		} finally {
@@ -497,6 +606,42 @@ public class Differencer {
 		return false;
 	}
 
+	/**
+	 * Returns a key that identifies the current contents of the given input or
+	 * <code>null</code> if the contents cannot be identified. The key must change
+	 * whenever the contents change, e.g. by including the modification stamp of a
+	 * file. The lengths and hashes of contents with a key are cached so that
+	 * inputs whose digests are known can be compared without reading them.
+	 * <p>
+	 * The <code>Differencer</code> implementation returns <code>null</code>.
+	 * Subclasses may override.
+	 * </p>
+	 *
+	 * @param input an input of a contents compare
+	 * @return a key for the contents of the input or <code>null</code>
+	 * @since 3.8
+	 */
+	protected String getDigestKey(Object input) {
+		return null;
+	}
+
+	/**
+	 * Returns the length in bytes of the contents of the given input or -1 if
+	 * the length is not known without reading the contents. Inputs whose
+	 * lengths differ are not read.
+	 * <p>
+	 * The <code>Differencer</code> implementation returns -1.
+	 * Subclasses may override, e.g. to return the length of a file.
+	 * </p>
+	 *
+	 * @param input an input of a contents compare
+	 * @return the length of the contents of the input or -1
+	 * @since 3.8
+	 */
+	protected long getContentLength(Object input) {
+		return -1;
+	}
+
 	/*
 	 * Tries to return an InputStream for the given object.
 	 * Returns <code>null</code> if the object not an IStreamContentAccessor
@@ -14,6 +14,13 @@
 package org.eclipse.compare.structuremergeviewer;
 
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.compare.CompareConfiguration;
 import org.eclipse.compare.CompareUI;
@@ -21,6 +28,8 @@ import org.eclipse.compare.CompareViewerSwitchingPane;
 import org.eclipse.compare.ICompareFilter;
 import org.eclipse.compare.IContentChangeListener;
 import org.eclipse.compare.IContentChangeNotifier;
+import org.eclipse.compare.IEditableContent;
+import org.eclipse.compare.IStreamContentAccessor;
 import org.eclipse.compare.ITypedElement;
 import org.eclipse.compare.contentmergeviewer.IDocumentRange;
 import org.eclipse.compare.internal.ChangeCompareFilterPropertyAction;
@@ -34,6 +43,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.swt.custom.BusyIndicator;
@@ -60,12 +70,15 @@ import org.eclipse.ui.services.IDisposable;
  */
 
 public class StructureDiffViewer extends DiffTreeViewer {
+	/** the maximum number of structures kept for inputs that are shown again */
+	private static final int STRUCTURE_CACHE_SIZE= 24;
+
 	private Differencer fDifferencer;
 	private boolean fThreeWay= false;
 
-	private StructureInfo fAncestorStructure = new StructureInfo();
-	private StructureInfo fLeftStructure = new StructureInfo();
-	private StructureInfo fRightStructure = new StructureInfo();
+	private StructureInfo fAncestorStructure = new StructureInfo('A');
+	private StructureInfo fLeftStructure = new StructureInfo('L');
+	private StructureInfo fRightStructure = new StructureInfo('R');
 
 	private IStructureCreator fStructureCreator;
 	private IDiffContainer fRoot;
@@ -73,6 +86,25 @@ public class StructureDiffViewer extends DiffTreeViewer {
 	private CompareViewerSwitchingPane fParent;
 	private ICompareInputChangeListener fCompareInputChangeListener;
 
+	/*
+	 * The structures built by a StructureCreator for inputs that are neither
+	 * editable nor backed by a shared document, keyed by side, type and content
+	 * digest. Each structure is built over a private document of the viewer, so
+	 * browsing back to an input that was already compared doesn't parse it again.
+	 * A structure that leaves the cache is destroyed once no side shows it.
+	 */
+	private final Map<String, IStructureComparator> fStructureCache= new LinkedHashMap<String, IStructureComparator>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IStructureComparator> eldest) {
+			if (size() <= STRUCTURE_CACHE_SIZE)
+				return false;
+			remove(eldest.getKey());
+			releaseCachedStructure(eldest.getValue());
+			return false;
+		}
+	};
+
 	/*
 	 * A set of background tasks for updating the structure
 	 */
@@ -94,10 +126,17 @@ public class StructureDiffViewer extends DiffTreeViewer {
 	 * for the ancestor, left and right inputs.
 	 */
 	private class StructureInfo {
+		private final char fSide;
 		private ITypedElement fInput;
 		private IStructureComparator fStructureComparator;
+		/** whether the structure is owned by the structure cache */
+		private boolean fCached;
 		private IRunnableWithProgress refreshTask = this::refresh;
 
+		StructureInfo(char side) {
+			fSide= side;
+		}
+
 		public boolean setInput(ITypedElement newInput, boolean force, IProgressMonitor monitor) {
 			boolean changed = false;
 			if (force || newInput != fInput) {
@@ -108,8 +147,9 @@ public class StructureDiffViewer extends DiffTreeViewer {
 				if (fInput == null) {
 					dispose(); // destroy fStructureComparator
 					fStructureComparator= null;
+					fCached= false;
 				} else {
-					refresh(monitor);
+					refresh(true, monitor);
 					changed= true;
 				}
 				if (fInput instanceof IContentChangeNotifier && fContentChangedListener != null)
@@ -122,7 +162,8 @@ public class StructureDiffViewer extends DiffTreeViewer {
 		 * Remove any document range updaters that were registered against the document.
 		 */
 		private void removeDocumentRangeUpdaters() {
-			if (fStructureComparator instanceof IDocumentRange) {
+			// a cached structure keeps its private document
+			if (!fCached && fStructureComparator instanceof IDocumentRange) {
 				IDocument doc = ((IDocumentRange) fStructureComparator).getDocument();
 				try {
 					doc.removePositionCategory(IDocumentRange.RANGE_CATEGORY);
@@ -137,17 +178,78 @@ public class StructureDiffViewer extends DiffTreeViewer {
 		}
 
 		public void refresh(IProgressMonitor monitor) {
+			// an explicit refresh always parses again, but updates the cache
+			refresh(false, monitor);
+		}
+
+		private void refresh(boolean useCache, IProgressMonitor monitor) {
 			IStructureComparator oldComparator = fStructureComparator;
-			fStructureComparator= createStructure(monitor);
-			// Dispose of the old one after in case they are using a shared document
-			// (i.e. disposing it after will hold on to a reference to the document
-			// so it doesn't get freed and reloaded)
-			if (oldComparator instanceof IDisposable) {
+			boolean oldCached = fCached;
+			IStructureComparator comparator= null;
+			boolean cached= false;
+			// the contents are read once, for the cache key and the structure
+			Object input = fInput;
+			String contents= getCacheableContents(input);
+			if (contents != null) {
+				String key= getCacheKey(input, contents);
+				if (key != null) {
+					if (useCache) {
+						synchronized (fStructureCache) {
+							comparator= fStructureCache.get(key);
+						}
+					}
+					if (comparator == null) {
+						comparator= createCachedStructure(input, contents, monitor);
+						if (comparator != null) {
+							synchronized (fStructureCache) {
+								IStructureComparator replaced= fStructureCache.put(key, comparator);
+								if (replaced != null && replaced != comparator)
+									releaseCachedStructure(replaced);
+							}
+						}
+					}
+					cached= comparator != null;
+				}
+			}
+			if (!cached)
+				comparator= createStructure(monitor);
+			fStructureComparator= comparator;
+			fCached= cached;
+			if (oldComparator == null || oldComparator == comparator)
+				return;
+			if (oldCached) {
+				releaseCachedStructure(oldComparator);
+			} else if (oldComparator instanceof IDisposable) {
+				// Dispose of the old one after in case they are using a shared document
+				// (i.e. disposing it after will hold on to a reference to the document
+				// so it doesn't get freed and reloaded)
 				IDisposable disposable = (IDisposable) oldComparator;
 				disposable.dispose();
 			}
 		}
 
+		/*
+		 * Builds the structure of a cacheable input over a private document
+		 * with the given contents
+		 */
+		private IStructureComparator createCachedStructure(Object input, String contents, IProgressMonitor monitor) {
+			final StructureCreator creator= (StructureCreator) fStructureCreator;
+			final IStructureComparator[] result= new IStructureComparator[] { null };
+			// IDocument requires the UI thread, like StructureCreator#createStructure
+			Utilities.runInUIThread(() -> {
+				try {
+					Document document= new Document(contents);
+					creator.setupDocument(document);
+					result[0]= creator.createStructureComparator(input, document, null, monitor);
+				} catch (CoreException e) {
+					CompareUIPlugin.log(e);
+				} catch (OperationCanceledException e) {
+					// not cached
+				}
+			});
+			return result[0];
+		}
+
 		public Object getInput() {
 			return fInput;
 		}
@@ -169,7 +271,12 @@ public class StructureDiffViewer extends DiffTreeViewer {
 		}
 
 		public void dispose() {
-			if (fStructureComparator != null && fStructureCreator instanceof IStructureCreator2) {
+			if (fStructureComparator != null && fCached) {
+				IStructureComparator comparator= fStructureComparator;
+				fStructureComparator= null;
+				fCached= false;
+				releaseCachedStructure(comparator);
+			} else if (fStructureComparator != null && fStructureCreator instanceof IStructureCreator2) {
 				IStructureCreator2 sc2 = (IStructureCreator2) fStructureCreator;
 				sc2.destroy(fStructureComparator);
 			}
@@ -178,6 +285,24 @@ public class StructureDiffViewer extends DiffTreeViewer {
 		public IRunnableWithProgress getRefreshTask() {
 			return refreshTask;
 		}
+
+		String getCacheKey(Object input, String contents) {
+			try {
+				MessageDigest digest= MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+				StringBuilder key= new StringBuilder();
+				key.append(fSide).append('/').append(((ITypedElement) input).getType()).append('/');
+				for (byte b : digest.digest(contents.getBytes(StandardCharsets.UTF_8)))
+					key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+				return key.toString();
+			} catch (NoSuchAlgorithmException e) {
+				// don't cache the structure
+				return null;
+			}
+		}
+
+		boolean shows(IStructureComparator comparator) {
+			return fCached && fStructureComparator == comparator;
+		}
 	}
 
 	/**
@@ -224,6 +349,7 @@ public class StructureDiffViewer extends DiffTreeViewer {
 	 */
 	public void setStructureCreator(IStructureCreator structureCreator) {
 		if (fStructureCreator != structureCreator) {
+			clearStructureCache();
 			fStructureCreator= structureCreator;
 			Control tree= getControl();
 			if (tree != null && !tree.isDisposed())
@@ -300,6 +426,7 @@ public class StructureDiffViewer extends DiffTreeViewer {
 			ci.removeCompareInputChangeListener(fCompareInputChangeListener);
 		}
 		compareInputChanged(null);
+		clearStructureCache();
 		fContentChangedListener= null;
 		super.handleDispose(event);
 	}
@@ -334,25 +461,26 @@ public class StructureDiffViewer extends DiffTreeViewer {
 	}
 
 	/* package */ void compareInputChanged(ICompareInput input, boolean force, IProgressMonitor monitor) {
-		ITypedElement t= null;
+		ITypedElement ancestor= null;
+		ITypedElement left= null;
+		ITypedElement right= null;
 		boolean changed= false;
 
-		if (input != null)
-			t= input.getAncestor();
-		fThreeWay= (t != null);
+		if (input != null) {
+			ancestor= input.getAncestor();
+			left= input.getLeft();
+			right= input.getRight();
+		}
+		fThreeWay= (ancestor != null);
 		beginWork(monitor, 400);
 		try {
-			if (fAncestorStructure.setInput(t, force, subMonitor(monitor, 100)))
+			if (fAncestorStructure.setInput(ancestor, force, subMonitor(monitor, 100)))
 				changed = true;
 
-			if (input != null)
-				t= input.getLeft();
-			if (fLeftStructure.setInput(t, force, subMonitor(monitor, 100)))
+			if (fLeftStructure.setInput(left, force, subMonitor(monitor, 100)))
 				changed = true;
 
-			if (input != null)
-				t= input.getRight();
-			if (fRightStructure.setInput(t, force, subMonitor(monitor, 100)))
+			if (fRightStructure.setInput(right, force, subMonitor(monitor, 100)))
 				changed = true;
 
 			// The compare configuration is nulled when the viewer is disposed
@@ -364,6 +492,52 @@ public class StructureDiffViewer extends DiffTreeViewer {
 		}
 	}
 
+	/*
+	 * Returns the contents of an input whose structure may be cached or null if
+	 * the structure of the input is not cached
+	 */
+	private String getCacheableContents(Object input) {
+		if (!(fStructureCreator instanceof StructureCreator) || !(input instanceof ITypedElement) || !(input instanceof IStreamContentAccessor))
+			return null;
+		// the structure of an editable input may be modified by copying nodes
+		if (input instanceof IEditableContent && ((IEditableContent) input).isEditable())
+			return null;
+		// the structure of a shared document follows the changes of the document
+		if (SharedDocumentAdapterWrapper.getAdapter(input) != null || CompareUI.getDocument(input) != null)
+			return null;
+		try {
+			return Utilities.readString((IStreamContentAccessor) input);
+		} catch (CoreException e) {
+			// let the structure creator report the error
+			return null;
+		}
+	}
+
+	/*
+	 * Destroys a structure that left the cache unless a side still shows it,
+	 * in which case it is destroyed when the side moves on
+	 */
+	private void releaseCachedStructure(IStructureComparator comparator) {
+		synchronized (fStructureCache) {
+			if (fStructureCache.containsValue(comparator))
+				return;
+		}
+		if (fAncestorStructure.shows(comparator) || fLeftStructure.shows(comparator) || fRightStructure.shows(comparator))
+			return;
+		if (comparator instanceof IDisposable)
+			((IDisposable) comparator).dispose();
+	}
+
+	private void clearStructureCache() {
+		List<IStructureComparator> removed;
+		synchronized (fStructureCache) {
+			removed= new ArrayList<>(fStructureCache.values());
+			fStructureCache.clear();
+		}
+		for (IStructureComparator comparator : removed)
+			releaseCachedStructure(comparator);
+	}
+
 	private void endWork(IProgressMonitor monitor) {
 		if (monitor != null)
 			monitor.done();
@@ -18,8 +18,11 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.net.proxy.IProxyChangeEvent;
 import org.eclipse.core.net.proxy.IProxyChangeListener;
@@ -29,6 +32,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
@@ -36,6 +40,7 @@ import org.eclipse.core.runtime.RegistryFactory;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+import org.eclipse.core.text.StringMatcher;
 import org.eclipse.osgi.util.NLS;
 import org.osgi.service.prefs.BackingStoreException;
 import org.osgi.service.prefs.Preferences;
@@ -48,12 +53,84 @@ public class ProxyManager implements IProxyService, IPreferenceChangeListener {
 
 	private static IProxyService proxyManager;
 
+	/**
+	 * The resolved manual proxy configuration. It is immutable except for the
+	 * cache of the proxies of recently selected hosts and is replaced when the
+	 * configuration changes.
+	 */
+	private static final class Snapshot {
+		private static final int MAX_CACHED_HOSTS = 128;
+
+		private final ProxyData[] proxyData;
+		private final StringMatcher[] nonProxiedHostMatchers;
+		private final Map<String, ProxyData[]> hostCache = new LinkedHashMap<String, ProxyData[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ProxyData[]> eldest) {
+				return size() > MAX_CACHED_HOSTS;
+			}
+		};
+
+		Snapshot(IProxyData[] data, String[] nonProxiedHosts) {
+			List<ProxyData> result = new ArrayList<>();
+			for (IProxyData proxyData : data) {
+				if (proxyData.getHost() != null)
+					result.add((ProxyData) proxyData);
+			}
+			proxyData = result.toArray(new ProxyData[result.size()]);
+			nonProxiedHostMatchers = new StringMatcher[nonProxiedHosts.length];
+			for (int i = 0; i < nonProxiedHosts.length; i++) {
+				nonProxiedHostMatchers[i] = StringUtil.createHostMatcher(nonProxiedHosts[i]);
+			}
+		}
+
+		/**
+		 * Returns copies of the proxies to use for the given host, so the
+		 * caller may modify them.
+		 */
+		IProxyData[] getProxyDataForHost(String host) {
+			ProxyData[] data;
+			if (host == null) {
+				data = proxyData;
+			} else {
+				synchronized (hostCache) {
+					data = hostCache.get(host);
+				}
+				if (data == null) {
+					data = isHostFiltered(host) ? new ProxyData[0] : proxyData;
+					synchronized (hostCache) {
+						hostCache.put(host, data);
+					}
+				}
+			}
+			IProxyData[] result = new IProxyData[data.length];
+			for (int i = 0; i < data.length; i++) {
+				result[i] = new ProxyData(data[i]);
+			}
+			return result;
+		}
+
+		private boolean isHostFiltered(String host) {
+			for (StringMatcher matcher : nonProxiedHostMatchers) {
+				if (matcher.match(host))
+					return true;
+			}
+			return false;
+		}
+	}
+
 	private AbstractProxyProvider nativeProxyProvider;
 
 	private PreferenceManager preferenceManager;
 
 	ListenerList<IProxyChangeListener> listeners = new ListenerList<>(ListenerList.IDENTITY);
 	private String[] nonProxiedHosts;
+	/**
+	 * The resolved manual proxy configuration or, while it is not resolved, a
+	 * token that is replaced whenever the configuration changes.
+	 */
+	private final AtomicReference<Object> snapshot = new AtomicReference<>(new Object());
 	private final ProxyType[] proxies = new ProxyType[] {
 			new ProxyType(IProxyData.HTTP_PROXY_TYPE),
 			new ProxyType(IProxyData.HTTPS_PROXY_TYPE),
@@ -141,6 +218,7 @@ public class ProxyManager implements IProxyService, IPreferenceChangeListener {
 			return;
 		}
 		nonProxiedHosts = hosts;
+		invalidateSnapshot();
 		preferenceManager.putString(PreferenceManager.ROOT, PREF_NON_PROXIED_HOSTS, ProxyType.convertHostsToPropertyString(nonProxiedHosts));
 		try {
 			preferenceManager.flush();
@@ -183,6 +261,7 @@ public class ProxyManager implements IProxyService, IPreferenceChangeListener {
 		IProxyData[] oldData = getProxyData();
 		String[] hosts = getNonProxiedHosts();
 		IProxyData[] changedProxies = internalSetProxyData(proxyDatas);
+		invalidateSnapshot();
 		if (changedProxies.length > 0) {
 			IProxyChangeEvent event = new ProxyChangeEvent(IProxyChangeEvent.PROXY_SERVICE_ENABLEMENT_CHANGE, hosts, hosts, oldData, changedProxies);
 			fireChange(event);
@@ -260,6 +339,7 @@ public class ProxyManager implements IProxyService, IPreferenceChangeListener {
 		// Now initialize each proxy type
 		for (ProxyType type : proxies) {
 			type.initialize();
+			preferenceManager.addPreferenceChangeListener(ProxyType.PREF_PROXY_DATA_NODE + IPath.SEPARATOR + type.getName(), this);
 		}
 		registerAuthenticator();
 	}
@@ -293,16 +373,27 @@ public class ProxyManager implements IProxyService, IPreferenceChangeListener {
 			return resolveType(nativeProxyProvider.select(uri));
 		}
 
-		if (isHostFiltered(uri))
-			return new IProxyData[0];
-		IProxyData[] data = getProxyData();
-		List<IProxyData> result = new ArrayList<>();
-		for (IProxyData proxyData : data) {
-			if (proxyData.getHost() != null)
-				result.add(proxyData);
-		}
-		IProxyData ret[] = result.toArray(new IProxyData[result.size()]);
-		return resolveType(ret);
+		return resolveType(getSnapshot().getProxyDataForHost(uri.getHost()));
+	}
+
+	/**
+	 * Returns the resolved manual proxy configuration, creating it if the
+	 * configuration has changed since it was last resolved.
+	 */
+	private Snapshot getSnapshot() {
+		Object current = snapshot.get();
+		if (current instanceof Snapshot)
+			return (Snapshot) current;
+		// resolved without holding a lock since reading the proxy passwords
+		// from the secure storage may prompt the user
+		Snapshot created = new Snapshot(getProxyData(), getNonProxiedHosts());
+		// only published if the configuration has not changed in the meantime
+		snapshot.compareAndSet(current, created);
+		return created;
+	}
+
+	private void invalidateSnapshot() {
+		snapshot.set(new Object());
 	}
 
 	public static URI tryGetURI(String host) {
@@ -317,18 +408,6 @@ public class ProxyManager implements IProxyService, IPreferenceChangeListener {
 		}
 	}
 
-	private boolean isHostFiltered(URI uri) {
-		String host = uri.getHost();
-		if (host != null) {
-			String[] filters = getNonProxiedHosts();
-			for (String filter : filters) {
-				if (StringUtil.hostMatchesFilter(host, filter))
-					return true;
-			}
-		}
-		return false;
-	}
-
 	@Override
 	public IProxyData getProxyDataForHost(String host, String type) {
 		checkMigrated();
@@ -384,16 +463,19 @@ public class ProxyManager implements IProxyService, IPreferenceChangeListener {
 			return;
 		}
 		preferenceManager.migrate(proxies);
+		invalidateSnapshot();
 	}
 
 	void migrateInstanceScopePreferences(Preferences instance,
 			Preferences configuration, boolean isInitialize) {
 		preferenceManager.migrateInstanceScopePreferences(instance,
 				configuration, proxies, isInitialize);
+		invalidateSnapshot();
 	}
 
 	@Override
 	public void preferenceChange(PreferenceChangeEvent event) {
+		invalidateSnapshot();
 		if (event.getKey().equals(PREF_ENABLED) || event.getKey().equals(PREF_OS)) {
 			checkMigrated();
 			internalSetEnabled(preferenceManager.getBoolean(PreferenceManager.ROOT, PREF_ENABLED),
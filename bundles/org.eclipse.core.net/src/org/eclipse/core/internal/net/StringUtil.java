@@ -76,9 +76,20 @@ public class StringUtil {
 	}
 
 	public static boolean hostMatchesFilter(String host, String filter) {
+		return createHostMatcher(filter).match(host);
+	}
+
+	/**
+	 * Creates a matcher for the hosts that match the given filter, see
+	 * {@link #hostMatchesFilter(String, String)}.
+	 *
+	 * @param filter
+	 *            the non-proxied hosts filter
+	 * @return the matcher
+	 */
+	public static StringMatcher createHostMatcher(String filter) {
 		String suffixMatchingFilter = "*" + filter; //$NON-NLS-1$
-		StringMatcher matcher = new StringMatcher(suffixMatchingFilter, true, false);
-		return matcher.match(host);
+		return new StringMatcher(suffixMatchingFilter, true, false);
 	}
 
 }
\ No newline at end of file
@@ -19,9 +19,12 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.internal.net.AbstractProxyProvider;
 import org.eclipse.core.internal.net.Activator;
@@ -29,6 +32,7 @@ import org.eclipse.core.internal.net.Policy;
 import org.eclipse.core.internal.net.ProxyData;
 import org.eclipse.core.internal.net.StringUtil;
 import org.eclipse.core.net.proxy.IProxyData;
+import org.eclipse.core.text.StringMatcher;
 
 public class UnixProxyProvider extends AbstractProxyProvider {
 
@@ -38,6 +42,29 @@ public class UnixProxyProvider extends AbstractProxyProvider {
 
 	private static boolean isGnomeLibLoaded = false;
 
+	/**
+	 * The environment doesn't change while running, so the variables are only
+	 * read once. Variables that are not set are mapped to this marker.
+	 */
+	private static final Object UNSET = new Object();
+	private static final Map<String, Object> environment = new ConcurrentHashMap<>();
+
+	/** the last non-proxied hosts and their matchers */
+	private volatile HostMatchers hostMatchers;
+
+	private static final class HostMatchers {
+		final String[] hosts;
+		final StringMatcher[] matchers;
+
+		HostMatchers(String[] hosts) {
+			this.hosts = hosts;
+			this.matchers = new StringMatcher[hosts.length];
+			for (int i = 0; i < hosts.length; i++) {
+				matchers[i] = StringUtil.createHostMatcher(hosts[i]);
+			}
+		}
+	}
+
 	static {
 		// Load the GSettings JNI library if org.eclipse.core.net.enableGnome is specified
 		String value = System.getProperty(ENABLE_GNOME);
@@ -55,8 +82,8 @@ public class UnixProxyProvider extends AbstractProxyProvider {
 		String[] nonProxyHosts = getNonProxiedHosts();
 		if (nonProxyHosts != null) {
 			String host = uri.getHost();
-			for (String nonProxyHost : nonProxyHosts) {
-				if (StringUtil.hostMatchesFilter(host, nonProxyHost)) {
+			for (StringMatcher matcher : getHostMatchers(nonProxyHosts)) {
+				if (matcher.match(host)) {
 					return new IProxyData[0];
 				}
 			}
@@ -77,6 +104,19 @@ public class UnixProxyProvider extends AbstractProxyProvider {
 		return proxies;
 	}
 
+	/*
+	 * Returns the matchers of the given non-proxied hosts, reusing the
+	 * matchers of the previous call if the hosts haven't changed
+	 */
+	private StringMatcher[] getHostMatchers(String[] nonProxyHosts) {
+		HostMatchers matchers = hostMatchers;
+		if (matchers == null || !Arrays.equals(matchers.hosts, nonProxyHosts)) {
+			matchers = new HostMatchers(nonProxyHosts);
+			hostMatchers = matchers;
+		}
+		return matchers.matchers;
+	}
+
 	@Override
 	public IProxyData[] getProxyData() {
 		String[] commonTypes = new String[] { IProxyData.HTTP_PROXY_TYPE,
@@ -211,6 +251,16 @@ public class UnixProxyProvider extends AbstractProxyProvider {
 	}
 
 	private static String getEnv(String env) {
+		Object value = environment.get(env);
+		if (value == null) {
+			String read = readEnv(env);
+			value = read != null ? read : UNSET;
+			environment.put(env, value);
+		}
+		return value != UNSET ? (String) value : null;
+	}
+
+	private static String readEnv(String env) {
 		try {
 			Method m = System.class.getMethod("getenv", String.class); //$NON-NLS-1$
 			return (String) m.invoke(null, env);
@@ -14,8 +14,8 @@
 package org.eclipse.jsch.internal.core;
 
 import java.io.*;
-import java.lang.reflect.*;
 import java.net.*;
+import java.util.concurrent.*;
 
 import org.eclipse.core.runtime.*;
 import org.eclipse.osgi.util.NLS;
@@ -23,14 +23,17 @@ import org.eclipse.osgi.util.NLS;
 import com.jcraft.jsch.SocketFactory;
 
 public class ResponsiveSocketFactory implements SocketFactory {
-  private static final String JAVA_NET_PROXY="java.net.Proxy"; //$NON-NLS-1$
   private static final int DEFAULT_TIMEOUT=60; // Seconds
+  private static final long CANCEL_CHECK_INTERVAL=200; // Millis
+  private static final ExecutorService CONNECTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "Socket connector"); //$NON-NLS-1$
+    thread.setDaemon(true);
+    return thread;
+  });
   InputStream in = null;
   OutputStream out = null;
   private IProgressMonitor monitor;
   private final int timeout;
-  private static Class<?> proxyClass;
-  private static boolean hasProxyClass = true;
   public ResponsiveSocketFactory(IProgressMonitor monitor, int timeout) {
     if (monitor == null)
       monitor = new NullProgressMonitor();
@@ -63,131 +66,54 @@ public class ResponsiveSocketFactory implements SocketFactory {
   
   /**
    * Helper method that will time out when making a socket connection.
-   * This is required because there is no way to provide a timeout value
-   * when creating a socket and in some instances, they don't seem to
-   * timeout at all.
+   * The host is resolved and the socket connected by a thread of a shared
+   * connector pool while the calling thread waits for it, waking up as soon
+   * as the connection is established and periodically to check for
+   * cancellation. Closing the socket aborts a connection that is canceled
+   * or times out. A plain socket is returned, as the streams of the socket
+   * of a SocketChannel block each other on Java 8.
    */
   private Socket createSocket(final String host, final int port, int timeout, IProgressMonitor monitor) throws UnknownHostException, IOException {
-    
-    // Start a thread to open a socket
-    final Socket[] socket = new Socket[] { null };
-    final Exception[] exception = new Exception[] {null };
-    final Thread thread = new Thread(() -> {
-      try {
-        Socket newSocket = internalCreateSocket(host, port);
-        synchronized (socket) {
-          if (Thread.interrupted()) {
-            // we we're either canceled or timed out so just close the socket
-            newSocket.close();
-          } else {
-            socket[0] = newSocket;
-          }
-        }
-      } catch (UnknownHostException e1) {
-        exception[0] = e1;
-      } catch (IOException e2) {
-        exception[0] = e2;
-      }
-    });
-    thread.start();
-    
-    // Wait the appropriate number of seconds
     if (timeout == 0) timeout = DEFAULT_TIMEOUT;
-    for (int i = 0; i < timeout; i++) {
-      try {
-        // wait for the thread to complete or 1 second, which ever comes first
-        thread.join(1000);
-      } catch (InterruptedException e) {
-        // I think this means the thread was interrupted but not necessarily timed out
-        // so we don't need to do anything
-      }
-      synchronized (socket) {
-        // if the user canceled, clean up before preempting the operation
-        if (monitor.isCanceled()) {
-          if (thread.isAlive()) {
-            thread.interrupt();
-          }
-          if (socket[0] != null) {
-            socket[0].close();
-          }
-          // this method will throw the proper exception
-          Policy.checkCanceled(monitor);
-        }
-      }
-    }
-    // If the thread is still running (i.e. we timed out) signal that it is too late
-    synchronized (socket) {
-      if (thread.isAlive()) {
-        thread.interrupt();
-      }
-    }
-    if (exception[0] != null) {
-      if (exception[0] instanceof UnknownHostException)
-        throw (UnknownHostException)exception[0];
-      else
-        throw (IOException)exception[0];
-    }
-    if (socket[0] == null) {
-      throw new InterruptedIOException(NLS.bind(Messages.Util_timeout, new String[] { host })); 
-    }
-    return socket[0];
-  }
-  
-  /* private */  Socket internalCreateSocket(final String host, final int port)
-      throws UnknownHostException, IOException{
-    Class<?> proxyClass = getProxyClass();
-    if (proxyClass != null) {
-      // We need to disable proxy support for the socket
-      try{
-        
-        // Obtain the value of the NO_PROXY static field of the proxy class
-        Field field = proxyClass.getField("NO_PROXY"); //$NON-NLS-1$
-        Object noProxyObject = field.get(null);
-        Constructor<Socket> constructor = Socket.class.getConstructor(proxyClass);
-        Object o = constructor.newInstance(noProxyObject);
-        if(o instanceof Socket){
-          Socket socket=(Socket)o;
-          socket.connect(new InetSocketAddress(host, port), timeout * 1000);
-          return socket;
+    final int connectTimeout = timeout * 1000;
+    // We need to disable proxy support for the socket
+    final Socket socket = new Socket(Proxy.NO_PROXY);
+    Future<?> future = CONNECTOR.submit(() -> {
+      socket.connect(new InetSocketAddress(host, port), connectTimeout);
+      return null;
+    });
+    boolean connected = false;
+    try {
+      long deadline = System.currentTimeMillis() + connectTimeout;
+      while (true) {
+        // this method will throw the proper exception
+        Policy.checkCanceled(monitor);
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0)
+          throw new InterruptedIOException(NLS.bind(Messages.Util_timeout, new String[] { host }));
+        try {
+          future.get(Math.min(remaining, CANCEL_CHECK_INTERVAL), TimeUnit.MILLISECONDS);
+          break;
+        } catch (TimeoutException e) {
+          // check for cancellation and keep waiting
         }
       }
-      catch(SecurityException e){
-        JSchCorePlugin.log(IStatus.ERROR, NLS.bind("An internal error occurred while connecting to {0}", host), e); //$NON-NLS-1$
-      }
-      catch(NoSuchFieldException e){
-        JSchCorePlugin.log(IStatus.ERROR, NLS.bind("An internal error occurred while connecting to {0}", host), e); //$NON-NLS-1$
-      }
-      catch(IllegalArgumentException e){
-        JSchCorePlugin.log(IStatus.ERROR, NLS.bind("An internal error occurred while connecting to {0}", host), e); //$NON-NLS-1$
-      }
-      catch(IllegalAccessException e){
-        JSchCorePlugin.log(IStatus.ERROR, NLS.bind("An internal error occurred while connecting to {0}", host), e); //$NON-NLS-1$
-      }
-      catch(NoSuchMethodException e){
-        JSchCorePlugin.log(IStatus.ERROR, NLS.bind("An internal error occurred while connecting to {0}", host), e); //$NON-NLS-1$
-      }
-      catch(InstantiationException e){
-        JSchCorePlugin.log(IStatus.ERROR, NLS.bind("An internal error occurred while connecting to {0}", host), e); //$NON-NLS-1$
-      }
-      catch(InvocationTargetException e){
-        JSchCorePlugin.log(IStatus.ERROR, NLS.bind("An internal error occurred while connecting to {0}", host), e); //$NON-NLS-1$
-      }
-      
-    }
-    return new Socket(host, port);
-  }
-  
-  private synchronized Class<?> getProxyClass() {
-    if (hasProxyClass && proxyClass == null) {
-      try{
-        proxyClass = Class.forName(JAVA_NET_PROXY);
-      }
-      catch(ClassNotFoundException e){
-        // We couldn't find the class so we'll assume we are using pre-1.5 JRE
-        hasProxyClass = false;
+      connected = true;
+      return socket;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException)
+        throw (IOException) cause;
+      throw new IOException(cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(NLS.bind(Messages.Util_timeout, new String[] { host }));
+    } finally {
+      if (!connected) {
+        future.cancel(true);
+        socket.close();
       }
     }
-    return proxyClass;
   }
 
 }
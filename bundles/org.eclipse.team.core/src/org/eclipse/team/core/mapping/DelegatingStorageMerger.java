@@ -143,6 +143,19 @@ public class DelegatingStorageMerger implements IStorageMerger {
 		return merger;
 	}
 
+	/**
+	 * Return whether the merge of the given target may run concurrently with
+	 * other merges, i.e. whether the merger to which it is delegated is an
+	 * {@link IConcurrentStorageMerger}.
+	 * @param target the storage that contains the target contents of the merge.
+	 * @return whether the merge of the target may run concurrently
+	 * @throws CoreException if the merger could not be determined
+	 * @since 3.9
+	 */
+	public boolean isConcurrent(IStorage target) throws CoreException {
+		return createDelegateMerger(target) instanceof IConcurrentStorageMerger;
+	}
+
 	/**
 	 * Return the Team content type associated with the given
 	 * target.
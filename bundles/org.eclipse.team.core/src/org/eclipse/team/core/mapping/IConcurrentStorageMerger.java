@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.core.mapping;
+
+import org.eclipse.team.core.mapping.provider.MergeContext;
+
+/**
+ * A storage merger that may merge several storages at the same time. The
+ * {@link #merge(java.io.OutputStream, String, org.eclipse.core.resources.IStorage, org.eclipse.core.resources.IStorage, org.eclipse.core.resources.IStorage, org.eclipse.core.runtime.IProgressMonitor) merge}
+ * method of such a merger may be called from any thread, concurrently with
+ * other merges and without holding the scheduling rule of the target. It
+ * therefore must not share state between merges or modify the workspace.
+ * <p>
+ * A {@link MergeContext} that merges several files merges the contents of
+ * conflicting files ahead of time, in background jobs, only if their merger
+ * implements this interface. Other mergers are called one file at a time.
+ * </p>
+ * <p>
+ * Clients may implement this interface.
+ * </p>
+ *
+ * @since 3.9
+ */
+public interface IConcurrentStorageMerger extends IStorageMerger {
+	// A marker interface
+}
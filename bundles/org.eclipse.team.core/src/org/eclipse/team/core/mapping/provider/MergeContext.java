@@ -26,7 +26,17 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -38,16 +48,22 @@ import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.diff.IDiff;
 import org.eclipse.team.core.diff.IThreeWayDiff;
 import org.eclipse.team.core.history.IFileRevision;
 import org.eclipse.team.core.mapping.DelegatingStorageMerger;
+import org.eclipse.team.core.mapping.IConcurrentStorageMerger;
 import org.eclipse.team.core.mapping.IMergeContext;
 import org.eclipse.team.core.mapping.IMergeStatus;
 import org.eclipse.team.core.mapping.IResourceDiff;
@@ -72,6 +88,39 @@ import org.eclipse.team.internal.core.mapping.SyncInfoToDiffConverter;
  */
 public abstract class MergeContext extends SynchronizationContext implements IMergeContext {
 
+	/*
+	 * The number of jobs that prepare the merge of several files concurrently
+	 */
+	private static final int PREPARE_JOBS = 4;
+
+	/*
+	 * The maximum number of bytes of merged contents that a merge of several
+	 * files keeps in memory until they are written to the files
+	 */
+	private static final long MAX_PREPARED_BYTES = 64 * 1024 * 1024;
+
+	/*
+	 * The result of merging the contents of a file before the merge rule was
+	 * obtained. It is only used if the file has not changed since.
+	 */
+	private static class PreparedMerge {
+		final long modificationStamp;
+		final IStatus status;
+		final byte[] contents;
+
+		PreparedMerge(long modificationStamp, IStatus status, byte[] contents) {
+			this.modificationStamp = modificationStamp;
+			this.status = status;
+			this.contents = contents;
+		}
+	}
+
+	/*
+	 * The merges prepared by the call of merge(IDiff[], boolean, IProgressMonitor)
+	 * that is running in the current thread
+	 */
+	private final ThreadLocal<Map<IDiff, PreparedMerge>> preparedMerges = new ThreadLocal<>();
+
 	/**
 	 * Create a merge context.
 	 *
@@ -104,6 +153,29 @@ public abstract class MergeContext extends SynchronizationContext implements IMe
 	@Override
 	public IStatus merge(final IDiff[] deltas, final boolean force, IProgressMonitor monitor) throws CoreException {
 		final List<IFile> failedFiles = new ArrayList<>();
+		monitor = Policy.monitorFor(monitor);
+		monitor.beginTask(null, 200);
+		Map<IDiff, PreparedMerge> outerMerges = preparedMerges.get();
+		try {
+			Map<IDiff, PreparedMerge> prepared = new ConcurrentHashMap<>();
+			prepareMerge(deltas, force, prepared, Policy.subMonitorFor(monitor, 100));
+			preparedMerges.set(prepared);
+			internalMerge(deltas, force, failedFiles, Policy.subMonitorFor(monitor, 100));
+		} finally {
+			if (outerMerges == null)
+				preparedMerges.remove();
+			else
+				preparedMerges.set(outerMerges);
+			monitor.done();
+		}
+		if (failedFiles.isEmpty()) {
+			return Status.OK_STATUS;
+		} else {
+			return new MergeStatus(TeamPlugin.ID, Messages.MergeContext_0, failedFiles.toArray(new IFile[failedFiles.size()]));
+		}
+	}
+
+	private void internalMerge(final IDiff[] deltas, final boolean force, final List<IFile> failedFiles, IProgressMonitor monitor) throws CoreException {
 		run(monitor1 -> {
 			try {
 				monitor1.beginTask(null, deltas.length * 100);
@@ -121,11 +193,178 @@ public abstract class MergeContext extends SynchronizationContext implements IMe
 				monitor1.done();
 			}
 		}, getMergeRule(deltas), IWorkspace.AVOID_UPDATE, monitor);
-		if (failedFiles.isEmpty()) {
-			return Status.OK_STATUS;
+	}
+
+	/*
+	 * Fetch the remote contents of the given diffs concurrently, before the
+	 * merge rule is obtained, so that the merge itself mostly has to write the
+	 * files. The contents of conflicting files are also merged if their
+	 * storage merger is an IConcurrentStorageMerger. Diffs that cannot be
+	 * prepared are merged as usual.
+	 */
+	private void prepareMerge(IDiff[] deltas, final boolean force, final Map<IDiff, PreparedMerge> prepared, IProgressMonitor monitor) {
+		final Queue<IThreeWayDiff> queue = new ConcurrentLinkedQueue<>();
+		// The mergers are looked up here so that only mergers that opted in run in the jobs
+		final Set<IDiff> concurrentMerges = new HashSet<>();
+		IStorageMerger merger = getStorageMerger();
+		for (IDiff delta : deltas) {
+			if (delta instanceof IThreeWayDiff
+					&& ((IThreeWayDiff) delta).getRemoteChange() instanceof IResourceDiff
+					&& getDiffTree().getResource(delta).getType() == IResource.FILE) {
+				IThreeWayDiff diff = (IThreeWayDiff) delta;
+				queue.add(diff);
+				if (isContentConflict(diff, force) && isConcurrent(merger, getLocalFile(diff)))
+					concurrentMerges.add(diff);
+			}
+		}
+		int count = queue.size();
+		if (count < 2) {
+			// There is nothing to gain from preparing a single file
+			monitor.done();
+			return;
+		}
+		monitor.beginTask(null, count);
+		final AtomicInteger preparedCount = new AtomicInteger();
+		final AtomicLong preparedBytes = new AtomicLong();
+		int jobCount = Math.min(PREPARE_JOBS, count);
+		final CountDownLatch done = new CountDownLatch(jobCount);
+		List<Job> jobs = new ArrayList<>(jobCount);
+		for (int i = 0; i < jobCount; i++) {
+			Job job = new Job(Messages.MergeContext_7) {
+				@Override
+				protected IStatus run(IProgressMonitor jobMonitor) {
+					IThreeWayDiff diff;
+					while (!jobMonitor.isCanceled() && (diff = queue.poll()) != null) {
+						try {
+							prepareMerge(diff, concurrentMerges.contains(diff), prepared, preparedBytes, jobMonitor);
+						} catch (CoreException | OperationCanceledException e) {
+							// The diff is merged without preparation
+						}
+						preparedCount.incrementAndGet();
+					}
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					// Also sent for jobs that are canceled before they run
+					done.countDown();
+				}
+			});
+			jobs.add(job);
+			job.schedule();
+		}
+		int reported = 0;
+		try {
+			boolean canceled = false;
+			while (!done.await(100, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled() && !canceled) {
+					canceled = true;
+					queue.clear();
+					for (Job job : jobs) {
+						job.cancel();
+					}
+				}
+				int worked = preparedCount.get();
+				monitor.worked(worked - reported);
+				reported = worked;
+			}
+		} catch (InterruptedException e) {
+			queue.clear();
+			for (Job job : jobs) {
+				job.cancel();
+			}
+			Thread.currentThread().interrupt();
+		} finally {
+			monitor.done();
+		}
+	}
+
+	private boolean isContentConflict(IThreeWayDiff diff, boolean force) {
+		return !force && getMergeType() == THREE_WAY
+				&& diff.getDirection() == IThreeWayDiff.CONFLICTING
+				&& diff.getKind() == IDiff.CHANGE
+				&& diff.getLocalChange() instanceof IResourceDiff;
+	}
+
+	private static boolean isConcurrent(IStorageMerger merger, IFile file) {
+		if (merger instanceof DelegatingStorageMerger) {
+			try {
+				return ((DelegatingStorageMerger) merger).isConcurrent(file);
+			} catch (CoreException e) {
+				return false;
+			}
+		}
+		return merger instanceof IConcurrentStorageMerger;
+	}
+
+	/*
+	 * Fetch the remote contents that will replace the local contents of the
+	 * given diff or, for a content conflict whose merger may run concurrently,
+	 * compute the merged contents.
+	 */
+	private void prepareMerge(IThreeWayDiff diff, boolean mergeContents, Map<IDiff, PreparedMerge> prepared, AtomicLong preparedBytes, IProgressMonitor monitor) throws CoreException {
+		IResourceDiff remoteDiff = (IResourceDiff)diff.getRemoteChange();
+		IFileRevision remoteState = remoteDiff.getAfterState();
+		if (remoteState == null)
+			return;
+		IStorage remoteStorage = remoteState.getStorage(monitor);
+		if (!mergeContents)
+			return;
+		IResourceDiff localDiff = (IResourceDiff)diff.getLocalChange();
+		IFile file = (IFile)localDiff.getResource();
+		IPath location = file.getLocation();
+		if (!file.exists() || location == null)
+			return;
+		// The size of the file is charged before the merge and corrected after it
+		long charged = location.toFile().length();
+		if (!reserve(preparedBytes, charged))
+			return;
+		long modificationStamp = file.getModificationStamp();
+		IFileRevision ancestorState = localDiff.getBeforeState();
+		IStorage ancestorStorage = ancestorState != null ? ancestorState.getStorage(monitor) : null;
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		IStatus status;
+		try {
+			status = getStorageMerger().merge(os, file.getCharset(), ancestorStorage, file, remoteStorage, monitor);
+		} catch (CoreException | RuntimeException e) {
+			preparedBytes.addAndGet(-charged);
+			throw e;
+		}
+		byte[] contents = null;
+		if (status.isOK()) {
+			contents = os.toByteArray();
+			if (preparedBytes.addAndGet(contents.length - charged) > MAX_PREPARED_BYTES) {
+				// The merged contents are larger than the file, merge it again later
+				preparedBytes.addAndGet(-contents.length);
+				return;
+			}
 		} else {
-			return new MergeStatus(TeamPlugin.ID, Messages.MergeContext_0, failedFiles.toArray(new IFile[failedFiles.size()]));
+			preparedBytes.addAndGet(-charged);
 		}
+		prepared.put(diff, new PreparedMerge(modificationStamp, status, contents));
+	}
+
+	/*
+	 * Charge the given number of bytes unless they exceed the maximum
+	 */
+	private static boolean reserve(AtomicLong preparedBytes, long bytes) {
+		long current;
+		do {
+			current = preparedBytes.get();
+			if (current + bytes > MAX_PREPARED_BYTES)
+				return false;
+		} while (!preparedBytes.compareAndSet(current, current + bytes));
+		return true;
+	}
+
+	private IStorageMerger getStorageMerger() {
+		IStorageMerger merger = getAdapter(IStorageMerger.class);
+		if (merger == null)
+			merger = DelegatingStorageMerger.getInstance();
+		return merger;
 	}
 
 	@Override
@@ -209,11 +448,23 @@ public abstract class MergeContext extends SynchronizationContext implements IMe
 			monitor1.beginTask(null, 100);
 			IResourceDiff localDiff = (IResourceDiff)diff.getLocalChange();
 			IResourceDiff remoteDiff = (IResourceDiff)diff.getRemoteChange();
-			IStorageMerger merger = getAdapter(IStorageMerger.class);
-			if (merger == null)
-				merger = DelegatingStorageMerger.getInstance();
 			IFile file = (IFile)localDiff.getResource();
 			monitor1.subTask(NLS.bind(Messages.MergeContext_5, file.getFullPath().toString()));
+			Map<IDiff, PreparedMerge> merges = preparedMerges.get();
+			PreparedMerge prepared = merges != null ? merges.remove(diff) : null;
+			if (prepared != null && prepared.modificationStamp == file.getModificationStamp()) {
+				IStatus status = prepared.status;
+				if (status.isOK()) {
+					file.setContents(new ByteArrayInputStream(prepared.contents), false, true, Policy.subMonitorFor(monitor1, 95));
+					markAsMerged(diff, false, Policy.subMonitorFor(monitor1, 5));
+				} else {
+					status = new MergeStatus(status.getPlugin(), status.getMessage(), new IFile[]{file});
+				}
+				result[0] = status;
+				monitor1.done();
+				return;
+			}
+			IStorageMerger merger = getStorageMerger();
 			String osEncoding = file.getCharset();
 			IFileRevision ancestorState = localDiff.getBeforeState();
 			IFileRevision remoteState = remoteDiff.getAfterState();
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.team.core.variants;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -21,13 +22,23 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.internal.core.Messages;
@@ -48,10 +59,98 @@ import org.eclipse.team.internal.core.TeamPlugin;
  */
 public abstract class AbstractResourceVariantTree implements IResourceVariantTree {
 
+	/*
+	 * Fetches the members of folder variants in system jobs ahead of the
+	 * collection of the changes. A fetch that hasn't started yet when its
+	 * members are needed is run by the collecting thread instead.
+	 */
+	private class MemberFetcher {
+		private final BlockingQueue<FutureTask<IResourceVariant[]>> queue = new LinkedBlockingQueue<>();
+		private final Map<IResource, FutureTask<IResourceVariant[]>> fetches = new HashMap<>();
+		private final IProgressMonitor jobMonitor;
+		private final int parallelism;
+		private final AtomicInteger jobCount = new AtomicInteger();
+		private volatile boolean done;
+
+		MemberFetcher(int parallelism, final IProgressMonitor monitor) {
+			this.parallelism = parallelism;
+			// The fetches are canceled along with the refresh
+			this.jobMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return done || monitor.isCanceled();
+				}
+			};
+		}
+
+		void fetch(IResource local, final IResourceVariant remote) {
+			FutureTask<IResourceVariant[]> fetch = new FutureTask<>(() -> fetchMembers(remote, jobMonitor));
+			fetches.put(local, fetch);
+			queue.add(fetch);
+			// The collecting thread is one of the fetching threads
+			if (jobCount.get() < parallelism - 1) {
+				jobCount.incrementAndGet();
+				Job job = new Job(Messages.SynchronizationCacheRefreshOperation_1) {
+					@Override
+					protected IStatus run(IProgressMonitor monitor) {
+						try {
+							FutureTask<IResourceVariant[]> next;
+							while (!done && (next = queue.poll(100, TimeUnit.MILLISECONDS)) != null) {
+								next.run();
+							}
+						} catch (InterruptedException e) {
+							// The remaining members are fetched by the collecting thread
+						} finally {
+							jobCount.decrementAndGet();
+						}
+						return Status.OK_STATUS;
+					}
+				};
+				job.setSystem(true);
+				job.schedule();
+			}
+		}
+
+		IResourceVariant[] getMembers(IResource local, IResourceVariant remote, IProgressMonitor monitor) throws TeamException {
+			FutureTask<IResourceVariant[]> fetch = fetches.remove(local);
+			if (fetch == null) {
+				return fetchMembers(remote, monitor);
+			}
+			// Does nothing if a job has already started the fetch
+			fetch.run();
+			try {
+				return fetch.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof TeamException) {
+					throw (TeamException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw TeamException.asTeamException(new InvocationTargetException(cause));
+			}
+		}
+
+		void dispose() {
+			done = true;
+			queue.clear();
+		}
+	}
+
 	/**
 	 * Refreshes the resource variant tree for the specified resources and possibly their descendants,
 	 * depending on the depth. The default implementation of this method invokes
 	 * <code>refresh(IResource, int, IProgressMonitor)</code> for each resource.
+	 * If the refresh parallelism is greater than one, the calling thread doesn't
+	 * hold a scheduling rule and the resources don't overlap, the resources are
+	 * refreshed concurrently in system jobs.
 	 * Subclasses may override but should either invoke the above mentioned refresh or
 	 * <code>collectChanges</code> in order to reconcile the resource variant tree.
 	 * @param resources the resources whose variants should be refreshed
@@ -64,6 +163,19 @@ public abstract class AbstractResourceVariantTree implements IResourceVariantTre
 	@Override
 	public IResource[] refresh(IResource[] resources, int depth, IProgressMonitor monitor) throws TeamException {
 		List<IResource> changedResources = new ArrayList<>();
+		int parallelism = getRefreshParallelism();
+		if (ConcurrentRefresh.isPossible(resources, parallelism)) {
+			final IResource[][] changed = new IResource[resources.length][];
+			ConcurrentRefresh.run(resources, parallelism,
+					(index, jobMonitor) -> changed[index] = refresh(resources[index], depth, jobMonitor),
+					monitor);
+			for (IResource[] resourcesChanged : changed) {
+				if (resourcesChanged != null) {
+					changedResources.addAll(Arrays.asList(resourcesChanged));
+				}
+			}
+			return changedResources.toArray(new IResource[changedResources.size()]);
+		}
 		monitor.beginTask(null, 100 * resources.length);
 		for (IResource resource : resources) {
 			IResource[] changed = refresh(resource, depth, Policy.subMonitorFor(monitor, 100));
@@ -73,6 +185,29 @@ public abstract class AbstractResourceVariantTree implements IResourceVariantTre
 		return changedResources.toArray(new IResource[changedResources.size()]);
 	}
 
+	/**
+	 * Return the number of resource variants that may be fetched at the same
+	 * time during a refresh. The default is <code>1</code>, in which case the
+	 * resources are refreshed one after another. Subclasses whose
+	 * <code>fetchMembers</code> and <code>refresh(IResource, int, IProgressMonitor)</code>
+	 * methods may be invoked concurrently, and whose <code>fetchMembers</code>
+	 * doesn't acquire scheduling rules, can return a larger number. Then
+	 * <ul>
+	 * <li>independent resources passed to <code>refresh(IResource[], int, IProgressMonitor)</code>
+	 * are refreshed in system jobs, and</li>
+	 * <li>when changes are collected to infinite depth, the members of the folder
+	 * variants are fetched ahead in system jobs.</li>
+	 * </ul>
+	 * <code>setVariant</code> and <code>collectedMembers</code> are always invoked
+	 * by the thread that collects the changes, so they run within the scheduling
+	 * rule that thread holds.
+	 * @return the number of resource variants that may be fetched at the same time
+	 * @since 3.9
+	 */
+	protected int getRefreshParallelism() {
+		return 1;
+	}
+
 	/**
 	 * Helper method invoked from <code>refresh(IResource[], int, IProgressMonitor monitor)</code>
 	 * for each resource. The default implementation performs the following steps:
@@ -125,7 +260,13 @@ public abstract class AbstractResourceVariantTree implements IResourceVariantTre
 	 */
 	protected IResource[] collectChanges(IResource local, IResourceVariant remote, int depth, IProgressMonitor monitor) throws TeamException {
 		List<IResource> changedResources = new ArrayList<>();
-		collectChanges(local, remote, changedResources, depth, monitor);
+		int parallelism = getRefreshParallelism();
+		MemberFetcher fetcher = parallelism > 1 && depth == IResource.DEPTH_INFINITE ? new MemberFetcher(parallelism, monitor) : null;
+		try {
+			collectChanges(local, remote, changedResources, depth, fetcher, monitor);
+		} finally {
+			if (fetcher != null) fetcher.dispose();
+		}
 		return changedResources.toArray(new IResource[changedResources.size()]);
 	}
 
@@ -179,18 +320,26 @@ public abstract class AbstractResourceVariantTree implements IResourceVariantTre
 	 */
 	protected abstract boolean setVariant(IResource local, IResourceVariant remote) throws TeamException;
 
-	private void collectChanges(IResource local, IResourceVariant remote, Collection<IResource> changedResources, int depth, IProgressMonitor monitor) throws TeamException {
+	private void collectChanges(IResource local, IResourceVariant remote, Collection<IResource> changedResources, int depth, MemberFetcher fetcher, IProgressMonitor monitor) throws TeamException {
 		boolean changed = setVariant(local, remote);
 		if (changed) {
 			changedResources.add(local);
 		}
 		if (depth == IResource.DEPTH_ZERO) return;
-		Map<IResource, IResourceVariant> children = mergedMembers(local, remote, monitor);
+		Map<IResource, IResourceVariant> children = mergedMembers(local, remote, fetcher, monitor);
+		if (fetcher != null) {
+			for (Map.Entry<IResource, IResourceVariant> child : children.entrySet()) {
+				IResourceVariant remoteChild = child.getValue();
+				if (remoteChild != null && remoteChild.isContainer()) {
+					fetcher.fetch(child.getKey(), remoteChild);
+				}
+			}
+		}
 		for (IResource localChild : children.keySet()) {
 			IResourceVariant remoteChild = children.get(localChild);
 			collectChanges(localChild, remoteChild, changedResources,
 					depth == IResource.DEPTH_INFINITE ? IResource.DEPTH_INFINITE : IResource.DEPTH_ZERO,
-					monitor);
+					fetcher, monitor);
 		}
 
 		IResource[] cleared = collectedMembers(local, children.keySet().toArray(new IResource[children.size()]));
@@ -198,7 +347,7 @@ public abstract class AbstractResourceVariantTree implements IResourceVariantTre
 		monitor.worked(1);
 	}
 
-	private Map<IResource, IResourceVariant> mergedMembers(IResource local, IResourceVariant remote, IProgressMonitor progress) throws TeamException {
+	private Map<IResource, IResourceVariant> mergedMembers(IResource local, IResourceVariant remote, MemberFetcher fetcher, IProgressMonitor progress) throws TeamException {
 
 		// {IResource -> IResourceVariant}
 		Map<IResource, IResourceVariant> mergedResources = new HashMap<>();
@@ -207,7 +356,7 @@ public abstract class AbstractResourceVariantTree implements IResourceVariantTre
 		if (remote == null) {
 			remoteChildren = new IResourceVariant[0];
 		} else {
-			remoteChildren = fetchMembers(remote, progress);
+			remoteChildren = fetcher != null ? fetcher.getMembers(local, remote, progress) : fetchMembers(remote, progress);
 		}
 
 
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.core.variants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.team.core.TeamException;
+import org.eclipse.team.internal.core.Messages;
+import org.eclipse.team.internal.core.Policy;
+
+/**
+ * Refreshes independent resources in system jobs. Each job refreshes one
+ * resource at a time so the jobs acquire the scheduling rules they need
+ * themselves.
+ */
+class ConcurrentRefresh {
+
+	/**
+	 * The refresh of one of the resources.
+	 */
+	interface Refresh {
+		void refresh(int index, IProgressMonitor monitor) throws TeamException;
+	}
+
+	/**
+	 * Return whether the given resources can be refreshed concurrently by
+	 * the given number of jobs, which is the case if there is more than one
+	 * job and resource, the calling thread doesn't hold a scheduling rule and
+	 * the resources don't overlap.
+	 * @param resources the resources to be refreshed
+	 * @param parallelism the number of jobs
+	 * @return whether the resources can be refreshed concurrently
+	 */
+	static boolean isPossible(IResource[] resources, int parallelism) {
+		return parallelism > 1 && resources.length > 1
+				&& Job.getJobManager().currentRule() == null
+				&& !overlap(resources);
+	}
+
+	/**
+	 * Run the refresh of each resource in at most the given number of jobs and
+	 * wait for them to finish. The first failure stops the remaining refreshes
+	 * and is rethrown.
+	 * @param resources the resources to be refreshed
+	 * @param parallelism the number of jobs
+	 * @param refresh the refresh of one resource
+	 * @param monitor a progress monitor
+	 * @throws TeamException the first failure of a refresh
+	 */
+	static void run(final IResource[] resources, int parallelism, final Refresh refresh, IProgressMonitor monitor) throws TeamException {
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicInteger refreshed = new AtomicInteger();
+		final TeamException[] error = new TeamException[1];
+		final RuntimeException[] failure = new RuntimeException[1];
+		int jobCount = Math.min(parallelism, resources.length);
+		final CountDownLatch done = new CountDownLatch(jobCount);
+		List<Job> jobs = new ArrayList<>(jobCount);
+		for (int i = 0; i < jobCount; i++) {
+			Job job = new Job(Messages.SynchronizationCacheRefreshOperation_1) {
+				@Override
+				protected IStatus run(IProgressMonitor jobMonitor) {
+					int index;
+					while (!jobMonitor.isCanceled() && (index = next.getAndIncrement()) < resources.length) {
+						try {
+							refresh.refresh(index, jobMonitor);
+						} catch (TeamException e) {
+							synchronized (error) {
+								if (error[0] == null) error[0] = e;
+							}
+							next.set(resources.length);
+						} catch (OperationCanceledException e) {
+							next.set(resources.length);
+						} catch (RuntimeException e) {
+							synchronized (error) {
+								if (failure[0] == null) failure[0] = e;
+							}
+							next.set(resources.length);
+						}
+						refreshed.incrementAndGet();
+					}
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					// Also sent for jobs that are canceled before they run
+					done.countDown();
+				}
+			});
+			jobs.add(job);
+		}
+		monitor.beginTask(null, 100 * resources.length);
+		try {
+			for (Job job : jobs) {
+				job.schedule();
+			}
+			int reported = 0;
+			boolean canceled = false;
+			while (!done.await(100, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled() && !canceled) {
+					canceled = true;
+					next.set(resources.length);
+					for (Job job : jobs) {
+						job.cancel();
+					}
+				}
+				int worked = refreshed.get();
+				monitor.worked(100 * (worked - reported));
+				reported = worked;
+			}
+		} catch (InterruptedException e) {
+			next.set(resources.length);
+			for (Job job : jobs) {
+				job.cancel();
+			}
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			monitor.done();
+		}
+		synchronized (error) {
+			if (error[0] != null) throw error[0];
+			if (failure[0] != null) throw failure[0];
+		}
+		Policy.checkCanceled(monitor);
+	}
+
+	private static boolean overlap(IResource[] resources) {
+		for (int i = 0; i < resources.length; i++) {
+			IPath path = resources[i].getFullPath();
+			for (int j = i + 1; j < resources.length; j++) {
+				IPath otherPath = resources[j].getFullPath();
+				if (path.isPrefixOf(otherPath) || otherPath.isPrefixOf(path)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -117,20 +117,40 @@ public abstract class ResourceVariantTreeSubscriber extends Subscriber {
 		monitor = Policy.monitorFor(monitor);
 		List<IStatus> errors = new ArrayList<>();
 		List<IStatus> cancels = new ArrayList<>();
-		try {
-			monitor.beginTask(null, 1000 * resources.length);
-			for (IResource resource : resources) {
-				if (resource.getProject().isAccessible()) {
-					IStatus status = refresh(resource, depth, Policy.subMonitorFor(monitor, 1000));
-					if (status.getSeverity() == IStatus.CANCEL) {
-						cancels.add(status);
-					} else if (!status.isOK()) {
-						errors.add(status);
+		int parallelism = getRefreshParallelism();
+		if (ConcurrentRefresh.isPossible(resources, parallelism)) {
+			final IStatus[] statuses = new IStatus[resources.length];
+			ConcurrentRefresh.run(resources, parallelism, (index, jobMonitor) -> {
+				if (resources[index].getProject().isAccessible()) {
+					statuses[index] = refresh(resources[index], depth, jobMonitor);
+				}
+			}, monitor);
+			for (IStatus status : statuses) {
+				if (status == null) {
+					continue;
+				}
+				if (status.getSeverity() == IStatus.CANCEL) {
+					cancels.add(status);
+				} else if (!status.isOK()) {
+					errors.add(status);
+				}
+			}
+		} else {
+			try {
+				monitor.beginTask(null, 1000 * resources.length);
+				for (IResource resource : resources) {
+					if (resource.getProject().isAccessible()) {
+						IStatus status = refresh(resource, depth, Policy.subMonitorFor(monitor, 1000));
+						if (status.getSeverity() == IStatus.CANCEL) {
+							cancels.add(status);
+						} else if (!status.isOK()) {
+							errors.add(status);
+						}
 					}
 				}
+			} finally {
+				monitor.done();
 			}
-		} finally {
-			monitor.done();
 		}
 		if (!errors.isEmpty()) {
 			int numSuccess = resources.length - errors.size() - cancels.size();
@@ -172,6 +192,25 @@ public abstract class ResourceVariantTreeSubscriber extends Subscriber {
 	 */
 	protected abstract IResourceVariantTree getRemoteTree();
 
+	/*
+	 * The roots are refreshed concurrently only if the trees that are
+	 * refreshed allow it.
+	 */
+	private int getRefreshParallelism() {
+		int parallelism = getRefreshParallelism(getRemoteTree());
+		if (getResourceComparator().isThreeWay()) {
+			parallelism = Math.min(parallelism, getRefreshParallelism(getBaseTree()));
+		}
+		return parallelism;
+	}
+
+	private static int getRefreshParallelism(IResourceVariantTree tree) {
+		if (tree instanceof AbstractResourceVariantTree) {
+			return ((AbstractResourceVariantTree) tree).getRefreshParallelism();
+		}
+		return 1;
+	}
+
 	private IStatus refresh(IResource resource, int depth, IProgressMonitor monitor) {
 		monitor = Policy.monitorFor(monitor);
 		try {
@@ -23,6 +23,7 @@ public class Messages extends NLS {
 	public static String MergeContext_5;
 
 	public static String MergeContext_6;
+	public static String MergeContext_7;
 
 	public static String ok;
 	public static String concatStrings;
@@ -82,6 +83,7 @@ public class Messages extends NLS {
 	public static String SubscriberEventHandler_errors;
 	public static String RemoteContentsCacheEntry_3;
 	public static String SynchronizationCacheRefreshOperation_0;
+	public static String SynchronizationCacheRefreshOperation_1;
 	public static String SubscriberEventHandler_8;
 	public static String SubscriberEventHandler_9;
 	public static String SubscriberEventHandler_10;
@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.core.mapping;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.team.core.mapping.IStorageMerger;
+import org.eclipse.team.internal.core.Messages;
+import org.eclipse.team.internal.core.TeamPlugin;
+
+/**
+ * A line based three-way merge of a target and an other storage with their
+ * common ancestor. Unless it is asked to stop at the first conflict, the
+ * merge does not give up when the target and the other storage change the
+ * same lines: the conflicting lines are written either with conflict markers
+ * or, without markers, as they are in the target. The regions of the merged
+ * output are reported in a {@link MergeResult}.
+ * <p>
+ * The merged lines are written through a single buffered writer so that the
+ * output encoding is only looked up once per merge.
+ * </p>
+ */
+public class Diff3Merger {
+
+	/**
+	 * The marker written before the target lines of a conflict
+	 */
+	public static final String TARGET_MARKER = "<<<<<<<"; //$NON-NLS-1$
+
+	/**
+	 * The marker written before the ancestor lines of a conflict
+	 */
+	public static final String ANCESTOR_MARKER = "|||||||"; //$NON-NLS-1$
+
+	/**
+	 * The marker written between the target and the other lines of a conflict
+	 */
+	public static final String SEPARATOR_MARKER = "======="; //$NON-NLS-1$
+
+	/**
+	 * The marker written after the other lines of a conflict
+	 */
+	public static final String OTHER_MARKER = ">>>>>>>"; //$NON-NLS-1$
+
+	private boolean conflictMarkers;
+	private boolean ancestorInConflicts;
+	private boolean stopAtConflict;
+	private String targetLabel;
+	private String ancestorLabel;
+	private String otherLabel;
+	private String lineSeparator;
+
+	/**
+	 * A region of the merged output. The kind of a region is one of the kinds
+	 * of {@link RangeDifference}, where {@link RangeDifference#LEFT} is a change
+	 * of the target, {@link RangeDifference#RIGHT} a change of the other storage
+	 * and {@link RangeDifference#ANCESTOR} the same change in both.
+	 */
+	public static class Region {
+		private final int kind;
+		private final int outputStart;
+		private final int outputLength;
+		private final RangeDifference difference;
+
+		Region(RangeDifference difference, int outputStart, int outputLength) {
+			this.kind = difference.kind();
+			this.outputStart = outputStart;
+			this.outputLength = outputLength;
+			this.difference = difference;
+		}
+
+		public int getKind() {
+			return kind;
+		}
+
+		public boolean isConflict() {
+			return kind == RangeDifference.CONFLICT;
+		}
+
+		/**
+		 * Returns the first line of the region in the merged output. For a
+		 * conflict with markers this is the line of the first marker.
+		 * @return the first line of the region in the merged output
+		 */
+		public int getOutputStart() {
+			return outputStart;
+		}
+
+		public int getOutputLength() {
+			return outputLength;
+		}
+
+		public int getAncestorStart() {
+			return difference.ancestorStart();
+		}
+
+		public int getAncestorLength() {
+			return difference.ancestorLength();
+		}
+
+		public int getTargetStart() {
+			return difference.leftStart();
+		}
+
+		public int getTargetLength() {
+			return difference.leftLength();
+		}
+
+		public int getOtherStart() {
+			return difference.rightStart();
+		}
+
+		public int getOtherLength() {
+			return difference.rightLength();
+		}
+	}
+
+	/**
+	 * The outcome of a merge
+	 */
+	public static class MergeResult {
+		private final List<Region> regions = new ArrayList<>();
+		private IStatus error;
+		private boolean complete;
+		private int outputLines;
+
+		/**
+		 * Returns the regions of the merged output in order, including the
+		 * regions without changes.
+		 * @return the regions of the merged output
+		 */
+		public Region[] getRegions() {
+			return regions.toArray(new Region[regions.size()]);
+		}
+
+		public int getConflictCount() {
+			return count(RangeDifference.CONFLICT);
+		}
+
+		public int getTargetChangeCount() {
+			return count(RangeDifference.LEFT);
+		}
+
+		public int getOtherChangeCount() {
+			return count(RangeDifference.RIGHT);
+		}
+
+		/**
+		 * Returns the number of regions where the target and the other storage
+		 * made the same change.
+		 * @return the number of identical changes
+		 */
+		public int getPseudoConflictCount() {
+			return count(RangeDifference.ANCESTOR);
+		}
+
+		public int getOutputLineCount() {
+			return outputLines;
+		}
+
+		/**
+		 * Returns whether the whole merged output was written. The output is
+		 * incomplete if the merge stopped at a conflict or writing it failed.
+		 * @return whether the whole merged output was written
+		 */
+		public boolean isComplete() {
+			return complete;
+		}
+
+		/**
+		 * Returns the status of the merge in the terms of
+		 * {@link IStorageMerger#merge(OutputStream, String, IStorage, IStorage, IStorage, IProgressMonitor)}.
+		 * @return an OK status, a {@link IStorageMerger#CONFLICT} warning if there
+		 * were conflicts or an {@link IStorageMerger#INTERNAL_ERROR} if the
+		 * output could not be written
+		 */
+		public IStatus getStatus() {
+			if (error != null)
+				return error;
+			if (getConflictCount() > 0)
+				return new Status(IStatus.WARNING, TeamPlugin.ID, IStorageMerger.CONFLICT, Messages.TextAutoMerge_conflict, null);
+			return Status.OK_STATUS;
+		}
+
+		private int count(int kind) {
+			int count = 0;
+			for (Region region : regions) {
+				if (region.getKind() == kind)
+					count++;
+			}
+			return count;
+		}
+	}
+
+	/*
+	 * Writes lines separated by the line separator
+	 */
+	private static class LineWriter {
+		private final Writer writer;
+		private final String separator;
+		int lineCount;
+
+		LineWriter(Writer writer, String separator) {
+			this.writer = writer;
+			this.separator = separator;
+		}
+
+		void writeLine(String line) throws IOException {
+			if (lineCount > 0)
+				writer.write(separator);
+			writer.write(line);
+			lineCount++;
+		}
+
+		void writeLines(LineComparator lines, int start, int end) throws IOException {
+			for (int i = start; i < end; i++)
+				writeLine(lines.getLine(i));
+		}
+	}
+
+	/**
+	 * Sets whether conflicts are written with conflict markers. Otherwise the
+	 * conflicting lines of the target are written. Markers are not written by
+	 * default.
+	 * @param conflictMarkers whether to write conflict markers
+	 */
+	public void setConflictMarkers(boolean conflictMarkers) {
+		this.conflictMarkers = conflictMarkers;
+	}
+
+	/**
+	 * Sets whether the ancestor lines of a conflict are written between
+	 * the {@link #ANCESTOR_MARKER} and the {@link #SEPARATOR_MARKER} when
+	 * conflict markers are written.
+	 * @param ancestorInConflicts whether to write the ancestor lines of conflicts
+	 */
+	public void setAncestorInConflicts(boolean ancestorInConflicts) {
+		this.ancestorInConflicts = ancestorInConflicts;
+	}
+
+	/**
+	 * Sets whether the merge stops at the first conflict like the
+	 * {@link TextStorageMerger} does.
+	 * @param stopAtConflict whether to stop at the first conflict
+	 */
+	public void setStopAtConflict(boolean stopAtConflict) {
+		this.stopAtConflict = stopAtConflict;
+	}
+
+	/**
+	 * Sets the labels written after the conflict markers.
+	 * @param targetLabel the label of the target or <code>null</code>
+	 * @param ancestorLabel the label of the ancestor or <code>null</code>
+	 * @param otherLabel the label of the other storage or <code>null</code>
+	 */
+	public void setLabels(String targetLabel, String ancestorLabel, String otherLabel) {
+		this.targetLabel = targetLabel;
+		this.ancestorLabel = ancestorLabel;
+		this.otherLabel = otherLabel;
+	}
+
+	/**
+	 * Sets the separator written between lines. By default the line separator
+	 * of the platform is used.
+	 * @param lineSeparator the line separator or <code>null</code>
+	 */
+	public void setLineSeparator(String lineSeparator) {
+		this.lineSeparator = lineSeparator;
+	}
+
+	/**
+	 * Merges the given storages and writes the result to the given stream.
+	 * The stream is not closed.
+	 *
+	 * @param output the stream the merged lines are written to
+	 * @param outputEncoding the encoding of the output and of the storages that
+	 *            do not specify their encoding
+	 * @param ancestor the common ancestor
+	 * @param target the target storage
+	 * @param other the other storage
+	 * @param monitor a progress monitor
+	 * @return the result of the merge
+	 * @throws CoreException if the storages could not be read or an encoding
+	 *             is not supported
+	 */
+	public MergeResult merge(OutputStream output, String outputEncoding,
+			IStorage ancestor, IStorage target, IStorage other,
+			IProgressMonitor monitor) throws CoreException {
+
+		LineComparator a, t, o;
+
+		try {
+			a= LineComparator.create(ancestor, outputEncoding);
+			t= LineComparator.create(target, outputEncoding);
+			o= LineComparator.create(other, outputEncoding);
+		} catch (UnsupportedEncodingException e) {
+			throw new CoreException (new Status(IStatus.ERROR, TeamPlugin.ID, IStorageMerger.UNSUPPORTED_ENCODING, Messages.TextAutoMerge_inputEncodingError, e));
+		} catch (IOException e) {
+			throw new CoreException (new Status(IStatus.ERROR, TeamPlugin.ID, IStorageMerger.INTERNAL_ERROR, e.getMessage(), e));
+		}
+
+		CharsetEncoder encoder;
+		try {
+			encoder = Charset.forName(outputEncoding).newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		} catch (IllegalArgumentException e) {
+			throw new CoreException (new Status(IStatus.ERROR, TeamPlugin.ID, IStorageMerger.UNSUPPORTED_ENCODING, Messages.TextAutoMerge_outputEncodingError, e));
+		}
+
+		MergeResult result = new MergeResult();
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, encoder));
+		try {
+			merge(writer, a, t, o, result, monitor);
+			writer.flush();
+		} catch (IOException e) {
+			result.complete = false;
+			result.error = new Status(IStatus.ERROR, TeamPlugin.ID, IStorageMerger.INTERNAL_ERROR, Messages.TextAutoMerge_outputIOError, e);
+		}
+		return result;
+	}
+
+	private void merge(Writer writer, LineComparator a, LineComparator t, LineComparator o,
+			MergeResult result, IProgressMonitor monitor) throws IOException {
+		String separator = lineSeparator;
+		if (separator == null)
+			separator = System.getProperty("line.separator"); //$NON-NLS-1$
+		if (separator == null)
+			separator = "\n"; //$NON-NLS-1$
+		LineWriter out = new LineWriter(writer, separator);
+
+		RangeDifference[] diffs = RangeDifferencer.findRanges(monitor, a, t, o);
+
+		for (RangeDifference rd : diffs) {
+			int start = out.lineCount;
+			switch (rd.kind()) {
+			case RangeDifference.ANCESTOR: // pseudo conflict
+			case RangeDifference.NOCHANGE:
+			case RangeDifference.RIGHT:
+				out.writeLines(o, rd.rightStart(), rd.rightEnd());
+				break;
+
+			case RangeDifference.LEFT:
+				out.writeLines(t, rd.leftStart(), rd.leftEnd());
+				break;
+
+			case RangeDifference.CONFLICT:
+				if (stopAtConflict) {
+					result.regions.add(new Region(rd, start, 0));
+					result.outputLines = out.lineCount;
+					return;
+				}
+				if (conflictMarkers) {
+					out.writeLine(marker(TARGET_MARKER, targetLabel));
+					out.writeLines(t, rd.leftStart(), rd.leftEnd());
+					if (ancestorInConflicts) {
+						out.writeLine(marker(ANCESTOR_MARKER, ancestorLabel));
+						out.writeLines(a, rd.ancestorStart(), rd.ancestorEnd());
+					}
+					out.writeLine(SEPARATOR_MARKER);
+					out.writeLines(o, rd.rightStart(), rd.rightEnd());
+					out.writeLine(marker(OTHER_MARKER, otherLabel));
+				} else {
+					out.writeLines(t, rd.leftStart(), rd.leftEnd());
+				}
+				break;
+
+			default:
+				break;
+			}
+			result.regions.add(new Region(rd, start, out.lineCount - start));
+		}
+		result.outputLines = out.lineCount;
+		result.complete = true;
+	}
+
+	private static String marker(String marker, String label) {
+		if (label == null || label.length() == 0)
+			return marker;
+		return marker + ' ' + label;
+	}
+}
@@ -14,13 +14,12 @@
 package org.eclipse.team.internal.core.mapping;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedReader;
-import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.Reader;
 
+import org.eclipse.compare.internal.core.LineIndex;
 import org.eclipse.compare.rangedifferencer.IRangeComparator;
 import org.eclipse.core.resources.IEncodedStorage;
 import org.eclipse.core.resources.IStorage;
@@ -33,52 +32,8 @@ import org.eclipse.core.runtime.CoreException;
  */
 class LineComparator implements IRangeComparator {
 
-	private String[] fLines;
-
-	/*
-	 * An input stream reader that detects a trailing LF in the wrapped stream.
-	 */
-	private static class TrailingLineFeedDetector extends FilterInputStream {
-
-		boolean trailingLF = false;
-
-		protected TrailingLineFeedDetector(InputStream in) {
-			super(in);
-		}
-
-		@Override
-		public int read() throws IOException {
-			int c = super.read();
-			trailingLF = isLineFeed(c);
-			return c;
-		}
-
-		/*
-		 * We don't need to override read(byte[] buffer) as the javadoc of
-		 * FilterInputStream states that it will call read(byte[] buffer, int
-		 * off, int len)
-		 */
-		@Override
-		public int read(byte[] buffer, int off, int len) throws IOException {
-			int length = super.read(buffer, off, len);
-			if (length != -1) {
-				int index = off + length - 1;
-				if (index >= buffer.length)
-					index = buffer.length - 1;
-				trailingLF = isLineFeed(buffer[index]);
-			}
-			return length;
-		}
-
-		private boolean isLineFeed(int c) {
-			return c != -1 && c == '\n';
-		}
-
-		public boolean hadTrailingLineFeed() {
-			return trailingLF;
-		}
-
-	}
+	private LineIndex fIndex;
+	private int fCount;
 
 	public static LineComparator create(IStorage storage, String outputEncoding)
 			throws CoreException, IOException {
@@ -108,41 +63,38 @@ class LineComparator implements IRangeComparator {
 
 	public LineComparator(InputStream is, String encoding) throws IOException {
 
-		TrailingLineFeedDetector trailingLineFeedDetector = new TrailingLineFeedDetector(
-				is);
-		try (BufferedReader br = new BufferedReader(new InputStreamReader(
-				trailingLineFeedDetector, encoding))) {
-			String line;
-			ArrayList<String> ar = new ArrayList<>();
-			while ((line = br.readLine()) != null) {
-				ar.add(line);
-			}
-			// Add a trailing line if the last character in the file was a line
-			// feed.
-			// We do this because a BufferedReader doesn't distinguish the case
-			// where the last line has or doesn't have a trailing line separator
-			if (trailingLineFeedDetector.hadTrailingLineFeed()) {
-				ar.add(""); //$NON-NLS-1$
+		StringBuilder text = new StringBuilder();
+		try (Reader reader = new InputStreamReader(is, encoding)) {
+			char[] buffer = new char[8192];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				text.append(buffer, 0, read);
 			}
-			fLines = ar.toArray(new String[ar.size()]);
 		}
+		// The lines are shared with other compares of the same contents
+		fIndex = LineIndex.get(text.toString());
+		// There is a trailing empty line if the last character in the file
+		// was a line feed, but not after a trailing carriage return. An empty
+		// file has no lines.
+		fCount = fIndex.getLineCount();
+		int length = text.length();
+		if (length == 0 || text.charAt(length - 1) == '\r')
+			fCount--;
 	}
 
 	String getLine(int ix) {
-		return fLines[ix];
+		return fIndex.getLine(ix);
 	}
 
 	@Override
 	public int getRangeCount() {
-		return fLines.length;
+		return fCount;
 	}
 
 	@Override
 	public boolean rangesEqual(int thisIndex, IRangeComparator other,
 			int otherIndex) {
-		String s1 = fLines[thisIndex];
-		String s2 = ((LineComparator) other).fLines[otherIndex];
-		return s1.equals(s2);
+		return fIndex.lineEquals(thisIndex, ((LineComparator) other).fIndex, otherIndex);
 	}
 
 	@Override
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.core.streams;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wraps an input stream that blocks indefinitely to simulate timeouts on read()
+ * and skip() like {@link TimeoutInputStream}, but without a thread and without
+ * copying the data through a buffer.
+ * <p>
+ * The calling thread waits until the underlying stream reports available bytes
+ * and then reads at most that many bytes directly into the caller's buffer, so
+ * the read doesn't block. Since a stream that has reached its end usually
+ * reports no available bytes either, the end of the input is detected with the
+ * given condition (e.g. that a process has exited or a channel has reached its
+ * EOF). Once the condition holds, reads are passed to the underlying stream.
+ * </p><p>
+ * If the writer of the underlying stream notifies a monitor whenever bytes
+ * arrive or the input ends, as {@link java.io.PipedInputStream} does when its
+ * source is flushed or closed, the calling thread waits on that monitor.
+ * Otherwise it polls, first briefly since the reply to a request usually
+ * follows shortly and then less often the longer no bytes arrive.
+ * </p><p>
+ * An InterruptedIOException is thrown if no bytes became available within the
+ * read timeout, so the stream is meant to be wrapped by a
+ * {@link PollingInputStream} that retries and checks for cancellation.
+ * </p>
+ */
+public class AvailableTimeoutInputStream extends FilterInputStream {
+	private static final long MAX_POLL_INTERVAL = 16; // millis
+
+	private final long readTimeout; // read() timeout in millis
+	private final BooleanSupplier endOfInput;
+	private final Object monitor; // notified when bytes arrive or the input ends, or null
+
+	/**
+	 * Creates a timeout wrapper for an input stream.
+	 * @param in the underlying input stream
+	 * @param readTimeout the number of milliseconds to block for a read() or skip() before
+	 *        throwing an InterruptedIOException; 0 blocks indefinitely
+	 * @param endOfInput the condition that holds once no more bytes will become available
+	 *        and reading the underlying stream won't block
+	 */
+	public AvailableTimeoutInputStream(InputStream in, long readTimeout, BooleanSupplier endOfInput) {
+		this(in, readTimeout, endOfInput, null);
+	}
+
+	/**
+	 * Creates a timeout wrapper for an input stream whose writer notifies the given
+	 * monitor after making bytes available and when the input ends.
+	 * @param in the underlying input stream
+	 * @param readTimeout the number of milliseconds to block for a read() or skip() before
+	 *        throwing an InterruptedIOException; 0 blocks indefinitely
+	 * @param endOfInput the condition that holds once no more bytes will become available
+	 *        and reading the underlying stream won't block
+	 * @param monitor the object that is notified when bytes arrive or the input ends,
+	 *        or <code>null</code> to poll the underlying stream
+	 */
+	public AvailableTimeoutInputStream(InputStream in, long readTimeout, BooleanSupplier endOfInput, Object monitor) {
+		super(in);
+		this.readTimeout = readTimeout;
+		this.endOfInput = endOfInput;
+		this.monitor = monitor;
+	}
+
+	/**
+	 * Reads a byte from the stream.
+	 * @throws InterruptedIOException if the timeout expired and no data was received,
+	 *         bytesTransferred will be zero
+	 * @throws IOException if an i/o error occurs
+	 */
+	@Override
+	public int read() throws IOException {
+		waitForInput();
+		return in.read();
+	}
+
+	/**
+	 * Reads multiple bytes from the stream.
+	 * @throws InterruptedIOException if the timeout expired and no data was received,
+	 *         bytesTransferred will be zero
+	 * @throws IOException if an i/o error occurs
+	 */
+	@Override
+	public int read(byte[] buffer, int off, int len) throws IOException {
+		if (len == 0) return 0;
+		int available = waitForInput();
+		return in.read(buffer, off, available > 0 ? Math.min(len, available) : len);
+	}
+
+	/**
+	 * Skips multiple bytes in the stream.
+	 * @throws InterruptedIOException if the timeout expired and no bytes were skipped,
+	 *         bytesTransferred will be zero
+	 * @throws IOException if an i/o error occurs
+	 */
+	@Override
+	public long skip(long count) throws IOException {
+		if (count <= 0) return 0;
+		int available = waitForInput();
+		return in.skip(available > 0 ? Math.min(count, available) : count);
+	}
+
+	/**
+	 * Mark is not supported by the wrapper even if the underlying stream does, returns false.
+	 */
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	/**
+	 * Waits until bytes are available or the end of the input is reached.
+	 * @return the number of available bytes, 0 if the end of the input has been reached
+	 * @throws InterruptedIOException if the timeout expired
+	 */
+	private int waitForInput() throws IOException {
+		long deadline = readTimeout > 0 ? System.currentTimeMillis() + readTimeout : Long.MAX_VALUE;
+		if (monitor != null) {
+			synchronized (monitor) {
+				// checked while holding the monitor so that a notification isn't missed
+				return waitForInput(deadline);
+			}
+		}
+		return waitForInput(deadline);
+	}
+
+	private int waitForInput(long deadline) throws IOException {
+		long interval = 1;
+		for (;;) {
+			int available = in.available();
+			if (available > 0) return available;
+			if (endOfInput.getAsBoolean()) {
+				// the end may have been reached after the last bytes arrived
+				available = in.available();
+				return available > 0 ? available : 0;
+			}
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) throw new InterruptedIOException();
+			try {
+				if (monitor != null) {
+					monitor.wait(remaining);
+				} else {
+					Thread.sleep(Math.min(interval, remaining));
+					interval = Math.min(2 * interval, MAX_POLL_INTERVAL);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt(); // we weren't expecting to be interrupted
+				throw new InterruptedIOException();
+			}
+		}
+	}
+}
@@ -98,23 +98,28 @@ public class CRLFtoLFInputStream extends FilterInputStream {
 			iioe = e;
 		}
 		count += len;
-		// strip out CR's in CR/LF pairs
-		// pendingByte will be true iff previous byte was a CR
+		// strip out CR's in CR/LF pairs, moving the runs in between in bulk
+		// pendingByte will be true iff the last byte was a CR
+		int end = off + count;
+		int i = off;
 		int j = off;
-		for (int i = off; i < off + count; ++i) { // invariant: j <= i
-			lastByte = buffer[i];
-			if (lastByte == '\r') {
-				if (pendingByte) {
-					buffer[j++] = '\r'; // write out orphan CR
-				} else {
-					pendingByte = true;
-				}
+		while (i < end) { // invariant: j <= i
+			int cr = i;
+			while (cr < end && buffer[cr] != '\r') ++cr;
+			if (j != i) System.arraycopy(buffer, i, buffer, j, cr - i);
+			j += cr - i;
+			if (cr == end) break;
+			if (cr + 1 == end) {
+				lastByte = '\r'; // leaves the CR pending for the next read
+				pendingByte = true;
+				break;
+			}
+			if (buffer[cr + 1] == '\n') {
+				buffer[j++] = '\n'; // if LF, don't write the CR
+				i = cr + 2;
 			} else {
-				if (pendingByte) {
-					if (lastByte != '\n') buffer[j++] = '\r'; // if LF, don't write the CR
-					pendingByte = false;
-				}
-				buffer[j++] = (byte) lastByte;
+				buffer[j++] = '\r'; // write out orphan CR
+				i = cr + 1;
 			}
 		}
 		if (iioe != null) {
@@ -99,14 +99,18 @@ public class LFtoCRLFInputStream extends FilterInputStream {
 			iioe = e;
 		}
 		count += len;
-		// copy bytes from the middle to the front of the array, expanding LF->CR/LF
-		while (len-- > 0) {
-			byte b = buffer[j++];
-			if (b == '\n') {
-				buffer[off++] = '\r';
-				count++;
-			}
-			buffer[off++] = b;
+		// move bytes from the middle to the front of the array in runs, expanding LF->CR/LF
+		int end = j + len;
+		while (j < end) { // invariant: off <= j
+			int lf = j;
+			while (lf < end && buffer[lf] != '\n') ++lf;
+			System.arraycopy(buffer, j, buffer, off, lf - j);
+			off += lf - j;
+			if (lf == end) break;
+			buffer[off++] = '\r';
+			buffer[off++] = '\n';
+			count++;
+			j = lf + 1;
 		}
 		if (iioe != null) {
 			iioe.bytesTransferred = count;
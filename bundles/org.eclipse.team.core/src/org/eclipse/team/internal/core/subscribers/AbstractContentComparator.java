@@ -16,13 +16,19 @@ package org.eclipse.team.internal.core.subscribers;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 
+import org.eclipse.compare.internal.core.ContentDigestCache;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.team.core.RepositoryProvider;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.core.history.IFileRevision;
+import org.eclipse.team.core.variants.CachedResourceVariant;
 import org.eclipse.team.core.variants.IResourceVariant;
 import org.eclipse.team.internal.core.Policy;
 import org.eclipse.team.internal.core.TeamPlugin;
@@ -44,21 +50,35 @@ public abstract class AbstractContentComparator {
 	}
 
 	public boolean compare(IResource e1, IResourceVariant e2, IProgressMonitor monitor) {
-		return compareObjects(e1, e2, monitor);
+		return compareObjects(e1, e2, e2.isContainer() ? null : e2.getContentIdentifier(), monitor);
 	}
 
 	public boolean compare(IResource e1, IFileRevision e2, IProgressMonitor monitor) {
-		return compareObjects(e1, e2, monitor);
+		return compareObjects(e1, e2, e2.getContentIdentifier(), monitor);
 	}
 
-	private boolean compareObjects(Object e1, Object e2, IProgressMonitor monitor) {
+	private boolean compareObjects(IResource e1, Object e2, String remoteId, IProgressMonitor monitor) {
+		String key1 = null;
+		String key2 = null;
+		ContentDigestCache cache = getDigestCache();
+		if (cache != null && e1.getType() == IResource.FILE) {
+			// Local contents are identified by their modification stamp and
+			// remote contents by their location and revision
+			key1 = e1.getFullPath() + "@" + e1.getModificationStamp() + ":" + e1.getLocalTimeStamp(); //$NON-NLS-1$ //$NON-NLS-2$
+			key2 = remoteId == null ? null : getRemoteKey(e1, e2, remoteId);
+			// the length of the local file is only needed if its digest is not known
+			long length1 = cache.get(key1) == null ? getLength(e1) : -1;
+			int known = cache.compare(key1, length1, key2, -1);
+			if (known != ContentDigestCache.UNKNOWN)
+				return known == ContentDigestCache.EQUAL;
+		}
 		InputStream is1 = null;
 		InputStream is2 = null;
 		try {
 			monitor.beginTask(null, 100);
 			is1 = getContents(e1, Policy.subMonitorFor(monitor, 30));
 			is2 = getContents(e2, Policy.subMonitorFor(monitor, 30));
-			return contentsEqual(Policy.subMonitorFor(monitor, 40), is1, is2, shouldIgnoreWhitespace());
+			return contentsEqual(Policy.subMonitorFor(monitor, 40), is1, key1, is2, key2, shouldIgnoreWhitespace());
 		} catch (TeamException e) {
 			TeamPlugin.log(e);
 			return false;
@@ -87,6 +107,63 @@ public abstract class AbstractContentComparator {
 	abstract protected boolean contentsEqual(IProgressMonitor monitor, InputStream is1, InputStream is2,
 			boolean ignoreWhitespace);
 
+	/**
+	 * Compare the given contents. The keys identify the contents in the cache
+	 * returned by {@link #getDigestCache()} and are <code>null</code> if there is
+	 * no cache or the contents cannot be identified. By default the keys are
+	 * ignored.
+	 */
+	protected boolean contentsEqual(IProgressMonitor monitor, InputStream is1, String key1, InputStream is2,
+			String key2, boolean ignoreWhitespace) {
+		return contentsEqual(monitor, is1, is2, ignoreWhitespace);
+	}
+
+	/**
+	 * Return the cache used to remember the digests of compared contents or
+	 * <code>null</code> if contents are not compared byte for byte. When the
+	 * digests of both contents are cached the contents are not read.
+	 */
+	protected ContentDigestCache getDigestCache() {
+		return null;
+	}
+
+	/*
+	 * Return the key of the remote contents, which includes the location of the
+	 * remote file if it is known and otherwise the repository provider of the
+	 * local file, or null if the remote contents cannot be told apart from
+	 * those of other repositories
+	 */
+	private String getRemoteKey(IResource local, Object remote, String remoteId) {
+		if (remote instanceof CachedResourceVariant) {
+			CachedResourceVariant variant = (CachedResourceVariant) remote;
+			return variant.getClass().getName() + ":" + variant.getDisplayPath() + "#" + remoteId; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (remote instanceof IFileRevision) {
+			URI uri = ((IFileRevision) remote).getURI();
+			if (uri != null)
+				return uri + "#" + remoteId; //$NON-NLS-1$
+		}
+		RepositoryProvider provider = RepositoryProvider.getProvider(local.getProject());
+		if (provider == null)
+			return null;
+		return provider.getID() + ":" + local.getFullPath() + "#" + remoteId; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/*
+	 * Return the length of the local file from its metadata or -1
+	 */
+	private long getLength(IResource resource) {
+		URI location = resource.getLocationURI();
+		if (location == null)
+			return -1;
+		try {
+			IFileInfo info = EFS.getStore(location).fetchInfo();
+			return info.exists() && !info.isDirectory() ? info.getLength() : -1;
+		} catch (CoreException e) {
+			return -1;
+		}
+	}
+
 	private InputStream getContents(Object resource, IProgressMonitor monitor)
 			throws TeamException {
 		try {
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.core.subscribers;
+
+import java.util.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.team.core.TeamException;
+import org.eclipse.team.core.variants.SessionResourceVariantByteStore;
+
+/**
+ * A <code>ResourceVariantByteStore</code> that caches the variant bytes in
+ * memory like {@link SessionResourceVariantByteStore} but without an object
+ * per resource.
+ * <p>
+ * Resources are rows of a {@link ResourceRowTable} whose index includes the
+ * type of the resources. The bytes are copied into shared slabs and are
+ * addressed by slab, offset and length, so neither resource handles nor byte
+ * arrays are retained.
+ * </p>
+ */
+public class CompactSessionResourceVariantByteStore extends SessionResourceVariantByteStore {
+
+	private static final int NONE = ResourceRowTable.NONE;
+	private static final int SLAB_SIZE = 32 * 1024;
+
+	/*
+	 * The resources and the location of their bytes. Row 0 is the workspace root.
+	 */
+	private final class Rows extends ResourceRowTable {
+		/** -1 if the row has no bytes */
+		int[] length;
+		int[] slab;
+		int[] offset;
+
+		Rows() {
+			super(true);
+		}
+
+		@Override
+		protected void growColumns(int capacity) {
+			length = length == null ? new int[capacity] : Arrays.copyOf(length, capacity);
+			slab = slab == null ? new int[capacity] : Arrays.copyOf(slab, capacity);
+			offset = offset == null ? new int[capacity] : Arrays.copyOf(offset, capacity);
+		}
+
+		@Override
+		protected void clearRow(int row) {
+			flush(row, IResource.DEPTH_ZERO);
+		}
+
+		@Override
+		protected boolean hasData(int row) {
+			return length[row] != NONE;
+		}
+
+		@Override
+		protected int newRow(int parentRow, int nameId, byte rowType) {
+			int row = super.newRow(parentRow, nameId, rowType);
+			length[row] = NONE;
+			return row;
+		}
+
+		void clear() {
+			length = null;
+			slab = null;
+			offset = null;
+			reset(64);
+			newRow(NONE, intern(""), (byte) IResource.ROOT); //$NON-NLS-1$
+		}
+	}
+
+	private final Rows rows = new Rows();
+	private int size;
+
+	// the bytes of the rows
+	private final List<byte[]> slabs = new ArrayList<>();
+	private int currentSlab;
+	private int slabPosition;
+	private long usedBytes;
+	private long garbageBytes;
+
+	public CompactSessionResourceVariantByteStore() {
+		clear();
+	}
+
+	@Override
+	public synchronized boolean deleteBytes(IResource resource) throws TeamException {
+		return flushBytes(resource, IResource.DEPTH_ZERO);
+	}
+
+	@Override
+	public synchronized void dispose() {
+		clear();
+	}
+
+	@Override
+	public synchronized boolean flushBytes(IResource resource, int depth) throws TeamException {
+		int row = find(resource);
+		if (row == NONE || rows.length[row] == NONE) return false;
+		flush(row, depth);
+		rows.prune(row);
+		compactSlabs();
+		return true;
+	}
+
+	@Override
+	public synchronized byte[] getBytes(IResource resource) throws TeamException {
+		int row = find(resource);
+		if (row == NONE || rows.length[row] <= 0) {
+			// If it is known that there is no remote, return null
+			return null;
+		}
+		return Arrays.copyOfRange(slabs.get(rows.slab[row]), rows.offset[row], rows.offset[row] + rows.length[row]);
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public synchronized IResource[] members(IResource resource) {
+		int row = find(resource);
+		if (row == NONE) return new IResource[0];
+		List<IResource> members = new ArrayList<>();
+		for (int child = rows.getFirstChild(row); child != NONE; child = rows.getNextSibling(child)) {
+			if (rows.length[child] == NONE) continue;
+			String childName = rows.getName(child);
+			switch (rows.getType(child)) {
+			case IResource.PROJECT:
+				members.add(((IWorkspaceRoot) resource).getProject(childName));
+				break;
+			case IResource.FOLDER:
+				members.add(((IContainer) resource).getFolder(new Path(childName)));
+				break;
+			default:
+				members.add(((IContainer) resource).getFile(new Path(childName)));
+				break;
+			}
+		}
+		return members.toArray(new IResource[members.size()]);
+	}
+
+	@Override
+	public synchronized boolean setBytes(IResource resource, byte[] bytes) throws TeamException {
+		Assert.isNotNull(bytes);
+		int row = findOrCreate(resource);
+		int oldLength = rows.length[row];
+		if (oldLength == bytes.length && (oldLength == 0 || equals(slabs.get(rows.slab[row]), rows.offset[row], bytes))) return false;
+		if (oldLength == NONE) {
+			size++;
+		} else {
+			garbageBytes += oldLength;
+			usedBytes -= oldLength;
+		}
+		if (oldLength < bytes.length) {
+			allocate(row, bytes.length);
+		} else {
+			// reuse the space of the old bytes
+			garbageBytes -= bytes.length;
+		}
+		if (bytes.length > 0)
+			System.arraycopy(bytes, 0, slabs.get(rows.slab[row]), rows.offset[row], bytes.length);
+		rows.length[row] = bytes.length;
+		usedBytes += bytes.length;
+		return true;
+	}
+
+	private static boolean equals(byte[] slabBytes, int start, byte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			if (slabBytes[start + i] != bytes[i]) return false;
+		}
+		return true;
+	}
+
+	private void clear() {
+		slabs.clear();
+		currentSlab = NONE;
+		slabPosition = SLAB_SIZE;
+		usedBytes = 0;
+		garbageBytes = 0;
+		size = 0;
+		rows.clear();
+	}
+
+	private int find(IResource resource) {
+		if (resource.getType() == IResource.ROOT) return 0;
+		int parentRow = find(resource.getParent());
+		if (parentRow == NONE) return NONE;
+		return rows.getChild(parentRow, resource.getName(), resource.getType());
+	}
+
+	private int findOrCreate(IResource resource) {
+		if (resource.getType() == IResource.ROOT) return 0;
+		int parentRow = findOrCreate(resource.getParent());
+		return rows.getOrCreateChild(parentRow, resource.getName(), (byte) resource.getType());
+	}
+
+	/*
+	 * Removes the bytes of the row and, depending on the depth, the bytes
+	 * of the children that have bytes
+	 */
+	private void flush(int row, int depth) {
+		if (depth != IResource.DEPTH_ZERO) {
+			int child = rows.getFirstChild(row);
+			while (child != NONE) {
+				int next = rows.getNextSibling(child);
+				if (rows.length[child] != NONE) {
+					flush(child, depth == IResource.DEPTH_INFINITE ? IResource.DEPTH_INFINITE : IResource.DEPTH_ZERO);
+					if (rows.getFirstChild(child) == NONE) rows.removeRow(child);
+				}
+				child = next;
+			}
+		}
+		if (rows.length[row] != NONE) {
+			garbageBytes += rows.length[row];
+			usedBytes -= rows.length[row];
+			rows.length[row] = NONE;
+			size--;
+		}
+	}
+
+	/*
+	 * Points the row at free space for the given number of bytes
+	 */
+	private void allocate(int row, int count) {
+		if (count == 0) return;
+		if (count > SLAB_SIZE / 4) {
+			// large bytes get a slab of their own
+			slabs.add(new byte[count]);
+			rows.slab[row] = slabs.size() - 1;
+			rows.offset[row] = 0;
+			return;
+		}
+		if (slabPosition + count > SLAB_SIZE) {
+			slabs.add(new byte[SLAB_SIZE]);
+			currentSlab = slabs.size() - 1;
+			slabPosition = 0;
+		}
+		rows.slab[row] = currentSlab;
+		rows.offset[row] = slabPosition;
+		slabPosition += count;
+	}
+
+	/*
+	 * Copies the live bytes into new slabs once most of the slab space is garbage
+	 */
+	private void compactSlabs() {
+		if (garbageBytes < SLAB_SIZE || garbageBytes < usedBytes) return;
+		List<byte[]> oldSlabs = new ArrayList<>(slabs);
+		slabs.clear();
+		currentSlab = NONE;
+		slabPosition = SLAB_SIZE;
+		for (int row = 0; row < rows.getRowCount(); row++) {
+			if (rows.getType(row) == 0 || rows.length[row] <= 0) continue;
+			byte[] oldSlab = oldSlabs.get(rows.slab[row]);
+			int oldOffset = rows.offset[row];
+			allocate(row, rows.length[row]);
+			System.arraycopy(oldSlab, oldOffset, slabs.get(rows.slab[row]), rows.offset[row], rows.length[row]);
+		}
+		garbageBytes = 0;
+	}
+}
@@ -16,6 +16,7 @@ package org.eclipse.team.internal.core.subscribers;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.eclipse.compare.internal.core.ContentDigestCache;
 import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
@@ -84,6 +85,33 @@ public class ContentComparator extends AbstractContentComparator{
 		return false;
 	}
 
+	@Override
+	protected boolean contentsEqual(IProgressMonitor monitor, InputStream is1, String key1, InputStream is2,
+			String key2, boolean ignoreWhitespace) {
+		if (ignoreWhitespace || is1 == null || is2 == null || (key1 == null && key2 == null))
+			return contentsEqual(monitor, is1, is2, ignoreWhitespace);
+		try {
+			return ContentDigestCache.getDefault().contentsEqual(is1, key1, is2, key2);
+		} catch (IOException ex) {
+			return false;
+		} finally {
+			try {
+				try {
+					is1.close();
+				} finally {
+					is2.close();
+				}
+			} catch (IOException e) {
+				// Ignore
+			}
+		}
+	}
+
+	@Override
+	protected ContentDigestCache getDigestCache() {
+		return shouldIgnoreWhitespace() ? null : ContentDigestCache.getDefault();
+	}
+
 	private boolean isWhitespace(int c) {
 		if (c == -1)
 			return false;
@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.core.subscribers;
+
+import java.util.*;
+
+/**
+ * A tree of resources stored as rows of a table, used by the compact
+ * resource variant byte stores. Each row holds the parent row, the interned
+ * name and the type of a resource, and the children of a row are linked in the
+ * order they were added. Rows are found with an open addressing hash index on
+ * parent and name, and on type if the index is typed. Removed rows are reused.
+ * <p>
+ * Subclasses add the columns of the data of the rows and keep them as large as
+ * the columns of this table. The strings interned by the table may also be
+ * used for the data. Instances are not thread safe.
+ * </p>
+ */
+public abstract class ResourceRowTable {
+
+	/**
+	 * Denotes no row, e.g. the parent of the root row or a row that is not found.
+	 */
+	public static final int NONE = -1;
+
+	private static final long EMPTY_KEY = -1;
+
+	private final boolean typedIndex;
+
+	// interned names
+	private final List<String> strings = new ArrayList<>();
+	private final Map<String, Integer> stringIds = new HashMap<>();
+
+	// the columns of the rows
+	protected int rowCount;
+	protected int[] parent;
+	protected int[] name;
+	/** 0 if the row has been removed */
+	protected byte[] type;
+	protected int[] firstChild;
+	protected int[] lastChild;
+	protected int[] nextSibling;
+	protected int[] previousSibling;
+	private int[] freeRows;
+	private int freeCount;
+
+	// the index of the rows by parent, name and, if typed, type
+	private long[] indexKeys;
+	private int[] indexRows;
+	private int indexSize;
+
+	/**
+	 * Create a table. The subclass must call {@link #reset(int)} once its
+	 * columns are initialized.
+	 * @param typedIndex whether resources of different types may have the same
+	 *   path, i.e. whether the index includes the type of the rows
+	 */
+	protected ResourceRowTable(boolean typedIndex) {
+		this.typedIndex = typedIndex;
+	}
+
+	/**
+	 * Grow the columns of the subclass to the given capacity.
+	 * @param capacity the new number of rows of the columns
+	 */
+	protected abstract void growColumns(int capacity);
+
+	/**
+	 * Clear the data of a row that is being removed.
+	 * @param row the row
+	 */
+	protected abstract void clearRow(int row);
+
+	/**
+	 * Return whether a row has data and must therefore not be pruned.
+	 * @param row the row
+	 * @return whether the row has data
+	 */
+	protected abstract boolean hasData(int row);
+
+	/**
+	 * Remove all rows and strings and allocate the columns for the given
+	 * number of rows. The subclass then creates the root row or loads rows.
+	 * @param capacity the initial number of rows
+	 */
+	protected void reset(int capacity) {
+		strings.clear();
+		stringIds.clear();
+		rowCount = 0;
+		freeRows = new int[16];
+		freeCount = 0;
+		parent = new int[capacity];
+		name = new int[capacity];
+		type = new byte[capacity];
+		firstChild = new int[capacity];
+		lastChild = new int[capacity];
+		nextSibling = new int[capacity];
+		previousSibling = new int[capacity];
+		growColumns(capacity);
+		clearIndex(Math.max(64, Integer.highestOneBit(capacity) << 1));
+	}
+
+	public int intern(String string) {
+		Integer id = stringIds.get(string);
+		if (id == null) {
+			id = strings.size();
+			strings.add(string);
+			stringIds.put(string, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Return the id of the given string or {@link #NONE} if it is not interned.
+	 * @param string the string
+	 * @return the id of the string or {@link #NONE}
+	 */
+	public int getStringId(String string) {
+		Integer id = stringIds.get(string);
+		return id == null ? NONE : id;
+	}
+
+	public String getString(int id) {
+		return strings.get(id);
+	}
+
+	public int getStringCount() {
+		return strings.size();
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getParent(int row) {
+		return parent[row];
+	}
+
+	public String getName(int row) {
+		return strings.get(name[row]);
+	}
+
+	public int getType(int row) {
+		return type[row];
+	}
+
+	public int getFirstChild(int row) {
+		return firstChild[row];
+	}
+
+	public int getNextSibling(int row) {
+		return nextSibling[row];
+	}
+
+	/**
+	 * Return the child of a row with the given name and type.
+	 * @param parentRow the parent row
+	 * @param childName the name of the child
+	 * @param resourceType the type of the child, ignored if the index is not typed
+	 * @return the child row or {@link #NONE}
+	 */
+	public int getChild(int parentRow, String childName, int resourceType) {
+		int id = getStringId(childName);
+		return id == NONE ? NONE : indexGet(key(parentRow, id, resourceType));
+	}
+
+	/**
+	 * Return the child of a row with the given name and type, creating it if
+	 * it does not exist.
+	 * @param parentRow the parent row
+	 * @param childName the name of the child
+	 * @param resourceType the type of the child
+	 * @return the child row
+	 */
+	public int getOrCreateChild(int parentRow, String childName, byte resourceType) {
+		int id = intern(childName);
+		int row = indexGet(key(parentRow, id, resourceType));
+		if (row == NONE)
+			row = newRow(parentRow, id, resourceType);
+		return row;
+	}
+
+	/**
+	 * Create a row that is appended to the children of its parent.
+	 * @param parentRow the parent row or {@link #NONE} for the root row
+	 * @param nameId the interned name of the row
+	 * @param rowType the type of the resource of the row
+	 * @return the new row
+	 */
+	protected int newRow(int parentRow, int nameId, byte rowType) {
+		int row;
+		if (freeCount > 0) {
+			row = freeRows[--freeCount];
+		} else {
+			if (rowCount == parent.length) grow(2 * rowCount);
+			row = rowCount++;
+		}
+		parent[row] = parentRow;
+		name[row] = nameId;
+		type[row] = rowType;
+		firstChild[row] = NONE;
+		lastChild[row] = NONE;
+		nextSibling[row] = NONE;
+		previousSibling[row] = NONE;
+		if (parentRow != NONE) {
+			link(parentRow, row);
+			indexPut(key(parentRow, nameId, rowType), row);
+		}
+		return row;
+	}
+
+	/**
+	 * Remove the row and its descendants.
+	 * @param row the row
+	 */
+	public void removeRow(int row) {
+		while (firstChild[row] != NONE) {
+			removeRow(firstChild[row]);
+		}
+		clearRow(row);
+		int p = parent[row];
+		if (previousSibling[row] != NONE)
+			nextSibling[previousSibling[row]] = nextSibling[row];
+		else
+			firstChild[p] = nextSibling[row];
+		if (nextSibling[row] != NONE)
+			previousSibling[nextSibling[row]] = previousSibling[row];
+		else
+			lastChild[p] = previousSibling[row];
+		indexRemove(key(p, name[row], type[row]));
+		type[row] = 0;
+		if (freeCount == freeRows.length) freeRows = Arrays.copyOf(freeRows, 2 * freeCount);
+		freeRows[freeCount++] = row;
+	}
+
+	/**
+	 * Remove the row and its ancestors while they have neither data nor
+	 * children. The root row is never removed.
+	 * @param row the row
+	 */
+	public void prune(int row) {
+		while (row != 0 && !hasData(row) && firstChild[row] == NONE) {
+			int p = parent[row];
+			removeRow(row);
+			row = p;
+		}
+	}
+
+	/**
+	 * Link the given number of rows whose parent, name and type columns have
+	 * been filled after a {@link #reset(int)}. Row 0 is the root and every
+	 * other row must follow its parent.
+	 * @param count the number of rows
+	 * @return whether the rows are valid
+	 */
+	protected boolean loadRows(int count) {
+		if (count < 1 || count > parent.length || parent[0] != NONE) return false;
+		rowCount = count;
+		clearIndex(Math.max(64, Integer.highestOneBit(count) << 2));
+		for (int row = 0; row < count; row++) {
+			if (name[row] < 0 || name[row] >= strings.size() || type[row] == 0) return false;
+			firstChild[row] = NONE;
+			lastChild[row] = NONE;
+			nextSibling[row] = NONE;
+			previousSibling[row] = NONE;
+			if (row == 0) continue;
+			int p = parent[row];
+			if (p < 0 || p >= row) return false;
+			link(p, row);
+			insert(key(p, name[row], type[row]), row);
+		}
+		return true;
+	}
+
+	private void grow(int capacity) {
+		parent = Arrays.copyOf(parent, capacity);
+		name = Arrays.copyOf(name, capacity);
+		type = Arrays.copyOf(type, capacity);
+		firstChild = Arrays.copyOf(firstChild, capacity);
+		lastChild = Arrays.copyOf(lastChild, capacity);
+		nextSibling = Arrays.copyOf(nextSibling, capacity);
+		previousSibling = Arrays.copyOf(previousSibling, capacity);
+		growColumns(capacity);
+	}
+
+	private void link(int parentRow, int row) {
+		// append so that children are returned in the order they were added
+		int last = lastChild[parentRow];
+		previousSibling[row] = last;
+		if (last != NONE)
+			nextSibling[last] = row;
+		else
+			firstChild[parentRow] = row;
+		lastChild[parentRow] = row;
+	}
+
+	private long key(int parentRow, int nameId, int resourceType) {
+		if (typedIndex)
+			return ((long) parentRow << 32) | ((long) nameId << 3) | resourceType;
+		return ((long) parentRow << 32) | (nameId & 0xFFFFFFFFL);
+	}
+
+	private static int hash(long key) {
+		key *= 0x9E3779B97F4A7C15L;
+		return (int) (key ^ (key >>> 32));
+	}
+
+	private void clearIndex(int capacity) {
+		indexKeys = new long[capacity];
+		Arrays.fill(indexKeys, EMPTY_KEY);
+		indexRows = new int[capacity];
+		indexSize = 0;
+	}
+
+	private int indexGet(long key) {
+		int mask = indexKeys.length - 1;
+		for (int i = hash(key) & mask; indexKeys[i] != EMPTY_KEY; i = (i + 1) & mask) {
+			if (indexKeys[i] == key) return indexRows[i];
+		}
+		return NONE;
+	}
+
+	private void indexPut(long key, int row) {
+		if (2 * (indexSize + 1) > indexKeys.length) {
+			long[] keys = indexKeys;
+			int[] rows = indexRows;
+			clearIndex(2 * keys.length);
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] != EMPTY_KEY) insert(keys[i], rows[i]);
+			}
+		}
+		insert(key, row);
+	}
+
+	private void insert(long key, int row) {
+		int mask = indexKeys.length - 1;
+		int i = hash(key) & mask;
+		while (indexKeys[i] != EMPTY_KEY) {
+			i = (i + 1) & mask;
+		}
+		indexKeys[i] = key;
+		indexRows[i] = row;
+		indexSize++;
+	}
+
+	private void indexRemove(long key) {
+		int mask = indexKeys.length - 1;
+		int i = hash(key) & mask;
+		while (indexKeys[i] != key) {
+			if (indexKeys[i] == EMPTY_KEY) return;
+			i = (i + 1) & mask;
+		}
+		// shift the following entries back so that lookups don't stop early
+		int j = i;
+		for (;;) {
+			j = (j + 1) & mask;
+			if (indexKeys[j] == EMPTY_KEY) break;
+			int k = hash(indexKeys[j]) & mask;
+			if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) continue;
+			indexKeys[i] = indexKeys[j];
+			indexRows[i] = indexRows[j];
+			i = j;
+		}
+		indexKeys[i] = EMPTY_KEY;
+		indexSize--;
+	}
+}
@@ -83,6 +83,12 @@ public final class ThreeWayBaseTree extends ResourceVariantTree {
 		return new IResource[0];
 	}
 
+	@Override
+	protected int getRefreshParallelism() {
+		// Nothing is fetched so the base never limits the refresh of the remote
+		return Integer.MAX_VALUE;
+	}
+
 	@Override
 	protected IResourceVariant[] fetchMembers(IResourceVariant variant, IProgressMonitor progress) throws TeamException {
 		// Refresh not supported
@@ -107,6 +107,22 @@ public class CVSAnnotateBlock {
 		valid = true;
 	}
 
+	/**
+	 * Create a block for lines whose annotations were computed on the client
+	 * @param revision the revision the lines occured in
+	 * @param user the author of the revision
+	 * @param startLine the first source line of the block
+	 * @param endLine the last source line of the block
+	 */
+	public CVSAnnotateBlock(String revision, String user, int startLine, int endLine) {
+		super();
+		this.revision = revision;
+		this.user = user;
+		this.startLine = startLine;
+		this.endLine = endLine;
+		valid = true;
+	}
+
 	/**
 	 * Used by the default LabelProvider to display objects in a List View
 	 */
@@ -21,10 +21,10 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.core.subscribers.*;
 import org.eclipse.team.core.variants.IResourceVariantTree;
-import org.eclipse.team.core.variants.SessionResourceVariantByteStore;
 import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
 import org.eclipse.team.internal.ccvs.core.syncinfo.CVSResourceVariantTree;
 import org.eclipse.team.internal.ccvs.core.syncinfo.MultiTagResourceVariantTree;
+import org.eclipse.team.internal.core.subscribers.CompactSessionResourceVariantByteStore;
 
 /**
  * This subscriber is used when comparing the local workspace with its
@@ -44,7 +44,7 @@ public class CVSCompareSubscriber extends CVSSyncTreeSubscriber implements ISubs
 	public CVSCompareSubscriber(IResource[] resources, CVSTag tag) {
 		super(getUniqueId(), NLS.bind(CVSMessages.CVSCompareSubscriber_2, new String[] { tag.getName() })); // 
 		this.resources = resources;
-		tree = new CVSResourceVariantTree(new SessionResourceVariantByteStore(), tag, getCacheFileContentsHint());
+		tree = new CVSResourceVariantTree(new CompactSessionResourceVariantByteStore(), tag, getCacheFileContentsHint());
 		initialize();
 	}
 
@@ -72,7 +72,7 @@ public class CVSCompareSubscriber extends CVSSyncTreeSubscriber implements ISubs
 			}
 		}
 		this.resources = resources;
-		MultiTagResourceVariantTree multiTree = new MultiTagResourceVariantTree(new SessionResourceVariantByteStore(), getCacheFileContentsHint());
+		MultiTagResourceVariantTree multiTree = new MultiTagResourceVariantTree(new CompactSessionResourceVariantByteStore(), getCacheFileContentsHint());
 		for (int i = 0; i < tags.length; i++) {
 			multiTree.addResource(resources[i], tags[i]);
 		}
@@ -337,6 +337,10 @@ public class CVSProviderPlugin extends Plugin {
 			
 			getChangeSetManager().dispose();
 			
+			if (cvsWorkspaceSubscriber != null) {
+				cvsWorkspaceSubscriber.disposeRemoteState();
+			}
+			
 			tracker.close();
 			
 			deleteCrashFile();
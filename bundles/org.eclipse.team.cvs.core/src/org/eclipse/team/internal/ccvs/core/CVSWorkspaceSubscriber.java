@@ -14,6 +14,7 @@
 package org.eclipse.team.internal.ccvs.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.core.resources.*;
@@ -44,6 +45,18 @@ public class CVSWorkspaceSubscriber extends CVSSyncTreeSubscriber implements IRe
 	// qualified name for remote sync info
 	private static final String REMOTE_RESOURCE_KEY = "remote-resource-key"; //$NON-NLS-1$
 
+	// system property that opts into keeping the remote sync info in a columnar store
+	private static final String COLUMNAR_REMOTE_STORE = "org.eclipse.team.cvs.core.columnarRemoteStore"; //$NON-NLS-1$
+
+	// the columnar store of the remote sync info, or null if the synchronizer is used
+	private ColumnarResourceVariantByteStore columnarRemoteStore;
+
+	// system property that opts into refreshing only the folders that changed on the server
+	private static final String REMOTE_CHANGE_DETECTION = "org.eclipse.team.cvs.core.remoteChangeDetection"; //$NON-NLS-1$
+
+	// the detector of the folders that changed since a project was refreshed, or null if projects are always refreshed entirely
+	private RemoteChangeDetector changeDetector;
+
 	private boolean contentFetch;
 	
 	CVSWorkspaceSubscriber(QualifiedName id, String name) {
@@ -62,13 +75,57 @@ public class CVSWorkspaceSubscriber extends CVSSyncTreeSubscriber implements IRe
 				}
 			}
 		};
-		CVSDescendantResourceVariantByteStore remoteSynchronizer = new CVSDescendantResourceVariantByteStore(
-				baseSynchronizer, 
-				new PersistantResourceVariantByteStore(new QualifiedName(SYNC_KEY_QUALIFIER, REMOTE_RESOURCE_KEY)));
+		CVSDescendantResourceVariantByteStore remoteSynchronizer;
+		QualifiedName remoteSyncName = new QualifiedName(SYNC_KEY_QUALIFIER, REMOTE_RESOURCE_KEY);
+		if (Boolean.getBoolean(COLUMNAR_REMOTE_STORE)) {
+			columnarRemoteStore = new ColumnarResourceVariantByteStore(remoteSyncName,
+					CVSProviderPlugin.getPlugin().getStateLocation().append(REMOTE_RESOURCE_KEY).toFile());
+			remoteSynchronizer = new CVSDescendantResourceVariantByteStore(baseSynchronizer, columnarRemoteStore);
+		} else {
+			remoteSynchronizer = new CVSDescendantResourceVariantByteStore(
+					baseSynchronizer, 
+					new PersistantResourceVariantByteStore(remoteSyncName));
+		}
+		if (Boolean.getBoolean(REMOTE_CHANGE_DETECTION)) {
+			changeDetector = new RemoteChangeDetector();
+		}
 		remoteTree = new CVSResourceVariantTree(remoteSynchronizer, null, getCacheFileContentsHint()) {
 			public boolean isCacheFileContentsHint() {
 				return getCacheFileContentsHint();
 			}
+			protected IResource[] refresh(IResource resource, int depth, IProgressMonitor monitor) throws TeamException {
+				if (changeDetector == null || resource.getType() != IResource.PROJECT
+						|| depth != IResource.DEPTH_INFINITE || isCacheFileContentsHint()) {
+					return super.refresh(resource, depth, monitor);
+				}
+				return refreshChangedFolders((IProject)resource, monitor);
+			}
+			private IResource[] refreshChangedFolders(IProject project, IProgressMonitor monitor) throws TeamException {
+				long time = System.currentTimeMillis();
+				monitor.beginTask(null, 100);
+				try {
+					IResource[] changedResources;
+					IContainer[] folders = changeDetector.getChangedFolders(project, Policy.subMonitorFor(monitor, 20));
+					if (folders == null) {
+						changedResources = super.refresh(project, IResource.DEPTH_INFINITE, Policy.subMonitorFor(monitor, 80));
+					} else {
+						List<IResource> changed = new ArrayList<>();
+						IProgressMonitor subMonitor = Policy.subMonitorFor(monitor, 80);
+						subMonitor.beginTask(null, 100 * folders.length);
+						for (IContainer folder : folders) {
+							changed.addAll(Arrays.asList(super.refresh(folder, IResource.DEPTH_INFINITE, Policy.subMonitorFor(subMonitor, 100))));
+						}
+						subMonitor.done();
+						changedResources = changed.toArray(new IResource[changed.size()]);
+					}
+					if (project.isAccessible()) {
+						changeDetector.refreshed(project, time);
+					}
+					return changedResources;
+				} finally {
+					monitor.done();
+				}
+			}
 		};
 		
 		ResourceStateChangeListeners.getListener().addResourceStateChangeListener(this); 
@@ -102,6 +159,9 @@ public class CVSWorkspaceSubscriber extends CVSSyncTreeSubscriber implements IRe
 	}
 
 	private void internalResourceSyncInfoChanged(IResource[] changedResources, boolean canModifyWorkspace) {
+		if (changeDetector != null) {
+			changeDetector.syncInfoChanged(changedResources);
+		}
 		getRemoteByteStore().handleResourceChanges(changedResources, canModifyWorkspace);	
 		fireTeamResourceChange(SubscriberChangeEvent.asSyncChangedDeltas(this, changedResources));
 	}
@@ -129,11 +189,17 @@ public class CVSWorkspaceSubscriber extends CVSSyncTreeSubscriber implements IRe
 
 	@Override
 	public void projectDeconfigured(IProject project) {
+		if (changeDetector != null) {
+			changeDetector.forget(project);
+		}
 		try {
 			getRemoteTree().flushVariants(project, IResource.DEPTH_INFINITE);
 		} catch (TeamException e) {
 			CVSProviderPlugin.log(e);
 		}
+		if (columnarRemoteStore != null) {
+			columnarRemoteStore.removeProject(project);
+		}
 		SubscriberChangeEvent delta = new SubscriberChangeEvent(this, ISubscriberChangeEvent.ROOT_REMOVED, project);
 		fireTeamResourceChange(new SubscriberChangeEvent[] {delta});
 	}
@@ -147,6 +213,17 @@ public class CVSWorkspaceSubscriber extends CVSSyncTreeSubscriber implements IRe
 		}
 	}
 
+	/**
+	 * Write any pending remote sync info to disk and stop tracking the
+	 * workspace. The synchronizer saves its own state with the workspace so
+	 * this only affects the columnar store. Called when the plug-in stops.
+	 */
+	void disposeRemoteState() {
+		if (columnarRemoteStore != null) {
+			columnarRemoteStore.dispose();
+		}
+	}
+
 	@Override
 	protected IResourceVariantTree getBaseTree() {
 		return baseTree;
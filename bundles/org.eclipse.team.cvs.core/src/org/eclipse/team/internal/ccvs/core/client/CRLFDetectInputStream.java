@@ -82,11 +82,30 @@ public class CRLFDetectInputStream extends FilterInputStream {
 	 */
 	public int read(byte[] buffer, int off, int len) throws IOException {
 		int count = super.read(buffer, off, len);
-		for (int i = off; i < count; i++) {
-			testForCRLF(buffer[i]);
+		if (count > 0) {
+			testForCRLF(buffer, off, off + count);
 		}
 		return count;
 	}
+
+	/**
+	 * Test the bytes to see if a CRLF sequence was read, looking only at the
+	 * bytes before the LFs
+	 */
+	private void testForCRLF(byte[] buffer, int start, int end) {
+		if (reported) return;
+		if (previousCR && buffer[start] == '\n') {
+			report();
+			return;
+		}
+		for (int i = start + 1; i < end; i++) {
+			if (buffer[i] == '\n' && buffer[i - 1] == '\r') {
+				report();
+				return;
+			}
+		}
+		previousCR = (buffer[end - 1] == '\r');
+	}
 	
 	/**
 	 * Test the byte to see if a CRLF sequence was read
@@ -94,9 +113,13 @@ public class CRLFDetectInputStream extends FilterInputStream {
 	private void testForCRLF(byte next) {
 		if (reported) return;
 		if (previousCR && next == '\n') {
-			CVSProviderPlugin.log(IStatus.WARNING, NLS.bind(CVSMessages.CRLFDetectInputStream_0, new String[] { filename }), null); 
-			reported = true;
+			report();
 		}
 		previousCR = (next == '\r');
 	}
+
+	private void report() {
+		CVSProviderPlugin.log(IStatus.WARNING, NLS.bind(CVSMessages.CRLFDetectInputStream_0, new String[] { filename }), null); 
+		reported = true;
+	}
 }
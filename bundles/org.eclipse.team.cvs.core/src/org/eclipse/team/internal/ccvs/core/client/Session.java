@@ -35,6 +35,7 @@ import org.eclipse.team.internal.ccvs.core.client.Command.GlobalOption;
 import org.eclipse.team.internal.ccvs.core.client.Command.QuietOption;
 import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.connection.Connection;
+import org.eclipse.team.internal.ccvs.core.resources.EclipseFile;
 import org.eclipse.team.internal.ccvs.core.syncinfo.NotifyInfo;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 import org.eclipse.team.internal.ccvs.core.util.Util;
@@ -778,6 +779,11 @@ public class Session {
 				monitor.subTask(NLS.bind(CVSMessages.Session_transfer, (new Object[] { title, Long.toString(bytesRead >> 10), Long.toString(bytesTotal >> 10) })));
 			}
 		};
+		// write the raw bytes of a new binary file straight to disk
+		if (isBinary && !compressed && file instanceof EclipseFile
+				&& ((EclipseFile) file).createFromRawContents(in, size, responseType, new NullProgressMonitor())) {
+			return;
+		}
 		// if compression enabled, decompress on the fly
 		if (compressed) {
 			try {
@@ -61,6 +61,15 @@ public class AnnotateListener extends CommandOutputListener {
 	public List getCvsAnnotateBlocks() {
 		return blocks;
 	}
+	/**
+	 * Add an annotate block that was not parsed from the output of the
+	 * annotate command (e.g. computed from cached revisions).
+	 * @param aBlock the block to add
+	 */
+	public void addAnnotateBlock(CVSAnnotateBlock aBlock) {
+		add(aBlock);
+	}
+
 	/**
 	 * Add an annotate block to the receiver merging this block with the
 	 * previous block if it is part of the same change.
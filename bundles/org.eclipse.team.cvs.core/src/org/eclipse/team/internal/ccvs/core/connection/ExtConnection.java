@@ -22,9 +22,9 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.IServerConnection;
 import org.eclipse.team.internal.ccvs.core.util.Util;
+import org.eclipse.team.internal.core.streams.AvailableTimeoutInputStream;
 import org.eclipse.team.internal.core.streams.PollingInputStream;
 import org.eclipse.team.internal.core.streams.PollingOutputStream;
-import org.eclipse.team.internal.core.streams.TimeoutInputStream;
 import org.eclipse.team.internal.core.streams.TimeoutOutputStream;
 
 /**
@@ -97,8 +97,9 @@ public class ExtConnection implements IServerConnection {
 		try {
 			process = Util.createProcess(command, monitor);
 
-			inputStream = new PollingInputStream(new TimeoutInputStream(process.getInputStream(),
-				8192 /*bufferSize*/, 1000 /*readTimeout*/, -1 /*closeTimeout*/), location.getTimeout(), monitor);
+			final Process serverProcess = process;
+			inputStream = new PollingInputStream(new AvailableTimeoutInputStream(process.getInputStream(),
+				1000 /*readTimeout*/, () -> !serverProcess.isAlive()), location.getTimeout(), monitor);
 			outputStream = new PollingOutputStream(new TimeoutOutputStream(process.getOutputStream(),
 				8192 /*buffersize*/, 1000 /*writeTimeout*/, 1000 /*closeTimeout*/), location.getTimeout(), monitor);
 
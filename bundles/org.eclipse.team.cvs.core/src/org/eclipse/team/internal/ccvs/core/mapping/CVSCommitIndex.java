@@ -0,0 +1,388 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.mapping;
+
+import java.util.*;
+
+import org.eclipse.team.internal.ccvs.core.ICVSRemoteFile;
+import org.eclipse.team.internal.ccvs.core.ILogEntry;
+import org.eclipse.team.internal.ccvs.core.util.Util;
+
+/**
+ * An index that reconstructs commits from CVS log entries. CVS has no atomic
+ * commit identifiers so log entries that share the same author and comment
+ * and whose dates lie within a time window of each other are considered to
+ * belong to the same commit. The index is updated incrementally as entries
+ * are added and supports lookups by log entry, by file and by time range.
+ * <p>
+ * An entry is attached to the first existing commit that matches it. A commit
+ * never contains two revisions of the same file so that consecutive commits
+ * with the same comment (e.g. "typo") are kept apart. Adding another entry
+ * object for an indexed revision returns the commit of that revision.
+ * <p>
+ * The window is measured from the dates of the entries already in a commit, so
+ * entries that are added out of order may end up in separate commits with the
+ * same comment when no entry in between has been added yet. Commits are never
+ * merged afterwards as clients map them to change sets.
+ */
+public class CVSCommitIndex {
+
+	/**
+	 * The default time window (5 minutes) used to group log entries.
+	 */
+	public static final long DEFAULT_TIME_WINDOW = 5 * 60 * 1000;
+
+	private static final Commit[] NO_COMMITS = new Commit[0];
+
+	/**
+	 * A commit reconstructed from one or more log entries. The commit is
+	 * updated by the index while clients read it, so its state is guarded by
+	 * the commit itself.
+	 */
+	public static class Commit {
+		private final String author;
+		private final String comment;
+		private long start = Long.MAX_VALUE;
+		private long end = Long.MIN_VALUE;
+		private final List<ILogEntry> entries = new ArrayList<>();
+		private final Map<String, String> revisions = new HashMap<>();
+
+		Commit(String author, String comment) {
+			this.author = author;
+			this.comment = comment;
+		}
+
+		public String getAuthor() {
+			return author;
+		}
+
+		public String getComment() {
+			return comment;
+		}
+
+		/**
+		 * Return the date of the earliest entry of the commit or
+		 * <code>null</code> if none of the entries had a date.
+		 * @return the start date of the commit
+		 */
+		public synchronized Date getStartDate() {
+			return hasDate() ? new Date(start) : null;
+		}
+
+		/**
+		 * Return the date of the latest entry of the commit or
+		 * <code>null</code> if none of the entries had a date.
+		 * @return the end date of the commit
+		 */
+		public synchronized Date getEndDate() {
+			return hasDate() ? new Date(end) : null;
+		}
+
+		public synchronized ILogEntry[] getEntries() {
+			return entries.toArray(new ILogEntry[entries.size()]);
+		}
+
+		synchronized long getStart() {
+			return start;
+		}
+
+		synchronized long getEnd() {
+			return end;
+		}
+
+		synchronized boolean hasDate() {
+			return start <= end;
+		}
+
+		synchronized boolean contains(String path, String revision) {
+			return revision.equals(revisions.get(path));
+		}
+
+		synchronized boolean accepts(String path, long time, long window) {
+			if (revisions.containsKey(path))
+				return false;
+			if (time == -1 || !hasDate())
+				return time == -1 && !hasDate();
+			return time >= start - window && time <= end + window;
+		}
+
+		synchronized void add(ILogEntry entry, String path, long time) {
+			entries.add(entry);
+			revisions.put(path, entry.getRevision());
+			if (time != -1) {
+				start = Math.min(start, time);
+				end = Math.max(end, time);
+			}
+		}
+
+		synchronized void remove(String path) {
+			if (revisions.remove(path) == null)
+				return;
+			start = Long.MAX_VALUE;
+			end = Long.MIN_VALUE;
+			for (Iterator<ILogEntry> iter = entries.iterator(); iter.hasNext();) {
+				ILogEntry entry = iter.next();
+				if (path.equals(getPath(entry.getRemoteFile()))) {
+					iter.remove();
+				} else if (entry.getDate() != null) {
+					long time = entry.getDate().getTime();
+					start = Math.min(start, time);
+					end = Math.max(end, time);
+				}
+			}
+		}
+
+		synchronized boolean isEmpty() {
+			return revisions.isEmpty();
+		}
+	}
+
+	/*
+	 * Key used to find the candidate commits of a log entry
+	 */
+	private static final class Key {
+		private final String author;
+		private final String comment;
+
+		Key(String author, String comment) {
+			this.author = author == null ? "" : author; //$NON-NLS-1$
+			this.comment = comment == null ? "" : comment; //$NON-NLS-1$
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return author.equals(other.author) && comment.equals(other.comment);
+		}
+
+		@Override
+		public int hashCode() {
+			return author.hashCode() * 31 + comment.hashCode();
+		}
+	}
+
+	private final long timeWindow;
+	private final Map<Key, List<Commit>> commitsByKey = new HashMap<>();
+	private final Map<String, List<Commit>> commitsByPath = new HashMap<>();
+	private final Map<ILogEntry, Commit> commitsByEntry = new HashMap<>();
+	private final TreeMap<Long, List<Commit>> commitsByStart = new TreeMap<>();
+	private final List<Commit> undatedCommits = new ArrayList<>();
+	private long maxSpan;
+
+	/**
+	 * Create an index that uses the {@link #DEFAULT_TIME_WINDOW}.
+	 */
+	public CVSCommitIndex() {
+		this(DEFAULT_TIME_WINDOW);
+	}
+
+	/**
+	 * Create an index that groups entries whose dates are within the given
+	 * number of milliseconds of an existing commit.
+	 * @param timeWindow the time window in milliseconds
+	 */
+	public CVSCommitIndex(long timeWindow) {
+		this.timeWindow = timeWindow;
+	}
+
+	/*
+	 * Return the path that uniquely identifies a file across repositories.
+	 * This matches the key used by the log entry caches.
+	 */
+	static String getPath(ICVSRemoteFile file) {
+		return Util.appendPath(file.getRepository().getLocation(false), file.getRepositoryRelativePath());
+	}
+
+	/**
+	 * Add the given log entry to the index and return the commit it was
+	 * assigned to. Adding an entry that is already indexed returns its
+	 * existing commit.
+	 * @param entry the log entry
+	 * @return the commit that contains the entry
+	 */
+	public synchronized Commit add(ILogEntry entry) {
+		Commit commit = commitsByEntry.get(entry);
+		if (commit != null)
+			return commit;
+		String path = getPath(entry.getRemoteFile());
+		Date date = entry.getDate();
+		long time = date == null ? -1 : date.getTime();
+		Key key = new Key(entry.getAuthor(), entry.getComment());
+		List<Commit> candidates = commitsByKey.get(key);
+		if (candidates == null) {
+			candidates = new ArrayList<>(2);
+			commitsByKey.put(key, candidates);
+		}
+		for (Commit candidate : candidates) {
+			if (candidate.contains(path, entry.getRevision())) {
+				// Another entry object for a revision that is already indexed
+				commitsByEntry.put(entry, candidate);
+				return candidate;
+			}
+			if (commit == null && candidate.accepts(path, time, timeWindow)) {
+				commit = candidate;
+			}
+		}
+		if (commit == null) {
+			commit = new Commit(key.author, key.comment);
+			candidates.add(commit);
+		} else {
+			unindexTime(commit);
+		}
+		commit.add(entry, path, time);
+		indexTime(commit);
+		commitsByEntry.put(entry, commit);
+		List<Commit> fileCommits = commitsByPath.get(path);
+		if (fileCommits == null) {
+			fileCommits = new ArrayList<>(2);
+			commitsByPath.put(path, fileCommits);
+		}
+		fileCommits.add(commit);
+		return commit;
+	}
+
+	/**
+	 * Return the commit that contains the given entry or <code>null</code>
+	 * if the entry has not been indexed.
+	 * @param entry a log entry
+	 * @return the commit containing the entry or <code>null</code>
+	 */
+	public synchronized Commit getCommit(ILogEntry entry) {
+		return commitsByEntry.get(entry);
+	}
+
+	/**
+	 * Return the commits that contain a revision of the given file.
+	 * @param file a remote file
+	 * @return the commits that touched the file
+	 */
+	public synchronized Commit[] getCommits(ICVSRemoteFile file) {
+		List<Commit> commits = commitsByPath.get(getPath(file));
+		if (commits == null)
+			return NO_COMMITS;
+		return commits.toArray(new Commit[commits.size()]);
+	}
+
+	/**
+	 * Return the commits whose time span overlaps the given range. Commits
+	 * whose entries have no dates are never returned.
+	 * @param from the start of the range (inclusive)
+	 * @param to the end of the range (inclusive)
+	 * @return the commits that overlap the range ordered by start date
+	 */
+	public synchronized Commit[] getCommits(Date from, Date to) {
+		long fromTime = from.getTime();
+		long toTime = to.getTime();
+		if (toTime < fromTime)
+			return NO_COMMITS;
+		List<Commit> result = new ArrayList<>();
+		long lowest = fromTime - maxSpan;
+		if (lowest > fromTime)
+			lowest = Long.MIN_VALUE;
+		for (List<Commit> commits : commitsByStart.subMap(lowest, true, toTime, true).values()) {
+			for (Commit commit : commits) {
+				if (commit.getEnd() >= fromTime)
+					result.add(commit);
+			}
+		}
+		return result.toArray(new Commit[result.size()]);
+	}
+
+	/**
+	 * Return all the commits in the index.
+	 * @return all the commits in the index
+	 */
+	public synchronized Commit[] getCommits() {
+		List<Commit> result = new ArrayList<>(undatedCommits);
+		for (List<Commit> commits : commitsByStart.values()) {
+			result.addAll(commits);
+		}
+		return result.toArray(new Commit[result.size()]);
+	}
+
+	/**
+	 * Remove all the entries of the given file from the index.
+	 * @param file a remote file
+	 */
+	public synchronized void remove(ICVSRemoteFile file) {
+		String path = getPath(file);
+		List<Commit> commits = commitsByPath.remove(path);
+		if (commits == null)
+			return;
+		for (Iterator<ILogEntry> iter = commitsByEntry.keySet().iterator(); iter.hasNext();) {
+			if (path.equals(getPath(iter.next().getRemoteFile())))
+				iter.remove();
+		}
+		for (Commit commit : commits) {
+			unindexTime(commit);
+			commit.remove(path);
+			if (!commit.isEmpty()) {
+				indexTime(commit);
+			} else {
+				List<Commit> candidates = commitsByKey.get(new Key(commit.author, commit.comment));
+				if (candidates != null) {
+					candidates.remove(commit);
+					if (candidates.isEmpty())
+						commitsByKey.remove(new Key(commit.author, commit.comment));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove all entries from the index.
+	 */
+	public synchronized void clear() {
+		commitsByKey.clear();
+		commitsByPath.clear();
+		commitsByEntry.clear();
+		commitsByStart.clear();
+		undatedCommits.clear();
+		maxSpan = 0;
+	}
+
+	private void indexTime(Commit commit) {
+		if (!commit.hasDate()) {
+			if (!undatedCommits.contains(commit))
+				undatedCommits.add(commit);
+			return;
+		}
+		long start = commit.getStart();
+		List<Commit> commits = commitsByStart.get(start);
+		if (commits == null) {
+			commits = new ArrayList<>(1);
+			commitsByStart.put(start, commits);
+		}
+		commits.add(commit);
+		maxSpan = Math.max(maxSpan, commit.getEnd() - start);
+	}
+
+	private void unindexTime(Commit commit) {
+		if (!commit.hasDate()) {
+			undatedCommits.remove(commit);
+			return;
+		}
+		long start = commit.getStart();
+		List<Commit> commits = commitsByStart.get(start);
+		if (commits != null) {
+			commits.remove(commit);
+			if (commits.isEmpty())
+				commitsByStart.remove(start);
+		}
+	}
+}
@@ -14,8 +14,14 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ccvs.core.resources;
 
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -198,6 +204,67 @@ public class EclipseFile extends EclipseResource implements ICVSFile {
 		}
 	}
 			
+	/**
+	 * Create the file from the given number of raw bytes of the stream by writing
+	 * them straight to the local file system and refreshing the file, which
+	 * avoids copying them through the resources layer. This is only done for
+	 * files that don't exist yet and that are stored in the local file system;
+	 * the stream is left untouched otherwise so the caller can use
+	 * {@link #setContents(InputStream, int, boolean, IProgressMonitor)} instead.
+	 * @param stream the raw contents of the file
+	 * @param size the number of bytes of the contents
+	 * @param responseType the type of response that was received from the server
+	 * @param monitor a progress monitor
+	 * @return whether the file was created
+	 * @throws CVSException
+	 */
+	public boolean createFromRawContents(InputStream stream, long size, int responseType, IProgressMonitor monitor) throws CVSException {
+		if (responseType != UPDATED && responseType != CREATED) {
+			return false;
+		}
+		IFile file = getIFile();
+		IPath location = file.getLocation();
+		if (resource.exists() || location == null || !file.getParent().isAccessible()
+				|| PROJECT_META_DATA_PATH.equals(file.getFullPath().removeFirstSegments(1))) {
+			return false;
+		}
+		File target = location.toFile();
+		if (target.exists()) {
+			// Let the resources layer report that the file is out of sync
+			return false;
+		}
+		try {
+			try {
+				writeContents(stream, size, target.toPath());
+			} finally {
+				stream.close();
+			}
+			file.refreshLocal(IResource.DEPTH_ZERO, monitor);
+		} catch (IOException e) {
+			throw CVSException.wrapException(resource, NLS.bind(CVSMessages.EclipseFile_Problem_writing_resource, new String[] { resource.getFullPath().toString(), e.getMessage() }), e);
+		} catch (CoreException e) {
+			throw CVSException.wrapException(resource, NLS.bind(CVSMessages.EclipseFile_Problem_writing_resource, new String[] { resource.getFullPath().toString(), e.getMessage() }), e);
+		}
+		return true;
+	}
+
+	private static void writeContents(InputStream stream, long size, java.nio.file.Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		boolean written = false;
+		try {
+			written = channel.transferFrom(Channels.newChannel(stream), 0, size) == size;
+		} finally {
+			channel.close();
+			if (!written) {
+				// Don't leave a partial file behind
+				Files.deleteIfExists(path);
+			}
+		}
+		if (!written) {
+			throw new EOFException();
+		}
+	}
+
 	@Override
 	public void setReadOnly(boolean readOnly) throws CVSException {
 		ResourceAttributes attributes = resource.getResourceAttributes();
@@ -928,8 +928,9 @@ public class EclipseSynchronizer implements IFlushOperation {
 	private byte[] getSyncBytesFromDisk(IResource resource) throws CVSException {
 		byte[][] infos = SyncFileWriter.readAllResourceSync(resource.getParent());
 		if (infos == null) return null;
+		String name = resource.getName();
 		for (byte[] syncBytes : infos) {
-			if (resource.getName().equals(getName(syncBytes))) {
+			if (new PackedSyncBytes(syncBytes).nameEquals(name)) {
 				return syncBytes;
 			}
 		}
@@ -13,9 +13,6 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ccvs.core.resources;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.team.core.TeamException;
@@ -26,10 +23,6 @@ import org.eclipse.team.internal.ccvs.core.ICVSFile;
 import org.eclipse.team.internal.ccvs.core.ICVSFolder;
 import org.eclipse.team.internal.ccvs.core.ICVSResource;
 import org.eclipse.team.internal.ccvs.core.Policy;
-import org.eclipse.team.internal.ccvs.core.client.Command;
-import org.eclipse.team.internal.ccvs.core.client.Session;
-import org.eclipse.team.internal.ccvs.core.client.Update;
-import org.eclipse.team.internal.ccvs.core.client.Command.LocalOption;
 import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
 
 /**
@@ -90,50 +83,12 @@ public class FileContentCachingService {
 	}
 	
 	private void cacheFileContents(IProgressMonitor monitor) throws CVSException {
-		String[] files = getUncachedFiles();
-		if (files.length == 0) return;
-		// Fetch the file contents for all out-of-sync files by running an update
+		// Fetch the file contents for all out-of-sync files by running updates
 		// on the remote tree passing the known changed files as arguments
-		monitor.beginTask(null, 10 + files.length * 100);
-		Policy.checkCanceled(monitor);
-		Session session = new Session(repository, remoteRoot, false);
-		session.open(Policy.subMonitorFor(monitor, 10), false /* read-only */);
-		try {
-			Policy.checkCanceled(monitor);
-			IStatus status = Command.UPDATE.execute(session,
-				Command.NO_GLOBAL_OPTIONS,
-				new LocalOption[] { Update.IGNORE_LOCAL_CHANGES },
-				files,
-				null,
-				Policy.subMonitorFor(monitor, files.length * 100));
-			if (!status.isOK()) {
-				// No big deal but log the problem anyway
-				CVSProviderPlugin.log (new CVSException(status));
-			}
-		} finally {
-			session.close();
-			monitor.done();
-		}
-	}
-
-	/*
-	 * Only return those file in the diff list that exist remotely and whose contents are not already cached
-	 */
-	private String[] getUncachedFiles() {
-		if (fileDiffs.length == 0) return fileDiffs;
-		List<String> existing = new ArrayList<>();
-		for (String filePath : fileDiffs) {
-			try {
-				ICVSFile file = remoteRoot.getFile(filePath);
-				if (file instanceof RemoteFile) {
-					if (!((RemoteFile)file).isContentsCached()) {
-						existing.add(filePath);
-					}
-				}
-			} catch (CVSException e) {
-				// The child does not exists so exclude it
-			}
+		IStatus status = new RemoteContentPrefetcher(repository, remoteRoot).fetch(fileDiffs, monitor);
+		if (!status.isOK()) {
+			// No big deal but log the problem anyway
+			CVSProviderPlugin.log (new CVSException(status));
 		}
-		return existing.toArray(new String[existing.size()]);
 	}
 }
@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.resources;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.*;
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.client.*;
+import org.eclipse.team.internal.ccvs.core.client.Command.LocalOption;
+
+/**
+ * Fetches and caches the contents of the files of a remote tree. The files
+ * whose contents are already in the resource variant cache are skipped and
+ * the remaining ones are split into batches that are fetched with update
+ * commands over several connections at once. The batches are divided among
+ * the connections up front and each connection is opened once and reused for
+ * all of its batches. Remote trees are not thread-safe so each connection
+ * updates its own copy of the part of the tree that it fetches. The copies
+ * share the resource variant cache with the tree.
+ */
+public class RemoteContentPrefetcher {
+
+	/**
+	 * The default number of files fetched by a single update command
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 64;
+
+	/**
+	 * The default number of connections used to fetch batches concurrently
+	 */
+	public static final int DEFAULT_CONNECTIONS = 4;
+
+	/*
+	 * Marker posted by a fetch job when it is done
+	 */
+	private static final Object DONE = new Object();
+
+	private final ICVSRepositoryLocation repository;
+	private final ICVSFolder root;
+	private final int batchSize;
+	private final int connections;
+
+	/*
+	 * State shared with the fetch jobs
+	 */
+	private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+	private volatile boolean canceled;
+
+	private class FetchJob extends Job {
+
+		private final List<String[]> jobBatches = new ArrayList<>();
+		private int fileCount;
+		private ICVSFolder localRoot;
+
+		FetchJob() {
+			super(CVSMessages.RemoteFile_getContents);
+			setSystem(true);
+			addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					// Also sent for jobs that are canceled before they run
+					results.add(DONE);
+				}
+			});
+		}
+
+		void addBatch(String[] batch) {
+			jobBatches.add(batch);
+			fileCount += batch.length;
+		}
+
+		/*
+		 * Copy the part of the tree that contains the files of the batches
+		 */
+		void prepare() throws CVSException {
+			List<String> files = new ArrayList<>(fileCount);
+			for (String[] batch : jobBatches) {
+				files.addAll(Arrays.asList(batch));
+			}
+			localRoot = copyTree(files);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			SubMonitor progress = SubMonitor.convert(monitor, 10 + fileCount * 100);
+			Session session = new Session(repository, localRoot, false /* output to console */);
+			try {
+				session.open(progress.split(10), false /* read-only */);
+				for (String[] batch : jobBatches) {
+					if (canceled)
+						break;
+					IStatus status = Command.UPDATE.execute(session,
+						Command.NO_GLOBAL_OPTIONS,
+						new LocalOption[] { Update.IGNORE_LOCAL_CHANGES },
+						batch,
+						null,
+						progress.split(batch.length * 100));
+					results.add(new Object[] { batch, status });
+				}
+			} catch (CVSException e) {
+				results.add(e.getStatus());
+			} catch (OperationCanceledException e) {
+				// The prefetch was canceled
+			} finally {
+				session.close();
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	public RemoteContentPrefetcher(ICVSRepositoryLocation repository, ICVSFolder root) {
+		this(repository, root, DEFAULT_BATCH_SIZE, DEFAULT_CONNECTIONS);
+	}
+
+	public RemoteContentPrefetcher(ICVSRepositoryLocation repository, ICVSFolder root, int batchSize, int connections) {
+		this.repository = repository;
+		this.root = root;
+		this.batchSize = Math.max(1, batchSize);
+		this.connections = Math.max(1, connections);
+	}
+
+	/**
+	 * Fetch and cache the contents of the given files. Only the files that
+	 * exist in the remote tree and whose contents are not cached are fetched.
+	 * @param filePaths the root relative file paths
+	 * @param monitor a progress monitor
+	 * @return the status of the update commands that were issued
+	 * @throws CVSException if the contents could not be fetched
+	 */
+	public IStatus fetch(String[] filePaths, IProgressMonitor monitor) throws CVSException {
+		String[] files = getUncachedFiles(filePaths);
+		if (files.length == 0)
+			return Status.OK_STATUS;
+		monitor = Policy.monitorFor(monitor);
+		monitor.beginTask(null, 10 + files.length * 100);
+		try {
+			if (files.length <= batchSize || connections == 1 || !(root instanceof RemoteFolder)) {
+				return fetchInline(files, monitor);
+			}
+			return fetchConcurrently(files, monitor);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/*
+	 * Fetch all the files with a single update command
+	 */
+	private IStatus fetchInline(String[] files, IProgressMonitor monitor) throws CVSException {
+		Policy.checkCanceled(monitor);
+		Session session = new Session(repository, root, false /* output to console */);
+		session.open(Policy.subMonitorFor(monitor, 10), false /* read-only */);
+		try {
+			Policy.checkCanceled(monitor);
+			return Command.UPDATE.execute(session,
+				Command.NO_GLOBAL_OPTIONS,
+				new LocalOption[] { Update.IGNORE_LOCAL_CHANGES },
+				files,
+				null,
+				Policy.subMonitorFor(monitor, files.length * 100));
+		} finally {
+			session.close();
+		}
+	}
+
+	private synchronized IStatus fetchConcurrently(String[] files, IProgressMonitor monitor) throws CVSException {
+		results.clear();
+		canceled = false;
+		int batchCount = (files.length + batchSize - 1) / batchSize;
+		int jobCount = Math.min(connections, batchCount);
+		List<FetchJob> jobs = new ArrayList<>(jobCount);
+		for (int i = 0; i < jobCount; i++) {
+			jobs.add(new FetchJob());
+		}
+		for (int i = 0; i < batchCount; i++) {
+			int start = i * batchSize;
+			jobs.get(i % jobCount).addBatch(Arrays.copyOfRange(files, start, Math.min(files.length, start + batchSize)));
+		}
+		for (FetchJob job : jobs) {
+			job.prepare();
+		}
+		for (FetchJob job : jobs) {
+			job.schedule();
+		}
+		monitor.worked(10);
+		MultiStatus result = new MultiStatus(CVSProviderPlugin.ID, 0, CVSMessages.RemoteFile_getContents, null);
+		int done = 0;
+		int fetched = 0;
+		boolean interrupted = false;
+		while (done < jobCount) {
+			Object next;
+			try {
+				next = results.poll(100, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				// Stop the jobs but wait for them so that no session is left open
+				next = null;
+				interrupted = true;
+			}
+			if ((interrupted || monitor.isCanceled()) && !canceled) {
+				canceled = true;
+				for (FetchJob job : jobs) {
+					job.cancel();
+				}
+			}
+			if (next == DONE) {
+				done++;
+			} else if (next instanceof IStatus) {
+				result.merge((IStatus) next);
+			} else if (next != null) {
+				Object[] batchResult = (Object[]) next;
+				int batchLength = ((String[]) batchResult[0]).length;
+				fetched += batchLength;
+				monitor.worked(batchLength * 100);
+				IStatus status = (IStatus) batchResult[1];
+				if (!status.isOK())
+					result.merge(status);
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		Policy.checkCanceled(monitor);
+		if (fetched < files.length && result.isOK()) {
+			// All the connections failed without reporting an error
+			throw new CVSException(CVSMessages.RemoteFile_getContents);
+		}
+		return result;
+	}
+
+	/*
+	 * Return a copy of the root that only contains the given files and the
+	 * folders that lead to them.
+	 */
+	private RemoteFolderTree copyTree(List<String> files) throws CVSException {
+		Map<ICVSFolder, RemoteFolderTree> copies = new HashMap<>();
+		Map<RemoteFolderTree, List<ICVSRemoteResource>> children = new LinkedHashMap<>();
+		RemoteFolderTree rootCopy = copyFolder((RemoteFolder) root, copies, children);
+		for (String filePath : files) {
+			RemoteFile file = (RemoteFile) root.getFile(filePath);
+			RemoteFolderTree parent = copyFolder((RemoteFolder) file.getParent(), copies, children);
+			children.get(parent).add(new RemoteFile(parent, file.getSyncBytes()));
+		}
+		for (Map.Entry<RemoteFolderTree, List<ICVSRemoteResource>> entry : children.entrySet()) {
+			List<ICVSRemoteResource> members = entry.getValue();
+			entry.getKey().setChildren(members.toArray(new ICVSRemoteResource[members.size()]));
+		}
+		return rootCopy;
+	}
+
+	private RemoteFolderTree copyFolder(RemoteFolder folder, Map<ICVSFolder, RemoteFolderTree> copies, Map<RemoteFolderTree, List<ICVSRemoteResource>> children) {
+		RemoteFolderTree copy = copies.get(folder);
+		if (copy == null) {
+			RemoteFolderTree parent = folder == root ? null : copyFolder((RemoteFolder) folder.getParent(), copies, children);
+			copy = new RemoteFolderTree(parent, folder.getName(), folder.getRepository(), folder.getRepositoryRelativePath(), folder.getTag(), folder.getFolderSyncInfo().getIsStatic());
+			copies.put(folder, copy);
+			children.put(copy, new ArrayList<>());
+			if (parent != null) {
+				children.get(parent).add(copy);
+			}
+		}
+		return copy;
+	}
+
+	/*
+	 * Only return those files that exist remotely and whose contents are not
+	 * already cached. Duplicate paths are only returned once.
+	 */
+	private String[] getUncachedFiles(String[] filePaths) {
+		Set<String> result = new LinkedHashSet<>();
+		for (String filePath : filePaths) {
+			if (result.contains(filePath))
+				continue;
+			try {
+				ICVSFile file = root.getFile(filePath);
+				if (file instanceof RemoteFile && !((RemoteFile)file).isContentsCached()) {
+					result.add(filePath);
+				}
+			} catch (CVSException e) {
+				// The child does not exists so exclude it
+			}
+		}
+		return result.toArray(new String[result.size()]);
+	}
+}
@@ -24,11 +24,14 @@ import org.eclipse.core.resources.ISynchronizer;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSMessages;
 import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
 import org.eclipse.team.internal.ccvs.core.ICVSFolder;
 import org.eclipse.team.internal.ccvs.core.ICVSResource;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
+import org.eclipse.team.internal.ccvs.core.syncinfo.PackedSyncBytes;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 import org.eclipse.team.internal.ccvs.core.util.Util;
 
@@ -128,11 +131,12 @@ import org.eclipse.team.internal.ccvs.core.util.Util;
 				}
 			}
 			if (bytes != null && resource.getType() == IResource.FILE) {
-				if (ResourceSyncInfo.isAddition(bytes)) {
+				PackedSyncBytes packed = new PackedSyncBytes(bytes);
+				if (packed.isAddition()) {
 					// The local file has been deleted but was an addition
 					// Therefore, ignore the sync bytes
 					bytes = null;
-				} else if (!ResourceSyncInfo.isDeletion(bytes)) {
+				} else if (!packed.isDeletion()) {
 					// Ensure the bytes indicate an outgoing deletion
 					bytes = ResourceSyncInfo.convertToDeletion(bytes);
 				}
@@ -182,18 +186,17 @@ import org.eclipse.team.internal.ccvs.core.util.Util;
 	 * Convert file sync bytes to deletions to ensure proper comparison
 	 */
 	private boolean equals(byte[] syncBytes, byte[] oldBytes) throws CVSException {
-		if (!ResourceSyncInfo.isFolder(syncBytes)) {
-			syncBytes = ResourceSyncInfo.convertToDeletion(syncBytes);
+		PackedSyncBytes packed = new PackedSyncBytes(syncBytes);
+		PackedSyncBytes oldPacked = new PackedSyncBytes(oldBytes);
+		if (packed.isFolder() || oldPacked.isFolder()) {
+			return Util.equals(syncBytes, oldBytes);
 		}
-		if (!ResourceSyncInfo.isFolder(oldBytes)) {
-			try {
-				oldBytes = ResourceSyncInfo.convertToDeletion(oldBytes);
-			} catch (CVSException e) {
-				CVSProviderPlugin.log(e);
-				return false;
-			}
+		if (!oldPacked.hasSlot(PackedSyncBytes.REVISION_SLOT)) {
+			CVSProviderPlugin.log(new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(oldBytes) })));
+			return false;
 		}
-		return Util.equals(syncBytes, oldBytes);
+		// Compare the bytes as deletions without converting them
+		return packed.equalsIgnoringDeletion(oldPacked);
 	}
 	
 	@Override
@@ -19,6 +19,7 @@ import java.util.List;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.RepositoryProvider;
@@ -37,6 +38,10 @@ public class CVSDescendantResourceVariantByteStore extends DescendantResourceVar
 		super(baseCache, remoteCache);
 	}
 
+	public CVSDescendantResourceVariantByteStore(ResourceVariantByteStore baseCache, ColumnarResourceVariantByteStore remoteCache) {
+		super(baseCache, remoteCache);
+	}
+
 	@Override
 	protected boolean isDescendant(IResource resource, byte[] baseBytes, byte[] remoteBytes) throws TeamException {
 		if (resource.getType() != IResource.FILE) return true;
@@ -53,7 +58,7 @@ public class CVSDescendantResourceVariantByteStore extends DescendantResourceVar
 		if (resource.getType() == IResource.FILE && getBytes(resource) != null && !parentHasSyncBytes(resource)) {
 			// Log a warning if there is no sync bytes available for the resource's
 			// parent but there is valid sync bytes for the child
-			CVSProviderPlugin.log(new TeamException(NLS.bind(CVSMessages.ResourceSynchronizer_missingParentBytesOnSet, new String[] { ((PersistantResourceVariantByteStore)getRemoteStore()).getSyncName().toString(), resource.getFullPath().toString() }))); 
+			CVSProviderPlugin.log(new TeamException(NLS.bind(CVSMessages.ResourceSynchronizer_missingParentBytesOnSet, new String[] { getRemoteSyncName().toString(), resource.getFullPath().toString() }))); 
 		}
 		return changed;
 	}
@@ -70,7 +75,19 @@ public class CVSDescendantResourceVariantByteStore extends DescendantResourceVar
 
 	@Override
 	public boolean isVariantKnown(IResource resource) throws TeamException {
-		return ((PersistantResourceVariantByteStore)getRemoteStore()).isVariantKnown(resource);
+		ResourceVariantByteStore remoteStore = getRemoteStore();
+		if (remoteStore instanceof ColumnarResourceVariantByteStore) {
+			return ((ColumnarResourceVariantByteStore)remoteStore).isVariantKnown(resource);
+		}
+		return ((PersistantResourceVariantByteStore)remoteStore).isVariantKnown(resource);
+	}
+
+	private QualifiedName getRemoteSyncName() {
+		ResourceVariantByteStore remoteStore = getRemoteStore();
+		if (remoteStore instanceof ColumnarResourceVariantByteStore) {
+			return ((ColumnarResourceVariantByteStore)remoteStore).getSyncName();
+		}
+		return ((PersistantResourceVariantByteStore)remoteStore).getSyncName();
 	}
 
 	/*
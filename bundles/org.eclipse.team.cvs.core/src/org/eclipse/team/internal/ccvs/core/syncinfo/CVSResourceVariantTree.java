@@ -137,6 +137,9 @@ public class CVSResourceVariantTree extends ResourceVariantTree {
 		if (cache instanceof PersistantResourceVariantByteStore) {
 			return ((PersistantResourceVariantByteStore)cache).getSyncName().toString();
 		}
+		if (cache instanceof ColumnarResourceVariantByteStore) {
+			return ((ColumnarResourceVariantByteStore)cache).getSyncName().toString();
+		}
 		return cache.getClass().getName();
 	}
 	
@@ -0,0 +1,614 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.syncinfo;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.team.core.TeamException;
+import org.eclipse.team.core.variants.ResourceVariantByteStore;
+import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
+import org.eclipse.team.internal.core.subscribers.ResourceRowTable;
+
+/**
+ * A <code>ResourceVariantByteStore</code> that keeps the remote sync bytes of
+ * each project in a compact columnar table which is saved to one file per
+ * project, as an alternative to storing a byte array per resource in the
+ * <code>ISynchronizer</code>.
+ * <p>
+ * Sync bytes are split into their slash separated fields, which are interned
+ * per project so that revisions, keyword modes and tags that repeat across
+ * files are stored once. Each resource is a row of a {@link ResourceRowTable}
+ * with the fields of the resource as additional columns. The index of the table
+ * finds rows by parent, name and type and the children of each row are linked,
+ * so <code>members</code> doesn't walk the resource tree.
+ * </p><p>
+ * Changes are written back in the background shortly after they are made and
+ * when the store is disposed. The table and file of a project are deleted
+ * when the project is removed from the workspace, so the remote state of
+ * projects that are moved or renamed is not carried over and is fetched again
+ * by the next refresh.
+ * </p>
+ */
+public class ColumnarResourceVariantByteStore extends ResourceVariantByteStore {
+
+	private static final byte[] NO_REMOTE = new byte[0];
+	private static final String FILE_EXTENSION = ".cols"; //$NON-NLS-1$
+	private static final long SAVE_DELAY = 10000; // millis
+
+	private final QualifiedName syncName;
+	private final File directory;
+	private final Map<String, ProjectTable> tables = new HashMap<>();
+	private final Job saveJob;
+	private final IResourceChangeListener projectListener = event -> {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) return;
+		for (IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.REMOVED)) {
+			removeProject((IProject) projectDelta.getResource());
+		}
+	};
+
+	/**
+	 * Create a store that saves the tables of the projects in the given directory.
+	 * @param name the name that identifies the store
+	 * @param directory the directory of the table files
+	 */
+	public ColumnarResourceVariantByteStore(QualifiedName name, File directory) {
+		this.syncName = name;
+		this.directory = directory;
+		this.saveJob = new Job("Saving " + name) { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				save();
+				return Status.OK_STATUS;
+			}
+		};
+		saveJob.setSystem(true);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(projectListener, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Return the qualified name that uniquely identifies this store.
+	 * @return the qualified name that uniquely identifies this store
+	 */
+	public QualifiedName getSyncName() {
+		return syncName;
+	}
+
+	@Override
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectListener);
+		saveJob.cancel();
+		save();
+		synchronized (tables) {
+			tables.clear();
+		}
+	}
+
+	@Override
+	public byte[] getBytes(IResource resource) throws TeamException {
+		byte[] syncBytes = internalGetSyncBytes(resource);
+		if (syncBytes != null && syncBytes.length == 0) {
+			// If it is known that there is no remote, return null
+			return null;
+		}
+		return syncBytes;
+	}
+
+	@Override
+	public boolean setBytes(IResource resource, byte[] bytes) throws TeamException {
+		Assert.isNotNull(bytes);
+		ProjectTable table = getTable(resource);
+		if (table == null) return false;
+		boolean changed;
+		synchronized (table) {
+			changed = table.setBytes(getSegments(resource), (byte) resource.getType(), bytes);
+		}
+		if (changed)
+			saveJob.schedule(SAVE_DELAY);
+		return changed;
+	}
+
+	@Override
+	public boolean flushBytes(IResource resource, int depth) throws TeamException {
+		if (resource.getType() == IResource.ROOT) {
+			boolean changed = false;
+			if (depth != IResource.DEPTH_ZERO) {
+				for (IProject project : ((IWorkspaceRoot) resource).getProjects()) {
+					changed |= flushBytes(project, depth == IResource.DEPTH_ONE ? IResource.DEPTH_ZERO : depth);
+				}
+			}
+			return changed;
+		}
+		ProjectTable table = getTable(resource);
+		if (table == null) return false;
+		boolean changed;
+		synchronized (table) {
+			changed = table.flush(getSegments(resource), resource.getType(), depth);
+		}
+		if (changed)
+			saveJob.schedule(SAVE_DELAY);
+		return changed;
+	}
+
+	/**
+	 * Return whether the resource variant state for this resource is known.
+	 * @param resource the local resource
+	 * @return whether the resource variant state for this resource is known
+	 * @throws TeamException if this operation fails
+	 * @see org.eclipse.team.core.variants.PersistantResourceVariantByteStore#isVariantKnown(IResource)
+	 */
+	public boolean isVariantKnown(IResource resource) throws TeamException {
+		return internalGetSyncBytes(resource) != null;
+	}
+
+	@Override
+	public boolean deleteBytes(IResource resource) throws TeamException {
+		return setBytes(resource, NO_REMOTE);
+	}
+
+	@Override
+	public IResource[] members(IResource resource) throws TeamException {
+		if (resource.getType() == IResource.FILE) {
+			return new IResource[0];
+		}
+		if (resource.getType() == IResource.ROOT) {
+			List<IResource> projects = new ArrayList<>();
+			for (IProject project : ((IWorkspaceRoot) resource).getProjects()) {
+				if (getBytes(project) != null)
+					projects.add(project);
+			}
+			return projects.toArray(new IResource[projects.size()]);
+		}
+		ProjectTable table = getTable(resource);
+		if (table == null) return new IResource[0];
+		IContainer container = (IContainer) resource;
+		List<IResource> members = new ArrayList<>();
+		synchronized (table) {
+			int row = table.find(getSegments(resource), resource.getType());
+			if (row == ProjectTable.NONE) return new IResource[0];
+			for (int child = table.getFirstChild(row); child != ProjectTable.NONE; child = table.getNextSibling(child)) {
+				// Only return resources that have remote bytes
+				if (table.fieldCount[child] > 0) {
+					Path path = new Path(table.getName(child));
+					members.add(table.getType(child) == IResource.FILE ? container.getFile(path) : container.getFolder(path));
+				}
+			}
+		}
+		return members.toArray(new IResource[members.size()]);
+	}
+
+	/**
+	 * Forget the remote state of the given project and delete its file. This
+	 * is done when a project is removed from the workspace so that a project
+	 * that is created again with the same name doesn't get its stale state.
+	 * @param project the project
+	 */
+	public void removeProject(IProject project) {
+		String projectName = project.getName();
+		synchronized (tables) {
+			ProjectTable table = tables.remove(projectName);
+			if (table != null) {
+				synchronized (table) {
+					// a save that is in progress must not write the table again
+					table.removed = true;
+					table.dirty = false;
+				}
+			}
+			File file = getFile(projectName);
+			try {
+				Files.deleteIfExists(file.toPath());
+			} catch (IOException e) {
+				CVSProviderPlugin.log(IStatus.ERROR, "An error occurred while deleting the remote synchronization state in " + file, e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Writes the tables that have changed to their files.
+	 */
+	public void save() {
+		List<Map.Entry<String, ProjectTable>> entries;
+		synchronized (tables) {
+			entries = new ArrayList<>(tables.entrySet());
+		}
+		for (Map.Entry<String, ProjectTable> entry : entries) {
+			ProjectTable table = entry.getValue();
+			synchronized (table) {
+				if (!table.dirty || table.removed) continue;
+				File file = getFile(entry.getKey());
+				try {
+					if (table.isEmpty()) {
+						Files.deleteIfExists(file.toPath());
+					} else {
+						directory.mkdirs();
+						table.write(file);
+					}
+					table.dirty = false;
+				} catch (IOException e) {
+					CVSProviderPlugin.log(IStatus.ERROR, "An error occurred while saving the remote synchronization state to " + file, e); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	private byte[] internalGetSyncBytes(IResource resource) {
+		ProjectTable table = getTable(resource);
+		if (table == null) return null;
+		synchronized (table) {
+			return table.getBytes(table.find(getSegments(resource), resource.getType()));
+		}
+	}
+
+	/*
+	 * Returns the table of the project of the resource, loading it if necessary
+	 */
+	private ProjectTable getTable(IResource resource) {
+		IProject project = resource.getProject();
+		if (project == null) return null;
+		String projectName = project.getName();
+		synchronized (tables) {
+			ProjectTable table = tables.get(projectName);
+			if (table == null) {
+				table = new ProjectTable();
+				File file = getFile(projectName);
+				if (file.exists()) {
+					try {
+						table.read(file);
+					} catch (IOException | RuntimeException e) {
+						// The remote state is refreshed again
+						CVSProviderPlugin.log(IStatus.ERROR, "An error occurred while loading the remote synchronization state from " + file, e); //$NON-NLS-1$
+						table = new ProjectTable();
+					}
+				}
+				tables.put(projectName, table);
+			}
+			return table;
+		}
+	}
+
+	private File getFile(String projectName) {
+		return new File(directory, projectName + FILE_EXTENSION);
+	}
+
+	private static String[] getSegments(IResource resource) {
+		return resource.getProjectRelativePath().segments();
+	}
+
+	/*
+	 * The remote state of a project. Row 0 is the project. Access must be
+	 * synchronized on the table.
+	 */
+	private static final class ProjectTable extends ResourceRowTable {
+		private static final int MAGIC = 0x43565352; // "CVSR"
+		private static final int VERSION = 1;
+
+		// the columns of the fields of the rows
+		/** -1 if there are no bytes, 0 if there is no remote */
+		int[] fieldCount;
+		private int[] fieldStart;
+
+		// the interned fields of all rows
+		private int[] fields = new int[1024];
+		private int fieldsSize;
+		private int garbageFields;
+
+		boolean dirty;
+		/** whether the project was removed and the table must not be saved */
+		boolean removed;
+
+		ProjectTable() {
+			// a file and a folder with the same path have rows of their own
+			super(true);
+			reset(64);
+			newRow(NONE, intern(""), (byte) IResource.PROJECT); //$NON-NLS-1$
+		}
+
+		@Override
+		protected void growColumns(int capacity) {
+			fieldCount = fieldCount == null ? new int[capacity] : Arrays.copyOf(fieldCount, capacity);
+			fieldStart = fieldStart == null ? new int[capacity] : Arrays.copyOf(fieldStart, capacity);
+		}
+
+		@Override
+		protected void clearRow(int row) {
+			clearBytes(row);
+		}
+
+		@Override
+		protected boolean hasData(int row) {
+			return fieldCount[row] != NONE;
+		}
+
+		@Override
+		protected int newRow(int parentRow, int nameId, byte rowType) {
+			int row = super.newRow(parentRow, nameId, rowType);
+			fieldCount[row] = NONE;
+			fieldStart[row] = 0;
+			return row;
+		}
+
+		boolean isEmpty() {
+			return fieldCount[0] == NONE && getFirstChild(0) == NONE;
+		}
+
+		/*
+		 * Returns the row of the resource of the given type at the given path
+		 */
+		int find(String[] segments, int resourceType) {
+			int row = 0;
+			for (int i = 0; i < segments.length; i++) {
+				row = getChild(row, segments[i], i == segments.length - 1 ? resourceType : IResource.FOLDER);
+				if (row == NONE) return NONE;
+			}
+			return row;
+		}
+
+		byte[] getBytes(int row) {
+			if (row == NONE || fieldCount[row] == NONE) return null;
+			int count = fieldCount[row];
+			int start = fieldStart[row];
+			int length = count > 0 ? count - 1 : 0;
+			for (int i = 0; i < count; i++) {
+				length += getString(fields[start + i]).length();
+			}
+			byte[] bytes = new byte[length];
+			int pos = 0;
+			for (int i = 0; i < count; i++) {
+				if (i > 0) bytes[pos++] = '/';
+				String field = getString(fields[start + i]);
+				for (int j = 0; j < field.length(); j++) {
+					bytes[pos++] = (byte) field.charAt(j);
+				}
+			}
+			return bytes;
+		}
+
+		boolean setBytes(String[] segments, byte resourceType, byte[] bytes) {
+			int row = find(segments, resourceType);
+			if (row != NONE && Arrays.equals(getBytes(row), bytes)) return false;
+			if (row == NONE) {
+				row = 0;
+				for (int i = 0; i < segments.length; i++) {
+					row = getOrCreateChild(row, segments[i], i == segments.length - 1 ? resourceType : (byte) IResource.FOLDER);
+				}
+			}
+			// split the bytes into their fields, which are interned as ISO-8859-1 strings
+			int count = 0;
+			int[] ids = new int[8];
+			if (bytes.length > 0) {
+				int start = 0;
+				for (int i = 0; i <= bytes.length; i++) {
+					if (i == bytes.length || bytes[i] == '/') {
+						if (count == ids.length) ids = Arrays.copyOf(ids, 2 * count);
+						ids[count++] = intern(new String(bytes, start, i - start, StandardCharsets.ISO_8859_1));
+						start = i + 1;
+					}
+				}
+			}
+			int oldCount = fieldCount[row];
+			if (oldCount >= count) {
+				// reuse the slots of the old fields
+				garbageFields += oldCount - count;
+			} else {
+				if (oldCount > 0) garbageFields += oldCount;
+				fieldCount[row] = NONE;
+				if (fieldsSize + count > fields.length) {
+					compactFields(count);
+				}
+				fieldStart[row] = fieldsSize;
+				fieldsSize += count;
+			}
+			System.arraycopy(ids, 0, fields, fieldStart[row], count);
+			fieldCount[row] = count;
+			dirty = true;
+			return true;
+		}
+
+		boolean flush(String[] segments, int resourceType, int depth) {
+			int row = find(segments, resourceType);
+			if (row == NONE) return false;
+			boolean changed;
+			if (depth == IResource.DEPTH_INFINITE) {
+				// like the synchronizer, a deep flush always reports a change
+				clearBytes(row);
+				while (getFirstChild(row) != NONE) {
+					removeRow(getFirstChild(row));
+				}
+				changed = true;
+			} else {
+				changed = clearBytes(row);
+				if (depth == IResource.DEPTH_ONE) {
+					int child = getFirstChild(row);
+					while (child != NONE) {
+						int next = getNextSibling(child);
+						changed |= clearBytes(child);
+						if (getFirstChild(child) == NONE) removeRow(child);
+						child = next;
+					}
+				}
+			}
+			prune(row);
+			if (changed) dirty = true;
+			return changed;
+		}
+
+		private boolean clearBytes(int row) {
+			if (fieldCount[row] == NONE) return false;
+			garbageFields += fieldCount[row];
+			fieldCount[row] = NONE;
+			return true;
+		}
+
+		/*
+		 * Drops the slots of replaced fields, growing the array if still needed
+		 */
+		private void compactFields(int required) {
+			int live = fieldsSize - garbageFields;
+			int[] compacted = new int[Math.max(fields.length, 2 * (live + required))];
+			int size = 0;
+			for (int row = 0; row < rowCount; row++) {
+				if (type[row] == 0 || fieldCount[row] <= 0) continue;
+				System.arraycopy(fields, fieldStart[row], compacted, size, fieldCount[row]);
+				fieldStart[row] = size;
+				size += fieldCount[row];
+			}
+			fields = compacted;
+			fieldsSize = size;
+			garbageFields = 0;
+		}
+
+		/*
+		 * Writes the live rows in breadth first order so that parents precede
+		 * their children, followed by the referenced strings and fields
+		 */
+		void write(File file) throws IOException {
+			int[] order = new int[rowCount];
+			int[] newRows = new int[rowCount];
+			int count = 0;
+			order[count++] = 0;
+			for (int i = 0; i < count; i++) {
+				newRows[order[i]] = i;
+				for (int child = firstChild[order[i]]; child != NONE; child = nextSibling[child]) {
+					order[count++] = child;
+				}
+			}
+			int[] newStrings = new int[getStringCount()];
+			Arrays.fill(newStrings, NONE);
+			List<String> usedStrings = new ArrayList<>();
+			int totalFields = 0;
+			for (int i = 0; i < count; i++) {
+				int row = order[i];
+				totalFields += Math.max(0, fieldCount[row]);
+				if (newStrings[name[row]] == NONE) {
+					newStrings[name[row]] = usedStrings.size();
+					usedStrings.add(getString(name[row]));
+				}
+				for (int f = 0; f < fieldCount[row]; f++) {
+					int id = fields[fieldStart[row] + f];
+					if (newStrings[id] == NONE) {
+						newStrings[id] = usedStrings.size();
+						usedStrings.add(getString(id));
+					}
+				}
+			}
+
+			File temp = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 65536))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(usedStrings.size());
+				for (String string : usedStrings) {
+					byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+				out.writeInt(count);
+				for (int i = 0; i < count; i++) {
+					out.writeInt(i == 0 ? NONE : newRows[parent[order[i]]]);
+				}
+				for (int i = 0; i < count; i++) {
+					out.writeInt(newStrings[name[order[i]]]);
+				}
+				for (int i = 0; i < count; i++) {
+					out.writeByte(type[order[i]]);
+				}
+				for (int i = 0; i < count; i++) {
+					out.writeInt(fieldCount[order[i]]);
+				}
+				out.writeInt(totalFields);
+				for (int i = 0; i < count; i++) {
+					int row = order[i];
+					for (int f = 0; f < fieldCount[row]; f++) {
+						out.writeInt(newStrings[fields[fieldStart[row] + f]]);
+					}
+				}
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+
+		/*
+		 * Reads the file into this empty table. The columns are read in bulk and
+		 * the child lists and the index are rebuilt from the parent column.
+		 */
+		void read(File file) throws IOException {
+			ByteBuffer buffer;
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				long size = channel.size();
+				if (size > Integer.MAX_VALUE) throw new IOException(file.toString());
+				buffer = ByteBuffer.allocate((int) size);
+				while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+					// read the whole file
+				}
+				buffer.flip();
+			}
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+				throw new IOException(file.toString());
+			int stringCount = buffer.getInt();
+			if (stringCount < 0 || stringCount > buffer.remaining()) throw new IOException(file.toString());
+			List<String> fileStrings = new ArrayList<>(stringCount);
+			for (int i = 0; i < stringCount; i++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				fileStrings.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+			int count = buffer.getInt();
+			if (count < 1 || count > buffer.remaining()) throw new IOException(file.toString());
+			fieldCount = null;
+			fieldStart = null;
+			reset(Math.max(64, Integer.highestOneBit(count) << 1));
+			for (int i = 0; i < stringCount; i++) {
+				// the strings of a file are unique
+				if (intern(fileStrings.get(i)) != i) throw new IOException(file.toString());
+			}
+			buffer.asIntBuffer().get(parent, 0, count);
+			buffer.position(buffer.position() + 4 * count);
+			buffer.asIntBuffer().get(name, 0, count);
+			buffer.position(buffer.position() + 4 * count);
+			buffer.get(type, 0, count);
+			buffer.asIntBuffer().get(fieldCount, 0, count);
+			buffer.position(buffer.position() + 4 * count);
+			int totalFields = buffer.getInt();
+			if (totalFields < 0 || 4L * totalFields > buffer.remaining()) throw new IOException(file.toString());
+			fields = new int[Math.max(1024, 2 * totalFields)];
+			buffer.asIntBuffer().get(fields, 0, totalFields);
+			fieldsSize = totalFields;
+			garbageFields = 0;
+			if (!loadRows(count)) throw new IOException(file.toString());
+
+			int start = 0;
+			for (int row = 0; row < count; row++) {
+				if (fieldCount[row] < NONE) throw new IOException(file.toString());
+				fieldStart[row] = start;
+				start += Math.max(0, fieldCount[row]);
+			}
+			if (start != totalFields) throw new IOException(file.toString());
+			for (int i = 0; i < totalFields; i++) {
+				if (fields[i] < 0 || fields[i] >= stringCount) throw new IOException(file.toString());
+			}
+			dirty = false;
+		}
+	}
+}
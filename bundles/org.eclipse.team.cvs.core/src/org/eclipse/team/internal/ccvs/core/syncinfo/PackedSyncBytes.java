@@ -0,0 +1,387 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.syncinfo;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSMessages;
+import org.eclipse.team.internal.ccvs.core.client.Command.KSubstOption;
+
+/**
+ * A view of the sync bytes of a resource (a line of the CVS/Entries file)
+ * that locates the slash separated slots once. The accessors that answer
+ * boolean questions or compare slots work directly on the bytes and do not
+ * allocate.
+ * <p>
+ * Example entry lines:
+ * </p>
+ * <pre>
+ * /new.java/1.2/Fri Dec  7 00:17:52 2001/-kb/
+ * D/src////
+ * </pre>
+ * The name is in slot 1, the revision in slot 2, the timestamp in slot 3, the
+ * keyword mode in slot 4 and the tag in slot 5. The tag slot extends to the
+ * end of the bytes.
+ *
+ * @see ResourceSyncInfo
+ */
+public final class PackedSyncBytes {
+
+	public static final int NAME_SLOT = 1;
+	public static final int REVISION_SLOT = 2;
+	public static final int TIMESTAMP_SLOT = 3;
+	public static final int KEYWORD_MODE_SLOT = 4;
+	public static final int TAG_SLOT = 5;
+
+	/*
+	 * Number of separators that are located. This is enough to find the end
+	 * of the tag slot.
+	 */
+	private static final int MAX_SEPARATORS = TAG_SLOT + 1;
+
+	private static final byte SEPARATOR_BYTE = '/';
+	private static final byte DELETED_PREFIX_BYTE = '-';
+
+	private static final byte[] BINARY_MODE = "-kb".getBytes(); //$NON-NLS-1$
+	private static final byte[] LOCKED_BY = "locked by".getBytes(); //$NON-NLS-1$
+	private static final byte[] SERVER_MERGED = ResourceSyncInfo.TIMESTAMP_SERVER_MERGED.getBytes();
+	private static final byte[] SERVER_MERGED_WITH_CONFLICT = ResourceSyncInfo.TIMESTAMP_SERVER_MERGED_WITH_CONFLICT.getBytes();
+	private static final byte[] MERGED_WITH_CONFLICT = ResourceSyncInfo.TIMESTAMP_MERGED_WITH_CONFLICT.getBytes();
+	private static final byte[] MERGED = ResourceSyncInfo.TIMESTAMP_MERGED.getBytes();
+	private static final byte[] DELETED_AND_RESTORED = ResourceSyncInfo.TIMESTAMP_DELETED_AND_RESTORED.getBytes();
+
+	private final byte[] bytes;
+	private final int[] separators = new int[MAX_SEPARATORS];
+	private final int separatorCount;
+
+	/**
+	 * Locate the slots of the given sync bytes. The bytes are not copied and
+	 * must not be modified while this object is in use.
+	 * @param syncBytes the sync bytes of a resource
+	 */
+	public PackedSyncBytes(byte[] syncBytes) {
+		this.bytes = syncBytes;
+		int count = 0;
+		for (int i = 0; i < syncBytes.length && count < MAX_SEPARATORS; i++) {
+			if (syncBytes[i] == SEPARATOR_BYTE) {
+				separators[count++] = i;
+			}
+		}
+		this.separatorCount = count;
+	}
+
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Return whether the given slot is present.
+	 * @param slot a slot between 1 and {@link #TAG_SLOT}
+	 * @return whether the separator that precedes the slot exists
+	 */
+	public boolean hasSlot(int slot) {
+		return slot >= 1 && slot <= separatorCount && slot <= TAG_SLOT;
+	}
+
+	/**
+	 * Return the offset of the first byte of the given slot or -1 if the slot
+	 * is not present.
+	 * @param slot a slot between 1 and {@link #TAG_SLOT}
+	 * @return the offset of the slot or -1
+	 */
+	public int getSlotStart(int slot) {
+		return hasSlot(slot) ? separators[slot - 1] + 1 : -1;
+	}
+
+	/**
+	 * Return the offset following the last byte of the given slot or -1 if
+	 * the slot is not present. The tag slot extends to the end of the bytes.
+	 * @param slot a slot between 1 and {@link #TAG_SLOT}
+	 * @return the end offset of the slot or -1
+	 */
+	public int getSlotEnd(int slot) {
+		if (!hasSlot(slot))
+			return -1;
+		if (slot < TAG_SLOT && slot < separatorCount)
+			return separators[slot];
+		return bytes.length;
+	}
+
+	/**
+	 * Return whether the given slot contains exactly the given bytes.
+	 * @param slot a slot between 1 and {@link #TAG_SLOT}
+	 * @param value the expected contents
+	 * @return whether the slot is present and equal to the value
+	 */
+	public boolean slotEquals(int slot, byte[] value) {
+		int start = getSlotStart(slot);
+		return start != -1 && regionEquals(bytes, start, getSlotEnd(slot), value, 0, value.length);
+	}
+
+	/**
+	 * Return whether the given slot of this and the other sync bytes are equal.
+	 * @param slot a slot between 1 and {@link #TAG_SLOT}
+	 * @param other other sync bytes
+	 * @return whether the slot is present in both and equal
+	 */
+	public boolean slotEquals(int slot, PackedSyncBytes other) {
+		int start = getSlotStart(slot);
+		int otherStart = other.getSlotStart(slot);
+		if (start == -1 || otherStart == -1)
+			return start == otherStart;
+		return regionEquals(bytes, start, getSlotEnd(slot), other.bytes, otherStart, other.getSlotEnd(slot));
+	}
+
+	public boolean isFolder() {
+		return bytes.length > 0 && bytes[0] == 'D';
+	}
+
+	public String getName() throws CVSException {
+		return getSlot(NAME_SLOT);
+	}
+
+	/**
+	 * Return whether the sync bytes have the given name.
+	 * @param name a resource name
+	 * @return whether the name slot matches the name
+	 */
+	public boolean nameEquals(String name) {
+		int start = getSlotStart(NAME_SLOT);
+		if (start == -1)
+			return false;
+		int end = getSlotEnd(NAME_SLOT);
+		int length = name.length();
+		if (end - start != length)
+			return false;
+		for (int i = 0; i < length; i++) {
+			char c = name.charAt(i);
+			if (c >= 0x80 || bytes[start + i] != (byte) c) {
+				// Defer to the platform encoding for non-ASCII names
+				return name.equals(new String(bytes, start, end - start));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the revision without the deleted prefix and the "locked by" suffix.
+	 * @return the revision
+	 * @throws CVSException if the sync bytes are malformed
+	 * @see ResourceSyncInfo#getRevision(byte[])
+	 */
+	public String getRevision() throws CVSException {
+		checkSlot(REVISION_SLOT);
+		int start = getRevisionStart();
+		return new String(bytes, start, getRevisionEnd() - start);
+	}
+
+	/**
+	 * Return whether the revisions of this and the other sync bytes are equal
+	 * ignoring the deleted prefix and the "locked by" suffix.
+	 * @param other other sync bytes
+	 * @return whether the revisions are equal
+	 * @throws CVSException if either sync bytes are malformed
+	 */
+	public boolean revisionEquals(PackedSyncBytes other) throws CVSException {
+		checkSlot(REVISION_SLOT);
+		other.checkSlot(REVISION_SLOT);
+		return regionEquals(bytes, getRevisionStart(), getRevisionEnd(), other.bytes, other.getRevisionStart(), other.getRevisionEnd());
+	}
+
+	public boolean isAddition() throws CVSException {
+		int start = getSlotStart(REVISION_SLOT);
+		// There must be a slot and, in the very least, there must be two characters after the slot
+		if (start == -1 || start > bytes.length - 2) {
+			throw malformed();
+		}
+		// If the zero is followed by a dot, then it is a valid revision and not an addition
+		return bytes[start] == '0' && bytes[start + 1] != '.';
+	}
+
+	public boolean isDeletion() throws CVSException {
+		int start = getSlotStart(REVISION_SLOT);
+		if (start == -1 || start >= bytes.length) {
+			throw malformed();
+		}
+		return bytes[start] == DELETED_PREFIX_BYTE;
+	}
+
+	public KSubstOption getKeywordMode() throws CVSException {
+		return KSubstOption.fromMode(getSlot(KEYWORD_MODE_SLOT));
+	}
+
+	public boolean isBinary() throws CVSException {
+		checkSlot(KEYWORD_MODE_SLOT);
+		return slotEquals(KEYWORD_MODE_SLOT, BINARY_MODE);
+	}
+
+	public boolean isMerge() throws CVSException {
+		int syncType = getSyncType();
+		return syncType == ResourceSyncInfo.TYPE_MERGED || syncType == ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+	}
+
+	public boolean isMergedWithConflicts() throws CVSException {
+		return getSyncType() == ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+	}
+
+	public boolean wasDeleted() throws CVSException {
+		return getSyncType() == ResourceSyncInfo.TYPE_DELETED_AND_RESTORED;
+	}
+
+	/**
+	 * Return the sync type encoded in the timestamp slot.
+	 * @return one of the <code>TYPE_</code> constants of {@link ResourceSyncInfo}
+	 * @throws CVSException if the sync bytes are malformed
+	 */
+	int getSyncType() throws CVSException {
+		checkSlot(TIMESTAMP_SLOT);
+		int start = getSlotStart(TIMESTAMP_SLOT);
+		int end = getSlotEnd(TIMESTAMP_SLOT);
+		if (indexOf(bytes, start, end, SERVER_MERGED) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED;
+		} else if (indexOf(bytes, start, end, SERVER_MERGED_WITH_CONFLICT) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+		} else if (indexOf(bytes, start, end, MERGED_WITH_CONFLICT) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+		} else if (indexOf(bytes, start, end, MERGED) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED;
+		} else if (indexOf(bytes, start, end, DELETED_AND_RESTORED) != -1) {
+			return ResourceSyncInfo.TYPE_DELETED_AND_RESTORED;
+		}
+		return ResourceSyncInfo.TYPE_REGULAR;
+	}
+
+	/**
+	 * Return whether the tags of this and the other sync bytes are equal.
+	 * @param other other sync bytes
+	 * @return whether the tags are equal
+	 * @throws CVSException if either sync bytes are malformed
+	 */
+	public boolean tagEquals(PackedSyncBytes other) throws CVSException {
+		checkSlot(TAG_SLOT);
+		other.checkSlot(TAG_SLOT);
+		return slotEquals(TAG_SLOT, other);
+	}
+
+	/**
+	 * Return whether this and the other sync bytes are equal once both are
+	 * converted to deletions. This is the case if they only differ in the
+	 * deleted prefix of the revision.
+	 * @param other other file sync bytes
+	 * @return whether the sync bytes are equal ignoring the deleted prefix
+	 * @throws CVSException if either sync bytes are malformed
+	 */
+	public boolean equalsIgnoringDeletion(PackedSyncBytes other) throws CVSException {
+		checkSlot(REVISION_SLOT);
+		other.checkSlot(REVISION_SLOT);
+		int start = getSlotStart(REVISION_SLOT);
+		int otherStart = other.getSlotStart(REVISION_SLOT);
+		if (!regionEquals(bytes, 0, start, other.bytes, 0, otherStart))
+			return false;
+		if (start < bytes.length && bytes[start] == DELETED_PREFIX_BYTE)
+			start++;
+		if (otherStart < other.bytes.length && other.bytes[otherStart] == DELETED_PREFIX_BYTE)
+			otherStart++;
+		return regionEquals(bytes, start, bytes.length, other.bytes, otherStart, other.bytes.length);
+	}
+
+	/**
+	 * Return a copy of the sync bytes with the contents of the given slot
+	 * replaced by the given bytes.
+	 * @param slot a slot between 1 and {@link #TAG_SLOT}
+	 * @param newBytes the new contents of the slot
+	 * @return the modified sync bytes
+	 * @throws CVSException if the slot is not present
+	 */
+	public byte[] setSlot(int slot, byte[] newBytes) throws CVSException {
+		checkSlot(slot);
+		int start = separators[slot - 1];
+		int end = slot < separatorCount ? separators[slot] : -1;
+		int totalLength = start + 1 + newBytes.length;
+		if (end != -1) {
+			totalLength += bytes.length - end;
+		}
+		byte[] result = new byte[totalLength];
+		System.arraycopy(bytes, 0, result, 0, start + 1);
+		System.arraycopy(newBytes, 0, result, start + 1, newBytes.length);
+		if (end != -1) {
+			System.arraycopy(bytes, end, result, start + 1 + newBytes.length, bytes.length - end);
+		}
+		return result;
+	}
+
+	private String getSlot(int slot) throws CVSException {
+		checkSlot(slot);
+		int start = getSlotStart(slot);
+		return new String(bytes, start, getSlotEnd(slot) - start);
+	}
+
+	private int getRevisionStart() {
+		int start = getSlotStart(REVISION_SLOT);
+		if (start < getSlotEnd(REVISION_SLOT) && bytes[start] == DELETED_PREFIX_BYTE)
+			start++;
+		return start;
+	}
+
+	/*
+	 * Return the end of the revision excluding a "locked by" suffix
+	 * (see ResourceSyncInfo#LOCKEDBY_REGEX)
+	 */
+	private int getRevisionEnd() {
+		int start = getSlotStart(REVISION_SLOT);
+		int end = getSlotEnd(REVISION_SLOT);
+		int index = indexOf(bytes, start + 1, end, LOCKED_BY);
+		while (index != -1) {
+			if (Character.isWhitespace(bytes[index - 1]) && index + LOCKED_BY.length < end)
+				return index - 1;
+			index = indexOf(bytes, index + 1, end, LOCKED_BY);
+		}
+		return end;
+	}
+
+	private void checkSlot(int slot) throws CVSException {
+		if (!hasSlot(slot))
+			throw malformed();
+	}
+
+	private CVSException malformed() {
+		return new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(bytes) }));
+	}
+
+	/*
+	 * Return the offset of the first occurrence of the pattern between start
+	 * (inclusive) and end (exclusive) or -1
+	 */
+	private static int indexOf(byte[] bytes, int start, int end, byte[] pattern) {
+		int last = end - pattern.length;
+		outer: for (int i = start; i <= last; i++) {
+			for (int j = 0; j < pattern.length; j++) {
+				if (bytes[i + j] != pattern[j])
+					continue outer;
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	private static boolean regionEquals(byte[] bytes, int start, int end, byte[] other, int otherStart, int otherEnd) {
+		if (end - start != otherEnd - otherStart)
+			return false;
+		for (int i = start, j = otherStart; i < end; i++, j++) {
+			if (bytes[i] != other[j])
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.syncinfo;
+
+import java.util.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.client.*;
+import org.eclipse.team.internal.ccvs.core.client.Command.LocalOption;
+import org.eclipse.team.internal.ccvs.core.client.listeners.RDiffSummaryListener;
+import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
+
+/**
+ * Determines which folders of a project need to be refreshed by asking the
+ * server which files have changed since the last refresh of the project
+ * (i.e. "cvs rdiff -s -D date -r HEAD module"). This is only done for projects
+ * that are entirely on HEAD and whose folders mirror the module, as other
+ * projects may contain files that the summary does not report.
+ * <p>
+ * The remote sync info of a resource may also be discarded when its local sync
+ * info changes, so the folders of such resources are refreshed as well.
+ */
+public class RemoteChangeDetector {
+
+	// Allow for the clock of the server being behind the clock of this machine
+	private static final long CLOCK_SKEW = 60 * 60 * 1000;
+
+	private static class Refresh {
+		FolderSyncInfo info;
+		long time;
+		// {IContainer -> time of the sync info change}
+		Map<IContainer, Long> changedFolders = new HashMap<>();
+	}
+
+	// {IProject -> Refresh}
+	private final Map<IProject, Refresh> refreshes = new HashMap<>();
+
+	/**
+	 * Return the folders of the project that need to be refreshed to bring the
+	 * remote sync info of the project up to date, or <code>null</code> if the
+	 * whole project needs to be refreshed.
+	 * @param project the project
+	 * @param monitor a progress monitor
+	 * @return the folders to refresh or <code>null</code>
+	 * @throws CVSException
+	 */
+	public IContainer[] getChangedFolders(IProject project, IProgressMonitor monitor) throws CVSException {
+		ICVSFolder root = CVSWorkspaceRoot.getCVSFolderFor(project);
+		FolderSyncInfo info = root.getFolderSyncInfo();
+		long time;
+		Set<IContainer> folders = new HashSet<>();
+		synchronized (this) {
+			Refresh refresh = refreshes.get(project);
+			if (refresh == null || info == null || !info.equals(refresh.info)) {
+				return null;
+			}
+			time = refresh.time;
+			folders.addAll(refresh.changedFolders.keySet());
+		}
+		if (!isHead(info.getTag()) || !mirrorsModule(root, info)) {
+			return null;
+		}
+		final List<String> paths = new ArrayList<>();
+		if (!fetchChangedFiles(root, time - CLOCK_SKEW, paths, monitor)) {
+			return null;
+		}
+		String prefix = info.getRepository() + Session.SERVER_SEPARATOR;
+		for (String path : paths) {
+			if (!path.startsWith(prefix)) {
+				return null;
+			}
+			IPath parent = new Path(path.substring(prefix.length())).removeLastSegments(1);
+			IContainer folder = parent.isEmpty() ? project : project.getFolder(parent);
+			folders.add(folder);
+		}
+		return getRoots(folders);
+	}
+
+	/**
+	 * Record that the project was refreshed successfully.
+	 * @param project the project
+	 * @param time the time at which the refresh started
+	 * @throws CVSException
+	 */
+	public synchronized void refreshed(IProject project, long time) throws CVSException {
+		FolderSyncInfo info = CVSWorkspaceRoot.getCVSFolderFor(project).getFolderSyncInfo();
+		if (info == null) {
+			refreshes.remove(project);
+			return;
+		}
+		Refresh refresh = refreshes.get(project);
+		if (refresh == null) {
+			refresh = new Refresh();
+			refreshes.put(project, refresh);
+		}
+		refresh.info = info;
+		refresh.time = time;
+		// Changes that happened during the refresh may not have been seen by it
+		for (Iterator<Long> iter = refresh.changedFolders.values().iterator(); iter.hasNext();) {
+			if (iter.next() < time) {
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Record that the local sync info of the given resources changed.
+	 * @param resources the resources whose sync info changed
+	 */
+	public synchronized void syncInfoChanged(IResource[] resources) {
+		long time = System.currentTimeMillis();
+		for (IResource resource : resources) {
+			if (resource.getType() == IResource.ROOT) {
+				continue;
+			}
+			Refresh refresh = refreshes.get(resource.getProject());
+			if (refresh != null) {
+				IContainer folder = resource.getType() == IResource.FILE ? resource.getParent() : (IContainer) resource;
+				refresh.changedFolders.put(folder, time);
+			}
+		}
+	}
+
+	/**
+	 * Forget the refreshes of the given project, which will be refreshed
+	 * entirely the next time.
+	 * @param project the project
+	 */
+	public synchronized void forget(IProject project) {
+		refreshes.remove(project);
+	}
+
+	private boolean fetchChangedFiles(ICVSFolder root, long time, final List<String> paths, IProgressMonitor monitor) throws CVSException {
+		ICVSRemoteResource remote = CVSWorkspaceRoot.getRemoteResourceFor(root);
+		if (remote == null) {
+			return false;
+		}
+		monitor.beginTask(null, 100);
+		Session session = new Session(remote.getRepository(), (ICVSFolder) remote, false /* output to console */);
+		session.open(Policy.subMonitorFor(monitor, 10), false /* read-only */);
+		try {
+			IStatus status = Command.RDIFF.execute(session,
+					Command.NO_GLOBAL_OPTIONS,
+					new LocalOption[] { RDiff.SUMMARY, RDiff.makeTagOption(new CVSTag(new Date(time))), RDiff.makeTagOption(CVSTag.DEFAULT) },
+					new ICVSResource[] { remote },
+					new RDiffSummaryListener(new RDiffSummaryListener.IFileDiffListener() {
+						@Override
+						public void fileDiff(String remoteFilePath, String leftRevision, String rightRevision) {
+							paths.add(remoteFilePath);
+						}
+						@Override
+						public void newFile(String remoteFilePath, String rightRevision) {
+							paths.add(remoteFilePath);
+						}
+						@Override
+						public void deletedFile(String remoteFilePath, String leftRevision) {
+							paths.add(remoteFilePath);
+						}
+						@Override
+						public void directory(String remoteFolderPath) {
+							// Only the files are of interest
+						}
+					}),
+					Policy.subMonitorFor(monitor, 90));
+			// Let the full refresh report the problem
+			return status.getCode() != CVSStatus.SERVER_ERROR;
+		} finally {
+			session.close();
+			monitor.done();
+		}
+	}
+
+	/*
+	 * Return whether the folders and files are all on HEAD and the folders
+	 * are in the same place in the repository as they are in the project.
+	 */
+	private boolean mirrorsModule(ICVSFolder folder, FolderSyncInfo info) throws CVSException {
+		ICVSResource[] members = folder.members(ICVSFolder.FILE_MEMBERS | ICVSFolder.FOLDER_MEMBERS | ICVSFolder.MANAGED_MEMBERS | ICVSFolder.EXISTING_MEMBERS);
+		for (ICVSResource member : members) {
+			if (member.isFolder()) {
+				FolderSyncInfo childInfo = ((ICVSFolder) member).getFolderSyncInfo();
+				if (childInfo == null) {
+					continue;
+				}
+				if (!isHead(childInfo.getTag())
+						|| !childInfo.getRoot().equals(info.getRoot())
+						|| !childInfo.getRepository().equals(info.getRepository() + Session.SERVER_SEPARATOR + member.getName())
+						|| !mirrorsModule((ICVSFolder) member, childInfo)) {
+					return false;
+				}
+			} else {
+				ResourceSyncInfo childInfo = ((ICVSFile) member).getSyncInfo();
+				if (childInfo != null && !isHead(childInfo.getTag())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean isHead(CVSTag tag) {
+		return tag == null || tag.getType() == CVSTag.HEAD;
+	}
+
+	/*
+	 * Return the closest existing folder of each of the given folders,
+	 * leaving out those that are contained in another one.
+	 */
+	private static IContainer[] getRoots(Set<IContainer> folders) {
+		Set<IContainer> existing = new HashSet<>();
+		for (IContainer folder : folders) {
+			while (!folder.exists() && folder.getType() == IResource.FOLDER) {
+				folder = folder.getParent();
+			}
+			existing.add(folder);
+		}
+		List<IContainer> roots = new ArrayList<>();
+		for (IContainer folder : existing) {
+			boolean contained = false;
+			for (IContainer other : existing) {
+				if (other != folder && other.getFullPath().isPrefixOf(folder.getFullPath())) {
+					contained = true;
+					break;
+				}
+			}
+			if (!contained) {
+				roots.add(folder);
+			}
+		}
+		return roots.toArray(new IContainer[roots.size()]);
+	}
+}
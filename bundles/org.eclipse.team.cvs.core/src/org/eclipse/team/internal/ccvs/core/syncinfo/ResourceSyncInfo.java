@@ -530,11 +530,7 @@ public class ResourceSyncInfo {
 	 * @return String
 	 */
 	public static String getName(byte[] syncBytes) throws CVSException {
-		String name = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 1, false);
-		if (name == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		return name;
+		return new PackedSyncBytes(syncBytes).getName();
 	}
 	
 	/**
@@ -543,11 +539,7 @@ public class ResourceSyncInfo {
 	 * @return String
 	 */
 	public static KSubstOption getKeywordMode(byte[] syncBytes) throws CVSException {
-		String mode = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 4, false);
-		if (mode == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		return KSubstOption.fromMode(mode);
+		return new PackedSyncBytes(syncBytes).getKeywordMode();
 	}
 	
 	/**
@@ -588,11 +580,7 @@ public class ResourceSyncInfo {
 	 */
 	public static boolean isBinary(byte[] syncBytes)  throws CVSException {
 		if (syncBytes == null) return false;
-		String mode = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 4, false);
-		if (mode == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		return "-kb".equals(mode); //$NON-NLS-1$
+		return new PackedSyncBytes(syncBytes).isBinary();
 	}
 	
 	/**
@@ -610,13 +598,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean isAddition(byte[] syncBytes) throws CVSException {
-		int start = startOfSlot(syncBytes, 2);
-		// There must be a slot and, in the very least, there must be two characters after the slot
-		if (start == -1 || start > syncBytes.length - 3) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		// If the zero is followed by a dot, then it is a valid revision and not an addition
-		return syncBytes[start + 1] == '0' && syncBytes[start + 2] != '.';
+		return new PackedSyncBytes(syncBytes).isAddition();
 	}
 	
 	/**
@@ -625,11 +607,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean isDeletion(byte[] syncBytes) throws CVSException {
-		int start = startOfSlot(syncBytes, 2);
-		if (start == -1 || start >= syncBytes.length) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		return syncBytes[start + 1] == DELETED_PREFIX_BYTE;
+		return new PackedSyncBytes(syncBytes).isDeletion();
 	}
 		
 	/**
@@ -725,6 +703,9 @@ public class ResourceSyncInfo {
 	 *             thrown when the entry lines bytes are malformed.
 	 */
 	public static byte[] setSlot(byte[] syncBytes, int slot, byte[] newBytes) throws CVSException {
+		if (slot >= 1 && slot <= PackedSyncBytes.TAG_SLOT) {
+			return new PackedSyncBytes(syncBytes).setSlot(slot, newBytes);
+		}
 		int start = startOfSlot(syncBytes, slot);
 		if (start == -1) {
 			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
@@ -870,15 +851,7 @@ public class ResourceSyncInfo {
 	 * @see #LOCKEDBY_REGEX
 	 */
 	public static String getRevision(byte[] syncBytes) throws CVSException {
-		String revision = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 2, false);
-		if (revision == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		if(revision.startsWith(DELETED_PREFIX)) {
-			revision = revision.substring(DELETED_PREFIX.length());
-		}
-		revision = revision.replaceFirst(LOCKEDBY_REGEX, ""); //$NON-NLS-1$
-		return revision;
+		return new PackedSyncBytes(syncBytes).getRevision();
 	}
 
 	/**
@@ -897,12 +870,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean isMerge(byte[] syncBytes) throws CVSException {
-		String timestamp = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 3, false);
-		if (timestamp == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		int syncType = getSyncType(timestamp);
-		return syncType == TYPE_MERGED || syncType == TYPE_MERGED_WITH_CONFLICTS;
+		return new PackedSyncBytes(syncBytes).isMerge();
 	}
 
 	/**
@@ -913,15 +881,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean wasDeleted(byte[] syncBytes) throws CVSException {
-		String timestamp = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 3,
-				false);
-		if (timestamp == null) {
-			throw new CVSException(NLS.bind(
-					CVSMessages.ResourceSyncInfo_malformedSyncBytes,
-					new String[] { new String(syncBytes) }));
-		}
-		int syncType = getSyncType(timestamp);
-		return syncType == TYPE_DELETED_AND_RESTORED;
+		return new PackedSyncBytes(syncBytes).wasDeleted();
 	}
 
 	/**
@@ -930,12 +890,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean isMergedWithConflicts(byte[] syncBytes) throws CVSException {
-		String timestamp = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 3, false);
-		if (timestamp == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		int syncType = getSyncType(timestamp);
-		return syncType == TYPE_MERGED_WITH_CONFLICTS;
+		return new PackedSyncBytes(syncBytes).isMergedWithConflicts();
 	}
 	
 	
@@ -950,15 +905,13 @@ public class ResourceSyncInfo {
 	public static boolean isLaterRevisionOnSameBranch(byte[] remoteBytes, byte[] localBytes) throws CVSException {
 		// If the two byte arrays are the same, then the remote isn't a later revision
 		if (remoteBytes == localBytes) return false;
+		PackedSyncBytes remote = new PackedSyncBytes(remoteBytes);
+		PackedSyncBytes local = new PackedSyncBytes(localBytes);
 		//	If the tags differ, then the remote isn't a later revision
-		byte[] remoteTag = ResourceSyncInfo.getTagBytes(remoteBytes);
-		byte[] localTag = ResourceSyncInfo.getTagBytes(localBytes);
-		if (!Util.equals(remoteTag, localTag)) return false;
+		if (!remote.tagEquals(local)) return false;
 		// If the revisions are the same, the remote isn't later
-		String remoteRevision = ResourceSyncInfo.getRevision(remoteBytes);
-		String localRevision = ResourceSyncInfo.getRevision(localBytes);
-		if (remoteRevision.equals(localRevision)) return false;
-		return isLaterRevision(remoteRevision, localRevision);
+		if (remote.revisionEquals(local)) return false;
+		return isLaterRevision(remote.getRevision(), local.getRevision());
 	}
 
 	/**
@@ -25,80 +25,316 @@ import java.util.TimeZone;
  * required in the Entry file is ISO C asctime() function (Sun Apr  7 01:29:26 1996).
  * <p>
  * To be compatible with asctime(), the day field in the entryline format is
- * padded with a space and not a zero. Most other CVS clients use string comparison 
+ * padded with a space and not a zero. Most other CVS clients use string comparison
  * for timestamps based on the result of the C function asctime().
  * </p>
+ * <p>
+ * The fixed layouts used by CVS ("E MMM dd HH:mm:ss yyyy" for entry lines,
+ * "dd MMM yyyy HH:mm:ss" for server time stamps and "yyyy-MM-dd HH:mm:ss zzz"
+ * for log dates) are parsed and formatted by hand using the proleptic Gregorian
+ * calendar (dates before the 1582 Gregorian cutover are not converted to the
+ * Julian calendar). No state is shared between calls so the methods of this
+ * class can be called concurrently without locking.
+ * </p>
  */
 public class CVSDateFormatter {
-	
-	private static final String ENTRYLINE_FORMAT = "E MMM dd HH:mm:ss yyyy"; //$NON-NLS-1$
-	private static final String SERVER_FORMAT = "dd MMM yyyy HH:mm:ss";//$NON-NLS-1$
+
+	private static final String LOG_FORMAT = "yyyy-MM-dd HH:mm:ss zzz"; //$NON-NLS-1$
+	private static final String LOG_FORMAT_OLD = "yyyy/MM/dd HH:mm:ss zzz"; //$NON-NLS-1$
 	private static final int ENTRYLINE_TENS_DAY_OFFSET = 8;
-	
-	private static final SimpleDateFormat serverFormat = new SimpleDateFormat(SERVER_FORMAT, Locale.US);
-	private static SimpleDateFormat entryLineFormat = new SimpleDateFormat(ENTRYLINE_FORMAT, Locale.US);
-	
-	static {
-		entryLineFormat.setTimeZone(TimeZone.getTimeZone("GMT")); //$NON-NLS-1$
+
+	private static final String[] DAYS = { "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+	private static final String[] MONTHS = { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+	private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+	/*
+	 * Cursor over the text being parsed
+	 */
+	private static class Parser {
+		private final String text;
+		private int pos;
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+		ParseException error() {
+			return new ParseException("Unparseable date: \"" + text + "\"", pos); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		boolean atEnd() {
+			return pos >= text.length();
+		}
+
+		char peek() {
+			return atEnd() ? 0 : text.charAt(pos);
+		}
+
+		void expect(char c) throws ParseException {
+			if (peek() != c)
+				throw error();
+			pos++;
+		}
+
+		void skipSpaces() {
+			while (peek() == ' ')
+				pos++;
+		}
+
+		int number(int minDigits, int maxDigits) throws ParseException {
+			int value = 0;
+			int digits = 0;
+			while (digits < maxDigits && !atEnd()) {
+				char c = text.charAt(pos);
+				if (c < '0' || c > '9')
+					break;
+				value = value * 10 + (c - '0');
+				digits++;
+				pos++;
+			}
+			if (digits < minDigits)
+				throw error();
+			return value;
+		}
+
+		/*
+		 * Match one of the given three letter names ignoring case and
+		 * return its index
+		 */
+		int name(String[] names) throws ParseException {
+			if (pos + 3 <= text.length()) {
+				for (int i = 0; i < names.length; i++) {
+					if (text.regionMatches(true, pos, names[i], 0, 3)) {
+						pos += 3;
+						return i;
+					}
+				}
+			}
+			throw error();
+		}
+
+		/*
+		 * Parse HH:mm:ss and return the number of milliseconds since midnight
+		 */
+		long time() throws ParseException {
+			int hours = number(1, 2);
+			expect(':');
+			int minutes = number(1, 2);
+			expect(':');
+			int seconds = number(1, 2);
+			return ((hours * 60L + minutes) * 60L + seconds) * 1000L;
+		}
+
+		/*
+		 * Parse an optional time zone of the form [+|-]hhmm, [+|-]hh:mm,
+		 * GMT, UTC or GMT[+|-]hh:mm and return its offset in milliseconds.
+		 * Any other zone must be a time zone id and is looked up using the
+		 * given local time.
+		 */
+		long zoneOffset(long localMillis) throws ParseException {
+			skipSpaces();
+			if (atEnd())
+				return 0;
+			char c = peek();
+			if (c == '+' || c == '-') {
+				return signedOffset();
+			}
+			int start = pos;
+			while (!atEnd() && Character.isLetter(peek()))
+				pos++;
+			String name = text.substring(start, pos);
+			if (name.equalsIgnoreCase("GMT") || name.equalsIgnoreCase("UTC") || name.equalsIgnoreCase("UT")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				c = peek();
+				return c == '+' || c == '-' ? signedOffset() : 0;
+			}
+			while (!atEnd() && peek() != ' ')
+				pos++;
+			name = text.substring(start, pos);
+			TimeZone zone = TimeZone.getTimeZone(name);
+			if (name.length() == 0 || !zone.getID().equals(name))
+				throw error();
+			return zone.getOffset(localMillis - zone.getRawOffset());
+		}
+
+		private long signedOffset() throws ParseException {
+			int sign = text.charAt(pos++) == '-' ? -1 : 1;
+			int hours = number(2, 2);
+			if (peek() == ':')
+				pos++;
+			int minutes = number(2, 2);
+			return sign * (hours * 60L + minutes) * 60L * 1000L;
+		}
+	}
+
+	static public Date serverStampToDate(String text) throws ParseException {
+		// dd MMM yyyy HH:mm:ss [+|-]hhmm
+		Parser parser = new Parser(text);
+		parser.skipSpaces();
+		int day = parser.number(1, 2);
+		parser.skipSpaces();
+		int month = parser.name(MONTHS);
+		parser.skipSpaces();
+		int year = parser.number(1, 9);
+		parser.skipSpaces();
+		long local = toMillis(year, month, day, parser.time());
+		return new Date(local - serverZoneOffset(text));
 	}
-	static synchronized public Date serverStampToDate(String text) throws ParseException {
-		serverFormat.setTimeZone(getTimeZone(text));
-		Date date = serverFormat.parse(text);
-		return date;
+
+	static public Date entryLineToDate(String text) throws ParseException {
+		// E MMM dd HH:mm:ss yyyy where the tens of the day may be a space
+		if (text.length() <= ENTRYLINE_TENS_DAY_OFFSET)
+			throw new ParseException(text, ENTRYLINE_TENS_DAY_OFFSET);
+		Parser parser = new Parser(text);
+		parser.name(DAYS);
+		parser.expect(' ');
+		int month = parser.name(MONTHS);
+		parser.expect(' ');
+		if (parser.peek() == ' ')
+			parser.pos++;
+		int day = parser.number(1, 2);
+		parser.expect(' ');
+		long time = parser.time();
+		parser.expect(' ');
+		int year = parser.number(1, 9);
+		return new Date(toMillis(year, month, day, time));
 	}
-	
-	static synchronized public Date entryLineToDate(String text) throws ParseException {
+
+	/**
+	 * Converts a time stamp as sent from a cvs server for a "log" command
+	 * (yyyy-MM-dd HH:mm:ss zzz or yyyy/MM/dd HH:mm:ss zzz for servers prior to
+	 * 1.12.9) into a <code>Date</code>.
+	 * @param text the time stamp
+	 * @return the date
+	 * @throws ParseException if the time stamp is not in the expected format
+	 */
+	static public Date logTimeToDate(String text) throws ParseException {
 		try {
-			if (text.charAt(ENTRYLINE_TENS_DAY_OFFSET) == ' ') {
-				StringBuilder buf = new StringBuilder(text);
-				buf.setCharAt(ENTRYLINE_TENS_DAY_OFFSET, '0');
-				text = buf.toString();
-			}
-		} catch (StringIndexOutOfBoundsException e) {
-			throw new ParseException(e.getMessage(), ENTRYLINE_TENS_DAY_OFFSET);
+			return parseLogTime(text);
+		} catch (ParseException e) {
+			// Zone abbreviations such as EDT are only known to the localized formats
+			String pattern = text.length() > 4 && text.charAt(4) == '/' ? LOG_FORMAT_OLD : LOG_FORMAT;
+			return new SimpleDateFormat(pattern, Locale.US).parse(text);
 		}
-		return entryLineFormat.parse(text);
 	}
 
-	static synchronized public String dateToEntryLine(Date date) {
+	private static Date parseLogTime(String text) throws ParseException {
+		Parser parser = new Parser(text);
+		int year = parser.number(1, 9);
+		char separator = parser.peek();
+		if (separator != '-' && separator != '/')
+			throw parser.error();
+		parser.pos++;
+		int month = parser.number(1, 2);
+		parser.expect(separator);
+		int day = parser.number(1, 2);
+		parser.expect(' ');
+		long local = toMillis(year, month - 1, day, parser.time());
+		return new Date(local - parser.zoneOffset(local));
+	}
+
+	static public String dateToEntryLine(Date date) {
 		if (date == null) return ""; //$NON-NLS-1$
-		String passOne = entryLineFormat.format(date);
-		if (passOne.charAt(ENTRYLINE_TENS_DAY_OFFSET) != '0') return passOne;
-		StringBuilder passTwo = new StringBuilder(passOne);
-		passTwo.setCharAt(ENTRYLINE_TENS_DAY_OFFSET, ' ');
-		return passTwo.toString();
+		long millis = date.getTime();
+		long days = Math.floorDiv(millis, MILLIS_PER_DAY);
+		int[] civil = toCivil(days);
+		StringBuilder buffer = new StringBuilder(24);
+		buffer.append(DAYS[(int) Math.floorMod(days + 4, 7)]).append(' ');
+		buffer.append(MONTHS[civil[1]]).append(' ');
+		if (civil[2] < 10)
+			buffer.append(' ');
+		buffer.append(civil[2]).append(' ');
+		appendTime(buffer, Math.floorMod(millis, MILLIS_PER_DAY)).append(' ');
+		appendPadded(buffer, civil[0], 4);
+		return buffer.toString();
+	}
+
+	static public String dateToNotifyServer(Date date) {
+		long millis = date.getTime();
+		int[] civil = toCivil(Math.floorDiv(millis, MILLIS_PER_DAY));
+		StringBuilder buffer = new StringBuilder(24);
+		appendPadded(buffer, civil[2], 2).append(' ');
+		buffer.append(MONTHS[civil[1]]).append(' ');
+		appendPadded(buffer, civil[0], 4).append(' ');
+		appendTime(buffer, Math.floorMod(millis, MILLIS_PER_DAY));
+		return buffer.append(" GMT").toString(); //$NON-NLS-1$
+	}
+
+	/*
+	 * Return the number of milliseconds since the epoch of the given UTC date
+	 * and time. Out of range days are rolled into the next months like a
+	 * lenient calendar does.
+	 */
+	private static long toMillis(int year, int month, int day, long time) {
+		return (daysFromCivil(year, month + 1, 1) + day - 1) * MILLIS_PER_DAY + time;
 	}
-	
-	static synchronized public String dateToNotifyServer(Date date) {
-		serverFormat.setTimeZone(TimeZone.getTimeZone("GMT"));//$NON-NLS-1$
-		return serverFormat.format(date) + " GMT"; //$NON-NLS-1$
+
+	/*
+	 * Return the number of days since 1970-01-01 of the given date of the
+	 * proleptic Gregorian calendar (month is 1 based)
+	 */
+	private static long daysFromCivil(long year, int month, int day) {
+		year -= month <= 2 ? 1 : 0;
+		long era = (year >= 0 ? year : year - 399) / 400;
+		long yearOfEra = year - era * 400;
+		long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
 	}
-	
+
+	/*
+	 * Return the year, month (0 based) and day of the given number of days since 1970-01-01
+	 */
+	private static int[] toCivil(long days) {
+		long z = days + 719468;
+		long era = (z >= 0 ? z : z - 146096) / 146097;
+		long dayOfEra = z - era * 146097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long mp = (5 * dayOfYear + 2) / 153;
+		int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+		int month = (int) (mp < 10 ? mp + 2 : mp - 10);
+		long year = yearOfEra + era * 400 + (month <= 1 ? 1 : 0);
+		return new int[] { (int) year, month, day };
+	}
+
+	private static StringBuilder appendTime(StringBuilder buffer, long millisOfDay) {
+		int seconds = (int) (millisOfDay / 1000);
+		appendPadded(buffer, seconds / 3600, 2).append(':');
+		appendPadded(buffer, (seconds / 60) % 60, 2).append(':');
+		return appendPadded(buffer, seconds % 60, 2);
+	}
+
+	private static StringBuilder appendPadded(StringBuilder buffer, int value, int width) {
+		String digits = Integer.toString(value);
+		for (int i = digits.length(); i < width; i++)
+			buffer.append('0');
+		return buffer.append(digits);
+	}
+
 	/*
 	 * Converts timezone text from date string from CVS server and
-	 * returns a timezone representing the received timezone.
+	 * returns the offset of the received timezone in milliseconds.
 	 * Timezone string is of the following format: [-|+]MMSS
 	 */
-	static private TimeZone getTimeZone(String dateFromServer) {
+	static private long serverZoneOffset(String dateFromServer) {
 		if (dateFromServer.contains("0000"))  //$NON-NLS-1$
-			return TimeZone.getTimeZone("GMT");//$NON-NLS-1$ 
-		String tz = null;
-		StringBuilder resultTz = new StringBuilder("GMT");//$NON-NLS-1$
-		if (dateFromServer.contains("-")) {//$NON-NLS-1$
-			resultTz.append("-");//$NON-NLS-1$
-			tz = dateFromServer.substring(dateFromServer.indexOf("-"));//$NON-NLS-1$
-		} else if (dateFromServer.contains("+")) {//$NON-NLS-1$
-			resultTz.append('+');
-			tz = dateFromServer.substring(dateFromServer.indexOf("+"));//$NON-NLS-1$
+			return 0;
+		int index = dateFromServer.indexOf('-');
+		int sign = -1;
+		if (index == -1) {
+			index = dateFromServer.indexOf('+');
+			sign = 1;
 		}
+		if (index == -1)
+			return 0;
 		try {
-			if(tz!=null) {
-				resultTz.append(tz.substring(1, 3) /*hours*/ + ":" + tz.substring(3, 5) /*minutes*/);//$NON-NLS-1$
-				return TimeZone.getTimeZone(resultTz.toString());
-			}
-		} catch(IndexOutOfBoundsException e) {
-			return TimeZone.getTimeZone("GMT");//$NON-NLS-1$
+			int hours = Integer.parseInt(dateFromServer.substring(index + 1, index + 3));
+			int minutes = Integer.parseInt(dateFromServer.substring(index + 3, index + 5));
+			return sign * (hours * 60L + minutes) * 60L * 1000L;
+		} catch (IndexOutOfBoundsException e) {
+			return 0;
+		} catch (NumberFormatException e) {
+			return 0;
 		}
-		return TimeZone.getTimeZone("GMT");//$NON-NLS-1$
 	}
 }
@@ -27,9 +27,9 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.IServerConnection;
 import org.eclipse.team.internal.ccvs.core.connection.CVSAuthenticationException;
+import org.eclipse.team.internal.core.streams.AvailableTimeoutInputStream;
 import org.eclipse.team.internal.core.streams.PollingInputStream;
 import org.eclipse.team.internal.core.streams.PollingOutputStream;
-import org.eclipse.team.internal.core.streams.TimeoutInputStream;
 import org.eclipse.team.internal.core.streams.TimeoutOutputStream;
 
 import com.jcraft.jsch.Channel;
@@ -167,13 +167,15 @@ public class CVSSSH2ServerConnection implements IServerConnection {
 				firstTime = false; // the first time is done
 			}
 			int timeout = location.getTimeout();
-			inputStream = new PollingInputStream(new TimeoutInputStream(new FilterInputStream(channel_in) {
+			final Channel execChannel = channel;
+			inputStream = new PollingInputStream(new AvailableTimeoutInputStream(new FilterInputStream(channel_in) {
 						@Override
 						public void close() {
 							// Don't close the underlying stream as it belongs to the session
 						}
 					},
-					8192 /*bufferSize*/, (timeout>0 ? 1000 : 0) /*readTimeout*/, -1 /*closeTimeout*/, true /* growWhenFull */), timeout > 0 ? timeout : 1, monitor);
+					(timeout>0 ? 1000 : 0) /*readTimeout*/, () -> execChannel.isEOF() || execChannel.isClosed(),
+					channel_in /* the channel's pipe is notified when data arrives or the channel reaches EOF */), timeout > 0 ? timeout : 1, monitor);
 			outputStream = new PollingOutputStream(new TimeoutOutputStream(new FilterOutputStream(channel_out) {
 						@Override
 						public void close() {
@@ -27,6 +27,7 @@ import org.eclipse.team.core.synchronize.SyncInfoSet;
 import org.eclipse.team.core.variants.IResourceVariant;
 import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.mapping.CVSCheckedInChangeSet;
+import org.eclipse.team.internal.ccvs.core.mapping.CVSCommitIndex;
 import org.eclipse.team.internal.ccvs.core.resources.RemoteResource;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
@@ -105,6 +106,14 @@ public class CheckedInChangeSetCollector extends BatchingChangeSetManager implem
 	private final Subscriber subscriber;
 
 	private HashSet<ChangeSet> updatedSets;
+
+	/*
+	 * Commits reconstructed from the log entries added to this collector
+	 * and the change sets keyed by the commit they were created for
+	 */
+	private final CVSCommitIndex commitIndex = new CVSCommitIndex();
+	private final Map<CVSCommitIndex.Commit, CVSCheckedInChangeSet> commitSets = new HashMap<>();
+	private final Map<ChangeSet, CVSCommitIndex.Commit> setCommits = new HashMap<>();
 	
 	public CheckedInChangeSetCollector(ISynchronizePageConfiguration configuration, Subscriber subscriber) {
 		this.configuration = configuration;
@@ -134,8 +143,20 @@ public class CheckedInChangeSetCollector extends BatchingChangeSetManager implem
 	@Override
 	protected void handleSetRemoved(ChangeSet set) {
 		((DiffChangeSet)set).getDiffTree().removeDiffChangeListener(diffTreeListener);
+		forgetCommit(set);
 		super.handleSetRemoved(set);
 	}
+
+	/*
+	 * Remove the mapping from the commit of the given set to the set
+	 */
+	private void forgetCommit(ChangeSet set) {
+		synchronized (commitSets) {
+			CVSCommitIndex.Commit commit = setCommits.remove(set);
+			if (commit != null)
+				commitSets.remove(commit);
+		}
+	}
 	
 	protected ChangeSet getChangeSet(IDiffTree tree) {
 		ChangeSet[] sets = getSets();
@@ -234,6 +255,7 @@ public class CheckedInChangeSetCollector extends BatchingChangeSetManager implem
 		if (handler != null) handler.setListener(null);
 		getConfiguration().setProperty(CVSChangeSetCollector.CVS_CHECKED_IN_COLLECTOR, null);
 		logEntryCache = null;
+		commitIndex.clear();
 		super.dispose();
 	}
 	
@@ -380,9 +402,11 @@ public class CheckedInChangeSetCollector extends BatchingChangeSetManager implem
 			IResourceVariant remote = info.getRemote();
 			if ((base == null && remote != null) || (remote == null && base != null) || (remote != null && base != null && !base.equals(remote))) {
 				synchronized(this) {
-					CVSCheckedInChangeSet set = getChangeSetFor(logEntry);
+					// index the entry before looking up the set of its commit
+					CVSCommitIndex.Commit commit = commitIndex.add(logEntry);
+					CVSCheckedInChangeSet set = getChangeSetFor(commit);
 					if (set == null) {
-						set = createChangeSetFor(logEntry);
+						set = createChangeSetFor(logEntry, commit);
 						add(set);
 					}
 					set.add(diff);
@@ -402,20 +426,19 @@ public class CheckedInChangeSetCollector extends BatchingChangeSetManager implem
 		return converter;
 	}
 
-	private CVSCheckedInChangeSet createChangeSetFor(ILogEntry logEntry) {
-		return new CVSCheckedInChangeSet(logEntry);
+	private CVSCheckedInChangeSet createChangeSetFor(ILogEntry logEntry, CVSCommitIndex.Commit commit) {
+		CVSCheckedInChangeSet set = new CVSCheckedInChangeSet(logEntry);
+		synchronized (commitSets) {
+			commitSets.put(commit, set);
+			setCommits.put(set, commit);
+		}
+		return set;
 	}
 
-	private CVSCheckedInChangeSet getChangeSetFor(ILogEntry logEntry) {
-		ChangeSet[] sets = getSets();
-		for (ChangeSet set : sets) {
-			if (set instanceof CVSCheckedInChangeSet &&
-					set.getComment().equals(logEntry.getComment()) &&
-					((CVSCheckedInChangeSet)set).getAuthor().equals(logEntry.getAuthor())) {
-				return (CVSCheckedInChangeSet)set;
-			}
+	private CVSCheckedInChangeSet getChangeSetFor(CVSCommitIndex.Commit commit) {
+		synchronized (commitSets) {
+			return commitSets.get(commit);
 		}
-		return null;
 	}
 	
 	private boolean requiresCustomSyncInfo(SyncInfo info, ICVSRemoteResource remoteResource, ILogEntry logEntry) {
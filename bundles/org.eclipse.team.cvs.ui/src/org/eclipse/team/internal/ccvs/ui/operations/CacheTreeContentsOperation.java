@@ -14,7 +14,6 @@
 package org.eclipse.team.internal.ccvs.ui.operations;
 
 import java.util.ArrayList;
-import java.util.List;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.mapping.ResourceMapping;
@@ -27,25 +26,22 @@ import org.eclipse.team.core.history.IFileRevision;
 import org.eclipse.team.core.mapping.IResourceDiffTree;
 import org.eclipse.team.core.variants.IResourceVariant;
 import org.eclipse.team.internal.ccvs.core.*;
-import org.eclipse.team.internal.ccvs.core.client.*;
-import org.eclipse.team.internal.ccvs.core.client.Command.LocalOption;
-import org.eclipse.team.internal.ccvs.core.client.listeners.IUpdateMessageListener;
-import org.eclipse.team.internal.ccvs.core.client.listeners.UpdateListener;
+import org.eclipse.team.internal.ccvs.core.resources.RemoteContentPrefetcher;
 import org.eclipse.team.internal.ccvs.core.resources.RemoteFile;
 import org.eclipse.team.internal.ccvs.ui.CVSUIMessages;
-import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
+import org.eclipse.team.internal.ccvs.ui.Policy;
 import org.eclipse.ui.IWorkbenchPart;
 
 /**
  * Abstract operation for caching the contents for any files
  * in a particular remote tree that differ from the local contents.*
  */
-public abstract class CacheTreeContentsOperation extends SingleCommandOperation {
+public abstract class CacheTreeContentsOperation extends RepositoryProviderOperation {
 
 	private final IResourceDiffTree tree;
 
 	public CacheTreeContentsOperation(IWorkbenchPart part, ResourceMapping[] mappings, IResourceDiffTree tree) {
-		super(part, mappings, Command.NO_LOCAL_OPTIONS);
+		super(part, mappings);
 		this.tree = tree;
 	}
 	
@@ -53,7 +49,29 @@ public abstract class CacheTreeContentsOperation extends SingleCommandOperation
 	protected void execute(CVSTeamProvider provider, IResource[] resources, boolean recurse, IProgressMonitor monitor) throws CVSException, InterruptedException {
 		IResource[] files = getFilesWithUncachedContents(resources, recurse);
 		if (files.length > 0)
-			super.execute(provider, files, recurse, monitor);
+			prefetch(provider, files, monitor);
+	}
+	
+	/*
+	 * Fetch the contents of the files in batches over several connections. The
+	 * tree is built once and each connection works on its own copy of it.
+	 */
+	private void prefetch(CVSTeamProvider provider, IResource[] files, IProgressMonitor monitor) throws CVSException {
+		monitor.beginTask(null, 100);
+		try {
+			ICVSFolder root = getLocalRoot(provider);
+			String[] paths = new String[files.length];
+			for (int i = 0; i < files.length; i++) {
+				paths[i] = files[i].getProjectRelativePath().toString();
+			}
+			RemoteContentPrefetcher prefetcher = new RemoteContentPrefetcher(getRemoteLocation(provider), root);
+			IStatus status = prefetcher.fetch(paths, Policy.subMonitorFor(monitor, 100));
+			if (isReportableError(status)) {
+				throw new CVSException(status);
+			}
+		} finally {
+			monitor.done();
+		}
 	}
 	
 	private IResource[] getFilesWithUncachedContents(IResource[] resources, boolean recurse) {
@@ -125,55 +143,15 @@ public abstract class CacheTreeContentsOperation extends SingleCommandOperation
 	protected abstract ICVSRemoteResource buildTree(CVSTeamProvider provider) throws TeamException;
 	
 	@Override
-	protected ICVSResource[] getCVSArguments(Session session, IResource[] resources) {
-		List<ICVSResource> result = new ArrayList<>();
-		for (IResource resource : resources) {
-			try {
-				ICVSResource file = session.getLocalRoot().getChild(resource.getProjectRelativePath().toString());
-				result.add(file);
-			} catch (CVSException e) {
-				// Log and continue
-				CVSUIPlugin.log(e);
-			}
+	protected void execute(CVSTeamProvider provider, ICVSTraversal entry, IProgressMonitor monitor) throws CVSException, InterruptedException {
+		try {
+			super.execute(provider, entry, monitor);
+			collectStatus(Status.OK_STATUS);
+		} catch (CVSException e) {
+			collectStatus(e.getStatus());
 		}
-
-		return result.toArray(new ICVSResource[result.size()]);
-	}
-	
-	@Override
-	protected IStatus executeCommand(Session session, CVSTeamProvider provider, ICVSResource[] resources, boolean recurse, IProgressMonitor monitor) throws CVSException, InterruptedException {
-		return Command.UPDATE.execute(
-				session,
-				Command.NO_GLOBAL_OPTIONS,
-				getLocalOptions(true),
-				resources,
-				new UpdateListener(new IUpdateMessageListener() {
-					@Override
-					public void fileInformation(int type, ICVSFolder parent, String filename) {
-						// Do nothing
-					}
-					@Override
-					public void fileDoesNotExist(ICVSFolder parent, String filename) {
-						// Do nothing
-					}
-					@Override
-					public void directoryInformation(ICVSFolder commandRoot, String path,
-							boolean newDirectory) {
-						// Do nothing
-					}
-					@Override
-					public void directoryDoesNotExist(ICVSFolder commandRoot, String path) {
-						// Do nothing
-					}
-				}),
-				monitor);
 	}
 
-	@Override
-	protected LocalOption[] getLocalOptions(boolean recurse) {
-		return Update.IGNORE_LOCAL_CHANGES.addTo(super.getLocalOptions(recurse));
-	}
-	
 	@Override
 	protected String getTaskName(CVSTeamProvider provider) {
 		return NLS.bind(CVSUIMessages.CacheTreeContentsOperation_0, new String[] {provider.getProject().getName()});
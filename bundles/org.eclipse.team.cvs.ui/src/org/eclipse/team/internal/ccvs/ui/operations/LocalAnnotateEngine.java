@@ -0,0 +1,389 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.ui.operations;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import org.eclipse.compare.rangedifferencer.*;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.team.core.TeamException;
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.client.listeners.AnnotateListener;
+import org.eclipse.team.internal.ccvs.core.resources.RemoteFile;
+import org.eclipse.team.internal.ccvs.core.util.Util;
+import org.eclipse.team.internal.ccvs.ui.Policy;
+
+/**
+ * Computes annotations (blame) for a file on the client from revisions whose
+ * contents are already held in the local resource variant cache. The history
+ * of the file is walked from its first revision to the requested one and the
+ * lines of each revision are diffed against its predecessor using the
+ * {@link RangeDifferencer}. Expanded keywords are collapsed before the lines
+ * are compared, like <code>-kk</code> does, so that lines that only differ in
+ * the expansion of a keyword keep their origin. Computed line origins are
+ * cached so that annotating a later revision only needs to diff the revisions
+ * that were added since.
+ * <p>
+ * If any revision on the path to the requested revision is not cached, no
+ * annotation is produced and the caller is expected to fall back to the
+ * server side <code>cvs annotate</code>.
+ */
+public class LocalAnnotateEngine {
+
+	/*
+	 * Maximum number of files and of revisions per file whose line origins are kept
+	 */
+	private static final int MAX_CACHED_FILES = 16;
+	private static final int MAX_CACHED_REVISIONS = 4;
+
+	/*
+	 * An expanded RCS keyword, e.g. $Revision: 1.2 $
+	 */
+	private static final Pattern EXPANDED_KEYWORD = Pattern.compile(
+			"\\$(Author|CVSHeader|Date|Header|Id|Locker|Log|Name|RCSfile|Revision|Source|State): [^$\\n]*\\$"); //$NON-NLS-1$
+
+	private static LocalAnnotateEngine instance;
+
+	/*
+	 * The line origins of a revision. Each line holds an index into the
+	 * revision table of the file.
+	 */
+	private static class Blame {
+		final String[] lines;
+		final int[] origins;
+
+		Blame(String[] lines, int[] origins) {
+			this.lines = lines;
+			this.origins = origins;
+		}
+	}
+
+	/*
+	 * The blames computed for the revisions of a single file
+	 */
+	private static class FileBlames {
+		final List<String> revisions = new ArrayList<>();
+		final Map<String, Blame> blames = new LinkedHashMap<String, Blame>(MAX_CACHED_REVISIONS, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Blame> eldest) {
+				return size() > MAX_CACHED_REVISIONS;
+			}
+		};
+
+		int indexOf(String revision) {
+			int index = revisions.indexOf(revision);
+			if (index == -1) {
+				index = revisions.size();
+				revisions.add(revision);
+			}
+			return index;
+		}
+	}
+
+	/*
+	 * Range comparator over the lines of a revision that compares line hashes first
+	 */
+	private static class LineComparator implements IRangeComparator {
+		private final String[] lines;
+		private final int[] hashes;
+
+		LineComparator(String[] lines) {
+			this.lines = lines;
+			this.hashes = new int[lines.length];
+			for (int i = 0; i < lines.length; i++) {
+				hashes[i] = lines[i].hashCode();
+			}
+		}
+
+		@Override
+		public int getRangeCount() {
+			return lines.length;
+		}
+
+		@Override
+		public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
+			LineComparator comparator = (LineComparator) other;
+			return hashes[thisIndex] == comparator.hashes[otherIndex] && lines[thisIndex].equals(comparator.lines[otherIndex]);
+		}
+
+		@Override
+		public boolean skipRangeComparison(int length, int maxLength, IRangeComparator other) {
+			return false;
+		}
+	}
+
+	private final Map<String, FileBlames> cache = new LinkedHashMap<String, FileBlames>(MAX_CACHED_FILES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, FileBlames> eldest) {
+			return size() > MAX_CACHED_FILES;
+		}
+	};
+
+	public static synchronized LocalAnnotateEngine getInstance() {
+		if (instance == null)
+			instance = new LocalAnnotateEngine();
+		return instance;
+	}
+
+	/**
+	 * Compute the annotations of the given revision of a file and add them to
+	 * the listener. The listener is only modified if the annotations could be
+	 * computed.
+	 *
+	 * @param revision the revision to annotate
+	 * @param logEntries the log entries of the file
+	 * @param listener the listener that receives the annotate blocks and contents
+	 * @param monitor a progress monitor
+	 * @return whether the annotations could be computed from cached revisions
+	 * @throws CVSException if the contents of a cached revision could not be read
+	 */
+	public boolean annotate(String revision, ILogEntry[] logEntries, AnnotateListener listener, IProgressMonitor monitor) throws CVSException {
+		Map<String, ILogEntry> entries = new HashMap<>();
+		for (ILogEntry entry : logEntries) {
+			entries.put(entry.getRevision(), entry);
+		}
+		ILogEntry target = entries.get(revision);
+		if (target == null || target.isDeletion() || !isCached(target))
+			return false;
+		List<String> chain = getAncestry(revision, entries);
+		if (chain == null)
+			return false;
+		String path = getFullPath(target.getRemoteFile());
+
+		FileBlames fileBlames;
+		int start = -1;
+		Blame blame = null;
+		synchronized (cache) {
+			fileBlames = cache.get(path);
+			if (fileBlames == null) {
+				fileBlames = new FileBlames();
+				cache.put(path, fileBlames);
+			}
+			synchronized (fileBlames) {
+				for (int i = chain.size() - 1; i >= 0; i--) {
+					blame = fileBlames.blames.get(chain.get(i));
+					if (blame != null) {
+						start = i;
+						break;
+					}
+				}
+			}
+		}
+		// Every revision after the cached one must have its contents cached
+		for (int i = start + 1; i < chain.size(); i++) {
+			ILogEntry entry = entries.get(chain.get(i));
+			if (!entry.isDeletion() && !isCached(entry))
+				return false;
+		}
+
+		monitor = Policy.monitorFor(monitor);
+		monitor.beginTask(null, chain.size() - start);
+		try {
+			byte[] contents = null;
+			for (int i = start + 1; i < chain.size(); i++) {
+				String next = chain.get(i);
+				ILogEntry entry = entries.get(next);
+				contents = entry.isDeletion() ? new byte[0] : getContents(entry, Policy.subMonitorFor(monitor, 1));
+				String[] lines = toLines(contents);
+				int revisionIndex;
+				synchronized (fileBlames) {
+					revisionIndex = fileBlames.indexOf(next);
+				}
+				// blames are immutable so the lock is not held while diffing
+				blame = extend(blame, lines, revisionIndex);
+				Policy.checkCanceled(monitor);
+			}
+			synchronized (fileBlames) {
+				fileBlames.blames.put(revision, blame);
+			}
+			if (contents == null) {
+				contents = getContents(target, Policy.subMonitorFor(monitor, 1));
+			}
+			List<String> revisions;
+			synchronized (fileBlames) {
+				revisions = new ArrayList<>(fileBlames.revisions);
+			}
+			addBlocks(blame, revisions, entries, listener);
+			listener.setContents(new ByteArrayInputStream(contents));
+			return true;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/*
+	 * Compute the line origins of a revision from the origins of its predecessor.
+	 * Lines that are not part of a difference keep their origin and all other
+	 * lines originate from the new revision.
+	 */
+	private Blame extend(Blame previous, String[] lines, int revisionIndex) {
+		int[] origins = new int[lines.length];
+		if (previous == null) {
+			Arrays.fill(origins, revisionIndex);
+			return new Blame(lines, origins);
+		}
+		RangeDifference[] differences = RangeDifferencer.findDifferences(new LineComparator(lines), new LineComparator(previous.lines));
+		int line = 0;
+		int previousLine = 0;
+		for (RangeDifference difference : differences) {
+			while (line < difference.leftStart()) {
+				origins[line++] = previous.origins[previousLine++];
+			}
+			for (; line < difference.leftEnd(); line++) {
+				origins[line] = revisionIndex;
+			}
+			previousLine = difference.rightEnd();
+		}
+		while (line < lines.length) {
+			origins[line++] = previous.origins[previousLine++];
+		}
+		return new Blame(lines, origins);
+	}
+
+	private void addBlocks(Blame blame, List<String> revisions, Map<String, ILogEntry> entries, AnnotateListener listener) {
+		int blockStart = 0;
+		for (int i = 1; i <= blame.origins.length; i++) {
+			if (i == blame.origins.length || blame.origins[i] != blame.origins[blockStart]) {
+				String revision = revisions.get(blame.origins[blockStart]);
+				ILogEntry entry = entries.get(revision);
+				listener.addAnnotateBlock(new CVSAnnotateBlock(revision, entry == null ? "" : entry.getAuthor(), blockStart, i - 1)); //$NON-NLS-1$
+				blockStart = i;
+			}
+		}
+	}
+
+	/*
+	 * Return the revisions from the first revision of the file to the given
+	 * revision or <code>null</code> if a revision is missing from the log.
+	 */
+	private List<String> getAncestry(String revision, Map<String, ILogEntry> entries) {
+		LinkedList<String> chain = new LinkedList<>();
+		String current = revision;
+		while (current != null) {
+			if (!entries.containsKey(current))
+				return null;
+			chain.addFirst(current);
+			current = getPredecessor(current, entries);
+		}
+		return chain;
+	}
+
+	/*
+	 * Return the revision the given revision was derived from or
+	 * <code>null</code> if it is the initial revision of the file.
+	 */
+	private String getPredecessor(String revision, Map<String, ILogEntry> entries) {
+		int[] digits = Util.convertToDigits(revision);
+		if (digits.length < 2)
+			return null;
+		if (digits[digits.length - 1] > 1) {
+			digits[digits.length - 1]--;
+			return toRevision(digits, digits.length);
+		}
+		if (digits.length > 2) {
+			// The first revision on a branch derives from the branch point
+			return toRevision(digits, digits.length - 2);
+		}
+		// The first revision of a new trunk major number (e.g. 2.1) derives
+		// from the latest revision of the previous ones
+		String predecessor = null;
+		int[] best = null;
+		for (String candidate : entries.keySet()) {
+			int[] other = Util.convertToDigits(candidate);
+			if (other.length == 2 && other[0] < digits[0] && (best == null || other[0] > best[0] || (other[0] == best[0] && other[1] > best[1]))) {
+				best = other;
+				predecessor = candidate;
+			}
+		}
+		return predecessor;
+	}
+
+	private String toRevision(int[] digits, int length) {
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			if (i > 0)
+				buffer.append('.');
+			buffer.append(digits[i]);
+		}
+		return buffer.toString();
+	}
+
+	private boolean isCached(ILogEntry entry) {
+		ICVSRemoteFile file = entry.getRemoteFile();
+		return file instanceof RemoteFile && ((RemoteFile) file).isContentsCached();
+	}
+
+	private byte[] getContents(ILogEntry entry, IProgressMonitor monitor) throws CVSException {
+		try (InputStream in = entry.getRemoteFile().getContents(monitor)) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw CVSException.wrapException(e);
+		} catch (TeamException e) {
+			throw CVSException.wrapException(e);
+		}
+	}
+
+	/*
+	 * Split the contents into lines without their line terminators and with
+	 * their keywords collapsed. The bytes are mapped one to one to characters
+	 * so that lines compare equal exactly when their bytes are equal, whatever
+	 * the encoding of the file.
+	 */
+	private String[] toLines(byte[] contents) {
+		String text = new String(contents, StandardCharsets.ISO_8859_1);
+		List<String> lines = new ArrayList<>();
+		int start = 0;
+		int length = text.length();
+		while (start < length) {
+			int end = text.indexOf('\n', start);
+			int next;
+			if (end == -1) {
+				end = length;
+				next = length;
+			} else {
+				next = end + 1;
+			}
+			if (end > start && text.charAt(end - 1) == '\r')
+				end--;
+			lines.add(collapseKeywords(text.substring(start, end)));
+			start = next;
+		}
+		return lines.toArray(new String[lines.size()]);
+	}
+
+	/*
+	 * Replace the expanded keywords of a line with their names, e.g.
+	 * $Id: file.txt,v 1.2 ... $ with $Id$
+	 */
+	private String collapseKeywords(String line) {
+		if (line.indexOf('$') == -1)
+			return line;
+		return EXPANDED_KEYWORD.matcher(line).replaceAll("\\$$1\\$"); //$NON-NLS-1$
+	}
+
+	private String getFullPath(ICVSRemoteResource resource) {
+		return Util.appendPath(resource.getRepository().getLocation(false), resource.getRepositoryRelativePath());
+	}
+}
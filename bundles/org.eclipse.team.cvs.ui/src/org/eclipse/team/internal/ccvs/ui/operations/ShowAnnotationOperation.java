@@ -73,12 +73,17 @@ public class ShowAnnotationOperation extends CVSOperation {
 		
 		monitor.beginTask(null, 100);
 
-		// Get the annotations from the repository.
+		final ILogEntry[] logEntries = getLogEntries(Policy.subMonitorFor(monitor, 20));
+
+		// Compute the annotations from cached revisions if possible and
+		// get them from the repository otherwise.
 		final AnnotateListener listener= new AnnotateListener();
-		fetchAnnotation(listener, fCVSResource, fRevision, Policy.subMonitorFor(monitor, 80));
+		if (fBinary || fRevision == null || !LocalAnnotateEngine.getInstance().annotate(fRevision, logEntries, listener, Policy.subMonitorFor(monitor, 10))) {
+			fetchAnnotation(listener, fCVSResource, fRevision, Policy.subMonitorFor(monitor, 70));
+		}
 
 		// this is not needed if there is no live annotate
-		final RevisionInformation information = createRevisionInformation(listener, Policy.subMonitorFor(monitor, 20));
+		final RevisionInformation information = createRevisionInformation(listener, logEntries);
 
 		// Open the view and display it from the UI thread.
 		final Display display= getPart().getSite().getShell().getDisplay();
@@ -185,14 +190,10 @@ public class ShowAnnotationOperation extends CVSOperation {
 		}
 	}
 
-	private RevisionInformation createRevisionInformation(final AnnotateListener listener, IProgressMonitor monitor) throws CVSException {
-		Map<String, ILogEntry> logEntriesByRevision = new HashMap<>();
+	private ILogEntry[] getLogEntries(IProgressMonitor monitor) throws CVSException {
 		if (fCVSResource instanceof ICVSFile) {
 			try {
-				ILogEntry[] logEntries= ((ICVSFile) fCVSResource).getLogEntries(monitor);
-				for (ILogEntry entry : logEntries) {
-					logEntriesByRevision.put(entry.getRevision(), entry);
-				}
+				return ((ICVSFile) fCVSResource).getLogEntries(monitor);
 			} catch (CVSException e) {
 				throw e;
 			} catch (TeamException e) {
@@ -200,6 +201,14 @@ public class ShowAnnotationOperation extends CVSOperation {
 				throw CVSException.wrapException(e);
 			}
 		}
+		return new ILogEntry[0];
+	}
+
+	private RevisionInformation createRevisionInformation(final AnnotateListener listener, ILogEntry[] logEntries) {
+		Map<String, ILogEntry> logEntriesByRevision = new HashMap<>();
+		for (ILogEntry entry : logEntries) {
+			logEntriesByRevision.put(entry.getRevision(), entry);
+		}
 
 		final CommitterColors colors= CommitterColors.getDefault();
 		RevisionInformation info= new RevisionInformation();
@@ -14,7 +14,7 @@
 package org.eclipse.team.internal.ccvs.ui.subscriber;
 
 import java.text.DateFormat;
-import java.util.Date;
+import java.util.*;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -27,6 +27,7 @@ import org.eclipse.team.core.synchronize.SyncInfo;
 import org.eclipse.team.core.synchronize.SyncInfoSet;
 import org.eclipse.team.core.variants.IResourceVariant;
 import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.mapping.CVSCommitIndex;
 import org.eclipse.team.internal.ccvs.core.resources.RemoteResource;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 import org.eclipse.team.internal.ccvs.core.util.Util;
@@ -63,6 +64,14 @@ public class CVSChangeSetCollector extends SyncInfoSetChangeSetCollector impleme
 
 	private LogEntryCache logEntryCache;
 	
+	/*
+	 * Commits reconstructed from the log entries added to this collector
+	 * and the change sets keyed by the commit they were created for
+	 */
+	private final CVSCommitIndex commitIndex = new CVSCommitIndex();
+	private final Map<CVSCommitIndex.Commit, CheckedInChangeSet> commitSets = new HashMap<>();
+	private final Map<ChangeSet, CVSCommitIndex.Commit> setCommits = new HashMap<>();
+	
 	/* *****************************************************************************
 	 * Special sync info that has its kind already calculated.
 	 */
@@ -183,6 +192,23 @@ public class CVSChangeSetCollector extends SyncInfoSetChangeSetCollector impleme
 			}
 	}
 
+	@Override
+	protected void handleSetRemoved(ChangeSet set) {
+		forgetCommit(set);
+		super.handleSetRemoved(set);
+	}
+
+	/*
+	 * Remove the mapping from the commit of the given set to the set
+	 */
+	private void forgetCommit(ChangeSet set) {
+		synchronized (commitSets) {
+			CVSCommitIndex.Commit commit = setCommits.remove(set);
+			if (commit != null)
+				commitSets.remove(commit);
+		}
+	}
+
 	@Override
 	public void reset(SyncInfoSet seedSet) {
 		// Notify that handler to stop any fetches in progress
@@ -190,6 +216,7 @@ public class CVSChangeSetCollector extends SyncInfoSetChangeSetCollector impleme
 		if (handler != null) {
 			handler.stopFetching();
 		}
+		commitIndex.clear();
 		super.reset(seedSet);
 	}
 	
@@ -202,6 +229,7 @@ public class CVSChangeSetCollector extends SyncInfoSetChangeSetCollector impleme
 		if (handler != null) handler.setListener(null);
 		getConfiguration().setProperty(CVSChangeSetCollector.CVS_CHECKED_IN_COLLECTOR, null);
 		logEntryCache = null;
+		commitIndex.clear();
 		super.dispose();
 	}
 	
@@ -326,9 +354,11 @@ public class CVSChangeSetCollector extends SyncInfoSetChangeSetCollector impleme
 			IResourceVariant remote = info.getRemote();
 			if ((base == null && remote != null) || (remote == null && base != null) || (remote != null && base != null && !base.equals(remote))) {
 				synchronized(this) {
-					CheckedInChangeSet set = getChangeSetFor(logEntry);
+					// index the entry before looking up the set of its commit
+					CVSCommitIndex.Commit commit = commitIndex.add(logEntry);
+					CheckedInChangeSet set = getChangeSetFor(commit);
 					if (set == null) {
-						set = createChangeSetFor(logEntry);
+						set = createChangeSetFor(logEntry, commit);
 						add(set);
 					}
 					set.add(info);
@@ -357,20 +387,19 @@ public class CVSChangeSetCollector extends SyncInfoSetChangeSetCollector impleme
 		return new DefaultCheckedInChangeSet(name);
 	}
 
-	private CheckedInChangeSet createChangeSetFor(ILogEntry logEntry) {
-		return new CVSCheckedInChangeSet(logEntry);
+	private CheckedInChangeSet createChangeSetFor(ILogEntry logEntry, CVSCommitIndex.Commit commit) {
+		CheckedInChangeSet set = new CVSCheckedInChangeSet(logEntry);
+		synchronized (commitSets) {
+			commitSets.put(commit, set);
+			setCommits.put(set, commit);
+		}
+		return set;
 	}
 
-	private CheckedInChangeSet getChangeSetFor(ILogEntry logEntry) {
-		ChangeSet[] sets = getSets();
-		for (ChangeSet set : sets) {
-			if (set instanceof CheckedInChangeSet &&
-					set.getComment().equals(logEntry.getComment()) &&
-					((CheckedInChangeSet)set).getAuthor().equals(logEntry.getAuthor())) {
-				return (CheckedInChangeSet)set;
-			}
+	private CheckedInChangeSet getChangeSetFor(CVSCommitIndex.Commit commit) {
+		synchronized (commitSets) {
+			return commitSets.get(commit);
 		}
-		return null;
 	}
 
 	private CheckedInChangeSet getChangeSetFor(String name) {
@@ -80,6 +80,11 @@ public interface IPreferenceIds {
 	 */
 	public static final String SYNCVIEW_REMOVE_FROM_VIEW_NO_PROMPT = PREFIX + "remove_from_view_without_prompt"; //$NON-NLS-1$
 
+	/*
+	 * Preference for the number of refreshes of unrelated participants that may run at once
+	 */
+	public static final String SYNCHRONIZING_REFRESH_PARALLELISM = PREFIX + "synchronizing_refresh_parallelism"; //$NON-NLS-1$
+
 	/*
 	 * Preferences for the Local History Page
 	 */
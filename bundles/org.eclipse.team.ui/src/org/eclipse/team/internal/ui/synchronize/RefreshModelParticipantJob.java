@@ -14,9 +14,13 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ui.synchronize;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.mapping.ResourceMapping;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -37,6 +41,7 @@ import org.eclipse.team.ui.synchronize.ModelSynchronizeParticipant;
 public class RefreshModelParticipantJob extends RefreshParticipantJob {
 
 	private final ResourceMapping[] mappings;
+	private final IResource[] projects;
 	private IProgressMonitor group;
 	private int groupTicks;
 
@@ -69,6 +74,11 @@ public class RefreshModelParticipantJob extends RefreshParticipantJob {
 	public RefreshModelParticipantJob(ISynchronizeParticipant participant, String jobName, String taskName, ResourceMapping[] mappings, IRefreshSubscriberListener listener) {
 		super(participant, jobName, taskName, listener);
 		this.mappings = mappings;
+		Set<IResource> projects = new HashSet<>();
+		for (ResourceMapping mapping : mappings) {
+			Collections.addAll(projects, mapping.getProjects());
+		}
+		this.projects = projects.toArray(new IResource[projects.size()]);
 	}
 
 	@Override
@@ -90,6 +100,11 @@ public class RefreshModelParticipantJob extends RefreshParticipantJob {
 		}
 	}
 
+	@Override
+	protected IResource[] getRefreshRoots() {
+		return projects;
+	}
+
 	@Override
 	protected int getChangeCount() {
 		return ((ModelSynchronizeParticipant)getParticipant()).getContext().getDiffTree().size();
@@ -17,6 +17,7 @@ package org.eclipse.team.internal.ui.synchronize;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -28,7 +29,6 @@ import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
-import org.eclipse.core.runtime.jobs.ILock;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.action.IAction;
@@ -101,9 +101,9 @@ public abstract class RefreshParticipantJob extends Job {
 	private static final int DONE = 2;
 
 	/*
-	 * Lock used to sequence refresh jobs
+	 * Scheduler used to sequence overlapping refresh jobs
 	 */
-	private static final ILock lock = Job.getJobManager().newLock();
+	private static final RefreshScheduler scheduler = new RefreshScheduler();
 
 	/*
 	 * Constant used for postponement
@@ -303,16 +303,21 @@ public abstract class RefreshParticipantJob extends Job {
 				|| isJobInFamilyRunning(ResourcesPlugin.FAMILY_MANUAL_BUILD))) {
 			return POSTPONED;
 		}
-		// Only allow one refresh job at a time
+		// Skip a scheduled refresh if another refresh of the participant
+		// already covers its resources
+		if (shouldReschedule() && scheduler.isCovered(this)) {
+			return Status.OK_STATUS;
+		}
+		// Only allow one refresh job at a time for the same participant or
+		// overlapping resources
 		// NOTE: It would be cleaner if this was done by a scheduling
 		// rule but at the time of writing, it is not possible due to
 		// the scheduling rule containment rules.
-		// Acquiring lock to ensure only one refresh job is running at a particular time
 		boolean acquired = false;
 		try {
 			while (!acquired) {
 				try {
-					acquired = lock.acquire(1000);
+					acquired = scheduler.acquire(this, 1000);
 				} catch (InterruptedException e1) {
 					acquired = false;
 				}
@@ -382,13 +387,23 @@ public abstract class RefreshParticipantJob extends Job {
 			}
 			return event.getStatus();
 		} finally {
-			if (acquired) lock.release();
+			scheduler.release(this);
 			monitor.done();
 		}
 	}
 
 	protected abstract void doRefresh(IChangeDescription changeListener, IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Return the resources covered by this refresh. Refreshes of overlapping
+	 * resources are not run at the same time. By default the refresh covers
+	 * the whole workspace.
+	 * @return the resources covered by this refresh
+	 */
+	protected IResource[] getRefreshRoots() {
+		return new IResource[] { ResourcesPlugin.getWorkspace().getRoot() };
+	}
+
 	/**
 	 * Return the total number of changes covered by the resources
 	 * of this job.
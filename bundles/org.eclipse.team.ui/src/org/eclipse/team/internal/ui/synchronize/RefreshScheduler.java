@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ui.synchronize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.team.internal.ui.IPreferenceIds;
+import org.eclipse.team.internal.ui.TeamUIPlugin;
+
+/**
+ * Sequences the {@link RefreshParticipantJob}s. Refreshes of the same
+ * participant or of overlapping resources run one after another in the order
+ * in which they asked to run, while other refreshes run concurrently up to the
+ * number given by the {@link IPreferenceIds#SYNCHRONIZING_REFRESH_PARALLELISM}
+ * preference.
+ */
+class RefreshScheduler {
+
+	private final List<RefreshParticipantJob> waiting = new ArrayList<>();
+	private final List<RefreshParticipantJob> running = new ArrayList<>();
+
+	/**
+	 * Wait until the given job may run.
+	 * @param job the refresh job
+	 * @param timeout the number of milliseconds to wait
+	 * @return whether the job may run, in which case {@link #release(RefreshParticipantJob)}
+	 * must be called when the job is done
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	synchronized boolean acquire(RefreshParticipantJob job, long timeout) throws InterruptedException {
+		if (!waiting.contains(job)) {
+			waiting.add(job);
+		}
+		long deadline = System.currentTimeMillis() + timeout;
+		while (!canRun(job)) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
+				return false;
+			}
+			wait(remaining);
+		}
+		waiting.remove(job);
+		running.add(job);
+		return true;
+	}
+
+	/**
+	 * Remove the given job, which is either done or no longer waiting to run,
+	 * and let the jobs that were waiting for it continue.
+	 * @param job the refresh job
+	 */
+	synchronized void release(RefreshParticipantJob job) {
+		waiting.remove(job);
+		running.remove(job);
+		notifyAll();
+	}
+
+	/**
+	 * Return whether another refresh of the same participant that covers the
+	 * resources of the given job is running or waiting to run, so that the
+	 * given job would not find anything that the other refresh does not.
+	 * @param job the refresh job
+	 * @return whether the refresh is covered by another refresh
+	 */
+	synchronized boolean isCovered(RefreshParticipantJob job) {
+		return isCovered(job, running) || isCovered(job, waiting);
+	}
+
+	private boolean isCovered(RefreshParticipantJob job, List<RefreshParticipantJob> jobs) {
+		for (RefreshParticipantJob other : jobs) {
+			if (other != job && other.getParticipant() == job.getParticipant() && covers(other.getRefreshRoots(), job.getRefreshRoots())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean canRun(RefreshParticipantJob job) {
+		if (running.size() >= getParallelism()) {
+			return false;
+		}
+		for (RefreshParticipantJob other : running) {
+			if (conflicts(job, other)) {
+				return false;
+			}
+		}
+		// Let overlapping refreshes run in the order they were started
+		for (RefreshParticipantJob other : waiting) {
+			if (other == job) {
+				break;
+			}
+			if (conflicts(job, other)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int getParallelism() {
+		return Math.max(1, TeamUIPlugin.getPlugin().getPreferenceStore().getInt(IPreferenceIds.SYNCHRONIZING_REFRESH_PARALLELISM));
+	}
+
+	private static boolean conflicts(RefreshParticipantJob job, RefreshParticipantJob other) {
+		if (job.getParticipant() == other.getParticipant()) {
+			return true;
+		}
+		for (IResource resource : job.getRefreshRoots()) {
+			IPath path = resource.getFullPath();
+			for (IResource otherResource : other.getRefreshRoots()) {
+				IPath otherPath = otherResource.getFullPath();
+				if (path.isPrefixOf(otherPath) || otherPath.isPrefixOf(path)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean covers(IResource[] roots, IResource[] resources) {
+		for (IResource resource : resources) {
+			boolean covered = false;
+			for (IResource root : roots) {
+				if (root.getFullPath().isPrefixOf(resource.getFullPath())) {
+					covered = true;
+					break;
+				}
+			}
+			if (!covered) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -113,6 +113,11 @@ public class RefreshSubscriberParticipantJob extends RefreshParticipantJob {
 		return super.belongsTo(family);
 	}
 
+	@Override
+	protected IResource[] getRefreshRoots() {
+		return resources;
+	}
+
 	@Override
 	protected void doRefresh(IChangeDescription changeListener, IProgressMonitor monitor) throws TeamException {
 		Subscriber subscriber = getSubscriber();
@@ -35,6 +35,12 @@ public class FileSystemRemoteTree extends ThreeWayRemoteTree {
 		super(subscriber);
 	}
 
+	@Override
+	protected int getRefreshParallelism() {
+		// Listing the folders of the file system is safe to do concurrently
+		return 4;
+	}
+
 	@Override
 	protected IResourceVariant[] fetchMembers(IResourceVariant variant, IProgressMonitor progress) {
 		return ((FileSystemResourceVariant)variant).members();
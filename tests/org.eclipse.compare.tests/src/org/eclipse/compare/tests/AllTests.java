@@ -27,11 +27,17 @@ import org.junit.runners.Suite.SuiteClasses;
 	LineReaderTest.class,
 	StreamMergerTest.class,
 	DocLineComparatorTest.class,
+	DocumentMergerTest.class,
+	TokenRangeDifferencerTest.class,
+	BinaryDifferencesTest.class,
+	LineIndexTest.class,
+	ContentDigestCacheTest.class,
 	FilterTest.class,
 	PatchTest.class,
 	PatchBuilderTest.class,
 	AsyncExecTests.class,
 	DiffTest.class,
+	DifferencerTest.class,
 	FileDiffResultTest.class,
 	ContentMergeViewerTest.class,
 	PatchLinesTest.class,
@@ -39,6 +45,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	RangeDifferencerThreeWayDiffTest.class,
 	CompareUIPluginTest.class,
 	StructureCreatorTest.class,
+	StructureDiffViewerTest.class,
 	CompareFileRevisionEditorInputTest.class})
 public class AllTests {
 	// test suite
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.eclipse.compare.internal.BinaryDifferences;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.Test;
+
+public class BinaryDifferencesTest {
+
+	private static final int MAX_RANGES = 1000;
+
+	private static BinaryDifferences compute(byte[] left, byte[] right, int maxRanges) throws IOException {
+		return BinaryDifferences.compute(new ByteArrayInputStream(left), new ByteArrayInputStream(right), maxRanges);
+	}
+
+	private static byte[] createBytes(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++)
+			bytes[i] = (byte) i;
+		return bytes;
+	}
+
+	@Test
+	public void testEqual() throws IOException {
+		byte[] bytes = createBytes(200000);
+		BinaryDifferences differences = compute(bytes, bytes.clone(), MAX_RANGES);
+		assertTrue(differences.isEmpty());
+		assertEquals(-1, differences.getFirstDifference());
+		assertEquals(200000, differences.getLeftLength());
+		assertEquals(200000, differences.getRightLength());
+	}
+
+	@Test
+	public void testRanges() throws IOException {
+		byte[] left = createBytes(200000);
+		byte[] right = createBytes(200005);
+		left[3] = left[4] = -1;
+		right[70000] = -1;
+		left[70001] = -1;
+		// a range across the chunks that are compared
+		left[131071] = left[131072] = -1;
+
+		BinaryDifferences differences = compute(left, right, 2);
+		assertEquals(3, differences.getFirstDifference());
+		assertEquals(4, differences.getRangeCount());
+		assertEquals(11, differences.getDifferentBytes());
+		assertEquals(2, differences.getKeptRangeCount());
+		assertEquals(3, differences.getRangeOffset(0));
+		assertEquals(2, differences.getRangeLength(0));
+		assertEquals(70000, differences.getRangeOffset(1));
+		assertEquals(2, differences.getRangeLength(1));
+
+		differences = compute(left, right, MAX_RANGES);
+		assertEquals(4, differences.getKeptRangeCount());
+		assertEquals(131071, differences.getRangeOffset(2));
+		assertEquals(2, differences.getRangeLength(2));
+		// the end of the longer stream
+		assertEquals(200000, differences.getRangeOffset(3));
+		assertEquals(5, differences.getRangeLength(3));
+	}
+
+	@Test
+	public void testEmptyStream() throws IOException {
+		BinaryDifferences differences = compute(createBytes(300000), new byte[0], MAX_RANGES);
+		assertEquals(1, differences.getRangeCount());
+		assertEquals(0, differences.getFirstDifference());
+		assertEquals(300000, differences.getDifferentBytes());
+		assertEquals(300000, differences.getLeftLength());
+		assertEquals(0, differences.getRightLength());
+	}
+
+	@Test
+	public void testFindFirstDifference() throws IOException {
+		byte[] left = createBytes(200000);
+		byte[] right = left.clone();
+		assertEquals(-1, BinaryDifferences.findFirstDifference(new ByteArrayInputStream(left), new ByteArrayInputStream(right)));
+		right[131075] = -1;
+		right[150000] = -1;
+		assertEquals(131075, BinaryDifferences.findFirstDifference(new ByteArrayInputStream(left), new ByteArrayInputStream(right)));
+		// the shorter stream ends first
+		assertEquals(70000, BinaryDifferences.findFirstDifference(new ByteArrayInputStream(left), new ByteArrayInputStream(left, 0, 70000)));
+	}
+
+	@Test
+	public void testCanceled() throws IOException {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			BinaryDifferences.compute(new ByteArrayInputStream(createBytes(10)), new ByteArrayInputStream(new byte[0]), MAX_RANGES, monitor);
+			fail("The comparison should have been canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.eclipse.compare.internal.core.ContentDigestCache;
+import org.junit.Test;
+
+public class ContentDigestCacheTest {
+
+	/*
+	 * A stream that counts the bytes that were read from it
+	 */
+	private static class CountingStream extends ByteArrayInputStream {
+		int count;
+
+		CountingStream(byte[] bytes) {
+			super(bytes);
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			int read = super.read(b, off, len);
+			if (read > 0)
+				count += read;
+			return read;
+		}
+	}
+
+	private static byte[] bytes(int length, int first) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++)
+			bytes[i] = (byte) i;
+		bytes[0] = (byte) first;
+		return bytes;
+	}
+
+	@Test
+	public void testEqual() throws IOException {
+		ContentDigestCache cache = new ContentDigestCache(10);
+		assertTrue(cache.contentsEqual(new CountingStream(bytes(100000, 0)), "a", new CountingStream(bytes(100000, 0)), "b")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull(cache.get("a")); //$NON-NLS-1$
+		assertNotNull(cache.get("b")); //$NON-NLS-1$
+		assertEquals(ContentDigestCache.EQUAL, cache.compare("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testStopAtDifference() throws IOException {
+		ContentDigestCache cache = new ContentDigestCache(10);
+		CountingStream is1 = new CountingStream(bytes(100000, 1));
+		CountingStream is2 = new CountingStream(bytes(100000, 2));
+		assertFalse(cache.contentsEqual(is1, "a", is2, "b")); //$NON-NLS-1$ //$NON-NLS-2$
+		// Only the first block is read and no digest is recorded for partly read streams
+		assertTrue(is1.count < 100000);
+		assertTrue(is2.count < 100000);
+		assertNull(cache.get("a")); //$NON-NLS-1$
+		assertNull(cache.get("b")); //$NON-NLS-1$
+		assertEquals(ContentDigestCache.UNKNOWN, cache.compare("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testSmallDifference() throws IOException {
+		ContentDigestCache cache = new ContentDigestCache(10);
+		assertFalse(cache.contentsEqual(new CountingStream(bytes(10, 1)), "a", new CountingStream(bytes(10, 2)), "b")); //$NON-NLS-1$ //$NON-NLS-2$
+		// Small contents are read to their end anyway
+		assertEquals(ContentDigestCache.DIFFERENT, cache.compare("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testLengths() throws IOException {
+		ContentDigestCache cache = new ContentDigestCache(10);
+		assertEquals(ContentDigestCache.DIFFERENT, cache.compare(null, 10, null, 11));
+		assertEquals(ContentDigestCache.UNKNOWN, cache.compare(null, 10, null, 10));
+		assertEquals(ContentDigestCache.UNKNOWN, cache.compare("a", 10, "b", -1)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		cache.contentsEqual(new CountingStream(bytes(10, 0)), "a", new CountingStream(bytes(10, 0)), null); //$NON-NLS-1$
+		// The length of a known digest is compared to the length of unknown contents
+		assertEquals(ContentDigestCache.DIFFERENT, cache.compare("a", -1, "b", 11)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(ContentDigestCache.UNKNOWN, cache.compare("a", -1, "b", 10)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.internal.core.ContentDigestCache;
+import org.eclipse.compare.structuremergeviewer.Differencer;
+import org.eclipse.compare.structuremergeviewer.IStructureComparator;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.swt.graphics.Image;
+import org.junit.Test;
+
+public class DifferencerTest {
+
+	private static class Element implements IStructureComparator, ITypedElement, IStreamContentAccessor {
+		private final String name;
+		private final String contents;
+		private final List<Element> children;
+		int reads;
+
+		Element(String name, String contents) {
+			this.name = name;
+			this.contents = contents;
+			this.children = contents == null ? new ArrayList<>() : null;
+		}
+
+		Element add(Element child) {
+			children.add(child);
+			return this;
+		}
+
+		@Override
+		public Object[] getChildren() {
+			return children == null ? null : children.toArray();
+		}
+
+		@Override
+		public InputStream getContents() {
+			reads++;
+			return contents == null ? null : new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public Image getImage() {
+			return null;
+		}
+
+		@Override
+		public String getType() {
+			return children == null ? "txt" : FOLDER_TYPE; //$NON-NLS-1$
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Element && ((Element) obj).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+	}
+
+	/*
+	 * Records the visited differences as indented lines
+	 */
+	private static class RecordingDifferencer extends Differencer {
+		final StringBuilder result = new StringBuilder();
+
+		@Override
+		protected Object visit(Object data, int code, Object ancestor, Object left, Object right) {
+			int depth = data == null ? 0 : ((Integer) data).intValue();
+			Object element = left != null ? left : right != null ? right : ancestor;
+			for (int i = 0; i < depth; i++)
+				result.append(' ');
+			result.append(((ITypedElement) element).getName()).append(':').append(code).append('\n');
+			return Integer.valueOf(depth + 1);
+		}
+	}
+
+	private Element createTree(String name, int depth, int width, int variant) {
+		Element folder = new Element(name, null);
+		for (int i = 0; i < width; i++) {
+			String childName = name + "/" + i; //$NON-NLS-1$
+			if (depth > 0) {
+				folder.add(createTree(childName, depth - 1, width, variant));
+			} else if ((i + variant) % 7 != 0) {
+				// Drop some files and change the contents of others
+				folder.add(new Element(childName, (i + variant) % 5 == 0 ? "changed" + variant : "same")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return folder;
+	}
+
+	private String findDifferences(boolean parallel, boolean threeWay, Object ancestor, Object left, Object right) {
+		RecordingDifferencer differencer = new RecordingDifferencer();
+		differencer.setParallel(parallel);
+		differencer.findDifferences(threeWay, new NullProgressMonitor(), null, ancestor, left, right);
+		return differencer.result.toString();
+	}
+
+	@Test
+	public void testParallelTwoWay() {
+		Element left = createTree("root", 3, 6, 1); //$NON-NLS-1$
+		Element right = createTree("root", 3, 6, 2); //$NON-NLS-1$
+		String sequential = findDifferences(false, false, null, left, right);
+		assertTrue(sequential.length() > 0);
+		assertEquals(sequential, findDifferences(true, false, null, left, right));
+	}
+
+	@Test
+	public void testParallelThreeWay() {
+		Element ancestor = createTree("root", 2, 8, 0); //$NON-NLS-1$
+		Element left = createTree("root", 2, 8, 1); //$NON-NLS-1$
+		Element right = createTree("root", 2, 8, 3); //$NON-NLS-1$
+		String sequential = findDifferences(false, true, ancestor, left, right);
+		assertTrue(sequential.length() > 0);
+		assertEquals(sequential, findDifferences(true, true, ancestor, left, right));
+	}
+
+	@Test
+	public void testDigestCache() {
+		ContentDigestCache.setDefault(new ContentDigestCache(ContentDigestCache.DEFAULT_MAX_ENTRIES));
+		try {
+			Element left = new Element("root", null).add(new Element("a", "same")).add(new Element("b", "left")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			Element right = new Element("root", null).add(new Element("a", "same")).add(new Element("b", "right")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			RecordingDifferencer differencer = new RecordingDifferencer() {
+				@Override
+				protected String getDigestKey(Object input) {
+					Element element = (Element) input;
+					return (element == left.children.get(0) || element == left.children.get(1) ? "left/" : "right/") + element.name; //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			};
+			differencer.findDifferences(false, null, null, null, left, right);
+			String first = differencer.result.toString();
+			differencer.result.setLength(0);
+			differencer.findDifferences(false, null, null, null, left, right);
+			assertEquals(first, differencer.result.toString());
+			// The second compare is answered from the digests
+			for (Element child : left.children)
+				assertEquals(1, child.reads);
+			for (Element child : right.children)
+				assertEquals(1, child.reads);
+		} finally {
+			ContentDigestCache.setDefault(null);
+		}
+	}
+
+	@Test
+	public void testNoDifferences() {
+		Element left = createTree("root", 2, 4, 1); //$NON-NLS-1$
+		Element right = createTree("root", 2, 4, 1); //$NON-NLS-1$
+		assertEquals("", findDifferences(true, false, null, left, right)); //$NON-NLS-1$
+	}
+}
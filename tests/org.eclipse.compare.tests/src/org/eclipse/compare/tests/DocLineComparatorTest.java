@@ -334,4 +334,44 @@ public class DocLineComparatorTest {
 		Assert.assertEquals(comp1.getRangeCount(), comp2.getRangeCount());
 	}
 
+	@Test
+	public void testEditedDocument() throws BadLocationException {
+		IDocument doc1 = new Document();
+		doc1.set("line1\nline2\nline3"); //$NON-NLS-1$
+
+		IDocument doc2 = new Document();
+		doc2.set("line1\nline2\nline3"); //$NON-NLS-1$
+
+		IRangeComparator comp1 = new DocLineComparator(doc1, null, false);
+		IRangeComparator comp2 = new DocLineComparator(doc2, null, false);
+		Assert.assertTrue(comp1.rangesEqual(1, comp2, 1));
+
+		doc1.replace(6, 5, "lineX"); //$NON-NLS-1$
+		Assert.assertFalse(comp1.rangesEqual(1, comp2, 1));
+
+		comp1 = new DocLineComparator(doc1, null, false);
+		Assert.assertFalse(comp1.rangesEqual(1, comp2, 1));
+		Assert.assertTrue(comp1.rangesEqual(2, comp2, 2));
+
+		doc1.replace(6, 5, "line2"); //$NON-NLS-1$
+		comp1 = new DocLineComparator(doc1, null, false);
+		Assert.assertTrue(comp1.rangesEqual(1, comp2, 1));
+	}
+
+	@Test
+	public void testRegion() {
+		IDocument doc1 = new Document();
+		doc1.set("line1\nline2\nline3"); //$NON-NLS-1$
+
+		IDocument doc2 = new Document();
+		doc2.set("line2\nline3"); //$NON-NLS-1$
+
+		IRangeComparator comp1 = new DocLineComparator(doc1, new Region(6, 11), false);
+		IRangeComparator comp2 = new DocLineComparator(doc2, null, false);
+
+		Assert.assertEquals(2, comp1.getRangeCount());
+		Assert.assertTrue(comp1.rangesEqual(0, comp2, 0));
+		Assert.assertTrue(comp1.rangesEqual(1, comp2, 1));
+		Assert.assertFalse(comp1.rangesEqual(0, comp2, 1));
+	}
 }
@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Iterator;
+
+import org.eclipse.compare.CompareConfiguration;
+import org.eclipse.compare.contentmergeviewer.ITokenComparator;
+import org.eclipse.compare.contentmergeviewer.TokenComparator;
+import org.eclipse.compare.internal.CompareUIPlugin;
+import org.eclipse.compare.internal.MergeViewerContentProvider;
+import org.eclipse.compare.internal.merge.DocumentMerger;
+import org.eclipse.compare.internal.merge.DocumentMerger.Diff;
+import org.eclipse.compare.internal.merge.DocumentMerger.IDocumentMergerInput;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+import org.junit.Test;
+
+public class DocumentMergerTest {
+
+	private static final String DIFF_RANGE_CATEGORY = CompareUIPlugin.PLUGIN_ID + ".DIFF_RANGE_CATEGORY"; //$NON-NLS-1$
+
+	private static class MergerInput implements IDocumentMergerInput {
+		final IDocument ancestor;
+		final IDocument left;
+		final IDocument right;
+		final CompareConfiguration configuration = new CompareConfiguration();
+		IDocumentListener listener;
+
+		MergerInput(String ancestor, String left, String right) {
+			this.ancestor = ancestor == null ? null : createDocument(ancestor);
+			this.left = createDocument(left);
+			this.right = createDocument(right);
+		}
+
+		private static IDocument createDocument(String contents) {
+			Document document = new Document(contents);
+			// Like the viewer, keep the diff positions even if their text is replaced
+			document.addPositionUpdater(new DefaultPositionUpdater(DIFF_RANGE_CATEGORY) {
+				@Override
+				protected boolean notDeleted() {
+					return true;
+				}
+			});
+			return document;
+		}
+
+		@Override
+		public IDocument getDocument(char contributor) {
+			switch (contributor) {
+			case MergeViewerContentProvider.ANCESTOR_CONTRIBUTOR:
+				return ancestor;
+			case MergeViewerContentProvider.LEFT_CONTRIBUTOR:
+				return left;
+			case MergeViewerContentProvider.RIGHT_CONTRIBUTOR:
+				return right;
+			default:
+				return null;
+			}
+		}
+
+		@Override
+		public Position getRegion(char contributor) {
+			return null;
+		}
+
+		@Override
+		public boolean isIgnoreAncestor() {
+			return false;
+		}
+
+		@Override
+		public boolean isThreeWay() {
+			return ancestor != null;
+		}
+
+		@Override
+		public CompareConfiguration getCompareConfiguration() {
+			return configuration;
+		}
+
+		@Override
+		public ITokenComparator createTokenComparator(String s) {
+			return new TokenComparator(s);
+		}
+
+		@Override
+		public boolean isHunkOnLeft() {
+			return false;
+		}
+
+		@Override
+		public int getHunkStart() {
+			return 0;
+		}
+
+		@Override
+		public boolean isPatchHunk() {
+			return false;
+		}
+
+		@Override
+		public boolean isShowPseudoConflicts() {
+			return false;
+		}
+
+		@Override
+		public boolean isPatchHunkOk() {
+			return false;
+		}
+	}
+
+	private static String lines(String... lines) {
+		StringBuilder buffer = new StringBuilder();
+		for (String line : lines)
+			buffer.append(line).append('\n');
+		return buffer.toString();
+	}
+
+	private static DocumentMerger createMerger(MergerInput input) throws Exception {
+		DocumentMerger merger = new DocumentMerger(input);
+		IDocumentListener listener = input.listener = new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				// nothing to do
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				IDocument doc = event.getDocument();
+				char contributor = doc == input.left ? MergeViewerContentProvider.LEFT_CONTRIBUTOR
+						: doc == input.right ? MergeViewerContentProvider.RIGHT_CONTRIBUTOR
+								: MergeViewerContentProvider.ANCESTOR_CONTRIBUTOR;
+				merger.documentChanged(contributor, event);
+			}
+		};
+		input.left.addDocumentListener(listener);
+		input.right.addDocumentListener(listener);
+		if (input.ancestor != null)
+			input.ancestor.addDocumentListener(listener);
+		merger.doDiff();
+		return merger;
+	}
+
+	/*
+	 * Describes the diffs of the given merger
+	 */
+	private static String describe(DocumentMerger merger) {
+		StringBuilder buffer = new StringBuilder();
+		for (Iterator<Diff> iterator = merger.rangesIterator(); iterator.hasNext();) {
+			Diff diff = iterator.next();
+			buffer.append(diff.getKind());
+			for (char contributor : new char[] { MergeViewerContentProvider.ANCESTOR_CONTRIBUTOR,
+					MergeViewerContentProvider.LEFT_CONTRIBUTOR, MergeViewerContentProvider.RIGHT_CONTRIBUTOR }) {
+				Position position = diff.getPosition(contributor);
+				if (position != null)
+					buffer.append(' ').append(position.getOffset()).append(',').append(position.getLength());
+			}
+			if (diff.hasChildren()) {
+				for (Iterator<Diff> children = diff.childIterator(); children.hasNext();) {
+					Position position = children.next().getPosition(MergeViewerContentProvider.LEFT_CONTRIBUTOR);
+					buffer.append(" [").append(position.getOffset()).append(',').append(position.getLength()).append(']'); //$NON-NLS-1$
+				}
+			}
+			buffer.append('\n');
+		}
+		buffer.append("changes=").append(merger.changesCount()); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	/*
+	 * Asserts that the diffs of the given merger are the ones of a full diff
+	 */
+	private static void assertFullDiff(MergerInput input, DocumentMerger merger) throws Exception {
+		MergerInput copy = new MergerInput(input.ancestor == null ? null : input.ancestor.get(), input.left.get(), input.right.get());
+		DocumentMerger full = new DocumentMerger(copy);
+		full.doDiff();
+		assertEquals(describe(full), describe(merger));
+	}
+
+	private static void replaceLine(IDocument doc, int line, String text) throws BadLocationException {
+		doc.replace(doc.getLineOffset(line), doc.getLineLength(line) - 1, text);
+	}
+
+	@Test
+	public void testIncrementalTwoWay() throws Exception {
+		MergerInput input = new MergerInput(null,
+				lines("a", "b", "c", "X", "e", "f", "g", "h", "i", "Y", "k", "l", "m", "n", "Z", "p"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$ //$NON-NLS-13$ //$NON-NLS-14$ //$NON-NLS-15$ //$NON-NLS-16$
+				lines("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l", "m", "n", "o", "p")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$ //$NON-NLS-13$ //$NON-NLS-14$ //$NON-NLS-15$ //$NON-NLS-16$
+		DocumentMerger merger = createMerger(input);
+		assertEquals(3, merger.changesCount());
+		Diff first = merger.rangesIterator().next();
+
+		// Resolve the middle change by editing the left side
+		replaceLine(input.left, 9, "j"); //$NON-NLS-1$
+		merger.doDiff();
+		assertEquals(2, merger.changesCount());
+		assertFullDiff(input, merger);
+		// Diffs outside of the changed window are kept
+		assertSame(first, merger.rangesIterator().next());
+
+		// Add a change within unchanged lines and extend the last one
+		replaceLine(input.right, 7, "H"); //$NON-NLS-1$
+		input.right.replace(input.right.getLineOffset(14), 0, "o2\n"); //$NON-NLS-1$
+		merger.doDiff();
+		assertEquals(3, merger.changesCount());
+		assertFullDiff(input, merger);
+
+		// Changes at the start and the end of the documents
+		input.left.replace(0, 0, "start\n"); //$NON-NLS-1$
+		input.right.replace(input.right.getLength(), 0, "end\n"); //$NON-NLS-1$
+		merger.doDiff();
+		assertFullDiff(input, merger);
+	}
+
+	@Test
+	public void testIncrementalThreeWay() throws Exception {
+		MergerInput input = new MergerInput(
+				lines("a", "b", "c", "d", "e", "f", "g", "h", "i", "j"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+				lines("a", "B", "c", "d", "e", "f", "g", "H", "i", "j"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+				lines("a", "b", "c", "d", "E", "f", "g", "h", "i", "j")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+		DocumentMerger merger = createMerger(input);
+		assertEquals(3, merger.changesCount());
+
+		// Turn the right change into a conflict
+		replaceLine(input.left, 4, "e2"); //$NON-NLS-1$
+		merger.doDiff();
+		assertFullDiff(input, merger);
+
+		// Delete lines across a change
+		input.left.replace(input.left.getLineOffset(6), input.left.getLineOffset(9) - input.left.getLineOffset(6), ""); //$NON-NLS-1$
+		merger.doDiff();
+		assertFullDiff(input, merger);
+	}
+
+	@Test
+	public void testUnrecordedChange() throws Exception {
+		MergerInput input = new MergerInput(null, lines("a", "b", "c", "d"), lines("a", "B", "c", "d")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+		DocumentMerger merger = createMerger(input);
+		Diff first = merger.rangesIterator().next();
+		// A change to a document that is not reported results in a full diff
+		input.right.removeDocumentListener(input.listener);
+		replaceLine(input.right, 3, "D"); //$NON-NLS-1$
+		replaceLine(input.left, 0, "A"); //$NON-NLS-1$
+		merger.doDiff();
+		assertNotSame(first, merger.rangesIterator().next());
+		assertFullDiff(input, merger);
+	}
+}
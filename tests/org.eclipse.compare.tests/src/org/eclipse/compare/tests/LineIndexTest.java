@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.compare.internal.DocLineComparator;
+import org.eclipse.compare.internal.core.LineIndex;
+import org.eclipse.jface.text.Document;
+import org.junit.Test;
+
+public class LineIndexTest {
+
+	@Test
+	public void testLines() {
+		LineIndex index = LineIndex.get("a\nbc\r\n\rd"); //$NON-NLS-1$
+		assertEquals(4, index.getLineCount());
+		assertEquals("a", index.getLine(0)); //$NON-NLS-1$
+		assertEquals("bc", index.getLine(1)); //$NON-NLS-1$
+		assertEquals("", index.getLine(2)); //$NON-NLS-1$
+		assertEquals("d", index.getLine(3)); //$NON-NLS-1$
+		assertEquals(2, index.getLineOffset(1));
+		assertEquals(6, index.getLineOffset(2));
+		assertEquals("bc".hashCode(), index.getLineHash(1)); //$NON-NLS-1$
+		assertFalse(index.endsWithLineSeparator());
+
+		index = LineIndex.get("a\n"); //$NON-NLS-1$
+		assertEquals(2, index.getLineCount());
+		assertTrue(index.endsWithLineSeparator());
+		assertEquals(1, LineIndex.get("").getLineCount()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testShared() {
+		String text = "x\ny\n"; //$NON-NLS-1$
+		LineIndex index = LineIndex.get(text);
+		assertSame(index, LineIndex.get(new String(text)));
+		assertTrue(index.lineEquals(0, LineIndex.get("z\nx"), 1)); //$NON-NLS-1$
+		assertFalse(index.lineEquals(0, index, 1));
+	}
+
+	@Test
+	public void testDocumentChange() {
+		Document left = new Document("a\nb\nc\n"); //$NON-NLS-1$
+		Document right = new Document("a\nx\nc\n"); //$NON-NLS-1$
+		DocLineComparator l = new DocLineComparator(left, null, false);
+		DocLineComparator r = new DocLineComparator(right, null, false);
+		assertTrue(l.rangesEqual(0, r, 0));
+		assertFalse(l.rangesEqual(1, r, 1));
+		assertEquals(4, l.getTokenStart(2));
+
+		right.set("a\nb\nc\n"); //$NON-NLS-1$
+		r = new DocLineComparator(right, null, false);
+		assertTrue(l.rangesEqual(1, r, 1));
+		left.set("aa\nb\nc\n"); //$NON-NLS-1$
+		assertEquals(5, l.getTokenStart(2));
+	}
+}
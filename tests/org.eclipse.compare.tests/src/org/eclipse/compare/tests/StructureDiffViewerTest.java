@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+
+import org.eclipse.compare.CompareConfiguration;
+import org.eclipse.compare.ISharedDocumentAdapter;
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.internal.CompareContainer;
+import org.eclipse.compare.structuremergeviewer.*;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.operation.IRunnableWithProgress;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.PlatformUI;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StructureDiffViewerTest {
+
+	private static class Element implements ITypedElement, IStreamContentAccessor {
+		private final String contents;
+
+		Element(String contents) {
+			this.contents = contents;
+		}
+
+		@Override
+		public Image getImage() {
+			return null;
+		}
+
+		@Override
+		public String getName() {
+			return "test";
+		}
+
+		@Override
+		public String getType() {
+			return TEXT_TYPE;
+		}
+
+		@Override
+		public InputStream getContents() {
+			return new ByteArrayInputStream(contents.getBytes());
+		}
+	}
+
+	private static class CountingCreator extends StructureCreator {
+		int built;
+		int disposed;
+
+		@Override
+		public String getName() {
+			return "counting";
+		}
+
+		@Override
+		public String getContents(Object node, boolean ignoreWhitespace) {
+			return ((DocumentRangeNode) node).getDocument().get();
+		}
+
+		@Override
+		protected IStructureComparator createStructureComparator(Object element, IDocument document,
+				ISharedDocumentAdapter sharedDocumentAdapter, IProgressMonitor monitor) {
+			built++;
+			return new StructureRootNode(document, element, this, sharedDocumentAdapter) {
+				@Override
+				public void dispose() {
+					disposed++;
+					super.dispose();
+				}
+			};
+		}
+	}
+
+	private CountingCreator creator;
+	private StructureDiffViewer viewer;
+
+	@Before
+	public void setUp() {
+		Shell shell = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell();
+		CompareConfiguration configuration = new CompareConfiguration();
+		// diff in the calling thread so that the viewer is idle when it is disposed
+		configuration.setContainer(new CompareContainer() {
+			@Override
+			public synchronized void runAsynchronously(IRunnableWithProgress runnable) {
+				try {
+					runnable.run(new NullProgressMonitor());
+				} catch (InvocationTargetException | InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		creator = new CountingCreator();
+		viewer = new StructureDiffViewer(shell, configuration);
+		viewer.setStructureCreator(creator);
+	}
+
+	@After
+	public void tearDown() {
+		if (!viewer.getControl().isDisposed())
+			viewer.getControl().dispose();
+	}
+
+	@Test
+	public void testStructureFromCache() {
+		viewer.setInput(new DiffNode(new Element("a\nb\n"), new Element("a\nc\n")));
+		assertEquals(2, creator.built);
+
+		// other elements with the same contents reuse the structures
+		viewer.setInput(new DiffNode(new Element("a\nb\n"), new Element("a\nc\n")));
+		assertEquals(2, creator.built);
+		viewer.setInput(new DiffNode(new Element("x\n"), new Element("y\n")));
+		viewer.setInput(new DiffNode(new Element("a\nb\n"), new Element("a\nc\n")));
+		assertEquals(4, creator.built);
+		assertEquals(0, creator.disposed);
+
+		// the cached structures are destroyed with the viewer
+		viewer.getControl().dispose();
+		assertEquals(4, creator.disposed);
+	}
+
+	@Test
+	public void testEvictedStructuresDisposed() {
+		for (int i = 0; i < 13; i++) {
+			viewer.setInput(new DiffNode(new Element("left" + i), new Element("right" + i)));
+		}
+		assertEquals(26, creator.built);
+		// the two oldest structures left the cache and are no longer shown
+		assertEquals(2, creator.disposed);
+
+		viewer.setInput(new DiffNode(new Element("left0"), new Element("right0")));
+		assertEquals(28, creator.built);
+		viewer.getControl().dispose();
+		assertEquals(28, creator.disposed);
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.compare.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.compare.contentmergeviewer.TokenComparator;
+import org.eclipse.compare.internal.merge.TokenRangeDifferencer;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+import org.junit.Test;
+
+public class TokenRangeDifferencerTest {
+
+	private static String describe(RangeDifference[] differences) {
+		StringBuilder buffer = new StringBuilder();
+		for (RangeDifference es : differences) {
+			buffer.append(es.kind()).append(' ')
+					.append(es.ancestorStart()).append(',').append(es.ancestorLength()).append(' ')
+					.append(es.leftStart()).append(',').append(es.leftLength()).append(' ')
+					.append(es.rightStart()).append(',').append(es.rightLength()).append('\n');
+		}
+		return buffer.toString();
+	}
+
+	private static void assertSameRanges(String a, String l, String r) {
+		TokenComparator ta = a == null ? null : new TokenComparator(a);
+		TokenComparator tl = new TokenComparator(l);
+		TokenComparator tr = new TokenComparator(r);
+		assertEquals(describe(RangeDifferencer.findRanges(ta, tl, tr)),
+				describe(TokenRangeDifferencer.findRanges(ta, tl, tr, true)));
+	}
+
+	/*
+	 * Returns a line of the given number of words
+	 */
+	private static String createLine(int words, int changedWord, String change) {
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0)
+				buffer.append(' ');
+			buffer.append(i == changedWord ? change : "w"); //$NON-NLS-1$
+		}
+		return buffer.toString();
+	}
+
+	@Test
+	public void testSameAsRangeDifferencer() {
+		assertSameRanges(null, "int a = b + c;", "int a = b - c;"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSameRanges(null, "foo(1, 2)", "bar(1, 2, 3)"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSameRanges(null, "same", "same"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSameRanges(null, "x", "x y"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSameRanges("a b c d", "a B c d", "a b c D"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertSameRanges("a b c d", "a x c d", "a y c d"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertSameRanges("a b", "a b", "a b"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testLongLineTwoWay() {
+		String left = createLine(40000, 10, "x"); //$NON-NLS-1$
+		String right = createLine(40000, 39990, "y"); //$NON-NLS-1$
+		TokenComparator tl = new TokenComparator(left);
+		TokenComparator tr = new TokenComparator(right);
+		RangeDifference[] differences = TokenRangeDifferencer.findRanges(null, tl, tr, true);
+
+		// the common start and end are matched, the rest is a single change
+		assertEquals(3, differences.length);
+		assertEquals(RangeDifference.NOCHANGE, differences[0].kind());
+		assertEquals(20, differences[0].leftLength());
+		assertEquals(RangeDifference.CHANGE, differences[1].kind());
+		assertEquals(20, differences[1].leftStart());
+		assertEquals(tl.getRangeCount() - 38, differences[1].leftLength());
+		assertEquals(RangeDifference.NOCHANGE, differences[2].kind());
+		assertEquals(18, differences[2].rightLength());
+		assertEquals(tr.getRangeCount(), differences[2].rightEnd());
+	}
+
+	@Test
+	public void testLongLineThreeWay() {
+		String ancestor = createLine(40000, -1, null);
+		TokenComparator ta = new TokenComparator(ancestor);
+		TokenComparator tl = new TokenComparator(createLine(40000, 10, "x") + " z"); //$NON-NLS-1$ //$NON-NLS-2$
+		TokenComparator tr = new TokenComparator(ancestor);
+		RangeDifference[] differences = TokenRangeDifferencer.findRanges(ta, tl, tr, true);
+		assertEquals(2, differences.length);
+		assertEquals(RangeDifference.NOCHANGE, differences[0].kind());
+		assertEquals(RangeDifference.LEFT, differences[1].kind());
+		assertEquals(tl.getRangeCount(), differences[1].leftEnd());
+		assertEquals(ta.getRangeCount(), differences[1].ancestorEnd());
+
+		// small lines are still diffed exactly
+		ta = new TokenComparator("a b c"); //$NON-NLS-1$
+		tl = new TokenComparator("a x c"); //$NON-NLS-1$
+		tr = new TokenComparator("a b c"); //$NON-NLS-1$
+		assertEquals(describe(RangeDifferencer.findRanges(ta, tl, tr)),
+				describe(TokenRangeDifferencer.findRanges(ta, tl, tr, true)));
+	}
+}
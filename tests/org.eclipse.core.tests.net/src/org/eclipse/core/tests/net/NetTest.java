@@ -328,6 +328,33 @@ public class NetTest {
 		this.getProxyManager().setNonProxiedHosts(oldHosts);
 	}
 
+	@Test
+	public void testProxyDataForHostAfterChange() throws CoreException {
+		setDataTest(IProxyData.HTTP_PROXY_TYPE);
+		setDataTest(IProxyData.HTTPS_PROXY_TYPE);
+		setDataTest(IProxyData.SOCKS_PROXY_TYPE);
+
+		String[] oldHosts = this.getProxyManager().getNonProxiedHosts();
+		this.getProxyManager().setNonProxiedHosts(new String[] { "*cached.com" });
+
+		IProxyData[] allData = this.getProxyManager().getProxyDataForHost("www.cached.com");
+		assertEquals(0, allData.length);
+		allData = this.getProxyManager().getProxyDataForHost("www.randomhot.com");
+		assertEquals(3, allData.length);
+
+		// the returned data may be modified without affecting later results
+		String host = allData[0].getHost();
+		allData[0].setHost("modified.com");
+		assertEquals(host, this.getProxyManager().getProxyDataForHost("www.randomhot.com")[0].getHost());
+
+		// changing the configuration is reflected by hosts that have been selected before
+		this.getProxyManager().setNonProxiedHosts(new String[] { "*randomhot.com" });
+		assertEquals(3, this.getProxyManager().getProxyDataForHost("www.cached.com").length);
+		assertEquals(0, this.getProxyManager().getProxyDataForHost("www.randomhot.com").length);
+
+		this.getProxyManager().setNonProxiedHosts(oldHosts);
+	}
+
 	@Test
 	public void testHostPatternBug505906() throws CoreException {
 		setDataTest(IProxyData.HTTP_PROXY_TYPE);
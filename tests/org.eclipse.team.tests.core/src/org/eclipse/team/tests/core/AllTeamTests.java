@@ -39,6 +39,8 @@ public class AllTeamTests extends ResourceTest {
 		TestSuite suite = new TestSuite();
 		suite.addTest(RepositoryProviderTests.suite());
 		suite.addTest(StreamTests.suite());
+		suite.addTest(ResourceVariantByteStoreTests.suite());
+		suite.addTest(ResourceVariantTreeRefreshTests.suite());
 		suite.addTest(StorageMergerTests.suite());
 		suite.addTest(org.eclipse.team.tests.core.regression.AllTests.suite());
 		return suite;
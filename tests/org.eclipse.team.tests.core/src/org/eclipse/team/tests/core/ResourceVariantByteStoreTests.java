@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.core;
+
+import java.util.*;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.team.core.TeamException;
+import org.eclipse.team.core.variants.SessionResourceVariantByteStore;
+import org.eclipse.team.internal.core.subscribers.CompactSessionResourceVariantByteStore;
+
+public class ResourceVariantByteStoreTests extends TestCase {
+
+	private IWorkspaceRoot root;
+	private IProject project;
+
+	public ResourceVariantByteStoreTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ResourceVariantByteStoreTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		root = ResourcesPlugin.getWorkspace().getRoot();
+		project = root.getProject("p"); //$NON-NLS-1$
+	}
+
+	public void testSetAndFlush() throws TeamException {
+		CompactSessionResourceVariantByteStore store = new CompactSessionResourceVariantByteStore();
+		IFolder folder = project.getFolder("folder"); //$NON-NLS-1$
+		IFile file = folder.getFile("file.txt"); //$NON-NLS-1$
+		assertTrue(store.isEmpty());
+		assertTrue(store.setBytes(folder, "folder".getBytes())); //$NON-NLS-1$
+		assertTrue(store.setBytes(file, "file".getBytes())); //$NON-NLS-1$
+		assertFalse(store.setBytes(file, "file".getBytes())); //$NON-NLS-1$
+		assertTrue(Arrays.equals("file".getBytes(), store.getBytes(file))); //$NON-NLS-1$
+		assertNull(store.getBytes(project));
+		assertNull(store.getBytes(folder.getFolder("file.txt"))); //$NON-NLS-1$
+
+		assertTrue(store.setBytes(file, new byte[0]));
+		assertNull(store.getBytes(file));
+		assertEquals(Collections.singletonList(file), Arrays.asList(store.members(folder)));
+
+		assertTrue(store.flushBytes(folder, IResource.DEPTH_INFINITE));
+		assertFalse(store.flushBytes(file, IResource.DEPTH_ZERO));
+		assertEquals(0, store.members(folder).length);
+		assertTrue(store.isEmpty());
+	}
+
+	public void testMembers() throws TeamException {
+		CompactSessionResourceVariantByteStore store = new CompactSessionResourceVariantByteStore();
+		IFolder folder = project.getFolder("a"); //$NON-NLS-1$
+		IFile file = project.getFile("a"); //$NON-NLS-1$
+		store.setBytes(project, "project".getBytes()); //$NON-NLS-1$
+		store.setBytes(folder, "folder".getBytes()); //$NON-NLS-1$
+		store.setBytes(file, "file".getBytes()); //$NON-NLS-1$
+		store.setBytes(folder.getFile("b"), "b".getBytes()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Collections.singletonList(project), Arrays.asList(store.members(root)));
+		assertEquals(Arrays.asList(folder, file), Arrays.asList(store.members(project)));
+		assertTrue(Arrays.equals("folder".getBytes(), store.getBytes(folder))); //$NON-NLS-1$
+		assertTrue(Arrays.equals("file".getBytes(), store.getBytes(file))); //$NON-NLS-1$
+
+		assertTrue(store.flushBytes(project, IResource.DEPTH_ONE));
+		assertEquals(0, store.members(project).length);
+		assertNull(store.getBytes(file));
+		assertTrue(Arrays.equals("b".getBytes(), store.getBytes(folder.getFile("b")))); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testSameBytesAsSessionStore() throws TeamException {
+		SessionResourceVariantByteStore expected = new SessionResourceVariantByteStore();
+		CompactSessionResourceVariantByteStore actual = new CompactSessionResourceVariantByteStore();
+		List<IResource> resources = new ArrayList<>();
+		for (String name : new String[] { "a", "b", "c" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			IFolder folder = project.getFolder(name);
+			resources.add(folder);
+			resources.add(project.getFile(name));
+			for (String child : new String[] { "x", "y" }) { //$NON-NLS-1$ //$NON-NLS-2$
+				resources.add(folder.getFile(child));
+				resources.add(folder.getFolder(child));
+			}
+		}
+		resources.add(project);
+		Random random = new Random(0);
+		for (int i = 0; i < 10000; i++) {
+			IResource resource = resources.get(random.nextInt(resources.size()));
+			int op = random.nextInt(4);
+			if (op < 2) {
+				// mostly small bytes with the occasional large one
+				byte[] bytes = new byte[random.nextInt(10) == 0 ? random.nextInt(20000) : random.nextInt(40)];
+				random.nextBytes(bytes);
+				assertEquals(expected.setBytes(resource, bytes), actual.setBytes(resource, bytes));
+			} else if (op == 2) {
+				int depth = random.nextInt(3);
+				assertEquals(expected.flushBytes(resource, depth), actual.flushBytes(resource, depth));
+			} else {
+				assertEquals(expected.deleteBytes(resource), actual.deleteBytes(resource));
+			}
+			for (IResource r : resources) {
+				assertTrue(r.toString(), Arrays.equals(expected.getBytes(r), actual.getBytes(r)));
+			}
+			assertEquals(expected.isEmpty(), actual.isEmpty());
+		}
+	}
+}
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.core;
+
+import java.util.*;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.team.core.TeamException;
+import org.eclipse.team.core.variants.AbstractResourceVariantTree;
+import org.eclipse.team.core.variants.IResourceVariant;
+
+/**
+ * Tests the refresh of resource variant trees that fetch variants concurrently.
+ */
+public class ResourceVariantTreeRefreshTests extends TestCase {
+
+	private static class StubVariant implements IResourceVariant {
+		final String name;
+		final String contentId;
+		final List<StubVariant> children;
+
+		StubVariant(String name, String contentId, List<StubVariant> children) {
+			this.name = name;
+			this.contentId = contentId;
+			this.children = children;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public boolean isContainer() {
+			return children != null;
+		}
+
+		@Override
+		public IStorage getStorage(IProgressMonitor monitor) {
+			return null;
+		}
+
+		@Override
+		public String getContentIdentifier() {
+			return contentId;
+		}
+
+		@Override
+		public byte[] asBytes() {
+			return contentId.getBytes();
+		}
+	}
+
+	/*
+	 * A tree over stub variants that records the threads setVariant runs on
+	 */
+	private static class StubTree extends AbstractResourceVariantTree {
+		final int parallelism;
+		final Map<IPath, StubVariant> remote = new HashMap<>();
+		final Map<IResource, StubVariant> variants = new HashMap<>();
+		final Map<IResource, Thread> refreshThreads = Collections.synchronizedMap(new HashMap<>());
+		final List<String> violations = Collections.synchronizedList(new ArrayList<>());
+		volatile String failure;
+		volatile RuntimeException runtimeFailure;
+		volatile IProgressMonitor monitorToCancel;
+
+		StubTree(int parallelism) {
+			this.parallelism = parallelism;
+		}
+
+		@Override
+		protected int getRefreshParallelism() {
+			return parallelism;
+		}
+
+		@Override
+		protected IResource[] refresh(IResource resource, int depth, IProgressMonitor monitor) throws TeamException {
+			refreshThreads.put(resource, Thread.currentThread());
+			return super.refresh(resource, depth, monitor);
+		}
+
+		@Override
+		protected IResourceVariant fetchVariant(IResource resource, int depth, IProgressMonitor monitor) {
+			return remote.get(resource.getFullPath());
+		}
+
+		@Override
+		protected IResourceVariant[] fetchMembers(IResourceVariant variant, IProgressMonitor progress) throws TeamException {
+			if (variant.getName().equals(failure)) {
+				if (runtimeFailure != null)
+					throw runtimeFailure;
+				throw new TeamException(failure);
+			}
+			if (monitorToCancel != null && variant.getName().equals("f1")) //$NON-NLS-1$
+				monitorToCancel.setCanceled(true);
+			if (progress.isCanceled())
+				throw new OperationCanceledException();
+			List<StubVariant> children = ((StubVariant) variant).children;
+			return children.toArray(new IResourceVariant[children.size()]);
+		}
+
+		@Override
+		protected boolean setVariant(IResource local, IResourceVariant remoteVariant) {
+			Thread thread = refreshThreads.get(local.getProject());
+			if (thread != Thread.currentThread())
+				violations.add(local.getFullPath() + " on " + Thread.currentThread().getName()); //$NON-NLS-1$
+			synchronized (variants) {
+				StubVariant previous = remoteVariant == null ? variants.remove(local) : variants.put(local, (StubVariant) remoteVariant);
+				if (previous == null)
+					return remoteVariant != null;
+				return remoteVariant == null || !previous.contentId.equals(remoteVariant.getContentIdentifier());
+			}
+		}
+
+		@Override
+		public IResource[] roots() {
+			return refreshThreads.keySet().toArray(new IResource[0]);
+		}
+
+		@Override
+		public IResource[] members(IResource resource) {
+			List<IResource> members = new ArrayList<>();
+			synchronized (variants) {
+				for (IResource child : variants.keySet()) {
+					if (resource.equals(child.getParent()))
+						members.add(child);
+				}
+			}
+			return members.toArray(new IResource[members.size()]);
+		}
+
+		@Override
+		public IResourceVariant getResourceVariant(IResource resource) {
+			synchronized (variants) {
+				return variants.get(resource);
+			}
+		}
+
+		@Override
+		public boolean hasResourceVariant(IResource resource) {
+			return getResourceVariant(resource) != null;
+		}
+
+		@Override
+		public void flushVariants(IResource resource, int depth) {
+			synchronized (variants) {
+				variants.remove(resource);
+			}
+		}
+	}
+
+	private IWorkspaceRoot root;
+	private IProject[] projects;
+
+	public ResourceVariantTreeRefreshTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ResourceVariantTreeRefreshTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		root = ResourcesPlugin.getWorkspace().getRoot();
+		projects = new IProject[4];
+		for (int i = 0; i < projects.length; i++) {
+			projects[i] = root.getProject("refresh" + i); //$NON-NLS-1$
+		}
+	}
+
+	/*
+	 * Create the remote tree of each project with folders f0 to f3, each with
+	 * files and a subfolder whose files have the given content identifier.
+	 */
+	private void createRemote(StubTree tree, String contentId) {
+		tree.remote.clear();
+		for (IProject project : projects) {
+			List<StubVariant> folders = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				List<StubVariant> files = new ArrayList<>();
+				for (int j = 0; j < 3; j++) {
+					files.add(new StubVariant("file" + j, contentId, null)); //$NON-NLS-1$
+				}
+				List<StubVariant> children = new ArrayList<>(files);
+				children.add(new StubVariant("sub", "1", new ArrayList<>(files))); //$NON-NLS-1$ //$NON-NLS-2$
+				folders.add(new StubVariant("f" + i, "1", children)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if (contentId.equals("2")) //$NON-NLS-1$
+				folders.remove(3);
+			tree.remote.put(project.getFullPath(), new StubVariant(project.getName(), "1", folders)); //$NON-NLS-1$
+		}
+	}
+
+	private Set<IResource> refresh(StubTree tree, IResource[] resources, IProgressMonitor monitor) throws TeamException {
+		return new HashSet<>(Arrays.asList(tree.refresh(resources, IResource.DEPTH_INFINITE, monitor)));
+	}
+
+	public void testSameChangesAsSerialRefresh() throws TeamException {
+		StubTree serial = new StubTree(1);
+		StubTree concurrent = new StubTree(4);
+		// the second refresh changes nothing and the third changes the files and removes a folder
+		String[] contentIds = new String[] { "1", "1", "2" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		for (int i = 0; i < contentIds.length; i++) {
+			createRemote(serial, contentIds[i]);
+			createRemote(concurrent, contentIds[i]);
+			Set<IResource> expected = refresh(serial, projects, new NullProgressMonitor());
+			assertEquals(i != 1, !expected.isEmpty());
+			assertEquals(expected, refresh(concurrent, projects, new NullProgressMonitor()));
+			assertEquals(serial.variants.keySet(), concurrent.variants.keySet());
+
+			// a single root only fetches its members ahead
+			expected = refresh(serial, new IResource[] { projects[0] }, new NullProgressMonitor());
+			assertEquals(expected, refresh(concurrent, new IResource[] { projects[0] }, new NullProgressMonitor()));
+		}
+		assertFalse(concurrent.variants.containsKey(projects[1].getFolder("f3"))); //$NON-NLS-1$
+		assertTrue(concurrent.variants.containsKey(projects[1].getFolder("f2/sub"))); //$NON-NLS-1$
+	}
+
+	public void testSetVariantOnCallingThread() throws TeamException {
+		StubTree tree = new StubTree(4);
+		createRemote(tree, "1"); //$NON-NLS-1$
+		// members are fetched in jobs but their variants are set by the caller
+		assertFalse(refresh(tree, new IResource[] { projects[0] }, new NullProgressMonitor()).isEmpty());
+		assertSame(Thread.currentThread(), tree.refreshThreads.get(projects[0]));
+		assertEquals(Collections.emptyList(), tree.violations);
+
+		// each root is refreshed by a single thread that sets all its variants
+		refresh(tree, projects, new NullProgressMonitor());
+		assertEquals(Collections.emptyList(), tree.violations);
+	}
+
+	public void testErrorPropagation() {
+		for (IResource[] resources : new IResource[][] { projects, { projects[2] } }) {
+			StubTree tree = new StubTree(4);
+			createRemote(tree, "1"); //$NON-NLS-1$
+			tree.failure = "sub"; //$NON-NLS-1$
+			try {
+				refresh(tree, resources, new NullProgressMonitor());
+				fail("The failure should have been rethrown"); //$NON-NLS-1$
+			} catch (TeamException e) {
+				assertEquals("sub", e.getMessage()); //$NON-NLS-1$
+			}
+
+			tree.runtimeFailure = new IllegalStateException("broken"); //$NON-NLS-1$
+			try {
+				refresh(tree, resources, new NullProgressMonitor());
+				fail("The failure should have been rethrown"); //$NON-NLS-1$
+			} catch (IllegalStateException e) {
+				assertEquals("broken", e.getMessage()); //$NON-NLS-1$
+			} catch (TeamException e) {
+				fail(e.getMessage());
+			}
+		}
+	}
+
+	public void testCancellation() throws TeamException {
+		for (IResource[] resources : new IResource[][] { projects, { projects[3] } }) {
+			StubTree tree = new StubTree(4);
+			createRemote(tree, "1"); //$NON-NLS-1$
+			// canceled from the thread that fetches the members of f1
+			IProgressMonitor monitor = new NullProgressMonitor() {
+				private volatile boolean canceled;
+
+				@Override
+				public boolean isCanceled() {
+					return canceled;
+				}
+
+				@Override
+				public void setCanceled(boolean value) {
+					canceled = value;
+				}
+			};
+			tree.monitorToCancel = monitor;
+			try {
+				refresh(tree, resources, monitor);
+				fail("The refresh should have been canceled"); //$NON-NLS-1$
+			} catch (OperationCanceledException e) {
+				// expected
+			}
+		}
+	}
+}
@@ -13,11 +13,19 @@
  *******************************************************************************/
 package org.eclipse.team.tests.core;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
 import junit.framework.Test;
 
-import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.*;
 import org.eclipse.team.core.Team;
 import org.eclipse.team.core.mapping.IStorageMerger;
+import org.eclipse.team.internal.core.mapping.Diff3Merger;
+import org.eclipse.team.internal.core.mapping.Diff3Merger.MergeResult;
+import org.eclipse.team.internal.core.mapping.TextStorageMerger;
 
 public class StorageMergerTests extends TeamTest {
 
@@ -42,4 +50,80 @@ public class StorageMergerTests extends TeamTest {
 		IStorageMerger merger = new Team().createStorageMerger(Platform.getContentTypeManager().getContentType("org.eclipse.team.tests.core.content-type1"));
 		assertNotNull("Merger for extension is missing", merger);
 	}
+
+	private static class StringStorage extends PlatformObject implements IStorage {
+		private final String contents;
+
+		StringStorage(String contents) {
+			this.contents = contents;
+		}
+
+		@Override
+		public InputStream getContents() {
+			return new ByteArrayInputStream(contents.getBytes());
+		}
+
+		@Override
+		public IPath getFullPath() {
+			return null;
+		}
+
+		@Override
+		public String getName() {
+			return "storage";
+		}
+
+		@Override
+		public boolean isReadOnly() {
+			return true;
+		}
+	}
+
+	private static final IStorage ANCESTOR = new StringStorage("1\n2\n3\n4\n5\n6\n");
+	private static final IStorage TARGET = new StringStorage("1\nT\n3\n4\nX\n6\n");
+	private static final IStorage OTHER = new StringStorage("1\n2\n3\nO\nY\n6\n");
+
+	public void testTextMergerStopsAtConflict() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		IStatus status = new TextStorageMerger().merge(output, "UTF-8", ANCESTOR, TARGET, OTHER, new NullProgressMonitor());
+		assertEquals(IStorageMerger.CONFLICT, status.getCode());
+		assertEquals("1" + System.getProperty("line.separator") + "T" + System.getProperty("line.separator") + "3", output.toString("UTF-8"));
+	}
+
+	public void testDiff3MergeWithMarkers() throws Exception {
+		Diff3Merger merger = new Diff3Merger();
+		merger.setConflictMarkers(true);
+		merger.setLabels("target", null, "other");
+		merger.setLineSeparator("\n");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MergeResult result = merger.merge(output, "UTF-8", ANCESTOR, TARGET, OTHER, new NullProgressMonitor());
+		assertEquals("1\nT\n3\n<<<<<<< target\n4\nX\n=======\nO\nY\n>>>>>>> other\n6\n", output.toString("UTF-8"));
+		assertTrue(result.isComplete());
+		assertEquals(1, result.getConflictCount());
+		assertEquals(1, result.getTargetChangeCount());
+		assertEquals(0, result.getOtherChangeCount());
+		assertEquals(IStorageMerger.CONFLICT, result.getStatus().getCode());
+		Diff3Merger.Region conflict = null;
+		for (Diff3Merger.Region region : result.getRegions()) {
+			if (region.isConflict())
+				conflict = region;
+		}
+		assertEquals(3, conflict.getOutputStart());
+		assertEquals(7, conflict.getOutputLength());
+		assertEquals(3, conflict.getTargetStart());
+		assertEquals(2, conflict.getTargetLength());
+	}
+
+	public void testDiff3MergeWithoutConflicts() throws Exception {
+		Diff3Merger merger = new Diff3Merger();
+		merger.setConflictMarkers(true);
+		merger.setAncestorInConflicts(true);
+		merger.setLineSeparator("\n");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MergeResult result = merger.merge(output, "UTF-8", ANCESTOR, TARGET, new StringStorage("1\n2\n3\n4\n5\nZ\n"), new NullProgressMonitor());
+		assertEquals("1\nT\n3\n4\nX\nZ\n", output.toString("UTF-8"));
+		assertTrue(result.getStatus().isOK());
+		assertEquals(2, result.getTargetChangeCount());
+		assertEquals(1, result.getOtherChangeCount());
+	}
 }
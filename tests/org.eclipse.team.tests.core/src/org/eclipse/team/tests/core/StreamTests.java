@@ -14,12 +14,18 @@
 package org.eclipse.team.tests.core;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
+import org.eclipse.team.internal.core.streams.AvailableTimeoutInputStream;
 import org.eclipse.team.internal.core.streams.CRLFtoLFInputStream;
 import org.eclipse.team.internal.core.streams.LFtoCRLFInputStream;
 
@@ -71,6 +77,100 @@ public class StreamTests extends TestCase {
 		assertStreamEquals(inExpected, in);
 	}
 
+	public void testBlockReads() throws IOException {
+		String text = "The \r\n quick brown \n fox \r\n\n\r\r\n jumped \n\n over \r\n the \n lazy dog.\r\n\r\r"; //$NON-NLS-1$
+		for (int size = 1; size <= text.length() + 1; size++) {
+			assertEquals(readBytes(new CRLFtoLFInputStream(new ByteArrayInputStream(text.getBytes())), 1),
+					readBytes(new CRLFtoLFInputStream(new ByteArrayInputStream(text.getBytes())), size));
+			assertEquals(readBytes(new LFtoCRLFInputStream(new ByteArrayInputStream(text.getBytes())), 1),
+					readBytes(new LFtoCRLFInputStream(new ByteArrayInputStream(text.getBytes())), size));
+		}
+	}
+
+	public void testAvailableTimeout() throws IOException {
+		PipedInputStream pipe = new PipedInputStream(new PipedOutputStream());
+		for (Object monitor : new Object[] { null, pipe }) {
+			InputStream in = new AvailableTimeoutInputStream(pipe, 100, () -> false, monitor);
+			long start = System.currentTimeMillis();
+			try {
+				in.read();
+				fail("Read should have timed out"); //$NON-NLS-1$
+			} catch (InterruptedIOException e) {
+				assertTrue(System.currentTimeMillis() - start >= 100);
+			}
+		}
+	}
+
+	public void testAvailableEndOfInput() throws Exception {
+		for (boolean notify : new boolean[] { false, true }) {
+			PipedOutputStream out = new PipedOutputStream();
+			PipedInputStream pipe = new PipedInputStream(out);
+			AtomicBoolean ended = new AtomicBoolean();
+			InputStream in = new AvailableTimeoutInputStream(pipe, 5000, ended::get, notify ? pipe : null);
+			Thread writer = new Thread(() -> {
+				try {
+					Thread.sleep(50);
+					ended.set(true);
+					out.close();
+				} catch (Exception e) {
+					// the reader times out
+				}
+			});
+			long start = System.currentTimeMillis();
+			writer.start();
+			// the end is detected with the condition since no bytes ever become available
+			assertEquals(-1, in.read());
+			assertTrue(System.currentTimeMillis() - start < 5000);
+			writer.join();
+		}
+	}
+
+	public void testAvailableBytesAfterEndOfInput() throws Exception {
+		for (boolean notify : new boolean[] { false, true }) {
+			// the condition holds before the last bytes are read
+			PipedOutputStream out = new PipedOutputStream();
+			PipedInputStream pipe = new PipedInputStream(out);
+			AtomicBoolean ended = new AtomicBoolean();
+			out.write("abc".getBytes()); //$NON-NLS-1$
+			ended.set(true);
+			out.close();
+			assertEquals("abc", readBytes(new AvailableTimeoutInputStream(pipe, 5000, ended::get, notify ? pipe : null), 2)); //$NON-NLS-1$
+
+			// bytes arrive while the reader waits and the input ends right after
+			PipedOutputStream out2 = new PipedOutputStream();
+			PipedInputStream pipe2 = new PipedInputStream(out2);
+			AtomicBoolean ended2 = new AtomicBoolean();
+			Thread writer = new Thread(() -> {
+				try {
+					Thread.sleep(50);
+					out2.write("abc".getBytes()); //$NON-NLS-1$
+					out2.flush();
+					ended2.set(true);
+					out2.close();
+				} catch (Exception e) {
+					// the reader times out
+				}
+			});
+			writer.start();
+			assertEquals("abc", readBytes(new AvailableTimeoutInputStream(pipe2, 5000, ended2::get, notify ? pipe2 : null), 2)); //$NON-NLS-1$
+			writer.join();
+		}
+	}
+
+	private String readBytes(InputStream in, int size) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[size];
+		try {
+			int count;
+			while ((count = in.read(buffer, 0, size)) != -1) {
+				out.write(buffer, 0, count);
+			}
+		} finally {
+			in.close();
+		}
+		return out.toString();
+	}
+
 	private void assertStreamEquals(InputStream in1, InputStream in2) throws IOException {
 		try {
 			for (;;) {
@@ -15,6 +15,7 @@ package org.eclipse.team.tests.ccvs.core;
 
 import org.eclipse.team.tests.ccvs.core.cvsresources.AllTestsCVSResources;
 import org.eclipse.team.tests.ccvs.core.jsch.AllJschTests;
+import org.eclipse.team.tests.ccvs.core.mappings.CVSCommitIndexTest;
 
 import org.eclipse.jface.util.Util;
 
@@ -44,6 +45,7 @@ public class AllCoreTests extends EclipseTest {
 
 		suite.addTest(AllTestsCVSResources.suite());
 		suite.addTest(AllJschTests.suite());
+		suite.addTest(CVSCommitIndexTest.suite());
 		return new TestSetup(suite);
 	}
 }
@@ -24,6 +24,7 @@ public class AllTestsCVSResources extends EclipseTest {
 		suite.addTest(EclipseFolderTest.suite());
 		suite.addTest(ResourceSyncBytesTest.suite());
 		suite.addTest(CVSURITest.suite());
+		suite.addTest(ColumnarResourceVariantByteStoreTest.suite());
 		return suite; 	
 	}	
 	
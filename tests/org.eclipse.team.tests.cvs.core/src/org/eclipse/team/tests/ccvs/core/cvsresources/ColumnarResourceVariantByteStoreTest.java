@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.team.core.TeamException;
+import org.eclipse.team.internal.ccvs.core.syncinfo.ColumnarResourceVariantByteStore;
+
+public class ColumnarResourceVariantByteStoreTest extends TestCase {
+
+	private static final QualifiedName NAME = new QualifiedName("org.eclipse.team.tests.cvs.core", "remote"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private File directory;
+	private IProject project;
+	private List<ColumnarResourceVariantByteStore> stores = new ArrayList<>();
+
+	public ColumnarResourceVariantByteStoreTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ColumnarResourceVariantByteStoreTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		directory = Files.createTempDirectory("columnar").toFile(); //$NON-NLS-1$
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getName());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (ColumnarResourceVariantByteStore store : stores) {
+			store.dispose();
+		}
+		if (project.exists()) {
+			project.delete(true, null);
+		}
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+		super.tearDown();
+	}
+
+	private ColumnarResourceVariantByteStore createStore() {
+		ColumnarResourceVariantByteStore store = new ColumnarResourceVariantByteStore(NAME, directory);
+		stores.add(store);
+		return store;
+	}
+
+	private File getFile() {
+		return new File(directory, project.getName() + ".cols"); //$NON-NLS-1$
+	}
+
+	private static void assertBytes(String expected, byte[] actual) {
+		assertNotNull(actual);
+		assertEquals(expected, new String(actual));
+	}
+
+	public void testSetAndFlush() throws TeamException {
+		ColumnarResourceVariantByteStore store = createStore();
+		IFolder folder = project.getFolder("folder"); //$NON-NLS-1$
+		IFile file = folder.getFile("file.txt"); //$NON-NLS-1$
+		assertTrue(store.setBytes(folder, "D/folder////".getBytes())); //$NON-NLS-1$
+		assertTrue(store.setBytes(file, "/file.txt/1.1/27 Sep 2026 10:00:00/-kb/".getBytes())); //$NON-NLS-1$
+		assertFalse(store.setBytes(file, "/file.txt/1.1/27 Sep 2026 10:00:00/-kb/".getBytes())); //$NON-NLS-1$
+		assertBytes("/file.txt/1.1/27 Sep 2026 10:00:00/-kb/", store.getBytes(file)); //$NON-NLS-1$
+		assertTrue(store.setBytes(file, "/file.txt/1.2//-kb/".getBytes())); //$NON-NLS-1$
+		assertBytes("/file.txt/1.2//-kb/", store.getBytes(file)); //$NON-NLS-1$
+		assertNull(store.getBytes(project));
+		assertFalse(store.isVariantKnown(project));
+
+		assertTrue(store.deleteBytes(file));
+		assertNull(store.getBytes(file));
+		assertTrue(store.isVariantKnown(file));
+
+		assertTrue(store.flushBytes(file, IResource.DEPTH_ZERO));
+		assertFalse(store.isVariantKnown(file));
+		assertFalse(store.flushBytes(file, IResource.DEPTH_ZERO));
+		assertTrue(store.flushBytes(project, IResource.DEPTH_INFINITE));
+		assertNull(store.getBytes(folder));
+		assertFalse(store.isVariantKnown(folder));
+	}
+
+	public void testMembers() throws TeamException {
+		ColumnarResourceVariantByteStore store = createStore();
+		IFolder folder = project.getFolder("a"); //$NON-NLS-1$
+		IFile file = project.getFile("b"); //$NON-NLS-1$
+		IFile child = folder.getFile("c"); //$NON-NLS-1$
+		store.setBytes(folder, "D/a////".getBytes()); //$NON-NLS-1$
+		store.setBytes(file, "/b/1.1///".getBytes()); //$NON-NLS-1$
+		store.setBytes(child, "/c/1.1///".getBytes()); //$NON-NLS-1$
+		store.deleteBytes(project.getFile("d")); //$NON-NLS-1$
+		assertEquals(new HashSet<>(Arrays.asList(folder, file)), new HashSet<>(Arrays.asList(store.members(project))));
+		assertEquals(Collections.singletonList(child), Arrays.asList(store.members(folder)));
+		assertEquals(0, store.members(file).length);
+
+		assertTrue(store.flushBytes(project, IResource.DEPTH_ONE));
+		assertEquals(0, store.members(project).length);
+		assertNull(store.getBytes(folder));
+		assertBytes("/c/1.1///", store.getBytes(child)); //$NON-NLS-1$
+	}
+
+	public void testFileReplacedByFolder() throws TeamException {
+		ColumnarResourceVariantByteStore store = createStore();
+		IFile file = project.getFile("a"); //$NON-NLS-1$
+		IFolder folder = project.getFolder("a"); //$NON-NLS-1$
+		IFile child = folder.getFile("b"); //$NON-NLS-1$
+		store.setBytes(file, "/a/1.1///".getBytes()); //$NON-NLS-1$
+		assertNull(store.getBytes(folder));
+		assertFalse(store.isVariantKnown(folder));
+
+		// the folder doesn't take over the row of the file
+		store.setBytes(folder, "D/a////".getBytes()); //$NON-NLS-1$
+		store.setBytes(child, "/b/1.1///".getBytes()); //$NON-NLS-1$
+		assertBytes("/a/1.1///", store.getBytes(file)); //$NON-NLS-1$
+		assertBytes("D/a////", store.getBytes(folder)); //$NON-NLS-1$
+		assertTrue(store.flushBytes(file, IResource.DEPTH_ZERO));
+		assertFalse(store.isVariantKnown(file));
+		assertBytes("D/a////", store.getBytes(folder)); //$NON-NLS-1$
+		assertEquals(Collections.singletonList(folder), Arrays.asList(store.members(project)));
+		assertEquals(Collections.singletonList(child), Arrays.asList(store.members(folder)));
+
+		store.save();
+		ColumnarResourceVariantByteStore loaded = createStore();
+		assertFalse(loaded.isVariantKnown(file));
+		assertBytes("D/a////", loaded.getBytes(folder)); //$NON-NLS-1$
+		assertBytes("/b/1.1///", loaded.getBytes(child)); //$NON-NLS-1$
+		assertEquals(Collections.singletonList(folder), Arrays.asList(loaded.members(project)));
+	}
+
+	public void testWriteAndRead() throws TeamException {
+		ColumnarResourceVariantByteStore store = createStore();
+		List<IResource> resources = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			IFolder folder = project.getFolder("folder" + i); //$NON-NLS-1$
+			store.setBytes(folder, ("D/folder" + i + "////").getBytes()); //$NON-NLS-1$ //$NON-NLS-2$
+			resources.add(folder);
+			for (int j = 0; j < 20; j++) {
+				IFile file = folder.getFile("file" + j); //$NON-NLS-1$
+				store.setBytes(file, ("/file" + j + "/1." + (i % 3) + "///").getBytes()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				resources.add(file);
+			}
+		}
+		store.deleteBytes(project.getFile("gone")); //$NON-NLS-1$
+		store.flushBytes(project.getFolder("folder7"), IResource.DEPTH_INFINITE); //$NON-NLS-1$
+		store.save();
+		assertTrue(getFile().exists());
+
+		ColumnarResourceVariantByteStore loaded = createStore();
+		for (IResource resource : resources) {
+			assertTrue(resource.toString(), Arrays.equals(store.getBytes(resource), loaded.getBytes(resource)));
+			assertEquals(resource.toString(), store.isVariantKnown(resource), loaded.isVariantKnown(resource));
+		}
+		assertTrue(loaded.isVariantKnown(project.getFile("gone"))); //$NON-NLS-1$
+		assertEquals(new HashSet<>(Arrays.asList(store.members(project))), new HashSet<>(Arrays.asList(loaded.members(project))));
+		assertEquals(20, loaded.members(project.getFolder("folder3")).length); //$NON-NLS-1$
+
+		// an empty table deletes the file
+		loaded.flushBytes(project, IResource.DEPTH_INFINITE);
+		loaded.save();
+		assertFalse(getFile().exists());
+	}
+
+	public void testCorruptFile() throws IOException, TeamException {
+		IFile file = project.getFile("file"); //$NON-NLS-1$
+		ColumnarResourceVariantByteStore store = createStore();
+		store.setBytes(file, "/file/1.1///".getBytes()); //$NON-NLS-1$
+		store.save();
+		byte[] contents = Files.readAllBytes(getFile().toPath());
+		Files.write(getFile().toPath(), Arrays.copyOf(contents, contents.length / 2));
+
+		// the remote state is dropped and fetched again by the next refresh
+		ColumnarResourceVariantByteStore loaded = createStore();
+		assertNull(loaded.getBytes(file));
+		assertFalse(loaded.isVariantKnown(file));
+		assertTrue(loaded.setBytes(file, "/file/1.2///".getBytes())); //$NON-NLS-1$
+		loaded.save();
+
+		assertBytes("/file/1.2///", createStore().getBytes(file)); //$NON-NLS-1$
+	}
+
+	public void testProjectRemoved() throws CoreException {
+		project.create(null);
+		project.open(null);
+		IFile file = project.getFile("file"); //$NON-NLS-1$
+		ColumnarResourceVariantByteStore store = createStore();
+		store.setBytes(file, "/file/1.1///".getBytes()); //$NON-NLS-1$
+		store.save();
+		assertTrue(getFile().exists());
+
+		project.delete(true, null);
+		assertFalse(getFile().exists());
+		assertNull(store.getBytes(file));
+
+		// a project that is created again doesn't get the old state
+		project.create(null);
+		project.open(null);
+		assertFalse(store.isVariantKnown(file));
+		assertFalse(createStore().isVariantKnown(file));
+	}
+}
@@ -14,6 +14,7 @@
 package org.eclipse.team.tests.ccvs.core.cvsresources;
 
 import java.text.ParseException;
+import java.util.Date;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -127,4 +128,22 @@ public class ResourceSyncBytesTest extends EclipseTest {
 		
 	}
 
+	public void testDateFormatter() throws ParseException {
+		Date date = CVSDateFormatter.entryLineToDate("Tue Mar  4 19:47:36 2003");
+		assertEquals(1046807256000L, date.getTime());
+		assertEquals("Tue Mar  4 19:47:36 2003", CVSDateFormatter.dateToEntryLine(date));
+		assertEquals("04 Mar 2003 19:47:36 GMT", CVSDateFormatter.dateToNotifyServer(date));
+		assertEquals(date, CVSDateFormatter.serverStampToDate("04 Mar 2003 19:47:36 -0000"));
+		assertEquals(date, CVSDateFormatter.serverStampToDate("4 Mar 2003 14:47:36 -0500"));
+		assertEquals(date, CVSDateFormatter.logTimeToDate("2003/03/04 19:47:36 GMT"));
+		assertEquals(date, CVSDateFormatter.logTimeToDate("2003-03-04 21:47:36 +0200 GMT"));
+		assertEquals("Thu Mar 20 16:36:56 2003", CVSDateFormatter.dateToEntryLine(CVSDateFormatter.entryLineToDate("Thu Mar 20 16:36:56 2003")));
+		try {
+			CVSDateFormatter.entryLineToDate("dummy timestamp");
+			fail("Expected ParseException");
+		} catch (ParseException e) {
+			// expected
+		}
+	}
+
 }
@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.team.internal.ccvs.core.CVSException;
 import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
+import org.eclipse.team.internal.ccvs.core.syncinfo.PackedSyncBytes;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 import org.eclipse.team.tests.ccvs.core.CVSTestSetup;
 import org.eclipse.team.tests.ccvs.core.EclipseTest;
@@ -182,6 +183,42 @@ public class ResourceSyncInfoTest extends EclipseTest {
 		assertTrue( ! ResourceSyncInfo.isLaterRevisionOnSameBranch(syncInfo5.getBytes(), syncInfo5.getBytes()));
 	}
 	
+	public void testPackedSyncBytes() throws CVSException {
+		PackedSyncBytes packed = new PackedSyncBytes("/file.txt/-1.2 locked by: user;/Result of merge+Thu Mar 20 16:36:56 2003/-kb/Tv1".getBytes());
+		assertEquals("file.txt", packed.getName());
+		assertTrue(packed.nameEquals("file.txt"));
+		assertTrue(!packed.nameEquals("file.tx"));
+		assertEquals("1.2", packed.getRevision());
+		assertTrue(packed.isDeletion());
+		assertTrue(!packed.isAddition());
+		assertTrue(packed.isBinary());
+		assertTrue(packed.isMerge());
+		assertTrue(packed.isMergedWithConflicts());
+		assertTrue(!packed.wasDeleted());
+		assertTrue(!packed.isFolder());
+		
+		PackedSyncBytes other = new PackedSyncBytes("/file.txt/1.2/Thu Mar 20 16:36:56 2003//Tv1".getBytes());
+		assertTrue(packed.revisionEquals(other));
+		assertTrue(packed.tagEquals(other));
+		assertTrue(!other.isBinary());
+		assertTrue(!other.isMerge());
+		assertEquals("/file.txt/1.3/Thu Mar 20 16:36:56 2003//Tv1", new String(other.setSlot(PackedSyncBytes.REVISION_SLOT, "1.3".getBytes())));
+		
+		PackedSyncBytes deleted = new PackedSyncBytes("/file.txt/-1.2/Thu Mar 20 16:36:56 2003//Tv1".getBytes());
+		assertTrue(deleted.equalsIgnoringDeletion(other));
+		assertTrue(other.equalsIgnoringDeletion(deleted));
+		assertTrue(!deleted.equalsIgnoringDeletion(packed));
+		
+		assertTrue(new PackedSyncBytes("/added.txt/0/dummy timestamp//".getBytes()).isAddition());
+		assertTrue(new PackedSyncBytes("D/src////".getBytes()).isFolder());
+		try {
+			new PackedSyncBytes("/malformed".getBytes()).getRevision();
+			fail("Expected CVSException");
+		} catch (CVSException e) {
+			// expected
+		}
+	}
+	
 	public void testRepositoryLocationFormats() throws CVSException {
 		assertPathCorrect(CVSRepositoryLocation.fromString(":pserver:user@host:/home/path"), "/home/path");
 		assertPathCorrect(CVSRepositoryLocation.fromString(":pserver:user:password@host:/home/path"), "/home/path");
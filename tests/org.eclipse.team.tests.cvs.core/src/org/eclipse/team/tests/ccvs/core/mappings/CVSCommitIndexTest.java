@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.mappings;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.CVSTag;
+import org.eclipse.team.internal.ccvs.core.ILogEntry;
+import org.eclipse.team.internal.ccvs.core.client.listeners.LogEntry;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.mapping.CVSCommitIndex;
+import org.eclipse.team.internal.ccvs.core.mapping.CVSCommitIndex.Commit;
+import org.eclipse.team.internal.ccvs.core.resources.RemoteFile;
+
+public class CVSCommitIndexTest extends TestCase {
+
+	private static final long WINDOW = CVSCommitIndex.DEFAULT_TIME_WINDOW;
+	private static final long BASE = 1000000000000L;
+
+	private CVSRepositoryLocation location;
+
+	public CVSCommitIndexTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(CVSCommitIndexTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		location = CVSRepositoryLocation.fromString(":pserver:user@host:/repo"); //$NON-NLS-1$
+	}
+
+	private ILogEntry entry(String file, String revision, String author, long offset, String comment) {
+		RemoteFile remote = RemoteFile.create("module/" + file, location); //$NON-NLS-1$
+		return new LogEntry(remote, revision, author, new Date(BASE + offset), comment, "Exp", new CVSTag[0], new CVSTag[0]); //$NON-NLS-1$
+	}
+
+	private ILogEntry entry(String file, String revision, long offset, String comment) {
+		return entry(file, revision, "user", offset, comment); //$NON-NLS-1$
+	}
+
+	public void testWindowEdges() {
+		CVSCommitIndex index = new CVSCommitIndex();
+		Commit commit = index.add(entry("a", "1.1", 0, "fix")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// the window is inclusive at both ends of the commit
+		assertSame(commit, index.add(entry("b", "1.1", WINDOW, "fix"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertSame(commit, index.add(entry("c", "1.1", -WINDOW, "fix"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(new Date(BASE - WINDOW), commit.getStartDate());
+		assertEquals(new Date(BASE + WINDOW), commit.getEndDate());
+		assertEquals(3, commit.getEntries().length);
+
+		// just outside the window of the grown commit
+		Commit late = index.add(entry("d", "1.1", 2 * WINDOW + 1, "fix")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		Commit early = index.add(entry("e", "1.1", -2 * WINDOW - 1, "fix")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNotSame(commit, late);
+		assertNotSame(commit, early);
+		assertNotSame(late, early);
+
+		// other authors and comments are never grouped
+		assertNotSame(commit, index.add(entry("f", "1.1", "other", 0, "fix"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertNotSame(commit, index.add(entry("g", "1.1", 0, "other fix"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(5, index.getCommits().length);
+		assertEquals(Arrays.asList(early, commit), Arrays.asList(index.getCommits(new Date(BASE - 2 * WINDOW - 1), new Date(BASE - WINDOW))));
+		assertEquals(Arrays.asList(late), Arrays.asList(index.getCommits(new Date(BASE + WINDOW + 1), new Date(BASE + 3 * WINDOW))));
+	}
+
+	public void testFileCollision() {
+		CVSCommitIndex index = new CVSCommitIndex();
+		ILogEntry first = entry("a", "1.1", 0, "typo"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		Commit commit = index.add(first);
+		// a second revision of a file starts another commit within the window
+		Commit second = index.add(entry("a", "1.2", 60000, "typo")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNotSame(commit, second);
+		assertEquals(commit.getComment(), second.getComment());
+		// other files join the first commit that accepts them
+		assertSame(commit, index.add(entry("b", "1.4", 120000, "typo"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertSame(second, index.add(entry("b", "1.5", 120000, "typo"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertSame(commit, index.add(entry("a", "1.1", 0, "typo"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertSame(commit, index.getCommit(first));
+		assertEquals(2, commit.getEntries().length);
+		assertEquals(2, index.getCommits(first.getRemoteFile()).length);
+
+		// removing the file leaves the commits of the other file
+		index.remove(first.getRemoteFile());
+		assertEquals(1, commit.getEntries().length);
+		assertEquals(new Date(BASE + 120000), commit.getStartDate());
+		assertEquals(2, index.getCommits().length);
+		assertNull(index.getCommit(first));
+	}
+
+	public void testOutOfOrder() {
+		ILogEntry a = entry("a", "1.1", 0, "change"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		ILogEntry b = entry("b", "1.1", WINDOW, "change"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		ILogEntry c = entry("c", "1.1", 2 * WINDOW, "change"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		CVSCommitIndex inOrder = new CVSCommitIndex();
+		inOrder.add(a);
+		inOrder.add(b);
+		inOrder.add(c);
+		assertEquals(1, inOrder.getCommits().length);
+
+		// the entry in between arrives last and joins the first commit only
+		CVSCommitIndex outOfOrder = new CVSCommitIndex();
+		Commit first = outOfOrder.add(a);
+		Commit last = outOfOrder.add(c);
+		assertNotSame(first, last);
+		assertSame(first, outOfOrder.add(b));
+		assertEquals(2, outOfOrder.getCommits().length);
+		assertEquals(Arrays.asList(a, b), Arrays.asList(first.getEntries()));
+		assertEquals(Arrays.asList(c), Arrays.asList(last.getEntries()));
+		assertEquals(Arrays.asList(first, last), Arrays.asList(outOfOrder.getCommits(new Date(BASE), new Date(BASE + 2 * WINDOW))));
+
+		// entries before the start are grouped like entries after the end
+		CVSCommitIndex reversed = new CVSCommitIndex();
+		Commit commit = reversed.add(c);
+		assertSame(commit, reversed.add(b));
+		assertSame(commit, reversed.add(a));
+		assertEquals(new Date(BASE), commit.getStartDate());
+		assertEquals(new Date(BASE + 2 * WINDOW), commit.getEndDate());
+	}
+}
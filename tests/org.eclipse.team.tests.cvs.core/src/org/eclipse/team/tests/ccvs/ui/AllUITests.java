@@ -44,6 +44,7 @@ public class AllUITests extends EclipseTest {
 		suite.addTest(CVSHisoryTableProviderTest.suite());
 		suite.addTest(PatchTreeTest.suite());
 		suite.addTest(RepositoriesViewTests.suite());
+		suite.addTest(LocalAnnotateEngineTest.suite());
 		return suite;
 	}
 
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.ui;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.client.Update;
+import org.eclipse.team.internal.ccvs.core.client.listeners.AnnotateListener;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.resources.RemoteFile;
+import org.eclipse.team.internal.ccvs.core.resources.RemoteFolder;
+import org.eclipse.team.internal.ccvs.ui.operations.LocalAnnotateEngine;
+
+public class LocalAnnotateEngineTest extends TestCase {
+
+	/*
+	 * A remote file whose contents are cached unless they are null
+	 */
+	private static class CachedFile extends RemoteFile {
+		byte[] contents;
+
+		CachedFile(RemoteFolder parent, String revision, String contents) {
+			super(parent, Update.STATE_NONE, "file.txt", revision, null, CVSTag.DEFAULT); //$NON-NLS-1$
+			this.contents = contents == null ? null : contents.getBytes();
+		}
+
+		@Override
+		public boolean isContentsCached() {
+			return contents != null;
+		}
+
+		@Override
+		public InputStream getContents(IProgressMonitor monitor) {
+			return new ByteArrayInputStream(contents);
+		}
+	}
+
+	private static class Entry implements ILogEntry {
+		private final CachedFile file;
+		private final boolean deletion;
+
+		Entry(CachedFile file, boolean deletion) {
+			this.file = file;
+			this.deletion = deletion;
+		}
+
+		@Override
+		public <T> T getAdapter(Class<T> adapter) {
+			return null;
+		}
+
+		@Override
+		public String getRevision() {
+			return file.getRevision();
+		}
+
+		@Override
+		public String getAuthor() {
+			return "author" + getRevision(); //$NON-NLS-1$
+		}
+
+		@Override
+		public Date getDate() {
+			return new Date();
+		}
+
+		@Override
+		public String getComment() {
+			return ""; //$NON-NLS-1$
+		}
+
+		@Override
+		public String getState() {
+			return deletion ? "dead" : "Exp"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		@Override
+		public CVSTag[] getBranches() {
+			return new CVSTag[0];
+		}
+
+		@Override
+		public CVSTag[] getTags() {
+			return new CVSTag[0];
+		}
+
+		@Override
+		public ICVSRemoteFile getRemoteFile() {
+			return file;
+		}
+
+		@Override
+		public boolean isDeletion() {
+			return deletion;
+		}
+	}
+
+	private RemoteFolder folder;
+	private Map<String, Entry> entries;
+
+	public LocalAnnotateEngineTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(LocalAnnotateEngineTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		CVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host:/repo"); //$NON-NLS-1$
+		folder = new RemoteFolder(null, location, getName(), null);
+		entries = new LinkedHashMap<>();
+	}
+
+	private void addRevision(String revision, String contents) {
+		entries.put(revision, new Entry(new CachedFile(folder, revision, contents), false));
+	}
+
+	private AnnotateListener annotate(LocalAnnotateEngine engine, String revision) throws CVSException {
+		AnnotateListener listener = new AnnotateListener();
+		assertTrue(engine.annotate(revision, entries.values().toArray(new ILogEntry[entries.size()]), listener, null));
+		return listener;
+	}
+
+	private void assertBlocks(AnnotateListener listener, String... expected) {
+		List<String> actual = new ArrayList<>();
+		for (Object block : listener.getCvsAnnotateBlocks()) {
+			CVSAnnotateBlock annotateBlock = (CVSAnnotateBlock) block;
+			actual.add(annotateBlock.getRevision() + ":" + annotateBlock.getStartLine() + "-" + annotateBlock.getEndLine()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		assertEquals(Arrays.asList(expected), actual);
+	}
+
+	private void assertContents(String expected, AnnotateListener listener) throws IOException {
+		try (InputStream in = listener.getContents()) {
+			byte[] bytes = new byte[expected.length() + 1];
+			int count = 0;
+			int read;
+			while (count < bytes.length && (read = in.read(bytes, count, bytes.length - count)) != -1) {
+				count += read;
+			}
+			assertEquals(expected, new String(bytes, 0, count));
+		}
+	}
+
+	public void testBlockMerging() throws Exception {
+		addRevision("1.1", "a\nb\nc\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.2", "x\ny\na\nb\nc\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.3", "x\ny\na\nB\nc\nz\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		LocalAnnotateEngine engine = new LocalAnnotateEngine();
+
+		// consecutive lines of the same revision form a single block
+		AnnotateListener listener = annotate(engine, "1.2"); //$NON-NLS-1$
+		assertBlocks(listener, "1.2:0-1", "1.1:2-4"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertContents("x\ny\na\nb\nc\n", listener); //$NON-NLS-1$
+
+		listener = annotate(engine, "1.3"); //$NON-NLS-1$
+		assertBlocks(listener, "1.2:0-1", "1.1:2-2", "1.3:3-3", "1.1:4-4", "1.3:5-5"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	public void testBranchPredecessor() throws Exception {
+		addRevision("1.1", "a\nb\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.2", "a\nb\nc\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.1.2.1", "a\nB\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.1.2.2", "a\nB\nd\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		LocalAnnotateEngine engine = new LocalAnnotateEngine();
+
+		// the first branch revision derives from the branch point, not from the trunk head
+		assertBlocks(annotate(engine, "1.1.2.1"), "1.1:0-0", "1.1.2.1:1-1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertBlocks(annotate(engine, "1.1.2.2"), "1.1:0-0", "1.1.2.1:1-1", "1.1.2.2:2-2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertBlocks(annotate(engine, "1.2"), "1.1:0-1", "1.2:2-2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	public void testTrunkMajorBoundary() throws Exception {
+		addRevision("1.1", "a\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.2", "a\nb\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.2.2.1", "a\nb\nbranch\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("2.1", "a\nb\nc\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("3.1", "a\nb\nc\nd\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		LocalAnnotateEngine engine = new LocalAnnotateEngine();
+
+		// the first revision of a major number derives from the latest trunk revision before it
+		assertBlocks(annotate(engine, "2.1"), "1.1:0-0", "1.2:1-1", "2.1:2-2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertBlocks(annotate(engine, "3.1"), "1.1:0-0", "1.2:1-1", "2.1:2-2", "3.1:3-3"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	public void testExpandedKeywords() throws Exception {
+		addRevision("1.1", "$Id: file.txt,v 1.1 2026/01/01 10:00:00 a Exp $\na\n$Revision: 1.1 $\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.2", "$Id: file.txt,v 1.2 2026/01/02 10:00:00 b Exp $\na\n$Revision: 1.2 $\nb\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		LocalAnnotateEngine engine = new LocalAnnotateEngine();
+
+		// lines that only differ in the expansion of their keywords keep their origin
+		AnnotateListener listener = annotate(engine, "1.2"); //$NON-NLS-1$
+		assertBlocks(listener, "1.1:0-2", "1.2:3-3"); //$NON-NLS-1$ //$NON-NLS-2$
+		// the contents are shown as they are
+		assertContents("$Id: file.txt,v 1.2 2026/01/02 10:00:00 b Exp $\na\n$Revision: 1.2 $\nb\n", listener); //$NON-NLS-1$
+	}
+
+	public void testFallbackToServer() throws Exception {
+		addRevision("1.1", "a\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.2", "a\nb\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		addRevision("1.3", null); //$NON-NLS-1$
+		addRevision("1.4", "a\nb\nc\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		entries.put("1.5", new Entry(new CachedFile(folder, "1.5", ""), true)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		LocalAnnotateEngine engine = new LocalAnnotateEngine();
+		ILogEntry[] logEntries = entries.values().toArray(new ILogEntry[entries.size()]);
+
+		// a revision on the path to the requested one is not cached
+		AnnotateListener listener = new AnnotateListener();
+		assertFalse(engine.annotate("1.4", logEntries, listener, null)); //$NON-NLS-1$
+		assertTrue(listener.getCvsAnnotateBlocks().isEmpty());
+		// the requested revision is not cached, not in the log or deleted
+		assertFalse(engine.annotate("1.3", logEntries, listener, null)); //$NON-NLS-1$
+		assertFalse(engine.annotate("1.6", logEntries, listener, null)); //$NON-NLS-1$
+		assertFalse(engine.annotate("1.5", logEntries, listener, null)); //$NON-NLS-1$
+		// a predecessor is missing from the log
+		assertFalse(engine.annotate("1.2", new ILogEntry[] { entries.get("1.2") }, listener, null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(listener.getCvsAnnotateBlocks().isEmpty());
+
+		// once computed, the blame of a revision no longer needs its predecessors
+		assertBlocks(annotate(engine, "1.2"), "1.1:0-0", "1.2:1-1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		((CachedFile) entries.get("1.1").getRemoteFile()).contents = null; //$NON-NLS-1$
+		assertBlocks(annotate(engine, "1.2"), "1.1:0-0", "1.2:1-1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}